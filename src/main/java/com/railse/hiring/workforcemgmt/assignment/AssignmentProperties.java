@@ -0,0 +1,37 @@
+package com.railse.hiring.workforcemgmt.assignment;
+
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "task-mgmt.assignment")
+public class AssignmentProperties {
+    // Pool name to the assignee ids that auto-assignment may pick from
+    private Map<String, List<Long>> pools = new LinkedHashMap<>();
+    // How much one open task of each priority adds to its assignee's load
+    private Map<Priority, Double> priorityWeights = new EnumMap<>(Map.of(
+            Priority.LOW, 1.0,
+            Priority.MEDIUM, 2.0,
+            Priority.HIGH, 4.0));
+    // Tasks due within this window (or overdue) when they are saved count this many times over
+    private long urgentWithinMs = 86_400_000;
+    private double urgentMultiplier = 2.0;
+    // Tasks moved per atomic repository batch during an off-shift handover
+    private int handoverBatchSize = 500;
+
+    public double weightOf(Priority priority, Long deadline, long now) {
+        double weight = priorityWeights.getOrDefault(priority, 1.0);
+        if (deadline != null && deadline - now <= urgentWithinMs) {
+            weight *= urgentMultiplier;
+        }
+        return weight;
+    }
+}
@@ -0,0 +1,106 @@
+package com.railse.hiring.workforcemgmt.assignment;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+// Binary min-heap of ids by key that can change an id's key in place, ties go to the lower id
+final class IndexedMinHeap {
+    private long[] ids = new long[16];
+    private double[] keys = new double[16];
+    private final Map<Long, Integer> positions = new HashMap<>();
+    private int size;
+
+    void add(long id, double key) {
+        if (positions.containsKey(id)) {
+            update(id, key);
+            return;
+        }
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+            keys = Arrays.copyOf(keys, size * 2);
+        }
+        ids[size] = id;
+        keys[size] = key;
+        positions.put(id, size);
+        siftUp(size++);
+    }
+
+    void update(long id, double key) {
+        Integer position = positions.get(id);
+        if (position == null) {
+            return;
+        }
+        double previous = keys[position];
+        keys[position] = key;
+        if (key < previous) {
+            siftUp(position);
+        } else {
+            siftDown(position);
+        }
+    }
+
+    long peekId() {
+        if (size == 0) {
+            throw new IllegalStateException("Heap is empty");
+        }
+        return ids[0];
+    }
+
+    double peekKey() {
+        return keys[0];
+    }
+
+    boolean contains(long id) {
+        return positions.containsKey(id);
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void siftUp(int position) {
+        while (position > 0) {
+            int parent = (position - 1) / 2;
+            if (!less(position, parent)) {
+                return;
+            }
+            swap(position, parent);
+            position = parent;
+        }
+    }
+
+    private void siftDown(int position) {
+        while (true) {
+            int left = 2 * position + 1;
+            if (left >= size) {
+                return;
+            }
+            int smallest = left + 1 < size && less(left + 1, left) ? left + 1 : left;
+            if (!less(smallest, position)) {
+                return;
+            }
+            swap(position, smallest);
+            position = smallest;
+        }
+    }
+
+    private boolean less(int a, int b) {
+        return keys[a] < keys[b] || (keys[a] == keys[b] && ids[a] < ids[b]);
+    }
+
+    private void swap(int a, int b) {
+        long id = ids[a];
+        double key = keys[a];
+        ids[a] = ids[b];
+        keys[a] = keys[b];
+        ids[b] = id;
+        keys[b] = key;
+        positions.put(ids[a], a);
+        positions.put(ids[b], b);
+    }
+}
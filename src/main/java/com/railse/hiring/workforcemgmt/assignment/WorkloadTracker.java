@@ -0,0 +1,167 @@
+package com.railse.hiring.workforcemgmt.assignment;
+
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.TaskContributionIndex;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Weighted open workload per pooled assignee: each open task charges its assignee a
+ * weight for its priority and deadline. Every pool keeps a min-heap of its members by load so picking the least loaded one
+ * and charging it for the new task is O(log pool) under a single lock.
+ * <p>
+ * Urgency is judged when a task is saved, so a task that drifts into its deadline window
+ * keeps its old weight until it is saved again. Loads only cover tasks in this node's store.
+ */
+@Component
+public class WorkloadTracker extends TaskContributionIndex<WorkloadTracker.Contribution> {
+    private final AssignmentProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, IndexedMinHeap> heaps = new HashMap<>();
+    // Pools each assignee belongs to, an assignee may sit in several
+    private final Map<Long, List<IndexedMinHeap>> poolsByAssignee = new HashMap<>();
+    private final Map<Long, Double> loads = new HashMap<>();
+
+    public WorkloadTracker(@Qualifier("localTaskStore") TaskRepository localTaskStore,
+                           AssignmentProperties properties,
+                           MeterRegistry meterRegistry) {
+        super(localTaskStore);
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        properties.getPools().forEach((pool, members) -> {
+            IndexedMinHeap heap = new IndexedMinHeap();
+            for (Long assigneeId : members) {
+                heap.add(assigneeId, 0);
+                loads.put(assigneeId, 0.0);
+                poolsByAssignee.computeIfAbsent(assigneeId, id -> new ArrayList<>()).add(heap);
+            }
+            heaps.put(pool, heap);
+            Gauge.builder("task.assignment.pool.min_load", heap, h -> h.isEmpty() ? 0 : h.peekKey())
+                    .description("Lowest weighted open workload in the pool")
+                    .tag("pool", pool)
+                    .register(meterRegistry);
+        });
+        Gauge.builder("task.assignment.tracked", this, WorkloadTracker::trackedCount)
+                .description("Open tasks counted towards pool workloads")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Picks the least loaded member of the pool and charges it for a task of the given
+     * priority and deadline right away, so concurrent callers spread out instead of all
+     * landing on the same assignee. Close the reservation once the task has been saved;
+     * by then the save event carries the real charge.
+     */
+    public Reservation reserve(String pool, Priority priority, Long deadline) {
+        return reserve(pool, priority, deadline, null);
+    }
+
+    // Same, but never picks excludedAssigneeId, e.g. the person going off shift
+    public Reservation reserve(String pool, Priority priority, Long deadline, Long excludedAssigneeId) {
+        IndexedMinHeap heap = heaps.get(pool);
+        if (heap == null) {
+            throw new IllegalArgumentException("Unknown assignee pool: " + pool);
+        }
+        double weight = properties.weightOf(priority, deadline, System.currentTimeMillis());
+        long assigneeId;
+        synchronized (lock) {
+            boolean excluded = excludedAssigneeId != null && heap.contains(excludedAssigneeId);
+            if (heap.size() - (excluded ? 1 : 0) == 0) {
+                throw new IllegalArgumentException("Assignee pool has no eligible members: " + pool);
+            }
+            if (excluded) {
+                // sink it for the duration of the pick, then put its real load back
+                heap.update(excludedAssigneeId, Double.POSITIVE_INFINITY);
+                assigneeId = heap.peekId();
+                heap.update(excludedAssigneeId, loads.get(excludedAssigneeId));
+            } else {
+                assigneeId = heap.peekId();
+            }
+            adjust(assigneeId, weight);
+        }
+        Counter.builder("task.assignment.auto")
+                .tag("pool", pool)
+                .register(meterRegistry)
+                .increment();
+        return new Reservation(assigneeId, weight);
+    }
+
+    public double loadOf(Long assigneeId) {
+        synchronized (lock) {
+            return loads.getOrDefault(assigneeId, 0.0);
+        }
+    }
+
+    // Tasks of people outside every pool are ignored, nobody would ever pick them
+    @Override
+    protected Contribution contributionOf(TaskManagement task) {
+        boolean open = task.getStatus() == TaskStatus.ASSIGNED || task.getStatus() == TaskStatus.STARTED;
+        if (!open || task.getAssigneeId() == null || !loads.containsKey(task.getAssigneeId())) {
+            return null;
+        }
+        double weight = properties.weightOf(task.getPriority(), task.getTaskDeadlineTime(), System.currentTimeMillis());
+        return new Contribution(task.getAssigneeId(), weight);
+    }
+
+    @Override
+    protected void change(Contribution previous, Contribution next) {
+        if (previous != null) {
+            adjust(previous.assigneeId(), -previous.weight());
+        }
+        if (next != null) {
+            adjust(next.assigneeId(), next.weight());
+        }
+    }
+
+    private void adjust(Long assigneeId, double delta) {
+        Double current = loads.get(assigneeId);
+        if (current == null) {
+            return;
+        }
+        // Clamp float drift so an idle assignee reads as exactly zero
+        double load = Math.max(0, current + delta);
+        loads.put(assigneeId, load);
+        for (IndexedMinHeap heap : poolsByAssignee.get(assigneeId)) {
+            heap.update(assigneeId, load);
+        }
+    }
+
+    record Contribution(Long assigneeId, double weight) {
+    }
+
+    public final class Reservation implements AutoCloseable {
+        private final long assigneeId;
+        private final double weight;
+        private boolean closed;
+
+        private Reservation(long assigneeId, double weight) {
+            this.assigneeId = assigneeId;
+            this.weight = weight;
+        }
+
+        public Long assigneeId() {
+            return assigneeId;
+        }
+
+        @Override
+        public void close() {
+            synchronized (lock) {
+                if (!closed) {
+                    closed = true;
+                    adjust(assigneeId, -weight);
+                }
+            }
+        }
+    }
+}
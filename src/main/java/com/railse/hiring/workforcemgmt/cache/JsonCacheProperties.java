@@ -0,0 +1,16 @@
+package com.railse.hiring.workforcemgmt.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "task-mgmt.json-cache")
+public class JsonCacheProperties {
+    private boolean enabled = true;
+    // Upper bound on cached payload bytes, least recently used entries go first
+    private long maxBytes = 64L * 1024 * 1024;
+    // Trades a little CPU on every hit for a smaller footprint
+    private boolean compress = false;
+}
@@ -0,0 +1,16 @@
+package com.railse.hiring.workforcemgmt.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "task-mgmt.near-cache")
+public class NearCacheProperties {
+    // Only put in front of the jdbc backend, the in-memory ones already answer from the heap
+    private boolean enabled = true;
+    private long maximumSize = 100_000;
+    // 0 keeps entries until evicted; set it when other processes write to the same database
+    private long expireAfterWriteMs = 0;
+}
@@ -0,0 +1,143 @@
+package com.railse.hiring.workforcemgmt.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.QueryResult;
+import com.railse.hiring.workforcemgmt.repository.TaskQuery;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Answers findById from a bounded in-process cache in front of a store that reads from
+ * disk or the network. Caffeine admits by W-TinyLFU, so a scan over cold tasks does not
+ * push out the few that are read all the time.
+ * <p>
+ * Loads run inside the cache's per-key compute and writes update the cache only after
+ * the store accepted them, so an entry is never older than a write that completed before
+ * it was read. Entries are copied in and out; callers mutate what they get before saving,
+ * and that must not show through to other readers until the save.
+ */
+public class NearCacheTaskRepository implements TaskRepository {
+    private final TaskRepository delegate;
+    private final Cache<Long, TaskManagement> cache;
+
+    public NearCacheTaskRepository(TaskRepository delegate, NearCacheProperties properties, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .recordStats();
+        if (properties.getExpireAfterWriteMs() > 0) {
+            builder.expireAfterWrite(Duration.ofMillis(properties.getExpireAfterWriteMs()));
+        }
+        this.cache = builder.build();
+        // cache.gets{result=hit|miss}, cache.evictions, cache.size tagged cache=task-near-cache
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "task-near-cache");
+        Gauge.builder("task.near_cache.hit_ratio", cache, c -> c.stats().hitRate())
+                .description("Share of findById calls answered without going to the store")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Optional<TaskManagement> findById(Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        // a miss is not cached, the loader returning null leaves no entry. The store hands out
+        // objects nobody else holds, so the loaded one goes in as it is
+        TaskManagement cached = cache.get(id, key -> delegate.findById(key).orElse(null));
+        return Optional.ofNullable(cached).map(TaskManagement::copy);
+    }
+
+    @Override
+    public TaskManagement save(TaskManagement task) {
+        TaskManagement saved = delegate.save(task);
+        remember(saved);
+        return saved;
+    }
+
+    @Override
+    public List<TaskManagement> saveAll(List<TaskManagement> tasks) {
+        List<TaskManagement> saved = delegate.saveAll(tasks);
+        // a task listed twice would otherwise look like two racing saves of one version
+        Set<TaskManagement> remembered = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (TaskManagement task : saved) {
+            if (remembered.add(task)) {
+                remember(task);
+            }
+        }
+        return saved;
+    }
+
+    // Two writers can finish in either order, the higher version wins. Equal versions mean
+    // two saves raced from the same read and the store kept one we cannot tell, so drop it
+    private void remember(TaskManagement saved) {
+        cache.asMap().merge(saved.getId(), saved.copy(), (cached, fresh) -> {
+            if (fresh.getVersion() > cached.getVersion()) {
+                return fresh;
+            }
+            return fresh.getVersion() == cached.getVersion() ? null : cached;
+        });
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        delegate.deleteById(id);
+        cache.invalidate(id);
+    }
+
+    @Override
+    public boolean evict(Long id, long expectedVersion) {
+        boolean evicted = delegate.evict(id, expectedVersion);
+        if (evicted) {
+            cache.invalidate(id);
+        }
+        return evicted;
+    }
+
+    // Lists are not cached, they are read far less often than single tasks and go stale in more ways
+    @Override
+    public List<TaskManagement> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<TaskManagement> findByReferenceIdAndReferenceType(Long referenceId, ReferenceType referenceType) {
+        return delegate.findByReferenceIdAndReferenceType(referenceId, referenceType);
+    }
+
+    @Override
+    public List<TaskManagement> findByAssigneeIdIn(List<Long> assigneeIds) {
+        return delegate.findByAssigneeIdIn(assigneeIds);
+    }
+
+    @Override
+    public QueryResult query(TaskQuery query) {
+        return delegate.query(query);
+    }
+
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+
+    @Override
+    public long countByStatus(TaskStatus status) {
+        return delegate.countByStatus(status);
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+}
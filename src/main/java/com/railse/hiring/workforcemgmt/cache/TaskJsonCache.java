@@ -0,0 +1,181 @@
+package com.railse.hiring.workforcemgmt.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.railse.hiring.workforcemgmt.common.exception.StatusCode;
+import com.railse.hiring.workforcemgmt.common.model.response.ResponseStatus;
+import com.railse.hiring.workforcemgmt.mapper.ITaskManagementMapper;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.repository.TaskDeletedEvent;
+import com.railse.hiring.workforcemgmt.repository.TaskSavedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps the serialized JSON of each task keyed by id and version so hot reads
+ * skip the MapStruct mapping and Jackson serialization. Entries are refreshed
+ * lazily when the version moves on and dropped as soon as the task is saved.
+ */
+@Component
+public class TaskJsonCache {
+    private final ObjectMapper objectMapper;
+    private final ITaskManagementMapper taskMapper;
+    private final JsonCacheProperties properties;
+    private final byte[] envelopePrefix;
+    private final byte[] envelopeSuffix;
+
+    // access ordered, so iteration starts at the least recently used entry
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(1024, 0.75f, true);
+    private long cachedBytes;
+
+    public TaskJsonCache(ObjectMapper objectMapper, ITaskManagementMapper taskMapper,
+                         JsonCacheProperties properties) {
+        this.objectMapper = objectMapper;
+        this.taskMapper = taskMapper;
+        this.properties = properties;
+        try {
+            ResponseStatus success = new ResponseStatus(StatusCode.SUCCESS.getCode(),
+                    StatusCode.SUCCESS.getMessage());
+            this.envelopePrefix = "{\"data\":".getBytes(StandardCharsets.UTF_8);
+            this.envelopeSuffix = (",\"pagination\":null,\"status\":"
+                    + objectMapper.writeValueAsString(success) + "}").getBytes(StandardCharsets.UTF_8);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not prepare response envelope", e);
+        }
+    }
+
+    // Same shape as new Response<>(dto) but with the task bytes spliced in
+    public byte[] toResponse(TaskManagement task) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(512);
+        out.writeBytes(envelopePrefix);
+        writeTask(out, task);
+        out.writeBytes(envelopeSuffix);
+        return out.toByteArray();
+    }
+
+    public byte[] toResponse(List<TaskManagement> tasks) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256 + tasks.size() * 256);
+        out.writeBytes(envelopePrefix);
+        out.write('[');
+        for (int i = 0; i < tasks.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            writeTask(out, tasks.get(i));
+        }
+        out.write(']');
+        out.writeBytes(envelopeSuffix);
+        return out.toByteArray();
+    }
+
+    public void writeTask(OutputStream out, TaskManagement task) {
+        try {
+            if (!properties.isEnabled() || task.getId() == null) {
+                out.write(serialize(task));
+                return;
+            }
+            Entry entry;
+            synchronized (entries) {
+                entry = entries.get(task.getId());
+            }
+            long version = task.getVersion();
+            if (entry != null && entry.version() == version) {
+                if (entry.compressed()) {
+                    try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(entry.payload()))) {
+                        in.transferTo(out);
+                    }
+                } else {
+                    out.write(entry.payload());
+                }
+                return;
+            }
+            byte[] json = serialize(task);
+            out.write(json);
+            store(task.getId(), properties.isCompress()
+                    ? new Entry(version, gzip(json), true)
+                    : new Entry(version, json, false));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @EventListener
+    public void onTaskSaved(TaskSavedEvent event) {
+        invalidate(event.task().getId());
+    }
+
+    @EventListener
+    public void onTaskDeleted(TaskDeletedEvent event) {
+        invalidate(event.task().getId());
+    }
+
+    public void invalidate(Long taskId) {
+        synchronized (entries) {
+            Entry removed = entries.remove(taskId);
+            if (removed != null) {
+                cachedBytes -= removed.payload().length;
+            }
+        }
+    }
+
+    public long cachedBytes() {
+        synchronized (entries) {
+            return cachedBytes;
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private void store(Long taskId, Entry entry) {
+        long budget = properties.getMaxBytes();
+        if (entry.payload().length > budget) {
+            return;
+        }
+        synchronized (entries) {
+            Entry previous = entries.get(taskId);
+            // a newer version may have been stored while we were serializing
+            if (previous != null && previous.version() > entry.version()) {
+                return;
+            }
+            entries.put(taskId, entry);
+            cachedBytes += entry.payload().length - (previous != null ? previous.payload().length : 0);
+            Iterator<Map.Entry<Long, Entry>> eldest = entries.entrySet().iterator();
+            while (cachedBytes > budget && eldest.hasNext()) {
+                cachedBytes -= eldest.next().getValue().payload().length;
+                eldest.remove();
+            }
+        }
+    }
+
+    private byte[] serialize(TaskManagement task) throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(taskMapper.modelToDto(task));
+    }
+
+    private static byte[] gzip(byte[] json) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 2 + 32);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        }
+        return out.toByteArray();
+    }
+
+    private record Entry(long version, byte[] payload, boolean compressed) {
+    }
+}
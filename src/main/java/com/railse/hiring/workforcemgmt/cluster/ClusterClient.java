@@ -0,0 +1,86 @@
+package com.railse.hiring.workforcemgmt.cluster;
+
+import com.railse.hiring.workforcemgmt.common.internal.InternalAuthFilter;
+import com.railse.hiring.workforcemgmt.common.internal.InternalAuthProperties;
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.repository.QueryResult;
+import com.railse.hiring.workforcemgmt.repository.TaskQuery;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+// Calls the /internal/cluster endpoints of a peer, which only ever touch that peer's local store
+@Component
+public class ClusterClient {
+    private static final String TASKS = "/internal/cluster/tasks";
+
+    private final RestTemplate restTemplate;
+
+    public ClusterClient(RestTemplateBuilder builder, ClusterProperties properties,
+                         InternalAuthProperties internalAuth) {
+        Duration timeout = Duration.ofMillis(properties.getRequestTimeoutMs());
+        if (properties.isEnabled()) {
+            builder = builder.defaultHeader(InternalAuthFilter.HEADER, internalAuth.requireSecret("task-mgmt.cluster"));
+        }
+        this.restTemplate = builder
+                .setConnectTimeout(timeout)
+                .setReadTimeout(timeout)
+                .build();
+    }
+
+    public Optional<TaskManagement> findById(String baseUrl, Long id) {
+        try {
+            return Optional.ofNullable(restTemplate.getForObject(baseUrl + TASKS + "/{id}", TaskManagement.class, id));
+        } catch (HttpClientErrorException.NotFound e) {
+            return Optional.empty();
+        }
+    }
+
+    public TaskManagement save(String baseUrl, TaskManagement task) {
+        return restTemplate.postForObject(baseUrl + TASKS, task, TaskManagement.class);
+    }
+
+    public List<TaskManagement> saveAll(String baseUrl, List<TaskManagement> tasks) {
+        TaskManagement[] saved = restTemplate.postForObject(baseUrl + TASKS + "/batch", tasks, TaskManagement[].class);
+        return saved == null ? List.of() : List.of(saved);
+    }
+
+    public void deleteById(String baseUrl, Long id) {
+        restTemplate.delete(baseUrl + TASKS + "/{id}", id);
+    }
+
+    public List<TaskManagement> findAll(String baseUrl) {
+        return list(restTemplate.getForObject(baseUrl + TASKS + "/all", TaskManagement[].class));
+    }
+
+    public List<TaskManagement> findByAssigneeIdIn(String baseUrl, List<Long> assigneeIds) {
+        String ids = assigneeIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+        return list(restTemplate.getForObject(baseUrl + TASKS + "?assigneeIds={ids}", TaskManagement[].class, ids));
+    }
+
+    public List<TaskManagement> findByReferenceIdAndReferenceType(String baseUrl, Long referenceId,
+                                                                  ReferenceType referenceType) {
+        return list(restTemplate.getForObject(baseUrl + TASKS + "/by-reference?referenceId={id}&referenceType={type}",
+                TaskManagement[].class, referenceId, referenceType));
+    }
+
+    public QueryResult query(String baseUrl, TaskQuery query) {
+        return restTemplate.postForObject(baseUrl + TASKS + "/query", query, QueryResult.class);
+    }
+
+    public void updateMembership(String baseUrl, MembershipUpdate update) {
+        restTemplate.postForObject(baseUrl + "/internal/cluster/membership", update, Void.class);
+    }
+
+    private static List<TaskManagement> list(TaskManagement[] tasks) {
+        return tasks != null ? Arrays.asList(tasks) : List.of();
+    }
+}
@@ -0,0 +1,119 @@
+package com.railse.hiring.workforcemgmt.cluster;
+
+import com.railse.hiring.workforcemgmt.common.concurrent.TaskLocks;
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.repository.QueryResult;
+import com.railse.hiring.workforcemgmt.repository.TaskQuery;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+// Node-to-node API, everything here works on this node's slice only
+@Slf4j
+@RestController
+@RequestMapping("/internal/cluster")
+@ConditionalOnProperty(prefix = "task-mgmt.cluster", name = "enabled", havingValue = "true")
+public class ClusterInternalController {
+    private final TaskRepository localTaskStore;
+    private final ClusterTaskRepository clusterTaskRepository;
+    private final ClusterMembership membership;
+    private final ClusterClient client;
+    private final TaskLocks taskLocks;
+
+    public ClusterInternalController(@Qualifier("localTaskStore") TaskRepository localTaskStore,
+                                     ClusterTaskRepository clusterTaskRepository,
+                                     ClusterMembership membership, ClusterClient client, TaskLocks taskLocks) {
+        this.localTaskStore = localTaskStore;
+        this.clusterTaskRepository = clusterTaskRepository;
+        this.membership = membership;
+        this.client = client;
+        this.taskLocks = taskLocks;
+    }
+
+    @GetMapping("/tasks/{id}")
+    public ResponseEntity<TaskManagement> findById(@PathVariable Long id) {
+        return ResponseEntity.of(localTaskStore.findById(id));
+    }
+
+    // Writes from peers take the same task locks as local mutators, new tasks have no id yet
+    @PostMapping("/tasks")
+    public TaskManagement save(@RequestBody TaskManagement task) {
+        try (TaskLocks.Held ignored = taskLocks.lockAll(idsOf(List.of(task)))) {
+            return localTaskStore.save(task);
+        }
+    }
+
+    @PostMapping("/tasks/batch")
+    public List<TaskManagement> saveAll(@RequestBody List<TaskManagement> tasks) {
+        try (TaskLocks.Held ignored = taskLocks.lockAll(idsOf(tasks))) {
+            return localTaskStore.saveAll(tasks);
+        }
+    }
+
+    @DeleteMapping("/tasks/{id}")
+    public void deleteById(@PathVariable Long id) {
+        try (TaskLocks.Held ignored = taskLocks.lock(id)) {
+            localTaskStore.deleteById(id);
+        }
+    }
+
+    @GetMapping("/tasks/all")
+    public List<TaskManagement> findAll() {
+        return localTaskStore.findAll();
+    }
+
+    @GetMapping("/tasks")
+    public List<TaskManagement> findByAssigneeIdIn(@RequestParam List<Long> assigneeIds) {
+        return localTaskStore.findByAssigneeIdIn(assigneeIds);
+    }
+
+    @GetMapping("/tasks/by-reference")
+    public List<TaskManagement> findByReference(@RequestParam Long referenceId,
+                                                @RequestParam ReferenceType referenceType) {
+        return localTaskStore.findByReferenceIdAndReferenceType(referenceId, referenceType);
+    }
+
+    @PostMapping("/tasks/query")
+    public QueryResult query(@RequestBody TaskQuery query) {
+        return localTaskStore.query(query);
+    }
+
+    @GetMapping("/membership")
+    public List<ClusterProperties.Node> membership() {
+        return membership.nodes();
+    }
+
+    // Installs a new node list everywhere, then every node ships off the ranges it lost
+    @PostMapping("/membership")
+    public int updateMembership(@RequestBody MembershipUpdate update) {
+        Set<String> everyone = new LinkedHashSet<>();
+        membership.nodes().forEach(node -> everyone.add(node.getUrl()));
+        update.nodes().forEach(node -> everyone.add(node.getUrl()));
+
+        membership.update(update.nodes());
+        if (update.propagate()) {
+            String self = membership.urlOf(membership.selfId());
+            for (String url : everyone) {
+                if (!url.equals(self)) {
+                    client.updateMembership(url, new MembershipUpdate(update.nodes(), false));
+                }
+            }
+        }
+        int moved = clusterTaskRepository.migrateForeignTasks();
+        log.info("Membership now {}, moved {} tasks", update.nodes(), moved);
+        return moved;
+    }
+
+    private static List<Long> idsOf(List<TaskManagement> tasks) {
+        return tasks.stream().map(TaskManagement::getId).filter(Objects::nonNull).toList();
+    }
+}
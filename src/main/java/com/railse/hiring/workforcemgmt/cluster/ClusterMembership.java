@@ -0,0 +1,66 @@
+package com.railse.hiring.workforcemgmt.cluster;
+
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+@Component
+public class ClusterMembership {
+    private final String selfId;
+    private final int virtualNodes;
+    private volatile List<ClusterProperties.Node> nodes;
+    private volatile Map<String, String> urls;
+    private volatile ConsistentHashRing ring;
+
+    public ClusterMembership(ClusterProperties properties) {
+        this.selfId = properties.getNodeId();
+        this.virtualNodes = properties.getVirtualNodes();
+        update(properties.getNodes());
+    }
+
+    // Swaps in the new node list and returns the ring it replaced
+    public synchronized ConsistentHashRing update(List<ClusterProperties.Node> members) {
+        Map<String, String> newUrls = new LinkedHashMap<>();
+        for (ClusterProperties.Node node : members) {
+            newUrls.put(node.getId(), node.getUrl());
+        }
+        ConsistentHashRing previous = this.ring;
+        this.nodes = List.copyOf(members);
+        this.urls = newUrls;
+        this.ring = new ConsistentHashRing(newUrls.keySet(), virtualNodes);
+        return previous;
+    }
+
+    public String selfId() {
+        return selfId;
+    }
+
+    public List<ClusterProperties.Node> nodes() {
+        return nodes;
+    }
+
+    public String ownerOf(Long referenceId) {
+        return ring.ownerOf(referenceId != null ? referenceId : 0L);
+    }
+
+    public boolean isSelf(String nodeId) {
+        return Objects.equals(selfId, nodeId);
+    }
+
+    public String urlOf(String nodeId) {
+        String url = urls.get(nodeId);
+        if (url == null) {
+            throw new IllegalStateException("Unknown cluster node " + nodeId);
+        }
+        return url;
+    }
+
+    public List<String> peers() {
+        return ring.nodeIds().stream()
+                .filter(nodeId -> !isSelf(nodeId))
+                .toList();
+    }
+}
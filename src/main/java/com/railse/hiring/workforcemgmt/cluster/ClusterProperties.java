@@ -0,0 +1,29 @@
+package com.railse.hiring.workforcemgmt.cluster;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "task-mgmt.cluster")
+public class ClusterProperties {
+    private boolean enabled = false;
+    private String nodeId;
+    // Unique per node and never reused, node i allocates task ids i + n * maxNodes
+    private int nodeOrdinal;
+    private int maxNodes = 64;
+    // Points per node on the hash ring, more points means a more even split
+    private int virtualNodes = 128;
+    private long requestTimeoutMs = 2000;
+    private List<Node> nodes = new ArrayList<>();
+
+    @Data
+    public static class Node {
+        private String id;
+        private String url;
+    }
+}
@@ -0,0 +1,285 @@
+package com.railse.hiring.workforcemgmt.cluster;
+
+import com.railse.hiring.workforcemgmt.common.concurrent.TaskLocks;
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.QueryPlan;
+import com.railse.hiring.workforcemgmt.repository.QueryResult;
+import com.railse.hiring.workforcemgmt.repository.TaskQuery;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Partitions tasks across nodes by referenceId on a consistent hash ring. Writes and
+ * reference lookups go to the owning node; id lookups and assignee/full listings are
+ * scatter-gathered from every node, with a shared deadline; a peer that misses it is
+ * left out and named in the {@value #PARTIAL_HEADER} header. Counts stay node-local so
+ * each node reports its own slice in metrics.
+ */
+@Slf4j
+public class ClusterTaskRepository implements TaskRepository, AutoCloseable {
+    public static final String PARTIAL_HEADER = "X-Cluster-Partial";
+
+    private final TaskRepository local;
+    private final ClusterMembership membership;
+    private final ClusterClient client;
+    private final TaskLocks taskLocks;
+    private final MeterRegistry meterRegistry;
+    private final long requestTimeoutMs;
+    private final Counter migrationFailures;
+    private final ExecutorService scatterPool;
+
+    public ClusterTaskRepository(TaskRepository local, ClusterMembership membership, ClusterClient client,
+                                 TaskLocks taskLocks, ClusterProperties properties, MeterRegistry meterRegistry) {
+        this.local = local;
+        this.membership = membership;
+        this.client = client;
+        this.taskLocks = taskLocks;
+        this.meterRegistry = meterRegistry;
+        this.requestTimeoutMs = properties.getRequestTimeoutMs();
+        this.migrationFailures = Counter.builder("task.cluster.migration.failures")
+                .description("Tasks left on a node that no longer owns them because the hand-over failed")
+                .register(meterRegistry);
+        AtomicInteger threads = new AtomicInteger();
+        this.scatterPool = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "task-cluster-scatter-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public Optional<TaskManagement> findById(Long id) {
+        Optional<TaskManagement> task = local.findById(id);
+        if (task.isPresent()) {
+            return task;
+        }
+        // ids do not say which node owns the reference, so ask everyone and keep the newest copy
+        return merge(scatter(peer -> client.findById(membership.urlOf(peer), id).map(List::of).orElse(List.of()))
+                .results()).stream().findFirst();
+    }
+
+    @Override
+    public TaskManagement save(TaskManagement task) {
+        String owner = membership.ownerOf(task.getReferenceId());
+        if (membership.isSelf(owner)) {
+            return local.save(task);
+        }
+        TaskManagement saved = client.save(membership.urlOf(owner), task);
+        // callers keep using the instance they passed in, so carry the assigned id and version back
+        task.setId(saved.getId());
+        task.setVersion(saved.getVersion());
+        return task;
+    }
+
+    // Each owner applies its share as one batch, there is no atomicity across nodes
+    @Override
+    public List<TaskManagement> saveAll(List<TaskManagement> tasks) {
+        Map<String, List<TaskManagement>> byOwner = new LinkedHashMap<>();
+        for (TaskManagement task : tasks) {
+            byOwner.computeIfAbsent(membership.ownerOf(task.getReferenceId()), owner -> new ArrayList<>()).add(task);
+        }
+        for (Map.Entry<String, List<TaskManagement>> batch : byOwner.entrySet()) {
+            if (membership.isSelf(batch.getKey())) {
+                local.saveAll(batch.getValue());
+                continue;
+            }
+            List<TaskManagement> saved = client.saveAll(membership.urlOf(batch.getKey()), batch.getValue());
+            for (int i = 0; i < saved.size(); i++) {
+                batch.getValue().get(i).setId(saved.get(i).getId());
+                batch.getValue().get(i).setVersion(saved.get(i).getVersion());
+            }
+        }
+        return new ArrayList<>(tasks);
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        local.deleteById(id);
+        Scatter deleted = scatter(peer -> {
+            client.deleteById(membership.urlOf(peer), id);
+            return List.of();
+        });
+        // a missed peer may still hold the task, so don't report the delete as done
+        if (!deleted.missing().isEmpty()) {
+            throw new IllegalStateException("Task " + id + " may still exist on nodes " + deleted.missing());
+        }
+    }
+
+    @Override
+    public List<TaskManagement> findAll() {
+        return merge(local.findAll(), scatter(peer -> client.findAll(membership.urlOf(peer))).results());
+    }
+
+    @Override
+    public List<TaskManagement> findByReferenceIdAndReferenceType(Long referenceId, ReferenceType referenceType) {
+        String owner = membership.ownerOf(referenceId);
+        if (membership.isSelf(owner)) {
+            return local.findByReferenceIdAndReferenceType(referenceId, referenceType);
+        }
+        return client.findByReferenceIdAndReferenceType(membership.urlOf(owner), referenceId, referenceType);
+    }
+
+    @Override
+    public List<TaskManagement> findByAssigneeIdIn(List<Long> assigneeIds) {
+        return merge(local.findByAssigneeIdIn(assigneeIds),
+                scatter(peer -> client.findByAssigneeIdIn(membership.urlOf(peer), assigneeIds)).results());
+    }
+
+    @Override
+    public QueryResult query(TaskQuery query) {
+        if (query.referenceId() != null) {
+            String owner = membership.ownerOf(query.referenceId());
+            return membership.isSelf(owner) ? local.query(query) : client.query(membership.urlOf(owner), query);
+        }
+        QueryResult mine = local.query(query);
+        List<QueryPlan> plans = new ArrayList<>();
+        plans.add(mine.plan());
+        List<List<TaskManagement>> theirs = scatter(peer -> {
+            QueryResult result = client.query(membership.urlOf(peer), query);
+            synchronized (plans) {
+                plans.add(result.plan());
+            }
+            return result.tasks();
+        }).results();
+        List<TaskManagement> page = query.page(merge(mine.tasks(), theirs));
+        return new QueryResult(page, QueryPlan.combine(plans, page.size()));
+    }
+
+    @Override
+    public long count() {
+        return local.count();
+    }
+
+    @Override
+    public long countByStatus(TaskStatus status) {
+        return local.countByStatus(status);
+    }
+
+    /**
+     * Hands every local task whose reference now belongs to another node over to that
+     * node, then drops it locally. Only the ring ranges that changed owner are touched.
+     * Each task moves under its lock, so a local write cannot land between the copy and
+     * the delete. A 409 from the owner means it already holds a newer version and the
+     * local copy is simply dropped; any other failure leaves the task here for the next
+     * membership change and the rest keep moving.
+     */
+    public int migrateForeignTasks() {
+        int moved = 0;
+        int failed = 0;
+        for (TaskManagement candidate : local.findAll()) {
+            String owner = membership.ownerOf(candidate.getReferenceId());
+            if (membership.isSelf(owner)) {
+                continue;
+            }
+            try (TaskLocks.Held ignored = taskLocks.lock(candidate.getId())) {
+                Optional<TaskManagement> current = local.findById(candidate.getId());
+                if (current.isEmpty()) {
+                    continue;
+                }
+                try {
+                    client.save(membership.urlOf(owner), current.get().copy());
+                } catch (HttpClientErrorException.Conflict e) {
+                    log.debug("Node {} already has a newer task {}", owner, candidate.getId());
+                }
+                local.deleteById(candidate.getId());
+                moved++;
+            } catch (RuntimeException e) {
+                failed++;
+                migrationFailures.increment();
+                log.warn("Could not move task {} to node {}, keeping it here", candidate.getId(), owner, e);
+            }
+        }
+        log.info("Moved {} tasks to their new owners, {} failed", moved, failed);
+        return moved;
+    }
+
+    /**
+     * Calls every peer and waits at most requestTimeoutMs for all of them together. Peers
+     * that fail or miss the deadline are left out of the result, counted, and listed in the
+     * X-Cluster-Partial response header so callers can tell a short answer from a full one.
+     */
+    private Scatter scatter(Function<String, List<TaskManagement>> call) {
+        Map<String, CompletableFuture<List<TaskManagement>>> calls = new LinkedHashMap<>();
+        for (String peer : membership.peers()) {
+            calls.put(peer, CompletableFuture.supplyAsync(() -> call.apply(peer), scatterPool));
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(requestTimeoutMs);
+        List<List<TaskManagement>> results = new ArrayList<>(calls.size());
+        List<String> missing = new ArrayList<>();
+        for (Map.Entry<String, CompletableFuture<List<TaskManagement>>> result : calls.entrySet()) {
+            try {
+                results.add(result.getValue().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                result.getValue().cancel(true);
+                missing.add(result.getKey());
+            } catch (ExecutionException | TimeoutException e) {
+                result.getValue().cancel(true);
+                missing.add(result.getKey());
+                log.warn("Node {} did not answer in time: {}", result.getKey(), e.toString());
+            }
+        }
+        if (!missing.isEmpty()) {
+            missing.forEach(peer -> Counter.builder("task.cluster.scatter.failures")
+                    .description("Peer calls that failed or timed out during a scatter-gather")
+                    .tag("node", peer)
+                    .register(meterRegistry)
+                    .increment());
+            markPartial(missing);
+        }
+        return new Scatter(results, missing);
+    }
+
+    private static void markPartial(List<String> missing) {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                && attributes.getResponse() != null) {
+            attributes.getResponse().setHeader(PARTIAL_HEADER, String.join(",", missing));
+        }
+    }
+
+    private record Scatter(List<List<TaskManagement>> results, List<String> missing) {
+    }
+
+    private static List<TaskManagement> merge(List<List<TaskManagement>> parts) {
+        return merge(List.of(), parts);
+    }
+
+    // A task can briefly live on two nodes while it is being moved, keep the newest version
+    private static List<TaskManagement> merge(List<TaskManagement> first, List<List<TaskManagement>> parts) {
+        Map<Long, TaskManagement> byId = new LinkedHashMap<>();
+        first.forEach(task -> byId.put(task.getId(), task));
+        for (List<TaskManagement> part : parts) {
+            for (TaskManagement task : part) {
+                byId.merge(task.getId(), task, (mine, theirs) ->
+                        theirs.getVersion() > mine.getVersion() ? theirs : mine);
+            }
+        }
+        return new ArrayList<>(byId.values());
+    }
+
+    @Override
+    public void close() {
+        scatterPool.shutdownNow();
+    }
+}
@@ -0,0 +1,57 @@
+package com.railse.hiring.workforcemgmt.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Immutable consistent hash ring over node ids. Every node is placed at several
+ * points on a 64-bit ring and a key belongs to the first point at or after its hash,
+ * so adding or removing a node only moves the keys next to that node's points.
+ */
+public final class ConsistentHashRing {
+    private final NavigableMap<Long, String> points = new TreeMap<>();
+    private final List<String> nodeIds;
+
+    public ConsistentHashRing(Collection<String> nodeIds, int virtualNodes) {
+        this.nodeIds = List.copyOf(nodeIds);
+        for (String nodeId : this.nodeIds) {
+            for (int point = 0; point < virtualNodes; point++) {
+                points.put(hash(nodeId + "#" + point), nodeId);
+            }
+        }
+    }
+
+    public List<String> nodeIds() {
+        return nodeIds;
+    }
+
+    public String ownerOf(long key) {
+        if (points.isEmpty()) {
+            throw new IllegalStateException("Hash ring has no nodes");
+        }
+        Map.Entry<Long, String> owner = points.ceilingEntry(mix(key));
+        return owner != null ? owner.getValue() : points.firstEntry().getValue();
+    }
+
+    // FNV-1a over the bytes, then the same finaliser as keys so both spread over the full range
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    // splitmix64 finaliser
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,7 @@
+package com.railse.hiring.workforcemgmt.cluster;
+
+import java.util.List;
+
+// propagate=false marks a copy forwarded by the node that received the original request
+public record MembershipUpdate(List<ClusterProperties.Node> nodes, boolean propagate) {
+}
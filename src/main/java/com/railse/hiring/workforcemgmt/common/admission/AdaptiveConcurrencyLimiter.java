@@ -0,0 +1,73 @@
+package com.railse.hiring.workforcemgmt.common.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caps requests in flight and moves the cap with observed latency, along the lines of
+ * a gradient limiter: while short-term latency tracks the long-run average the limit
+ * grows by roughly its square root, and once latency climbs past the tolerance the
+ * limit shrinks in proportion.
+ */
+public class AdaptiveConcurrencyLimiter {
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private volatile double limit;
+    // Guarded by this
+    private double shortRtt;
+    private double longRtt;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(long latencyNanos) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        onSample(latencyNanos, inFlightBefore);
+    }
+
+    synchronized void onSample(long latencyNanos, int inFlightAtSample) {
+        if (longRtt == 0) {
+            shortRtt = latencyNanos;
+            longRtt = latencyNanos;
+            return;
+        }
+        shortRtt = shortRtt * 0.9 + latencyNanos * 0.1;
+        longRtt = longRtt * 0.995 + latencyNanos * 0.005;
+        // Recover quickly once an overload has passed instead of dragging the old average
+        if (longRtt > shortRtt * 2) {
+            longRtt = shortRtt * 2;
+        }
+        // Not using the limit we have, so latency says nothing about whether it is right
+        if (inFlightAtSample < limit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / shortRtt));
+        double target = limit * gradient + Math.sqrt(limit);
+        limit = Math.max(minLimit, Math.min(maxLimit, limit * 0.8 + target * 0.2));
+    }
+
+    public int limit() {
+        return (int) limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,125 @@
+package com.railse.hiring.workforcemgmt.common.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.railse.hiring.workforcemgmt.common.exception.StatusCode;
+import com.railse.hiring.workforcemgmt.common.model.response.Response;
+import com.railse.hiring.workforcemgmt.common.model.response.ResponseStatus;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control for the task API, run before anything else so a rejected request
+ * never reaches the service or the store. Each client draws endpoint-weighted tokens
+ * from its own bucket, and all clients share an adaptive cap on requests in flight.
+ * See {@link ClientResolver} for how a request's client is decided.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 5)
+public class AdmissionFilter extends OncePerRequestFilter {
+    private final AdmissionProperties properties;
+    private final ClientResolver clientResolver;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    // Bounded, and an idle bucket has refilled anyway, so dropping it only forgets a full bucket
+    private final Cache<String, TokenBucket> buckets;
+
+    public AdmissionFilter(AdmissionProperties properties, ClientResolver clientResolver, ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.clientResolver = clientResolver;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxClients())
+                .expireAfterAccess(Duration.ofMillis(properties.getIdleClientMs()))
+                // evicting a bucket is cheap, do it on the request thread so the cap holds as clients arrive
+                .executor(Runnable::run)
+                .build();
+        AdmissionProperties.Concurrency concurrency = properties.getConcurrency();
+        this.limiter = new AdaptiveConcurrencyLimiter(concurrency.getInitialLimit(), concurrency.getMinLimit(),
+                concurrency.getMaxLimit(), concurrency.getTolerance());
+        Gauge.builder("task.admission.limit", limiter, AdaptiveConcurrencyLimiter::limit)
+                .description("Current cap on task API requests in flight")
+                .register(meterRegistry);
+        Gauge.builder("task.admission.in_flight", limiter, AdaptiveConcurrencyLimiter::inFlight)
+                .register(meterRegistry);
+        Gauge.builder("task.admission.clients", buckets, Cache::estimatedSize)
+                .description("Clients with a live token bucket")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || !request.getRequestURI().startsWith("/task-mgmt");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        ClientResolver.Client client = clientResolver.resolve(request);
+        long now = System.nanoTime();
+        long waitNanos = bucketFor(client.key(), now).tryConsume(costOf(request), now);
+        if (waitNanos > 0) {
+            long retryAfter = waitNanos == Long.MAX_VALUE ? 60 : Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1);
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+            reject(response, client, "rate", "Rate limit exceeded for client " + client.key());
+            return;
+        }
+        boolean concurrencyLimited = properties.getConcurrency().isEnabled();
+        if (concurrencyLimited && !limiter.tryAcquire()) {
+            reject(response, client, "concurrency", "Server is at capacity, retry shortly");
+            return;
+        }
+        long started = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (concurrencyLimited) {
+                limiter.release(System.nanoTime() - started);
+            }
+        }
+    }
+
+    private int costOf(HttpServletRequest request) {
+        for (AdmissionProperties.EndpointCost cost : properties.getCosts()) {
+            if ((cost.getMethod() == null || cost.getMethod().equalsIgnoreCase(request.getMethod()))
+                    && pathMatcher.match(cost.getPath(), request.getRequestURI())) {
+                return cost.getCost();
+            }
+        }
+        return properties.getDefaultCost();
+    }
+
+    private TokenBucket bucketFor(String client, long now) {
+        return buckets.get(client,
+                key -> new TokenBucket(properties.getBucketCapacity(), properties.getRefillPerSecond(), now));
+    }
+
+    private void reject(HttpServletResponse response, ClientResolver.Client client, String reason,
+                        String message) throws IOException {
+        meterRegistry.counter("task.admission.rejected", "client", client.tag(), "reason", reason).increment();
+        response.setStatus(StatusCode.TOO_MANY_REQUESTS.getCode());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        ResponseStatus status = new ResponseStatus(StatusCode.TOO_MANY_REQUESTS.getCode(), message);
+        objectMapper.writeValue(response.getOutputStream(), new Response<>(null, null, status));
+    }
+}
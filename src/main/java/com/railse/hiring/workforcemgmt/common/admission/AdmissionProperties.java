@@ -0,0 +1,45 @@
+package com.railse.hiring.workforcemgmt.common.admission;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "task-mgmt.admission")
+public class AdmissionProperties {
+    private boolean enabled = true;
+    private String clientHeader = "X-Client-Id";
+    // Header values that are honoured, '*' wildcards allowed; other requests are keyed by remote address
+    private List<String> clients = new ArrayList<>();
+    // Token bucket per client: burst size and sustained tokens per second
+    private double bucketCapacity = 200;
+    private double refillPerSecond = 100;
+    private int defaultCost = 1;
+    private List<EndpointCost> costs = new ArrayList<>();
+    // At most maxClients buckets are kept, and one unused for idleClientMs is dropped
+    private int maxClients = 10_000;
+    private long idleClientMs = 300_000;
+    private Concurrency concurrency = new Concurrency();
+
+    @Data
+    public static class EndpointCost {
+        private String method;
+        // Ant-style, e.g. /task-mgmt/fetch-by-date/*
+        private String path;
+        private int cost;
+    }
+
+    @Data
+    public static class Concurrency {
+        private boolean enabled = true;
+        private int initialLimit = 64;
+        private int minLimit = 8;
+        private int maxLimit = 1024;
+        // How far latency may rise over the long-run average before the limit backs off
+        private double tolerance = 1.5;
+    }
+}
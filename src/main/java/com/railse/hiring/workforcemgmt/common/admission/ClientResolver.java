@@ -0,0 +1,41 @@
+package com.railse.hiring.workforcemgmt.common.admission;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.util.PatternMatchUtils;
+
+import java.util.List;
+
+/**
+ * Who a request counts against. The client header is caller supplied, so it is only
+ * believed when it matches an entry of {@link AdmissionProperties#getClients()}; anything
+ * else is keyed by the remote address. Meter tags use the matching allow-list entry, or
+ * "other", so a caller cannot grow the tag set.
+ */
+@Component
+public class ClientResolver {
+    public static final String OTHER = "other";
+
+    private final String header;
+    private final List<String> allowed;
+
+    public ClientResolver(AdmissionProperties properties) {
+        this.header = properties.getClientHeader();
+        this.allowed = List.copyOf(properties.getClients());
+    }
+
+    public Client resolve(HttpServletRequest request) {
+        String claimed = request.getHeader(header);
+        if (claimed != null && !claimed.isBlank()) {
+            for (String pattern : allowed) {
+                if (PatternMatchUtils.simpleMatch(pattern, claimed)) {
+                    return new Client(claimed, pattern);
+                }
+            }
+        }
+        return new Client(request.getRemoteAddr(), OTHER);
+    }
+
+    public record Client(String key, String tag) {
+    }
+}
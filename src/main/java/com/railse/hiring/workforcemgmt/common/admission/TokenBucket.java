@@ -0,0 +1,30 @@
+package com.railse.hiring.workforcemgmt.common.admission;
+
+// Refilled lazily on each call, so an idle bucket costs nothing
+final class TokenBucket {
+    private final double capacity;
+    private final double refillPerNano;
+    private double tokens;
+    private long refilledAt;
+
+    TokenBucket(double capacity, double refillPerSecond, long now) {
+        this.capacity = capacity;
+        this.refillPerNano = refillPerSecond / 1_000_000_000d;
+        this.tokens = capacity;
+        this.refilledAt = now;
+    }
+
+    // Returns 0 when admitted, otherwise nanos until enough tokens will be back
+    synchronized long tryConsume(int cost, long now) {
+        tokens = Math.min(capacity, tokens + (now - refilledAt) * refillPerNano);
+        refilledAt = now;
+        if (tokens >= cost) {
+            tokens -= cost;
+            return 0;
+        }
+        if (cost > capacity || refillPerNano <= 0) {
+            return Long.MAX_VALUE;
+        }
+        return (long) Math.ceil((cost - tokens) / refillPerNano);
+    }
+}
@@ -0,0 +1,64 @@
+package com.railse.hiring.workforcemgmt.common.concurrent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent calls with equal keys into one execution. The first caller runs
+ * the work; callers arriving while it runs wait and get the same result, or the same
+ * exception. Nothing is kept afterwards, so this only dedupes overlapping calls and
+ * never serves a stale answer.
+ */
+public class SingleFlight<K, V> {
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter executed;
+    private final Counter coalesced;
+
+    public SingleFlight(MeterRegistry registry, String operation) {
+        this.executed = Counter.builder("task.singleflight.calls")
+                .tag("operation", operation).tag("result", "executed")
+                .register(registry);
+        this.coalesced = Counter.builder("task.singleflight.calls")
+                .tag("operation", operation).tag("result", "coalesced")
+                .register(registry);
+    }
+
+    public V execute(K key, Supplier<V> work) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> leader = inFlight.putIfAbsent(key, mine);
+        if (leader != null) {
+            coalesced.increment();
+            return await(leader);
+        }
+        executed.increment();
+        try {
+            V result = work.get();
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private static <V> V await(CompletableFuture<V> leader) {
+        try {
+            return leader.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
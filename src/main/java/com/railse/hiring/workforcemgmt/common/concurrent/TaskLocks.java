@@ -0,0 +1,60 @@
+package com.railse.hiring.workforcemgmt.common.concurrent;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Serialises read-modify-write cycles on a task within this process. Every mutator takes
+ * the task's lock, loads the task, changes it and saves it before letting go, so two
+ * writers never work from the same stale read. Locks are striped by id; several ids are
+ * taken in stripe order, so callers locking overlapping sets cannot deadlock.
+ */
+@Component
+public class TaskLocks {
+    private static final int STRIPES = 1024;
+
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+
+    public TaskLocks() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public Held lock(Long id) {
+        return lockAll(List.of(id));
+    }
+
+    public Held lockAll(Collection<Long> ids) {
+        TreeSet<Integer> indexes = new TreeSet<>();
+        for (Long id : ids) {
+            indexes.add(stripeOf(id));
+        }
+        ReentrantLock[] held = new ReentrantLock[indexes.size()];
+        int i = 0;
+        for (int index : indexes) {
+            held[i] = stripes[index];
+            held[i++].lock();
+        }
+        return () -> {
+            for (int j = held.length - 1; j >= 0; j--) {
+                held[j].unlock();
+            }
+        };
+    }
+
+    // Work split by stripe never waits on another part's locks
+    public int stripeOf(Long id) {
+        return Math.floorMod(Objects.hashCode(id), STRIPES);
+    }
+
+    public interface Held extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -19,6 +19,24 @@ public class CustomExceptionHandler extends ResponseEntityExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(TaskVersionConflictException.class)
+    public final ResponseEntity<Response<Object>>
+    handleTaskVersionConflictException(TaskVersionConflictException ex) {
+        ResponseStatus status = new
+                ResponseStatus(StatusCode.CONFLICT.getCode(), ex.getMessage());
+        Response<Object> response = new Response<>(null, null, status);
+        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public final ResponseEntity<Response<Object>>
+    handleIllegalArgumentException(IllegalArgumentException ex) {
+        ResponseStatus status = new
+                ResponseStatus(StatusCode.BAD_REQUEST.getCode(), ex.getMessage());
+        Response<Object> response = new Response<>(null, null, status);
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(Exception.class)
     public final ResponseEntity<Response<Object>>
     handleAllExceptions(Exception ex) {
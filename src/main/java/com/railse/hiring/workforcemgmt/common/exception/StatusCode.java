@@ -6,8 +6,12 @@ import lombok.Getter;
 public enum StatusCode {
     SUCCESS(200, "Success"),
     BAD_REQUEST(400, "Bad Request"),
+    FORBIDDEN(403, "Forbidden"),
     NOT_FOUND(404, "Resource Not Found"),
-    INTERNAL_SERVER_ERROR(500, "Internal Server Error");
+    CONFLICT(409, "Conflict"),
+    TOO_MANY_REQUESTS(429, "Too Many Requests"),
+    INTERNAL_SERVER_ERROR(500, "Internal Server Error"),
+    SERVICE_UNAVAILABLE(503, "Service Unavailable");
     private final int code;
     private final String message;
 
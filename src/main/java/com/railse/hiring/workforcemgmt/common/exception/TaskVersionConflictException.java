@@ -0,0 +1,8 @@
+package com.railse.hiring.workforcemgmt.common.exception;
+
+// A save found the task changed since the caller read it; reading it again and retrying is safe
+public class TaskVersionConflictException extends RuntimeException {
+    public TaskVersionConflictException(String message) {
+        super(message);
+    }
+}
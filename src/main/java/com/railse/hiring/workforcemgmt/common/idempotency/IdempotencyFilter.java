@@ -0,0 +1,233 @@
+package com.railse.hiring.workforcemgmt.common.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.railse.hiring.workforcemgmt.common.admission.ClientResolver;
+import com.railse.hiring.workforcemgmt.common.exception.StatusCode;
+import com.railse.hiring.workforcemgmt.common.model.response.Response;
+import com.railse.hiring.workforcemgmt.common.model.response.ResponseStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Makes retried writes safe: a request carrying an Idempotency-Key runs once, and any
+ * repeat within the TTL gets the stored response back. A repeat that arrives while the
+ * first is still running waits for it. Reusing a key with a different body is a 409.
+ * Only outcomes a rerun would repeat are stored: 2xx, and 400 / 404 for a request that is
+ * wrong in itself. Anything else, e.g. a 409 version conflict, a 429 or a 5xx, depends on
+ * the moment, so the key is released and a retry runs again. Keys are scoped to the client
+ * as {@link ClientResolver} sees it, so two callers picking the same key never share a
+ * response.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 7)
+public class IdempotencyFilter extends OncePerRequestFilter {
+    public static final String HEADER = "Idempotency-Key";
+    static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyProperties properties;
+    private final ClientResolver clientResolver;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyStore store;
+    private final Set<String> endpoints;
+    private final Counter replayed;
+
+    public IdempotencyFilter(IdempotencyProperties properties, ClientResolver clientResolver,
+                             ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.clientResolver = clientResolver;
+        this.objectMapper = objectMapper;
+        this.store = new IdempotencyStore(properties.getTtlMs(), properties.getMaxEntries());
+        this.endpoints = Set.copyOf(properties.getEndpoints());
+        this.replayed = Counter.builder("task.idempotency.replayed")
+                .description("Requests answered from a stored idempotent response")
+                .register(meterRegistry);
+        meterRegistry.gauge("task.idempotency.keys", store, IdempotencyStore::size);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || request.getHeader(HEADER) == null
+                || !endpoints.contains(request.getMethod() + " " + request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String key = request.getHeader(HEADER);
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            error(response, StatusCode.BAD_REQUEST, HEADER + " must be 1 to " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+        byte[] body = request.getInputStream().readAllBytes();
+        String scopedKey = clientResolver.resolve(request).key() + " " + request.getMethod() + " "
+                + request.getRequestURI() + " " + key;
+        String fingerprint = fingerprint(body);
+
+        while (true) {
+            IdempotencyStore.Claim claim = store.claim(scopedKey, fingerprint, System.currentTimeMillis());
+            if (claim == null) {
+                error(response, StatusCode.SERVICE_UNAVAILABLE,
+                        "Too many requests with an " + HEADER + " in progress, retry shortly");
+                return;
+            }
+            IdempotencyStore.Entry entry = claim.entry();
+            if (!entry.fingerprint().equals(fingerprint)) {
+                error(response, StatusCode.CONFLICT, HEADER + " was already used with a different request body");
+                return;
+            }
+            if (claim.owner()) {
+                execute(new BodyRequest(request, body), response, filterChain, scopedKey, entry);
+                return;
+            }
+            IdempotencyStore.StoredResponse stored;
+            try {
+                stored = entry.result().get(properties.getWaitTimeoutMs(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                error(response, StatusCode.CONFLICT, "A request with this " + HEADER + " is still in progress");
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServletException(e);
+            } catch (ExecutionException e) {
+                throw new ServletException(e.getCause());
+            }
+            // null means the first attempt failed and gave the key up, so try to claim it again
+            if (stored != null) {
+                replay(response, stored);
+                return;
+            }
+        }
+    }
+
+    private void execute(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain,
+                         String scopedKey, IdempotencyStore.Entry entry) throws ServletException, IOException {
+        ContentCachingResponseWrapper caching = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            filterChain.doFilter(request, caching);
+            if (isReplayable(caching.getStatus())) {
+                store.complete(entry, new IdempotencyStore.StoredResponse(caching.getStatus(),
+                        caching.getContentType(), caching.getContentAsByteArray()));
+                stored = true;
+            }
+        } finally {
+            if (!stored) {
+                store.abandon(scopedKey, entry);
+            }
+            caching.copyBodyToResponse();
+        }
+    }
+
+    private static boolean isReplayable(int status) {
+        return (status >= 200 && status < 300) || status == StatusCode.BAD_REQUEST.getCode()
+                || status == StatusCode.NOT_FOUND.getCode();
+    }
+
+    private void replay(HttpServletResponse response, IdempotencyStore.StoredResponse stored) throws IOException {
+        replayed.increment();
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.getOutputStream().write(stored.body());
+    }
+
+    private void error(HttpServletResponse response, StatusCode code, String message) throws IOException {
+        response.setStatus(code.getCode());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                new Response<>(null, null, new ResponseStatus(code.getCode(), message)));
+    }
+
+    private static String fingerprint(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // The body has already been read for the fingerprint, hand the controller a fresh copy
+    private static final class BodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        private BodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // The whole body is in memory, so it is ready at once and read to the end in one go
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        if (!isFinished()) {
+                            listener.onDataAvailable();
+                        }
+                        if (isFinished()) {
+                            listener.onAllDataRead();
+                        }
+                    } catch (IOException | RuntimeException e) {
+                        listener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return in.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8));
+        }
+    }
+}
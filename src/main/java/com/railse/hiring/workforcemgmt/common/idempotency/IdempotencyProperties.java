@@ -0,0 +1,24 @@
+package com.railse.hiring.workforcemgmt.common.idempotency;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "task-mgmt.idempotency")
+public class IdempotencyProperties {
+    private boolean enabled = true;
+    // "METHOD path" pairs that honour the Idempotency-Key header
+    private List<String> endpoints = new ArrayList<>(List.of(
+            "POST /task-mgmt/create",
+            "POST /task-mgmt/assign-by-ref/v2",
+            "POST /task-mgmt/transitions"));
+    private long ttlMs = 3_600_000;
+    private int maxEntries = 100_000;
+    // How long a duplicate waits for the first request with the same key to finish
+    private long waitTimeoutMs = 30_000;
+}
@@ -0,0 +1,78 @@
+package com.railse.hiring.workforcemgmt.common.idempotency;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Bounded, insertion-ordered map of idempotency keys to their (eventual) response. The
+ * first caller for a key owns the execution; later callers get the same entry and wait
+ * on its future. With a fixed TTL the oldest entries sit at the head, so expiry and the
+ * size bound are both handled by trimming from the front. Entries still running are
+ * skipped, evicting one would let a retry run the request a second time.
+ */
+public class IdempotencyStore {
+    private final long ttlMs;
+    private final int maxEntries;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+
+    public IdempotencyStore(long ttlMs, int maxEntries) {
+        this.ttlMs = ttlMs;
+        this.maxEntries = maxEntries;
+    }
+
+    // null when the store is full of requests still running
+    public synchronized Claim claim(String key, String fingerprint, long now) {
+        boolean room = trim(now);
+        Entry existing = entries.get(key);
+        if (existing != null) {
+            return new Claim(existing, false);
+        }
+        if (!room) {
+            return null;
+        }
+        Entry entry = new Entry(fingerprint, new CompletableFuture<>(), now);
+        entries.put(key, entry);
+        return new Claim(entry, true);
+    }
+
+    public void complete(Entry entry, StoredResponse response) {
+        entry.result().complete(response);
+    }
+
+    // The owner failed, forget the key so waiters and later retries run it again
+    public void abandon(String key, Entry entry) {
+        synchronized (this) {
+            entries.remove(key, entry);
+        }
+        entry.result().complete(null);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private boolean trim(long now) {
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Entry eldest = iterator.next().getValue();
+            if (now - eldest.createdAt() < ttlMs && entries.size() < maxEntries) {
+                return true;
+            }
+            if (eldest.result().isDone()) {
+                iterator.remove();
+            }
+        }
+        return entries.size() < maxEntries;
+    }
+
+    public record Entry(String fingerprint, CompletableFuture<StoredResponse> result, long createdAt) {
+    }
+
+    public record Claim(Entry entry, boolean owner) {
+    }
+
+    public record StoredResponse(int status, String contentType, byte[] body) {
+    }
+}
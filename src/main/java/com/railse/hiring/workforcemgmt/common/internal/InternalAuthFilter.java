@@ -0,0 +1,71 @@
+package com.railse.hiring.workforcemgmt.common.internal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.railse.hiring.workforcemgmt.common.exception.StatusCode;
+import com.railse.hiring.workforcemgmt.common.model.response.Response;
+import com.railse.hiring.workforcemgmt.common.model.response.ResponseStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Guards the node-to-node endpoints under /internal: cluster reads and writes, membership
+ * changes and writes forwarded by replicas. A caller has to present the shared secret in
+ * {@link #HEADER}; without a configured secret every internal call is refused.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class InternalAuthFilter extends OncePerRequestFilter {
+    public static final String HEADER = "X-Internal-Secret";
+
+    private final InternalAuthProperties properties;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    public InternalAuthFilter(InternalAuthProperties properties, ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/internal/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (matches(request.getHeader(HEADER))) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        meterRegistry.counter("task.internal.rejected").increment();
+        response.setStatus(StatusCode.FORBIDDEN.getCode());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        ResponseStatus status = new ResponseStatus(StatusCode.FORBIDDEN.getCode(), "Internal endpoint");
+        objectMapper.writeValue(response.getOutputStream(), new Response<>(null, null, status));
+    }
+
+    // Constant time, so the secret cannot be guessed byte by byte from response times
+    private boolean matches(String presented) {
+        String secret = properties.getSecret();
+        if (secret == null || secret.isBlank() || presented == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(secret.getBytes(StandardCharsets.UTF_8),
+                presented.getBytes(StandardCharsets.UTF_8));
+    }
+}
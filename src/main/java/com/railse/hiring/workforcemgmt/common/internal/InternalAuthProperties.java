@@ -0,0 +1,21 @@
+package com.railse.hiring.workforcemgmt.common.internal;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "task-mgmt.internal")
+public class InternalAuthProperties {
+    // Shared by every cluster node, primary and replica; /internal/** answers 403 while it is unset
+    private String secret;
+
+    // Nodes that call a peer refuse to start without one rather than fail every call
+    public String requireSecret(String feature) {
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalStateException(feature + " needs task-mgmt.internal.secret, the same on every node");
+        }
+        return secret;
+    }
+}
@@ -0,0 +1,87 @@
+package com.railse.hiring.workforcemgmt.common.timing;
+
+import java.util.Locale;
+
+/**
+ * Per-request phase timings, bound to the request thread by {@link ServerTimingFilter}.
+ * Outside of a timed request every call is a thread-local read and nothing else.
+ */
+public final class ServerTiming {
+    private static final ThreadLocal<ServerTiming> CURRENT = new ThreadLocal<>();
+    private static final int MAX_PHASES = 8;
+
+    private final long startNanos = System.nanoTime();
+    private final String[] names = new String[MAX_PHASES];
+    private final long[] nanos = new long[MAX_PHASES];
+    private int phases;
+    private Object detail;
+
+    private ServerTiming() {
+    }
+
+    static ServerTiming begin() {
+        ServerTiming timing = new ServerTiming();
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    // Start of a phase, pass the result to record() once the phase is done
+    public static long now() {
+        return CURRENT.get() != null ? System.nanoTime() : 0L;
+    }
+
+    public static void record(String phase, long startedAt) {
+        ServerTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.add(phase, System.nanoTime() - startedAt);
+        }
+    }
+
+    // Request parameters for the slow request log, only rendered when the request is slow
+    public static void detail(Object detail) {
+        ServerTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.detail = detail;
+        }
+    }
+
+    private void add(String phase, long elapsed) {
+        for (int i = 0; i < phases; i++) {
+            if (names[i].equals(phase)) {
+                nanos[i] += elapsed;
+                return;
+            }
+        }
+        if (phases < MAX_PHASES) {
+            names[phases] = phase;
+            nanos[phases++] = elapsed;
+        }
+    }
+
+    long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    Object detail() {
+        return detail;
+    }
+
+    // Server-Timing header value, e.g. "scan;dur=1.204, filter;dur=0.311, total;dur=2.050"
+    String headerValue() {
+        StringBuilder value = new StringBuilder(32 + phases * 24);
+        for (int i = 0; i < phases; i++) {
+            appendMetric(value, names[i], nanos[i]);
+            value.append(", ");
+        }
+        appendMetric(value, "total", elapsedNanos());
+        return value.toString();
+    }
+
+    private static void appendMetric(StringBuilder value, String name, long nanos) {
+        value.append(name).append(";dur=").append(String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0));
+    }
+}
@@ -0,0 +1,92 @@
+package com.railse.hiring.workforcemgmt.common.timing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class ServerTimingFilter extends OncePerRequestFilter {
+    private static final String HEADER = "Server-Timing";
+
+    private final ServerTimingProperties properties;
+
+    public ServerTimingFilter(ServerTimingProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || !request.getRequestURI().startsWith("/task-mgmt");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        ServerTiming timing = ServerTiming.begin();
+        try {
+            filterChain.doFilter(request, new TimingResponse(response, timing));
+        } finally {
+            ServerTiming.end();
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(timing.elapsedNanos());
+            if (elapsedMs >= properties.getSlowRequestThresholdMs()) {
+                log.warn("Slow request {} {}{} took {} ms [{}] params={}", request.getMethod(),
+                        request.getRequestURI(),
+                        request.getQueryString() != null ? "?" + request.getQueryString() : "",
+                        elapsedMs, timing.headerValue(), timing.detail());
+            }
+        }
+    }
+
+    // The body is written after the controller returns, so the header goes on just before that
+    private final class TimingResponse extends HttpServletResponseWrapper {
+        private final ServerTiming timing;
+        private boolean headerAdded;
+
+        private TimingResponse(HttpServletResponse response, ServerTiming timing) {
+            super(response);
+            this.timing = timing;
+        }
+
+        private void addTimingHeader() {
+            if (headerAdded || isCommitted()) {
+                return;
+            }
+            headerAdded = true;
+            if (TimeUnit.NANOSECONDS.toMillis(timing.elapsedNanos()) >= properties.getHeaderThresholdMs()) {
+                addHeader(HEADER, timing.headerValue());
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            addTimingHeader();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            addTimingHeader();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            addTimingHeader();
+            super.flushBuffer();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.railse.hiring.workforcemgmt.common.timing;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "task-mgmt.server-timing")
+public class ServerTimingProperties {
+    private boolean enabled = true;
+    // Only attach the header once the request has taken at least this long
+    private long headerThresholdMs = 0;
+    // Requests slower than this are logged with their phases and parameters
+    private long slowRequestThresholdMs = 500;
+}
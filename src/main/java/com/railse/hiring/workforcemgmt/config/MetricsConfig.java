@@ -0,0 +1,36 @@
+package com.railse.hiring.workforcemgmt.config;
+
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    // Needed for @Timed on beans outside of Spring MVC (e.g. the service layer)
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    // Gauges are sampled at scrape time, the repository keeps the counts incrementally
+    @Bean
+    public MeterBinder taskStoreMetrics(TaskRepository taskRepository) {
+        return registry -> {
+            Gauge.builder("task.store.size", taskRepository, TaskRepository::count)
+                    .description("Tasks held by the repository")
+                    .register(registry);
+            for (TaskStatus status : TaskStatus.values()) {
+                Gauge.builder("task.store.status", taskRepository, repository -> repository.countByStatus(status))
+                        .description("Tasks held by the repository per status")
+                        .tag("status", status.name())
+                        .register(registry);
+            }
+        };
+    }
+}
@@ -0,0 +1,47 @@
+package com.railse.hiring.workforcemgmt.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "task-mgmt.repository")
+public class RepositoryProperties {
+    private Backend backend = Backend.MEMORY;
+    // Only used by the sharded backend
+    private int shards = Runtime.getRuntime().availableProcessors();
+    // Unindexed queries over at least this many tasks are scanned in parallel
+    private long parallelScanThreshold = 100_000;
+    // Leaves a core for request threads while a big scan runs
+    private int scanParallelism = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+    // OFF_HEAP keeps activity and comment text in direct memory, mind -XX:MaxDirectMemorySize
+    private HistoryStorage historyStorage = HistoryStorage.HEAP;
+    private int arenaSegmentBytes = 64 * 1024 * 1024;
+    // Only used by the jdbc backend
+    private Jdbc jdbc = new Jdbc();
+
+    public enum Backend {
+        MEMORY,
+        SHARDED,
+        JDBC
+    }
+
+    public enum HistoryStorage {
+        HEAP,
+        OFF_HEAP
+    }
+
+    @Data
+    public static class Jdbc {
+        // In-memory H2 by default, e.g. jdbc:h2:file:./data/tasks for one that survives restarts
+        private String url = "jdbc:h2:mem:tasks;DB_CLOSE_DELAY=-1";
+        private String username = "sa";
+        private String password = "";
+        // Connections beyond a couple per core only queue up inside the database
+        private int maximumPoolSize = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+        private long connectionTimeoutMs = 2_000;
+        // Rows sent per JDBC batch by saveAll
+        private int batchSize = 500;
+    }
+}
@@ -0,0 +1,95 @@
+package com.railse.hiring.workforcemgmt.config;
+
+import com.railse.hiring.workforcemgmt.controller.TaskManagementController;
+import com.railse.hiring.workforcemgmt.repository.TaskContributionIndex;
+import com.railse.hiring.workforcemgmt.search.TaskSearchIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+@Slf4j
+@Configuration
+public class StartupConfig {
+    private static final List<String> CLUSTER_PACKAGES = List.of(
+            "com.railse.hiring.workforcemgmt.cluster",
+            "com.railse.hiring.workforcemgmt.replication");
+
+    private final StartupProperties properties;
+
+    public StartupConfig(StartupProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * With spring.main.lazy-initialization (the fast-startup profile) only the main task
+     * endpoints and whatever they depend on are built before the port opens. Cluster and
+     * replication beans stay eager too, they have background work to start. So do the
+     * indexes fed by task events: built lazily, the first save after startup would pay
+     * for their full rebuild. Query and search endpoints, actuator and the rest are built
+     * on their first use.
+     */
+    @Bean
+    static LazyInitializationExcludeFilter requestPathBeans() {
+        return (beanName, beanDefinition, beanType) -> beanType != null
+                && (TaskManagementController.class.isAssignableFrom(beanType)
+                || TaskContributionIndex.class.isAssignableFrom(beanType)
+                || TaskSearchIndex.class.isAssignableFrom(beanType)
+                || CLUSTER_PACKAGES.stream().anyMatch(beanType.getPackageName()::startsWith));
+    }
+
+    // A training run loads the classes of a typical request before exiting, so the CDS
+    // archive written at exit covers the request path and not just the context refresh
+    @EventListener
+    public void onReady(ApplicationReadyEvent event) {
+        if (!properties.isTrainingRun()) {
+            return;
+        }
+        ConfigurableApplicationContext context = event.getApplicationContext();
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        Thread exit = new Thread(() -> {
+            try {
+                warmUp("http://localhost:" + port);
+            } catch (IOException | RuntimeException e) {
+                log.warn("Training run warm-up failed, the archive will only cover startup", e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            System.exit(SpringApplication.exit(context));
+        }, "training-run-exit");
+        exit.start();
+    }
+
+    private void warmUp(String baseUrl) throws IOException, InterruptedException {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        List<HttpRequest> requests = List.of(
+                HttpRequest.newBuilder(URI.create(baseUrl + "/task-mgmt/1")).GET().build(),
+                HttpRequest.newBuilder(URI.create(baseUrl + "/task-mgmt/1/details")).GET().build(),
+                HttpRequest.newBuilder(URI.create(baseUrl + "/task-mgmt/fetch-by-date/v2"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(
+                                "{\"start_date\":0,\"end_date\":" + Long.MAX_VALUE + ",\"assignee_ids\":[1,2]}"))
+                        .build(),
+                HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/health")).GET().build());
+        for (int round = 0; round < properties.getWarmupRounds(); round++) {
+            for (HttpRequest request : requests) {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                log.debug("Training run {} {} -> {}", request.method(), request.uri(), response.statusCode());
+            }
+        }
+        log.info("Training run warmed up {} requests, exiting", properties.getWarmupRounds() * requests.size());
+    }
+}
@@ -0,0 +1,14 @@
+package com.railse.hiring.workforcemgmt.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "task-mgmt.startup")
+public class StartupProperties {
+    // Set by the cdsArchive build task: warm the request path up once the app is ready, then exit
+    private boolean trainingRun = false;
+    private int warmupRounds = 3;
+}
@@ -0,0 +1,181 @@
+package com.railse.hiring.workforcemgmt.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.railse.hiring.workforcemgmt.cache.NearCacheProperties;
+import com.railse.hiring.workforcemgmt.cache.NearCacheTaskRepository;
+import com.railse.hiring.workforcemgmt.cluster.ClusterClient;
+import com.railse.hiring.workforcemgmt.cluster.ClusterMembership;
+import com.railse.hiring.workforcemgmt.cluster.ClusterProperties;
+import com.railse.hiring.workforcemgmt.cluster.ClusterTaskRepository;
+import com.railse.hiring.workforcemgmt.common.concurrent.TaskLocks;
+import com.railse.hiring.workforcemgmt.common.internal.InternalAuthProperties;
+import com.railse.hiring.workforcemgmt.model.HistoryArena;
+import com.railse.hiring.workforcemgmt.replication.ReplicaSync;
+import com.railse.hiring.workforcemgmt.replication.ReplicaTaskRepository;
+import com.railse.hiring.workforcemgmt.replication.ReplicationProperties;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskRepository;
+import com.railse.hiring.workforcemgmt.repository.JdbcTaskRepository;
+import com.railse.hiring.workforcemgmt.repository.MeteredTaskRepository;
+import com.railse.hiring.workforcemgmt.repository.ParallelScanner;
+import com.railse.hiring.workforcemgmt.repository.ShardedTaskRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import com.railse.hiring.workforcemgmt.tiering.ColdSegmentStore;
+import com.railse.hiring.workforcemgmt.tiering.TieredTaskRepository;
+import com.railse.hiring.workforcemgmt.tiering.TieringProperties;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+
+@Configuration
+public class TaskRepositoryConfig {
+
+    @Bean
+    public ParallelScanner parallelScanner(RepositoryProperties properties) {
+        return new ParallelScanner(properties.getScanParallelism(), properties.getParallelScanThreshold());
+    }
+
+    // The tasks held by this process, chosen by task-mgmt.repository.backend
+    @Bean
+    public TaskRepository localTaskStore(RepositoryProperties properties,
+                                         ParallelScanner parallelScanner,
+                                         ClusterProperties cluster,
+                                         ReplicationProperties replication,
+                                         TieringProperties tiering,
+                                         NearCacheProperties nearCache,
+                                         ObjectMapper objectMapper,
+                                         MeterRegistry meterRegistry,
+                                         ApplicationEventPublisher eventPublisher,
+                                         ObjectProvider<DataSource> taskDataSource) {
+        // In a cluster every node hands out ids from its own residue class and starts empty
+        long idOffset = cluster.isEnabled() ? cluster.getNodeOrdinal() : 0;
+        long idStride = cluster.isEnabled() ? cluster.getMaxNodes() : 1;
+        // A replica gets everything, seeds included, from the primary
+        boolean seed = !cluster.isEnabled() && replication.getRole() != ReplicationProperties.Role.REPLICA;
+        HistoryArena arena = properties.getHistoryStorage() == RepositoryProperties.HistoryStorage.OFF_HEAP
+                ? historyArena(properties, meterRegistry)
+                : null;
+        TaskRepository backend = switch (properties.getBackend()) {
+            case MEMORY -> {
+                InMemoryTaskRepository inMemory = seed
+                        ? new InMemoryTaskRepository()
+                        : new InMemoryTaskRepository(idOffset, idStride);
+                inMemory.setHistoryArena(arena);
+                inMemory.setApplicationEventPublisher(eventPublisher);
+                inMemory.setParallelScanner(parallelScanner);
+                yield inMemory;
+            }
+            // Shards are already scanned concurrently, they keep scanning on one thread each
+            case SHARDED -> {
+                ShardedTaskRepository sharded = seed
+                        ? new ShardedTaskRepository(properties.getShards())
+                        : new ShardedTaskRepository(properties.getShards(), idOffset, idStride);
+                sharded.setHistoryArena(arena);
+                sharded.setApplicationEventPublisher(eventPublisher);
+                yield sharded;
+            }
+            // Histories live in the database here, history-storage does not apply
+            case JDBC -> {
+                JdbcTaskRepository jdbc = new JdbcTaskRepository(taskDataSource.getObject(),
+                        properties.getJdbc().getBatchSize(), idOffset, idStride);
+                jdbc.setApplicationEventPublisher(eventPublisher);
+                if (seed) {
+                    jdbc.seedIfEmpty();
+                }
+                // Single task reads would otherwise all go to the database
+                yield nearCache.isEnabled() ? new NearCacheTaskRepository(jdbc, nearCache, meterRegistry) : jdbc;
+            }
+        };
+        if (!tiering.isEnabled()) {
+            return backend;
+        }
+        if (properties.getBackend() == RepositoryProperties.Backend.JDBC) {
+            throw new IllegalStateException("task-mgmt.tiering needs an in-memory backend, the jdbc one is already on disk");
+        }
+        ColdSegmentStore cold = new ColdSegmentStore(Path.of(tiering.getDirectory()),
+                tiering.getSegmentMaxBytes(), objectMapper);
+        TieredTaskRepository tiered = new TieredTaskRepository(backend, cold, tiering, meterRegistry);
+        tiered.start();
+        return tiered;
+    }
+
+    // Only built for the jdbc backend. A fixed size pool: connections are opened up front and never
+    // churn under bursts, callers past the pool size wait up to connection-timeout-ms for one
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "task-mgmt.repository", name = "backend", havingValue = "jdbc")
+    public HikariDataSource taskDataSource(RepositoryProperties properties) {
+        RepositoryProperties.Jdbc jdbc = properties.getJdbc();
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("task-store");
+        config.setJdbcUrl(jdbc.getUrl());
+        config.setUsername(jdbc.getUsername());
+        config.setPassword(jdbc.getPassword());
+        config.setMaximumPoolSize(jdbc.getMaximumPoolSize());
+        config.setMinimumIdle(jdbc.getMaximumPoolSize());
+        config.setConnectionTimeout(jdbc.getConnectionTimeoutMs());
+        return new HikariDataSource(config);
+    }
+
+    private static HistoryArena historyArena(RepositoryProperties properties, MeterRegistry meterRegistry) {
+        HistoryArena arena = new HistoryArena(properties.getArenaSegmentBytes());
+        Gauge.builder("task.history.arena.allocated", arena, HistoryArena::allocatedBytes)
+                .description("Bytes of live history entries held off heap")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("task.history.arena.reserved", arena, HistoryArena::reservedBytes)
+                .description("Direct memory held by arena segments that still have live entries")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        return arena;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "task-mgmt.cluster", name = "enabled", havingValue = "true")
+    public ClusterTaskRepository clusterTaskRepository(@Qualifier("localTaskStore") TaskRepository localTaskStore,
+                                                       ClusterMembership membership,
+                                                       ClusterClient client,
+                                                       TaskLocks taskLocks,
+                                                       ClusterProperties clusterProperties,
+                                                       MeterRegistry meterRegistry) {
+        return new ClusterTaskRepository(localTaskStore, membership, client, taskLocks, clusterProperties,
+                meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "task-mgmt.replication", name = "role", havingValue = "replica")
+    public ReplicaTaskRepository replicaTaskRepository(@Qualifier("localTaskStore") TaskRepository localTaskStore,
+                                                       ReplicaSync sync,
+                                                       RestTemplateBuilder restTemplateBuilder,
+                                                       ReplicationProperties properties,
+                                                       InternalAuthProperties internalAuth) {
+        return new ReplicaTaskRepository(localTaskStore, sync, restTemplateBuilder, properties, internalAuth);
+    }
+
+    // Everything outside the repository package talks to the store through this one
+    @Bean
+    @Primary
+    public TaskRepository taskRepository(@Qualifier("localTaskStore") TaskRepository localTaskStore,
+                                         ObjectProvider<ClusterTaskRepository> clusterTaskRepository,
+                                         ObjectProvider<ReplicaTaskRepository> replicaTaskRepository,
+                                         MeterRegistry meterRegistry) {
+        TaskRepository store = clusterTaskRepository.getIfAvailable();
+        if (store == null) {
+            store = replicaTaskRepository.getIfAvailable();
+        }
+        if (store == null) {
+            store = localTaskStore;
+        }
+        return new MeteredTaskRepository(store, meterRegistry);
+    }
+}
@@ -0,0 +1,16 @@
+package com.railse.hiring.workforcemgmt.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "task-mgmt.transitions")
+public class TransitionProperties {
+    // Largest batch one bulk transition request may carry
+    private int maxItems = 10_000;
+    // Batches at least this big are split by task id and applied on the transition pool
+    private int parallelThreshold = 256;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+}
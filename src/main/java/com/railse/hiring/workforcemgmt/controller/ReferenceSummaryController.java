@@ -0,0 +1,19 @@
+package com.railse.hiring.workforcemgmt.controller;
+
+import com.railse.hiring.workforcemgmt.common.model.response.Response;
+import com.railse.hiring.workforcemgmt.dto.ReferenceSummaryResponse;
+import com.railse.hiring.workforcemgmt.service.ReferenceSummaryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/task-mgmt")
+@RequiredArgsConstructor
+public class ReferenceSummaryController {
+    private final ReferenceSummaryService referenceSummaryService;
+
+    @GetMapping("/reference/{referenceId}/summary")
+    public Response<ReferenceSummaryResponse> getSummary(@PathVariable Long referenceId) {
+        return new Response<>(referenceSummaryService.getSummary(referenceId));
+    }
+}
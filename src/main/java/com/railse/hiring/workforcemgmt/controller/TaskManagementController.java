@@ -5,6 +5,8 @@ import com.railse.hiring.workforcemgmt.dto.*;
 import com.railse.hiring.workforcemgmt.model.enums.Priority;
 import com.railse.hiring.workforcemgmt.service.TaskManagementService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -16,8 +18,8 @@ public class TaskManagementController {
     private final TaskManagementService taskManagementService;
 
     @GetMapping("/{id}")
-    public Response<TaskManagementDto> getTaskById(@PathVariable Long id) {
-        return new Response<>(taskManagementService.findTaskById(id));
+    public ResponseEntity<byte[]> getTaskById(@PathVariable Long id) {
+        return json(taskManagementService.findTaskByIdAsJson(id));
     }
 
     @PostMapping("/create")
@@ -48,6 +50,11 @@ public class TaskManagementController {
                 Response<>(taskManagementService.assignByReferenceV2(request));
     }
 
+    @PostMapping("/handover")
+    public Response<HandoverResponse> handover(@RequestBody HandoverRequest request) {
+        return new Response<>(taskManagementService.handover(request));
+    }
+
     @PostMapping("/fetch-by-date/v1")
     public Response<List<TaskManagementDto>> fetchByDateV2(@RequestBody
                                                            TaskFetchByDateRequest request) {
@@ -77,8 +84,8 @@ public class TaskManagementController {
 
     //Feature1 as per document
     @PostMapping("/fetch-by-date/v4")
-    public Response<List<TaskManagementDto>> fetchTasksByDateV4(@RequestBody TaskFetchByDateRequest request) {
-        return new Response<>(taskManagementService.fetchTasksByDateV4(request));
+    public ResponseEntity<byte[]> fetchTasksByDateV4(@RequestBody TaskFetchByDateRequest request) {
+        return json(taskManagementService.fetchTasksByDateV4AsJson(request));
     }
 
     @PatchMapping("/priority/update")
@@ -87,8 +94,8 @@ public class TaskManagementController {
     }
 
     @GetMapping("/priority/{priority}")
-    public Response<List<TaskManagementDto>> getByPriority(@PathVariable Priority priority) {
-        return new Response<>(taskManagementService.getTasksByPriority(priority));
+    public ResponseEntity<byte[]> getByPriority(@PathVariable Priority priority) {
+        return json(taskManagementService.getTasksByPriorityAsJson(priority));
     }
 
     //Feature 3
@@ -102,5 +109,11 @@ public class TaskManagementController {
         return new Response<>(taskManagementService.getTaskDetails(id));
     }
 
+    // Bodies already carry the Response envelope, see TaskJsonCache
+    private static ResponseEntity<byte[]> json(byte[] body) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
 
 }
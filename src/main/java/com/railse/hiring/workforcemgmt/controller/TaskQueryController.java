@@ -0,0 +1,20 @@
+package com.railse.hiring.workforcemgmt.controller;
+
+import com.railse.hiring.workforcemgmt.common.model.response.Response;
+import com.railse.hiring.workforcemgmt.dto.TaskQueryRequest;
+import com.railse.hiring.workforcemgmt.dto.TaskQueryResponse;
+import com.railse.hiring.workforcemgmt.service.TaskQueryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/task-mgmt")
+@RequiredArgsConstructor
+public class TaskQueryController {
+    private final TaskQueryService taskQueryService;
+
+    @PostMapping("/query")
+    public Response<TaskQueryResponse> query(@RequestBody TaskQueryRequest request) {
+        return new Response<>(taskQueryService.query(request));
+    }
+}
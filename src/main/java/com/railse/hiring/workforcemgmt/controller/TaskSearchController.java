@@ -0,0 +1,20 @@
+package com.railse.hiring.workforcemgmt.controller;
+
+import com.railse.hiring.workforcemgmt.common.model.response.Response;
+import com.railse.hiring.workforcemgmt.dto.TaskSearchRequest;
+import com.railse.hiring.workforcemgmt.dto.TaskSearchResponse;
+import com.railse.hiring.workforcemgmt.service.TaskSearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/task-mgmt")
+@RequiredArgsConstructor
+public class TaskSearchController {
+    private final TaskSearchService taskSearchService;
+
+    @PostMapping("/search")
+    public Response<TaskSearchResponse> search(@RequestBody TaskSearchRequest request) {
+        return new Response<>(taskSearchService.search(request));
+    }
+}
@@ -0,0 +1,20 @@
+package com.railse.hiring.workforcemgmt.controller;
+
+import com.railse.hiring.workforcemgmt.common.model.response.Response;
+import com.railse.hiring.workforcemgmt.dto.TaskTransitionRequest;
+import com.railse.hiring.workforcemgmt.dto.TaskTransitionResponse;
+import com.railse.hiring.workforcemgmt.service.TaskTransitionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/task-mgmt")
+@RequiredArgsConstructor
+public class TaskTransitionController {
+    private final TaskTransitionService taskTransitionService;
+
+    @PostMapping("/transitions")
+    public Response<TaskTransitionResponse> transition(@RequestBody TaskTransitionRequest request) {
+        return new Response<>(taskTransitionService.transition(request));
+    }
+}
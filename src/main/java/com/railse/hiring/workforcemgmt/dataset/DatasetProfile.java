@@ -0,0 +1,17 @@
+package com.railse.hiring.workforcemgmt.dataset;
+
+import lombok.Getter;
+
+@Getter
+public enum DatasetProfile {
+    SMALL(100_000, 500),
+    MEDIUM(1_000_000, 5_000),
+    LARGE(10_000_000, 50_000);
+    private final int taskCount;
+    private final int assigneeCount;
+
+    DatasetProfile(int taskCount, int assigneeCount) {
+        this.taskCount = taskCount;
+        this.assigneeCount = assigneeCount;
+    }
+}
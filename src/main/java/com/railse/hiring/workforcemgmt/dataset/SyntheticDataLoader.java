@@ -0,0 +1,32 @@
+package com.railse.hiring.workforcemgmt.dataset;
+
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "task-mgmt.synthetic", name = "enabled", havingValue = "true")
+public class SyntheticDataLoader implements ApplicationRunner {
+    private final TaskRepository taskRepository;
+    private final SyntheticDataProperties properties;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        SyntheticTaskGenerator generator = new SyntheticTaskGenerator(properties);
+        log.info("Loading {} synthetic tasks (profile {}, seed {}) on {} threads",
+                properties.resolvedTaskCount(), properties.getProfile(), properties.getSeed(),
+                properties.getParallelism());
+        long started = System.nanoTime();
+        long written = generator.populate(taskRepository, properties.getParallelism());
+        log.info("Loaded {} synthetic tasks in {} ms", written,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+}
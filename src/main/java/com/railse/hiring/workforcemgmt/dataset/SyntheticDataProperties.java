@@ -0,0 +1,35 @@
+package com.railse.hiring.workforcemgmt.dataset;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "task-mgmt.synthetic")
+public class SyntheticDataProperties {
+    // Populate the repository at startup
+    private boolean enabled = false;
+    private DatasetProfile profile = DatasetProfile.SMALL;
+    // Override the profile sizes when set
+    private Integer taskCount;
+    private Integer assigneeCount;
+    // Same seed and anchor give the same dataset
+    private long seed = 42L;
+    // Deadlines are spread around this instant, 2025-01-01T00:00:00Z unless set
+    private long anchorTime = 1_735_689_600_000L;
+    // Higher means a few assignees carry most of the work
+    private double assigneeSkew = 1.1;
+    // Share of ENTITY references that get a second ASSIGN_CUSTOMER_TO_SALES_PERSON task, like seed reference 201
+    private double duplicateReferenceRate = 0.05;
+    private int chunkSize = 10_000;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    public int resolvedTaskCount() {
+        return taskCount != null ? taskCount : profile.getTaskCount();
+    }
+
+    public int resolvedAssigneeCount() {
+        return assigneeCount != null ? assigneeCount : profile.getAssigneeCount();
+    }
+}
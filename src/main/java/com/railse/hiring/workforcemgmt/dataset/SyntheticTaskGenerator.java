@@ -0,0 +1,202 @@
+package com.railse.hiring.workforcemgmt.dataset;
+
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.Activity;
+import com.railse.hiring.workforcemgmt.model.Comment;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Deterministic task generator. The dataset is cut into fixed size chunks and each
+ * chunk draws from its own random stream derived from the seed, so the content does
+ * not depend on how many threads generate it. Chunks are saved one after another in
+ * chunk order, so an empty store hands out the same ids to the same tasks every run.
+ */
+public class SyntheticTaskGenerator {
+    private static final long DAY = 86_400_000L;
+    // Keeps synthetic references clear of the hand-written seed references
+    private static final long REFERENCE_BASE = 1_000_000L;
+    private static final double ENTITY_SHARE = 0.3;
+    private static final Task[] ORDER_TASKS = {Task.CREATE_INVOICE, Task.COLLECT_PAYMENT, Task.ARRANGE_PICKUP};
+    private static final String[] DESCRIPTIONS = {
+            "New task created.",
+            "Newly assigned via assign-by-ref",
+            "Follow up with customer before deadline.",
+            "Awaiting confirmation from warehouse.",
+            "Customer requested a call back."
+    };
+    private static final String[] COMMENTS = {
+            "Called customer, no answer.",
+            "Invoice sent to billing contact.",
+            "Payment link shared over email.",
+            "Pickup slot confirmed with courier.",
+            "Customer asked to reschedule.",
+            "Escalated to team lead.",
+            "Waiting on warehouse stock check."
+    };
+
+    private final long seed;
+    private final int taskCount;
+    private final int chunkSize;
+    private final long anchorTime;
+    private final double duplicateReferenceRate;
+    private final double[] assigneeCdf;
+
+    public SyntheticTaskGenerator(SyntheticDataProperties properties) {
+        this.seed = properties.getSeed();
+        this.taskCount = properties.resolvedTaskCount();
+        this.chunkSize = properties.getChunkSize();
+        this.anchorTime = properties.getAnchorTime();
+        this.duplicateReferenceRate = properties.getDuplicateReferenceRate();
+        this.assigneeCdf = zipfCdf(properties.resolvedAssigneeCount(), properties.getAssigneeSkew());
+    }
+
+    public int chunkCount() {
+        return (taskCount + chunkSize - 1) / chunkSize;
+    }
+
+    public List<TaskManagement> generateChunk(int chunk) {
+        int from = chunk * chunkSize;
+        int size = Math.min(chunkSize, taskCount - from);
+        SplittableRandom random = new SplittableRandom(seed ^ (0x9E3779B97F4A7C15L * (chunk + 1)));
+        List<TaskManagement> tasks = new ArrayList<>(size);
+        // a chunk never uses more references than tasks, so ranges cannot overlap
+        long referenceId = REFERENCE_BASE + from;
+        while (tasks.size() < size) {
+            referenceId++;
+            if (random.nextDouble() < ENTITY_SHARE) {
+                tasks.add(task(random, referenceId, ReferenceType.ENTITY, Task.ASSIGN_CUSTOMER_TO_SALES_PERSON));
+                if (tasks.size() < size && random.nextDouble() < duplicateReferenceRate) {
+                    tasks.add(task(random, referenceId, ReferenceType.ENTITY, Task.ASSIGN_CUSTOMER_TO_SALES_PERSON));
+                }
+            } else {
+                for (Task type : ORDER_TASKS) {
+                    // every order has an invoice, later steps are not always created yet
+                    if (tasks.size() < size && (type == Task.CREATE_INVOICE || random.nextDouble() < 0.7)) {
+                        tasks.add(task(random, referenceId, ReferenceType.ORDER, type));
+                    }
+                }
+            }
+        }
+        return tasks;
+    }
+
+    // Generates chunks on the given number of threads and saves them in chunk order, returns tasks written
+    public long populate(TaskRepository repository, int parallelism) {
+        int threads = Math.max(1, parallelism);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            // a few chunks ahead of the writer keeps the threads busy without holding the whole dataset
+            Deque<Future<List<TaskManagement>>> ahead = new ArrayDeque<>();
+            int next = 0;
+            long written = 0;
+            while (next < chunkCount() || !ahead.isEmpty()) {
+                while (next < chunkCount() && ahead.size() < threads * 2) {
+                    int chunk = next++;
+                    ahead.add(executor.submit(() -> generateChunk(chunk)));
+                }
+                List<TaskManagement> tasks = ahead.poll().get();
+                repository.saveAll(tasks);
+                written += tasks.size();
+            }
+            return written;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading synthetic tasks", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to load synthetic tasks", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private TaskManagement task(SplittableRandom random, long referenceId, ReferenceType referenceType, Task type) {
+        long deadline = deadline(random);
+        TaskManagement task = TaskManagement.builder()
+                .referenceId(referenceId)
+                .referenceType(referenceType)
+                .task(type)
+                .assigneeId(assignee(random))
+                .status(status(random, deadline))
+                .priority(priority(random))
+                .description(DESCRIPTIONS[random.nextInt(DESCRIPTIONS.length)])
+                .taskDeadlineTime(deadline)
+                .build();
+        long createdAt = Math.min(deadline, anchorTime) - DAY - random.nextLong(7 * DAY);
+        task.getActivityHistory().add(new Activity("New task created.", createdAt));
+        // geometric, most tasks have zero to two comments and a long tail has many
+        int comments = 0;
+        while (comments < 20 && random.nextDouble() < 0.55) {
+            comments++;
+            long at = createdAt + random.nextLong(DAY * 7);
+            task.getComments().add(new Comment(COMMENTS[random.nextInt(COMMENTS.length)], at));
+            task.getActivityHistory().add(new Activity("User added a comment", at));
+        }
+        return task;
+    }
+
+    private long assignee(SplittableRandom random) {
+        int index = Arrays.binarySearch(assigneeCdf, random.nextDouble());
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return Math.min(index, assigneeCdf.length - 1) + 1L;
+    }
+
+    // 15% overdue within the last month, 60% due this week, the rest up to three months out
+    private long deadline(SplittableRandom random) {
+        double bucket = random.nextDouble();
+        if (bucket < 0.15) {
+            return anchorTime - 1 - random.nextLong(30 * DAY);
+        }
+        if (bucket < 0.75) {
+            return anchorTime + random.nextLong(7 * DAY);
+        }
+        return anchorTime + 7 * DAY + random.nextLong(83 * DAY);
+    }
+
+    private TaskStatus status(SplittableRandom random, long deadline) {
+        double roll = random.nextDouble();
+        if (deadline < anchorTime) {
+            // overdue work is mostly closed out one way or another
+            return roll < 0.55 ? TaskStatus.COMPLETED
+                    : roll < 0.7 ? TaskStatus.CANCELLED
+                    : roll < 0.85 ? TaskStatus.STARTED : TaskStatus.ASSIGNED;
+        }
+        return roll < 0.6 ? TaskStatus.ASSIGNED
+                : roll < 0.8 ? TaskStatus.STARTED
+                : roll < 0.95 ? TaskStatus.COMPLETED : TaskStatus.CANCELLED;
+    }
+
+    private static Priority priority(SplittableRandom random) {
+        double roll = random.nextDouble();
+        return roll < 0.2 ? Priority.HIGH : roll < 0.7 ? Priority.MEDIUM : Priority.LOW;
+    }
+
+    private static double[] zipfCdf(int assignees, double skew) {
+        double[] cdf = new double[assignees];
+        double total = 0;
+        for (int rank = 0; rank < assignees; rank++) {
+            total += 1.0 / Math.pow(rank + 1, skew);
+            cdf[rank] = total;
+        }
+        for (int rank = 0; rank < assignees; rank++) {
+            cdf[rank] /= total;
+        }
+        return cdf;
+    }
+}
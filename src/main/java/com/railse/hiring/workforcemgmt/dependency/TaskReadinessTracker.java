@@ -0,0 +1,137 @@
+package com.railse.hiring.workforcemgmt.dependency;
+
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.TaskContributionIndex;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Which open tasks can be worked on, going by {@link Task#getDependencies()}. Every reference
+ * keeps an in-degree per task type: the number of open tasks of the types it depends on.
+ * Opening or finishing a task only touches the counters of its dependents, so a bulk
+ * completion costs one step per task and checking a task is a lookup.
+ * <p>
+ * A type with no tasks on the reference blocks nothing. Only covers references in this
+ * node's store; tasks of other references read as ready.
+ */
+@Component
+public class TaskReadinessTracker extends TaskContributionIndex<TaskReadinessTracker.Contribution> {
+    private static final int TYPES = Task.values().length;
+
+    private final Map<ReferenceKey, ReferenceState> states = new HashMap<>();
+    private long blocked;
+
+    public TaskReadinessTracker(@Qualifier("localTaskStore") TaskRepository localTaskStore,
+                                MeterRegistry meterRegistry) {
+        super(localTaskStore);
+        Gauge.builder("task.dependency.blocked", this, TaskReadinessTracker::blockedCount)
+                .description("Open tasks waiting on unfinished tasks they depend on")
+                .register(meterRegistry);
+    }
+
+    public boolean isReady(TaskManagement task) {
+        synchronized (lock) {
+            return !isBlocked(task);
+        }
+    }
+
+    // Drops open tasks still waiting on others, one lock for the whole list
+    public List<TaskManagement> withoutBlocked(List<TaskManagement> tasks) {
+        List<TaskManagement> ready = new ArrayList<>(tasks.size());
+        synchronized (lock) {
+            for (TaskManagement task : tasks) {
+                if (!isBlocked(task)) {
+                    ready.add(task);
+                }
+            }
+        }
+        return ready;
+    }
+
+    public long blockedCount() {
+        synchronized (lock) {
+            return blocked;
+        }
+    }
+
+    private boolean isBlocked(TaskManagement task) {
+        if (!isOpen(task.getStatus()) || task.getTask() == null) {
+            return false;
+        }
+        ReferenceState state = states.get(new ReferenceKey(task.getReferenceId(), task.getReferenceType()));
+        return state != null && state.blockers[task.getTask().ordinal()] > 0;
+    }
+
+    // Only open tasks hold anything back, finishing one is just its contribution going away
+    @Override
+    protected Contribution contributionOf(TaskManagement task) {
+        if (task.getReferenceId() == null || task.getTask() == null || !isOpen(task.getStatus())) {
+            return null;
+        }
+        return new Contribution(new ReferenceKey(task.getReferenceId(), task.getReferenceType()), task.getTask());
+    }
+
+    @Override
+    protected void change(Contribution previous, Contribution next) {
+        if (previous != null) {
+            adjust(previous, -1);
+        }
+        if (next != null) {
+            adjust(next, 1);
+        }
+    }
+
+    // Counts one open task in or out, and moves the in-degree of every type waiting on it
+    private void adjust(Contribution contribution, int delta) {
+        ReferenceState state = states.computeIfAbsent(contribution.reference(), key -> new ReferenceState());
+        int type = contribution.task().ordinal();
+        state.open[type] += delta;
+        state.openTotal += delta;
+        if (state.blockers[type] > 0) {
+            blocked += delta;
+        }
+        for (Task dependent : contribution.task().getDependents()) {
+            int before = state.blockers[dependent.ordinal()];
+            int after = before + delta;
+            state.blockers[dependent.ordinal()] = after;
+            // a type flipping between ready and blocked takes all its open tasks with it
+            if (before == 0 && after > 0) {
+                blocked += state.open[dependent.ordinal()];
+            } else if (before > 0 && after == 0) {
+                blocked -= state.open[dependent.ordinal()];
+            }
+        }
+        if (state.openTotal == 0) {
+            states.remove(contribution.reference());
+        }
+    }
+
+    private static boolean isOpen(TaskStatus status) {
+        return status == TaskStatus.ASSIGNED || status == TaskStatus.STARTED;
+    }
+
+    record ReferenceKey(Long referenceId, ReferenceType referenceType) {
+    }
+
+    record Contribution(ReferenceKey reference, Task task) {
+    }
+
+    private static final class ReferenceState {
+        // Open tasks per type
+        private final int[] open = new int[TYPES];
+        // Per type, open tasks across the types it depends on; zero means ready
+        private final int[] blockers = new int[TYPES];
+        private int openTotal;
+    }
+}
@@ -11,4 +11,6 @@ public class AssignByReferenceRequest {
     private Long referenceId;
     private ReferenceType referenceType;
     private Long assigneeId;
+    // Used when assignee_id is absent, picks the least loaded member of a configured pool
+    private String assigneePool;
 }
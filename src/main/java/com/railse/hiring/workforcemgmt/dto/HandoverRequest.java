@@ -0,0 +1,11 @@
+package com.railse.hiring.workforcemgmt.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+// Either to_assignee_id or assignee_pool says where the open tasks go
+public record HandoverRequest(
+        @JsonProperty("from_assignee_id") Long fromAssigneeId,
+        @JsonProperty("to_assignee_id") Long toAssigneeId,
+        @JsonProperty("assignee_pool") String assigneePool
+) {
+}
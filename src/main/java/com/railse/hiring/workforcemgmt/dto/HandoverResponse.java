@@ -0,0 +1,13 @@
+package com.railse.hiring.workforcemgmt.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.Map;
+
+public record HandoverResponse(
+        @JsonProperty("moved") int moved,
+        @JsonProperty("batches") int batches,
+        // new assignee id to how many tasks it picked up
+        @JsonProperty("moved_to") Map<Long, Integer> movedTo
+) {
+}
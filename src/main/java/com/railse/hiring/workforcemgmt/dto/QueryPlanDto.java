@@ -0,0 +1,16 @@
+package com.railse.hiring.workforcemgmt.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+import java.util.Map;
+
+public record QueryPlanDto(
+        @JsonProperty("access_path") String accessPath,
+        @JsonProperty("estimated_rows") Map<String, Long> estimatedRows,
+        @JsonProperty("residual_filters") List<String> residualFilters,
+        @JsonProperty("limit") Integer limit,
+        @JsonProperty("rows_examined") long rowsExamined,
+        @JsonProperty("rows_returned") long rowsReturned
+) {
+}
@@ -0,0 +1,24 @@
+package com.railse.hiring.workforcemgmt.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+
+import java.util.List;
+import java.util.Map;
+
+public record ReferenceSummaryResponse(
+        @JsonProperty("reference_id") Long referenceId,
+        @JsonProperty("total") int total,
+        @JsonProperty("earliest_open_deadline") Long earliestOpenDeadline,
+        @JsonProperty("tasks") List<TaskSummary> tasks
+) {
+
+    public record TaskSummary(
+            @JsonProperty("task") Task task,
+            @JsonProperty("counts") Map<TaskStatus, Integer> counts,
+            @JsonProperty("latest_assignee_id") Long latestAssigneeId,
+            @JsonProperty("earliest_open_deadline") Long earliestOpenDeadline
+    ) {
+    }
+}
@@ -21,6 +21,8 @@ public class TaskCreateRequest {
         private ReferenceType referenceType;
         private Task task;
         private Long assigneeId;
+        // Used when assignee_id is absent, picks the least loaded member of a configured pool
+        private String assigneePool;
         private Priority priority;
         private Long taskDeadlineTime;
     }
@@ -16,4 +16,10 @@ public class TaskFetchByDateRequest {
     private Long startDate;
     private Long endDate;
     private List<Long> assigneeIds;
+    // v4 only: leave out open tasks still waiting on tasks they depend on
+    private Boolean readyOnly;
+
+    public TaskFetchByDateRequest(Long startDate, Long endDate, List<Long> assigneeIds) {
+        this(startDate, endDate, assigneeIds, null);
+    }
 }
@@ -0,0 +1,26 @@
+package com.railse.hiring.workforcemgmt.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+
+import java.util.Set;
+
+// Any combination of filters, all of them have to hold. Results come a page at a time in id
+// order; cursor is the next_cursor of the previous page. explain adds the plan to the response
+public record TaskQueryRequest(
+        @JsonProperty("assignee_ids") Set<Long> assigneeIds,
+        @JsonProperty("reference_id") Long referenceId,
+        @JsonProperty("reference_type") ReferenceType referenceType,
+        @JsonProperty("statuses") Set<TaskStatus> statuses,
+        @JsonProperty("priorities") Set<Priority> priorities,
+        @JsonProperty("tasks") Set<Task> tasks,
+        @JsonProperty("deadline_from") Long deadlineFrom,
+        @JsonProperty("deadline_to") Long deadlineTo,
+        @JsonProperty("limit") Integer limit,
+        @JsonProperty("cursor") Long cursor,
+        @JsonProperty("explain") boolean explain
+) {
+}
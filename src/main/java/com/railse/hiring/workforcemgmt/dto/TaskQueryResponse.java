@@ -0,0 +1,13 @@
+package com.railse.hiring.workforcemgmt.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+// plan is only filled in when the request asked for explain, next_cursor only when the page was full
+public record TaskQueryResponse(
+        @JsonProperty("tasks") List<TaskManagementDto> tasks,
+        @JsonProperty("next_cursor") Long nextCursor,
+        @JsonProperty("plan") QueryPlanDto plan
+) {
+}
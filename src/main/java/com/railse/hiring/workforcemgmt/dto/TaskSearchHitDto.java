@@ -0,0 +1,9 @@
+package com.railse.hiring.workforcemgmt.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public record TaskSearchHitDto(
+        @JsonProperty("score") double score,
+        @JsonProperty("task") TaskManagementDto task
+) {
+}
@@ -0,0 +1,17 @@
+package com.railse.hiring.workforcemgmt.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+
+import java.util.Set;
+
+// Every word in query has to appear in the description or a comment, the filters are optional
+public record TaskSearchRequest(
+        @JsonProperty("query") String query,
+        @JsonProperty("statuses") Set<TaskStatus> statuses,
+        @JsonProperty("priorities") Set<Priority> priorities,
+        @JsonProperty("assignee_ids") Set<Long> assigneeIds,
+        @JsonProperty("limit") Integer limit
+) {
+}
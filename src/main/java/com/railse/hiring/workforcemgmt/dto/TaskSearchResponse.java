@@ -0,0 +1,11 @@
+package com.railse.hiring.workforcemgmt.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+public record TaskSearchResponse(
+        @JsonProperty("total_hits") int totalHits,
+        @JsonProperty("hits") List<TaskSearchHitDto> hits
+) {
+}
@@ -0,0 +1,17 @@
+package com.railse.hiring.workforcemgmt.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+
+import java.util.List;
+
+public record TaskTransitionRequest(
+        @JsonProperty("transitions") List<Item> transitions
+) {
+
+    public record Item(
+            @JsonProperty("task_id") Long taskId,
+            @JsonProperty("status") TaskStatus status
+    ) {
+    }
+}
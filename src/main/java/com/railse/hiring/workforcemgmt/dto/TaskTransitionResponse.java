@@ -0,0 +1,38 @@
+package com.railse.hiring.workforcemgmt.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+
+import java.util.List;
+
+// One result per requested transition, in request order
+public record TaskTransitionResponse(
+        @JsonProperty("applied") int applied,
+        @JsonProperty("unchanged") int unchanged,
+        @JsonProperty("rejected") int rejected,
+        @JsonProperty("results") List<Result> results
+) {
+
+    public enum Outcome {
+        APPLIED,
+        // already in the requested status, nothing saved
+        UNCHANGED,
+        NOT_FOUND,
+        INVALID_TRANSITION,
+        // waiting on tasks it depends on, it cannot be started yet
+        BLOCKED,
+        // changed by someone else since it was read, read it again and retry
+        CONFLICT,
+        // the store refused the save
+        FAILED
+    }
+
+    public record Result(
+            @JsonProperty("task_id") Long taskId,
+            @JsonProperty("outcome") Outcome outcome,
+            @JsonProperty("from") TaskStatus from,
+            @JsonProperty("to") TaskStatus to,
+            @JsonProperty("message") String message
+    ) {
+    }
+}
@@ -3,6 +3,7 @@ package com.railse.hiring.workforcemgmt.mapper;
 import com.railse.hiring.workforcemgmt.dto.TaskManagementDto;
 import com.railse.hiring.workforcemgmt.model.TaskManagement;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.NullValuePropertyMappingStrategy;
 import org.mapstruct.factory.Mappers;
 
@@ -16,6 +17,8 @@ public interface ITaskManagementMapper {
 
     TaskManagementDto modelToDto(TaskManagement model);
 
+    // version belongs to the store, a DTO never sets it
+    @Mapping(target = "version", ignore = true)
     TaskManagement dtoToModel(TaskManagementDto dto);
 
     List<TaskManagementDto> modelListToDtoList(List<TaskManagement>
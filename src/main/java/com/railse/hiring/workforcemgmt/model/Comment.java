@@ -2,9 +2,11 @@ package com.railse.hiring.workforcemgmt.model;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
 @AllArgsConstructor
+@NoArgsConstructor
 public class Comment {
     private String message;
     private long timestamp;
@@ -0,0 +1,154 @@
+package com.railse.hiring.workforcemgmt.model;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Off-heap storage for history entries, in direct ByteBuffer segments allocated as they
+ * fill up. An entry is [long timestamp][int length][utf-8]; a history keeps the offsets
+ * of its entries and the heap holds nothing else.
+ * <p>
+ * Space comes back a segment at a time. Each segment counts its live bytes, histories hand
+ * their entries back through {@link #release} when they are rewritten or their task leaves
+ * the store, and a filled segment whose count reaches zero is dropped for the GC to free.
+ * Its slot is never reused, so a reader still holding an old offset gets a
+ * {@link ReleasedException} rather than someone else's bytes. Segments with a single
+ * long-lived entry stay reserved; there is no compaction.
+ */
+public class HistoryArena {
+    private static final int HEADER = Long.BYTES + Integer.BYTES;
+
+    private final int segmentBytes;
+    // null once a segment has been dropped
+    private final List<Segment> segments = new CopyOnWriteArrayList<>();
+    private final Object lock = new Object();
+    private Segment current;
+    private int position;
+    private long allocatedBytes;
+    private int liveSegments;
+
+    public HistoryArena(int segmentBytes) {
+        if (segmentBytes < HEADER) {
+            throw new IllegalArgumentException("segmentBytes must be at least " + HEADER);
+        }
+        this.segmentBytes = segmentBytes;
+    }
+
+    long append(long timestamp, String message) {
+        byte[] bytes = message == null ? null : message.getBytes(StandardCharsets.UTF_8);
+        int recordBytes = HEADER + (bytes == null ? 0 : bytes.length);
+        if (recordBytes > segmentBytes) {
+            throw new IllegalArgumentException("History entry of " + recordBytes + " bytes does not fit a "
+                    + segmentBytes + " byte arena segment");
+        }
+        synchronized (lock) {
+            if (current == null || position + recordBytes > segmentBytes) {
+                Segment full = current;
+                current = new Segment(ByteBuffer.allocateDirect(segmentBytes));
+                segments.add(current);
+                liveSegments++;
+                position = 0;
+                if (full != null && full.liveBytes == 0) {
+                    drop(segments.size() - 2);
+                }
+            }
+            ByteBuffer buffer = current.buffer;
+            buffer.putLong(position, timestamp);
+            buffer.putInt(position + Long.BYTES, bytes == null ? -1 : bytes.length);
+            if (bytes != null) {
+                buffer.put(position + HEADER, bytes);
+            }
+            long offset = (long) (segments.size() - 1) * segmentBytes + position;
+            position += recordBytes;
+            current.liveBytes += recordBytes;
+            allocatedBytes += recordBytes;
+            // readers go through this volatile write before touching the bytes
+            current.committed = position;
+            return offset;
+        }
+    }
+
+    <T> T read(long offset, HistoryCodec.Factory<T> factory) {
+        Segment segment = segment(offset);
+        int at = (int) (offset % segmentBytes);
+        int length = segment.buffer.getInt(at + Long.BYTES);
+        String message = null;
+        if (length >= 0) {
+            byte[] bytes = new byte[length];
+            segment.buffer.get(at + HEADER, bytes);
+            message = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return factory.create(message, segment.buffer.getLong(at));
+    }
+
+    // The caller must no longer publish these offsets; readers of older snapshots may still race us
+    void release(long[] offsets, int count) {
+        if (count == 0) {
+            return;
+        }
+        synchronized (lock) {
+            for (int i = 0; i < count; i++) {
+                int index = (int) (offsets[i] / segmentBytes);
+                Segment segment = segments.get(index);
+                if (segment == null) {
+                    throw new IllegalStateException("Arena offset " + offsets[i] + " was released twice");
+                }
+                int length = segment.buffer.getInt((int) (offsets[i] % segmentBytes) + Long.BYTES);
+                int recordBytes = HEADER + Math.max(length, 0);
+                segment.liveBytes -= recordBytes;
+                allocatedBytes -= recordBytes;
+                if (segment.liveBytes == 0 && segment != current) {
+                    drop(index);
+                }
+            }
+        }
+    }
+
+    private void drop(int index) {
+        segments.set(index, null);
+        liveSegments--;
+    }
+
+    private Segment segment(long offset) {
+        Segment segment = segments.get((int) (offset / segmentBytes));
+        if (segment == null) {
+            throw new ReleasedException(offset);
+        }
+        if (segment.committed <= offset % segmentBytes) {
+            throw new IllegalStateException("Arena offset " + offset + " was never written");
+        }
+        return segment;
+    }
+
+    // Bytes held by entries some history still refers to
+    public long allocatedBytes() {
+        synchronized (lock) {
+            return allocatedBytes;
+        }
+    }
+
+    public long reservedBytes() {
+        synchronized (lock) {
+            return (long) liveSegments * segmentBytes;
+        }
+    }
+
+    static final class ReleasedException extends IllegalStateException {
+        private ReleasedException(long offset) {
+            super("Arena offset " + offset + " belongs to a released segment");
+        }
+    }
+
+    private static final class Segment {
+        private final ByteBuffer buffer;
+        private volatile int committed;
+        // guarded by the arena lock
+        private int liveBytes;
+
+        private Segment(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.railse.hiring.workforcemgmt.model;
+
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+// How the history lists take an entry apart into (message, timestamp) and put it back together
+record HistoryCodec<T>(Factory<T> factory, Function<T, String> message, ToLongFunction<T> timestamp,
+                       boolean pooled) {
+    // Activity messages come from a small set of templates, comments are free text
+    static final HistoryCodec<Activity> ACTIVITY = new HistoryCodec<>(Activity::new, Activity::getMessage,
+            Activity::getTimestamp, true);
+    static final HistoryCodec<Comment> COMMENT = new HistoryCodec<>(Comment::new, Comment::getMessage,
+            Comment::getTimestamp, false);
+
+    String messageOf(T element) {
+        String value = message.apply(element);
+        return pooled ? StringPool.canonical(value) : value;
+    }
+
+    @FunctionalInterface
+    interface Factory<T> {
+        T create(String message, long timestamp);
+    }
+}
@@ -0,0 +1,192 @@
+package com.railse.hiring.workforcemgmt.model;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * A history whose entries live in a HistoryArena; on heap it is only the arena and an
+ * array of entry offsets. Appending writes one entry, get(i) reads one. Anything else that
+ * changes the order (insert, remove, set, sort) writes a fresh copy of every entry and
+ * releases the old ones, so callers should stick to add and read. Iterators walk a
+ * read-only snapshot.
+ * <p>
+ * Writers are expected to be serialised by the task's lock. Readers are not: the offsets
+ * and size are published together as one immutable chain, so a reader sees either the
+ * history before a write or after it. A reader that loses a race with a rewrite simply
+ * retries on the newer chain.
+ */
+public final class OffHeapHistory<T> extends AbstractList<T> {
+    private final HistoryArena arena;
+    private final HistoryCodec<T> codec;
+    private volatile Chain chain = Chain.EMPTY;
+
+    private OffHeapHistory(HistoryArena arena, HistoryCodec<T> codec) {
+        this.arena = arena;
+        this.codec = codec;
+    }
+
+    // Moves a list into the arena, one that already lives there is kept as it is
+    public static List<Activity> activitiesOf(HistoryArena arena, List<Activity> history) {
+        return history instanceof OffHeapHistory<Activity> offHeap && offHeap.arena == arena
+                ? offHeap
+                : of(new OffHeapHistory<>(arena, HistoryCodec.ACTIVITY), history);
+    }
+
+    public static List<Comment> commentsOf(HistoryArena arena, List<Comment> history) {
+        return history instanceof OffHeapHistory<Comment> offHeap && offHeap.arena == arena
+                ? offHeap
+                : of(new OffHeapHistory<>(arena, HistoryCodec.COMMENT), history);
+    }
+
+    private static <T> OffHeapHistory<T> of(OffHeapHistory<T> target, Collection<T> source) {
+        if (source != null) {
+            source.forEach(target::append);
+        }
+        return target;
+    }
+
+    // Gives a history the store has let go of back to its arena; heap lists are left to the GC
+    public static void release(List<?> history) {
+        if (history instanceof OffHeapHistory<?> offHeap) {
+            offHeap.clear();
+        }
+    }
+
+    @Override
+    public int size() {
+        return chain.size();
+    }
+
+    @Override
+    public T get(int index) {
+        return read(snapshot -> {
+            Objects.checkIndex(index, snapshot.size());
+            return arena.read(snapshot.offsets()[index], codec.factory());
+        });
+    }
+
+    @Override
+    public boolean add(T element) {
+        append(element);
+        return true;
+    }
+
+    @Override
+    public void add(int index, T element) {
+        if (index == size()) {
+            append(element);
+            return;
+        }
+        List<T> entries = decode();
+        entries.add(index, element);
+        rewrite(entries);
+    }
+
+    @Override
+    public T set(int index, T element) {
+        List<T> entries = decode();
+        T previous = entries.set(index, element);
+        rewrite(entries);
+        return previous;
+    }
+
+    @Override
+    public T remove(int index) {
+        List<T> entries = decode();
+        T removed = entries.remove(index);
+        rewrite(entries);
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        Chain old = chain;
+        chain = Chain.EMPTY;
+        modCount++;
+        arena.release(old.offsets(), old.size());
+    }
+
+    @Override
+    public void sort(Comparator<? super T> comparator) {
+        List<T> entries = decode();
+        entries.sort(comparator);
+        rewrite(entries);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return Collections.unmodifiableList(decode()).iterator();
+    }
+
+    @Override
+    public ListIterator<T> listIterator(int index) {
+        return Collections.unmodifiableList(decode()).listIterator(index);
+    }
+
+    @Override
+    public Object[] toArray() {
+        return decode().toArray();
+    }
+
+    // Older chains only look at slots below their own size, so the array is shared until it grows
+    private void append(T element) {
+        Chain current = chain;
+        long offset = arena.append(codec.timestamp().applyAsLong(element), codec.messageOf(element));
+        long[] offsets = current.offsets();
+        if (current.size() == offsets.length) {
+            offsets = Arrays.copyOf(offsets, Math.max(4, offsets.length * 2));
+        }
+        offsets[current.size()] = offset;
+        chain = new Chain(offsets, current.size() + 1);
+        modCount++;
+    }
+
+    // Publish the new entries before releasing the old ones, readers of the old chain then retry
+    private void rewrite(List<T> entries) {
+        Chain old = chain;
+        long[] offsets = new long[Math.max(4, entries.size())];
+        for (int i = 0; i < entries.size(); i++) {
+            T entry = entries.get(i);
+            offsets[i] = arena.append(codec.timestamp().applyAsLong(entry), codec.messageOf(entry));
+        }
+        chain = new Chain(offsets, entries.size());
+        modCount++;
+        arena.release(old.offsets(), old.size());
+    }
+
+    private List<T> decode() {
+        return read(snapshot -> {
+            List<T> entries = new ArrayList<>(snapshot.size());
+            for (int i = 0; i < snapshot.size(); i++) {
+                entries.add(arena.read(snapshot.offsets()[i], codec.factory()));
+            }
+            return entries;
+        });
+    }
+
+    private <R> R read(Function<Chain, R> reader) {
+        while (true) {
+            Chain snapshot = chain;
+            try {
+                return reader.apply(snapshot);
+            } catch (HistoryArena.ReleasedException e) {
+                if (chain == snapshot) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private record Chain(long[] offsets, int size) {
+        private static final Chain EMPTY = new Chain(new long[0], 0);
+    }
+}
@@ -0,0 +1,111 @@
+package com.railse.hiring.workforcemgmt.model;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * A task's activity or comment history stored as two parallel arrays instead of one
+ * object per entry: 8 bytes of timestamp plus a reference to the (pooled, for activities)
+ * message. Entries are materialised on read, so editing a returned element does not
+ * write back; use set() instead.
+ */
+public final class PackedHistory<T> extends AbstractList<T> implements RandomAccess {
+    private static final long[] NO_TIMESTAMPS = new long[0];
+    private static final String[] NO_MESSAGES = new String[0];
+
+    private final HistoryCodec<T> codec;
+    private long[] timestamps = NO_TIMESTAMPS;
+    private String[] messages = NO_MESSAGES;
+    private int size;
+
+    private PackedHistory(HistoryCodec<T> codec) {
+        this.codec = codec;
+    }
+
+    public static PackedHistory<Activity> activities() {
+        return new PackedHistory<>(HistoryCodec.ACTIVITY);
+    }
+
+    public static PackedHistory<Comment> comments() {
+        return new PackedHistory<>(HistoryCodec.COMMENT);
+    }
+
+    // Packs a list that came from somewhere else (a builder, Jackson), packed lists are kept as they are
+    public static List<Activity> activitiesOf(List<Activity> history) {
+        return history instanceof PackedHistory<Activity> packed ? packed : packed(activities(), history);
+    }
+
+    public static List<Comment> commentsOf(List<Comment> history) {
+        return history instanceof PackedHistory<Comment> packed ? packed : packed(comments(), history);
+    }
+
+    private static <T> PackedHistory<T> packed(PackedHistory<T> target, Collection<T> source) {
+        if (source != null) {
+            target.ensureCapacity(source.size());
+            source.forEach(target::add);
+        }
+        return target;
+    }
+
+    @Override
+    public T get(int index) {
+        Objects.checkIndex(index, size);
+        return codec.factory().create(messages[index], timestamps[index]);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public T set(int index, T element) {
+        T previous = get(index);
+        timestamps[index] = codec.timestamp().applyAsLong(element);
+        messages[index] = codec.messageOf(element);
+        return previous;
+    }
+
+    @Override
+    public void add(int index, T element) {
+        Objects.checkIndex(index, size + 1);
+        ensureCapacity(size + 1);
+        System.arraycopy(timestamps, index, timestamps, index + 1, size - index);
+        System.arraycopy(messages, index, messages, index + 1, size - index);
+        timestamps[index] = codec.timestamp().applyAsLong(element);
+        messages[index] = codec.messageOf(element);
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public T remove(int index) {
+        T removed = get(index);
+        System.arraycopy(timestamps, index + 1, timestamps, index, size - index - 1);
+        System.arraycopy(messages, index + 1, messages, index, size - index - 1);
+        messages[--size] = null;
+        modCount++;
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(messages, 0, size, null);
+        size = 0;
+        modCount++;
+    }
+
+    private void ensureCapacity(int needed) {
+        if (needed <= timestamps.length) {
+            return;
+        }
+        // histories are short, grow gently so the slack stays small
+        int capacity = Math.max(needed, timestamps.length + (timestamps.length >> 1) + 1);
+        timestamps = Arrays.copyOf(timestamps, capacity);
+        messages = Arrays.copyOf(messages, capacity);
+    }
+}
@@ -0,0 +1,91 @@
+package com.railse.hiring.workforcemgmt.model;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Canonical instances for the handful of texts every task repeats ("New task created.",
+ * "Priority changed to HIGH", ...), so a million tasks share one copy of each. Entries are
+ * held weakly: a text no task refers to any more drops out, so one-off descriptions do not
+ * pile up for the life of the process. Bounded, once full new strings are handed back as
+ * they are instead of being pooled.
+ */
+public final class StringPool {
+    private static final int MAX_ENTRIES = 10_000;
+    private static final Map<Entry, Entry> POOL = new ConcurrentHashMap<>();
+    private static final ReferenceQueue<String> CLEARED = new ReferenceQueue<>();
+
+    private StringPool() {
+    }
+
+    public static String canonical(String value) {
+        if (value == null) {
+            return null;
+        }
+        expunge();
+        Entry probe = new Entry(value, null);
+        Entry pooled = POOL.get(probe);
+        String text = pooled != null ? pooled.get() : null;
+        if (text != null) {
+            return text;
+        }
+        if (POOL.size() >= MAX_ENTRIES) {
+            return value;
+        }
+        Entry entry = new Entry(value, CLEARED);
+        while (true) {
+            pooled = POOL.putIfAbsent(entry, entry);
+            if (pooled == null) {
+                return value;
+            }
+            text = pooled.get();
+            if (text != null) {
+                return text;
+            }
+            // cleared but not expunged yet, drop it and try again
+            POOL.remove(pooled, pooled);
+        }
+    }
+
+    public static int size() {
+        expunge();
+        return POOL.size();
+    }
+
+    private static void expunge() {
+        Reference<? extends String> cleared;
+        while ((cleared = CLEARED.poll()) != null) {
+            POOL.remove((Entry) cleared, cleared);
+        }
+    }
+
+    // Equal by text while alive; a cleared entry only equals itself, so it can still be removed
+    private static final class Entry extends WeakReference<String> {
+        private final int hash;
+
+        private Entry(String value, ReferenceQueue<String> queue) {
+            super(value, queue);
+            this.hash = value.hashCode();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Entry entry) || entry.hash != hash) {
+                return false;
+            }
+            String text = get();
+            return text != null && text.equals(entry.get());
+        }
+    }
+}
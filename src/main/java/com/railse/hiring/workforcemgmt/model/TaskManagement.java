@@ -9,7 +9,6 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.util.ArrayList;
 import java.util.List;
 
 @Data
@@ -26,11 +25,53 @@ public class TaskManagement {
     private Long assigneeId; // Simplified from Entity for this assignment
     private Long taskDeadlineTime;
     private Priority priority;
+    // Bumped by the repository on every save, used to key serialized snapshots
+    private long version;
 
     //For feature 3
     @Builder.Default
-    private List<Activity> activityHistory = new ArrayList<>();
+    private List<Activity> activityHistory = PackedHistory.activities();
     @Builder.Default
-    private List<Comment> comments = new ArrayList<>();
+    private List<Comment> comments = PackedHistory.comments();
+
+    // The store calls this on save; tasks built by Jackson or given a plain list arrive with one object per entry
+    public void compact() {
+        compact(null);
+    }
+
+    // Fields and histories are copied, so changing the copy leaves this task alone
+    public TaskManagement copy() {
+        TaskManagement copy = TaskManagement.builder()
+                .id(id)
+                .referenceId(referenceId)
+                .referenceType(referenceType)
+                .task(task)
+                .description(description)
+                .status(status)
+                .assigneeId(assigneeId)
+                .taskDeadlineTime(taskDeadlineTime)
+                .priority(priority)
+                .version(version)
+                .build();
+        if (activityHistory != null) {
+            copy.getActivityHistory().addAll(activityHistory);
+        }
+        if (comments != null) {
+            copy.getComments().addAll(comments);
+        }
+        return copy;
+    }
+
+    // With an arena the histories move off heap and the task keeps only their entry offsets
+    public void compact(HistoryArena arena) {
+        description = StringPool.canonical(description);
+        if (arena == null) {
+            activityHistory = PackedHistory.activitiesOf(activityHistory);
+            comments = PackedHistory.commentsOf(comments);
+        } else {
+            activityHistory = OffHeapHistory.activitiesOf(arena, activityHistory);
+            comments = OffHeapHistory.commentsOf(arena, comments);
+        }
+    }
 
 }
@@ -3,8 +3,15 @@ package com.railse.hiring.workforcemgmt.model.enums;
 import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
 import lombok.Getter;
 
+import java.util.ArrayDeque;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Getter
@@ -13,6 +20,25 @@ public enum Task {
     CREATE_INVOICE(List.of(ReferenceType.ORDER), "Create Invoice"),
     ARRANGE_PICKUP(List.of(ReferenceType.ORDER), "Arrange Pickup"),
     COLLECT_PAYMENT(List.of(ReferenceType.ORDER), "Collect Payment");
+
+    // Tasks of the same reference that must all be finished before this one can be worked on.
+    // Only direct dependencies count, and the graph has to stay acyclic
+    private static final Map<Task, Set<Task>> DEPENDENCIES = new EnumMap<>(Task.class);
+    private static final Map<Task, Set<Task>> DEPENDENTS = new EnumMap<>(Task.class);
+
+    static {
+        DEPENDENCIES.put(ARRANGE_PICKUP, EnumSet.of(CREATE_INVOICE, COLLECT_PAYMENT));
+
+        for (Task task : values()) {
+            DEPENDENCIES.putIfAbsent(task, EnumSet.noneOf(Task.class));
+            DEPENDENTS.put(task, EnumSet.noneOf(Task.class));
+        }
+        DEPENDENCIES.forEach((task, dependencies) -> dependencies.forEach(dependency -> DEPENDENTS.get(dependency).add(task)));
+        DEPENDENCIES.replaceAll((task, dependencies) -> Collections.unmodifiableSet(dependencies));
+        DEPENDENTS.replaceAll((task, dependents) -> Collections.unmodifiableSet(dependents));
+        checkAcyclic();
+    }
+
     private final List<ReferenceType> applicableReferenceTypes;
     private final String view;
 
@@ -21,6 +47,15 @@ public enum Task {
         this.view = view;
     }
 
+    public Set<Task> getDependencies() {
+        return DEPENDENCIES.get(this);
+    }
+
+    // The reverse edges, i.e. the task types waiting on this one
+    public Set<Task> getDependents() {
+        return DEPENDENTS.get(this);
+    }
+
     public static List<Task> getTasksByReferenceType(ReferenceType referenceType) {
         return Arrays.stream(Task.values())
                 .filter(task ->
@@ -28,4 +63,27 @@ public enum Task {
                 .collect(Collectors.toList());
     }
 
+    // Kahn's algorithm, a type left over sits on a cycle and could never become ready
+    private static void checkAcyclic() {
+        Map<Task, Integer> inDegree = new EnumMap<>(Task.class);
+        Deque<Task> free = new ArrayDeque<>();
+        for (Task task : values()) {
+            inDegree.put(task, DEPENDENCIES.get(task).size());
+            if (DEPENDENCIES.get(task).isEmpty()) {
+                free.add(task);
+            }
+        }
+        int sorted = 0;
+        while (!free.isEmpty()) {
+            sorted++;
+            for (Task dependent : DEPENDENTS.get(free.poll())) {
+                if (inDegree.merge(dependent, -1, Integer::sum) == 0) {
+                    free.add(dependent);
+                }
+            }
+        }
+        if (sorted != values().length) {
+            throw new IllegalStateException("Task dependencies contain a cycle: " + DEPENDENCIES);
+        }
+    }
 }
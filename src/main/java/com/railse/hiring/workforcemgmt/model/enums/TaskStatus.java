@@ -4,5 +4,14 @@ public enum TaskStatus {
     ASSIGNED,
     STARTED,
     COMPLETED,
-    CANCELLED
+    CANCELLED;
+
+    // ASSIGNED -> STARTED -> COMPLETED, either open state may be cancelled; finished tasks stay finished
+    public boolean canTransitionTo(TaskStatus next) {
+        return switch (this) {
+            case ASSIGNED -> next == STARTED || next == CANCELLED;
+            case STARTED -> next == COMPLETED || next == CANCELLED;
+            case COMPLETED, CANCELLED -> false;
+        };
+    }
 }
@@ -0,0 +1,36 @@
+package com.railse.hiring.workforcemgmt.replication;
+
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+
+/**
+ * One line of the replication stream. Sequence numbers only grow on SAVE and DELETE;
+ * the other types carry the primary's current sequence so a replica can tell how far
+ * behind it is. Timestamps are the primary's wall clock in millis.
+ */
+public record Mutation(long sequence, Type type, long timestamp, TaskManagement task, Long taskId) {
+
+    public enum Type {
+        SNAPSHOT_START,
+        SNAPSHOT,
+        SNAPSHOT_END,
+        SAVE,
+        DELETE,
+        HEARTBEAT
+    }
+
+    static Mutation save(long sequence, TaskManagement task) {
+        return new Mutation(sequence, Type.SAVE, System.currentTimeMillis(), task, task.getId());
+    }
+
+    static Mutation delete(long sequence, Long taskId) {
+        return new Mutation(sequence, Type.DELETE, System.currentTimeMillis(), null, taskId);
+    }
+
+    static Mutation marker(long sequence, Type type) {
+        return new Mutation(sequence, type, System.currentTimeMillis(), null, null);
+    }
+
+    static Mutation snapshot(long sequence, TaskManagement task) {
+        return new Mutation(sequence, Type.SNAPSHOT, System.currentTimeMillis(), task, task.getId());
+    }
+}
@@ -0,0 +1,280 @@
+package com.railse.hiring.workforcemgmt.replication;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.repository.TaskDeletedEvent;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskSavedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Ships the primary's mutations to replicas as newline-delimited JSON over a loopback
+ * socket. A new replica first gets a snapshot of the store, then every save and delete
+ * in the order they were published, plus a heartbeat so it can measure lag while idle.
+ * <p>
+ * Saving threads only copy the task and queue it; numbering, encoding and the hand-off
+ * to each replica's writer happen on the single replication-log thread. New replicas
+ * are registered through the same queue, so their snapshot is taken exactly between
+ * the mutations it already contains and the ones they are sent.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "task-mgmt.replication", name = "role", havingValue = "primary")
+public class MutationLogServer {
+    private final TaskRepository localTaskStore;
+    private final ObjectMapper objectMapper;
+    private final ReplicationProperties properties;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    // Unbounded, but the log thread never blocks on a replica, so it only holds a burst
+    private final BlockingQueue<Entry> pending = new LinkedBlockingQueue<>();
+    // Replicas connected or waiting to be registered, while zero nothing is queued
+    private final AtomicInteger listeners = new AtomicInteger();
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "replication-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Thread logThread = new Thread(this::logLoop, "replication-log");
+    // Written by the log thread only
+    private volatile long sequence;
+    private ServerSocket serverSocket;
+
+    public MutationLogServer(@Qualifier("localTaskStore") TaskRepository localTaskStore,
+                             ObjectMapper objectMapper, ReplicationProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.localTaskStore = localTaskStore;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        logThread.setDaemon(true);
+        Gauge.builder("task.replication.replicas", subscribers, List::size)
+                .description("Replicas currently tailing the mutation log")
+                .register(meterRegistry);
+        Gauge.builder("task.replication.sequence", this, MutationLogServer::currentSequence)
+                .description("Last mutation sequence number shipped")
+                .register(meterRegistry);
+        Gauge.builder("task.replication.pending", pending, BlockingQueue::size)
+                .description("Mutations queued for the log thread")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        serverSocket = new ServerSocket(properties.getPort(), 50, InetAddress.getLoopbackAddress());
+        logThread.start();
+        Thread acceptor = new Thread(this::acceptLoop, "replication-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        heartbeats.scheduleAtFixedRate(this::heartbeat, properties.getHeartbeatIntervalMs(),
+                properties.getHeartbeatIntervalMs(), TimeUnit.MILLISECONDS);
+        log.info("Shipping mutations to replicas on {}", serverSocket.getLocalSocketAddress());
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        heartbeats.shutdownNow();
+        logThread.interrupt();
+        serverSocket.close();
+        subscribers.forEach(Subscriber::close);
+    }
+
+    // Callers keep changing the stored instance after this returns, so queue a copy of it
+    @EventListener
+    public void onTaskSaved(TaskSavedEvent event) {
+        if (listeners.get() > 0) {
+            pending.add(new Entry(Mutation.Type.SAVE, event.task().copy(), event.task().getId(), null));
+        }
+    }
+
+    @EventListener
+    public void onTaskDeleted(TaskDeletedEvent event) {
+        if (listeners.get() > 0) {
+            pending.add(new Entry(Mutation.Type.DELETE, null, event.task().getId(), null));
+        }
+    }
+
+    public int localPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    long currentSequence() {
+        return sequence;
+    }
+
+    private void heartbeat() {
+        if (listeners.get() > 0) {
+            pending.add(new Entry(Mutation.Type.HEARTBEAT, null, null, null));
+        }
+    }
+
+    private void logLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            Entry entry;
+            try {
+                entry = pending.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            try {
+                switch (entry.type()) {
+                    case SAVE -> publish(new Mutation(++sequence, entry.type(), entry.timestamp(),
+                            entry.task(), entry.taskId()));
+                    case DELETE -> publish(new Mutation(++sequence, entry.type(), entry.timestamp(),
+                            null, entry.taskId()));
+                    case HEARTBEAT -> publish(Mutation.marker(sequence, Mutation.Type.HEARTBEAT));
+                    default -> register(entry.subscriber());
+                }
+            } catch (RuntimeException e) {
+                // a replica that misses a mutation would drift silently, make them all start over
+                log.error("Failed to ship {}, dropping replicas", entry.type(), e);
+                subscribers.forEach(Subscriber::close);
+                if (entry.subscriber() != null) {
+                    entry.subscriber().close();
+                }
+            }
+        }
+    }
+
+    private void publish(Mutation mutation) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        byte[] line = encode(mutation);
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.queue.offer(line)) {
+                log.warn("Replica {} fell {} mutations behind, dropping it", subscriber.name,
+                        properties.getSubscriberBufferSize());
+                subscriber.close();
+            }
+        }
+    }
+
+    // On the log thread: everything queued before this is in the snapshot, everything after is streamed
+    private void register(Subscriber subscriber) {
+        List<TaskManagement> snapshot = localTaskStore.findAll();
+        long snapshotSequence = sequence;
+        subscribers.add(subscriber);
+        Thread writer = new Thread(() -> stream(subscriber, snapshot, snapshotSequence),
+                "replication-writer-" + subscriber.name);
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                listeners.incrementAndGet();
+                pending.add(new Entry(Mutation.Type.SNAPSHOT_START, null, null,
+                        new Subscriber(socket, properties.getSubscriberBufferSize())));
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    log.warn("Failed to accept replica connection", e);
+                }
+            }
+        }
+    }
+
+    private void stream(Subscriber subscriber, List<TaskManagement> snapshot, long snapshotSequence) {
+        log.info("Replica {} connected, sending snapshot of {} tasks at sequence {}",
+                subscriber.name, snapshot.size(), snapshotSequence);
+        try (OutputStream out = new BufferedOutputStream(subscriber.socket.getOutputStream(), 64 * 1024)) {
+            out.write(encode(Mutation.marker(snapshotSequence, Mutation.Type.SNAPSHOT_START)));
+            for (TaskManagement task : snapshot) {
+                out.write(encode(Mutation.snapshot(snapshotSequence, task)));
+            }
+            out.write(encode(Mutation.marker(snapshotSequence, Mutation.Type.SNAPSHOT_END)));
+            out.flush();
+            while (!subscriber.socket.isClosed()) {
+                byte[] line = subscriber.queue.poll(properties.getHeartbeatIntervalMs(), TimeUnit.MILLISECONDS);
+                if (line == null) {
+                    continue;
+                }
+                out.write(line);
+                // Batch whatever else is already waiting into the same flush
+                while ((line = subscriber.queue.poll()) != null) {
+                    out.write(line);
+                }
+                out.flush();
+            }
+        } catch (IOException e) {
+            log.info("Replica {} disconnected: {}", subscriber.name, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            subscriber.close();
+        }
+    }
+
+    private byte[] encode(Mutation mutation) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(mutation);
+            byte[] line = new byte[json.length + 1];
+            System.arraycopy(json, 0, line, 0, json.length);
+            line[json.length] = '\n';
+            return line;
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private final class Subscriber {
+        private final Socket socket;
+        private final String name;
+        private final BlockingQueue<byte[]> queue;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Subscriber(Socket socket, int bufferSize) {
+            this.socket = socket;
+            this.name = socket.getRemoteSocketAddress().toString();
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        private void close() {
+            if (closed.compareAndSet(false, true)) {
+                subscribers.remove(this);
+                listeners.decrementAndGet();
+            }
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // already gone
+            }
+        }
+    }
+
+    // A mutation waiting for the log thread; SNAPSHOT_START stands for a replica to register
+    private record Entry(Mutation.Type type, TaskManagement task, Long taskId, Subscriber subscriber,
+                         long timestamp) {
+        private Entry(Mutation.Type type, TaskManagement task, Long taskId, Subscriber subscriber) {
+            this(type, task, taskId, subscriber, System.currentTimeMillis());
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.railse.hiring.workforcemgmt.replication;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.railse.hiring.workforcemgmt.common.exception.TaskVersionConflictException;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Tails the primary's mutation log and applies it to this node's store. Reconnects on
+ * any failure; every connection starts with a full snapshot so nothing missed while
+ * disconnected survives. A mutation that fails to apply drops the connection too, the
+ * next snapshot repairs whatever it left behind.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "task-mgmt.replication", name = "role", havingValue = "replica")
+public class ReplicaSync {
+    // Reconnects after failures in a row back off exponentially up to this
+    private static final long MAX_BACKOFF_MS = 30_000;
+
+    private final TaskRepository localTaskStore;
+    private final ObjectMapper objectMapper;
+    private final ReplicationProperties properties;
+    private final Thread tailer;
+    private volatile boolean running = true;
+    private volatile boolean connected;
+    private volatile long appliedSequence;
+    // Primary clock of the newest record read, and how far behind it was when applied
+    private volatile long lastPrimaryTimestamp;
+    private volatile long lastApplyLagMs;
+    private final Counter applyFailures;
+    // only touched by the tailer thread
+    private int consecutiveFailures;
+
+    public ReplicaSync(@Qualifier("localTaskStore") TaskRepository localTaskStore,
+                       ObjectMapper objectMapper, ReplicationProperties properties,
+                       MeterRegistry meterRegistry) {
+        this.localTaskStore = localTaskStore;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.tailer = new Thread(this::tailLoop, "replication-tailer");
+        this.tailer.setDaemon(true);
+        Gauge.builder("task.replication.lag", this, ReplicaSync::lagMillis)
+                .description("How far this replica's store trails the primary")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("task.replication.sequence", this, ReplicaSync::appliedSequence)
+                .description("Last mutation sequence number applied")
+                .register(meterRegistry);
+        Gauge.builder("task.replication.connected", this, sync -> sync.isConnected() ? 1 : 0)
+                .register(meterRegistry);
+        Gauge.builder("task.replication.tailer.alive", tailer, thread -> thread.isAlive() ? 1 : 0)
+                .description("Whether the thread applying the mutation log is running")
+                .register(meterRegistry);
+        this.applyFailures = Counter.builder("task.replication.apply.failures")
+                .description("Mutations that could not be applied, each one forces a resync")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        tailer.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        tailer.interrupt();
+    }
+
+    public boolean isConnected() {
+        return connected;
+    }
+
+    public long appliedSequence() {
+        return appliedSequence;
+    }
+
+    /**
+     * Lag as of the last record applied. Heartbeats keep this fresh while the primary is
+     * idle; once they stop arriving the lag keeps growing from the last one seen.
+     */
+    public long lagMillis() {
+        if (lastPrimaryTimestamp == 0) {
+            return -1;
+        }
+        long silentFor = System.currentTimeMillis() - lastPrimaryTimestamp;
+        return silentFor > 2 * properties.getHeartbeatIntervalMs() ? silentFor : lastApplyLagMs;
+    }
+
+    private void tailLoop() {
+        while (running) {
+            try (Socket socket = new Socket(properties.getPrimaryHost(), properties.getPort());
+                 BufferedReader in = new BufferedReader(
+                         new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8), 64 * 1024)) {
+                connected = true;
+                log.info("Tailing mutation log at {}:{}", properties.getPrimaryHost(), properties.getPort());
+                Set<Long> stale = null;
+                String line;
+                while ((line = in.readLine()) != null) {
+                    Mutation mutation = objectMapper.readValue(line, Mutation.class);
+                    switch (mutation.type()) {
+                        case SNAPSHOT_START -> {
+                            stale = new HashSet<>();
+                            for (TaskManagement task : localTaskStore.findAll()) {
+                                stale.add(task.getId());
+                            }
+                        }
+                        case SNAPSHOT -> {
+                            stale.remove(mutation.taskId());
+                            resync(mutation.task());
+                        }
+                        case SNAPSHOT_END -> {
+                            stale.forEach(localTaskStore::deleteById);
+                            log.info("Snapshot applied at sequence {}, dropped {} stale tasks",
+                                    mutation.sequence(), stale.size());
+                            stale = null;
+                        }
+                        case SAVE -> apply(mutation.task());
+                        case DELETE -> localTaskStore.deleteById(mutation.taskId());
+                        case HEARTBEAT -> {
+                            // nothing to apply
+                        }
+                    }
+                    appliedSequence = mutation.sequence();
+                    lastPrimaryTimestamp = mutation.timestamp();
+                    lastApplyLagMs = Math.max(0, System.currentTimeMillis() - mutation.timestamp());
+                    consecutiveFailures = 0;
+                }
+                log.warn("Primary closed the mutation log");
+            } catch (IOException e) {
+                consecutiveFailures++;
+                log.warn("Lost mutation log connection: {}", e.getMessage());
+            } catch (RuntimeException e) {
+                // a store or listener failure must not end the tailer, resync from a fresh snapshot
+                consecutiveFailures++;
+                applyFailures.increment();
+                log.error("Failed to apply mutation log, resyncing", e);
+            } finally {
+                connected = false;
+            }
+            sleepBeforeReconnect();
+        }
+    }
+
+    /**
+     * Applies a task sent by the primary unless this store already holds a newer copy,
+     * which happens for writes this replica forwarded and applied itself.
+     */
+    public void apply(TaskManagement task) {
+        TaskManagement current = localTaskStore.findById(task.getId()).orElse(null);
+        if (current == null || current.getVersion() < task.getVersion()) {
+            put(task);
+        }
+    }
+
+    // A snapshot resends versions this replica may already hold. A newer local copy means the
+    // primary started over from an older state, its copy wins
+    private void resync(TaskManagement task) {
+        TaskManagement current = localTaskStore.findById(task.getId()).orElse(null);
+        if (current != null && current.getVersion() > task.getVersion()) {
+            localTaskStore.deleteById(task.getId());
+        }
+        apply(task);
+    }
+
+    private void put(TaskManagement task) {
+        // save() bumps the version, step back first so the replica keeps the primary's numbering
+        task.setVersion(task.getVersion() - 1);
+        try {
+            localTaskStore.save(task);
+        } catch (TaskVersionConflictException e) {
+            // a forwarded write stored a newer copy since apply() looked, that one stays
+            log.debug("Skipped replicated task {}, a newer copy is already stored", task.getId());
+        }
+    }
+
+    private void sleepBeforeReconnect() {
+        long delay = properties.getReconnectDelayMs();
+        for (int i = 1; i < Math.min(consecutiveFailures, 16) && delay < MAX_BACKOFF_MS; i++) {
+            delay *= 2;
+        }
+        try {
+            Thread.sleep(Math.min(delay, Math.max(MAX_BACKOFF_MS, properties.getReconnectDelayMs())));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.railse.hiring.workforcemgmt.replication;
+
+import com.railse.hiring.workforcemgmt.common.internal.InternalAuthFilter;
+import com.railse.hiring.workforcemgmt.common.internal.InternalAuthProperties;
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.QueryResult;
+import com.railse.hiring.workforcemgmt.repository.TaskQuery;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Store used by a replica: reads are served from the locally replicated copy, writes
+ * go to the primary and are applied locally straight away so the caller reads its own
+ * write. Everything else arrives through the mutation log. Eviction is the primary's
+ * business, so {@link #evict} keeps the default and leaves the task in place.
+ */
+public class ReplicaTaskRepository implements TaskRepository {
+    private static final String TASKS = "/internal/replication/tasks";
+
+    private final TaskRepository local;
+    private final ReplicaSync sync;
+    private final RestTemplate restTemplate;
+    private final String primaryUrl;
+
+    public ReplicaTaskRepository(TaskRepository local, ReplicaSync sync, RestTemplateBuilder builder,
+                                 ReplicationProperties properties, InternalAuthProperties internalAuth) {
+        this.local = local;
+        this.sync = sync;
+        Duration timeout = Duration.ofMillis(properties.getRequestTimeoutMs());
+        this.restTemplate = builder.setConnectTimeout(timeout).setReadTimeout(timeout)
+                .defaultHeader(InternalAuthFilter.HEADER, internalAuth.requireSecret("task-mgmt.replication"))
+                .build();
+        this.primaryUrl = properties.getPrimaryUrl();
+    }
+
+    @Override
+    public TaskManagement save(TaskManagement task) {
+        TaskManagement saved = restTemplate.postForObject(primaryUrl + TASKS, task, TaskManagement.class);
+        sync.apply(saved);
+        task.setId(saved.getId());
+        task.setVersion(saved.getVersion());
+        return task;
+    }
+
+    // The primary applies the batch as one, so a stale copy fails all of it there too
+    @Override
+    public List<TaskManagement> saveAll(List<TaskManagement> tasks) {
+        TaskManagement[] saved = restTemplate.postForObject(primaryUrl + TASKS + "/batch", tasks,
+                TaskManagement[].class);
+        for (int i = 0; i < saved.length; i++) {
+            sync.apply(saved[i]);
+            tasks.get(i).setId(saved[i].getId());
+            tasks.get(i).setVersion(saved[i].getVersion());
+        }
+        return new ArrayList<>(tasks);
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        restTemplate.delete(primaryUrl + TASKS + "/{id}", id);
+        local.deleteById(id);
+    }
+
+    @Override
+    public Optional<TaskManagement> findById(Long id) {
+        return local.findById(id);
+    }
+
+    @Override
+    public List<TaskManagement> findAll() {
+        return local.findAll();
+    }
+
+    @Override
+    public List<TaskManagement> findByReferenceIdAndReferenceType(Long referenceId, ReferenceType referenceType) {
+        return local.findByReferenceIdAndReferenceType(referenceId, referenceType);
+    }
+
+    @Override
+    public List<TaskManagement> findByAssigneeIdIn(List<Long> assigneeIds) {
+        return local.findByAssigneeIdIn(assigneeIds);
+    }
+
+    @Override
+    public QueryResult query(TaskQuery query) {
+        return local.query(query);
+    }
+
+    @Override
+    public long count() {
+        return local.count();
+    }
+
+    @Override
+    public long countByStatus(TaskStatus status) {
+        return local.countByStatus(status);
+    }
+}
@@ -0,0 +1,35 @@
+package com.railse.hiring.workforcemgmt.replication;
+
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+// Writes forwarded by replicas, they go through the normal store so they reach the mutation log
+@RestController
+@RequestMapping("/internal/replication/tasks")
+@ConditionalOnProperty(prefix = "task-mgmt.replication", name = "role", havingValue = "primary")
+public class ReplicationController {
+    private final TaskRepository taskRepository;
+
+    public ReplicationController(TaskRepository taskRepository) {
+        this.taskRepository = taskRepository;
+    }
+
+    @PostMapping
+    public TaskManagement save(@RequestBody TaskManagement task) {
+        return taskRepository.save(task);
+    }
+
+    @PostMapping("/batch")
+    public List<TaskManagement> saveAll(@RequestBody List<TaskManagement> tasks) {
+        return taskRepository.saveAll(tasks);
+    }
+
+    @DeleteMapping("/{id}")
+    public void deleteById(@PathVariable Long id) {
+        taskRepository.deleteById(id);
+    }
+}
@@ -0,0 +1,36 @@
+package com.railse.hiring.workforcemgmt.replication;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Tells clients how stale a replica's answer may be
+@Component
+@ConditionalOnProperty(prefix = "task-mgmt.replication", name = "role", havingValue = "replica")
+public class ReplicationLagFilter extends OncePerRequestFilter {
+    static final String LAG_HEADER = "X-Replication-Lag-Ms";
+
+    private final ReplicaSync sync;
+
+    public ReplicationLagFilter(ReplicaSync sync) {
+        this.sync = sync;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/task-mgmt");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        response.setHeader(LAG_HEADER, String.valueOf(sync.lagMillis()));
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,28 @@
+package com.railse.hiring.workforcemgmt.replication;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "task-mgmt.replication")
+public class ReplicationProperties {
+    private Role role = Role.NONE;
+    // The primary listens here on the loopback interface, replicas connect to it
+    private int port = 7070;
+    private String primaryHost = "localhost";
+    // HTTP base url of the primary, replicas forward writes to it
+    private String primaryUrl = "http://localhost:8080";
+    private long heartbeatIntervalMs = 1000;
+    private long reconnectDelayMs = 1000;
+    // Mutations buffered per replica before a slow replica is dropped and has to resync
+    private int subscriberBufferSize = 100_000;
+    private long requestTimeoutMs = 2000;
+
+    public enum Role {
+        NONE,
+        PRIMARY,
+        REPLICA
+    }
+}
@@ -1,48 +1,95 @@
 package com.railse.hiring.workforcemgmt.repository;
 
+import com.railse.hiring.workforcemgmt.common.exception.TaskVersionConflictException;
 import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.HistoryArena;
+import com.railse.hiring.workforcemgmt.model.OffHeapHistory;
 import com.railse.hiring.workforcemgmt.model.TaskManagement;
 import com.railse.hiring.workforcemgmt.model.enums.Priority;
 import com.railse.hiring.workforcemgmt.model.enums.Task;
 import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
-import org.springframework.stereotype.Repository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
-@Repository
-public class InMemoryTaskRepository implements TaskRepository {
+public class InMemoryTaskRepository implements TaskRepository, ApplicationEventPublisherAware {
     private final Map<Long, TaskManagement> taskStore = new
             ConcurrentHashMap<>();
     private final AtomicLong idCounter = new AtomicLong(0);
+    // ids handed out are idOffset + n * idStride, so several stores can share one id space
+    private final long idOffset;
+    private final long idStride;
+    // Keys as of the last save, tasks are mutated in place so the old values are gone by then
+    private final Map<Long, IndexedKeys> indexedKeys = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> byReference = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> byAssignee = new ConcurrentHashMap<>();
+    private final Map<TaskStatus, LongAdder> statusCounts = new EnumMap<>(TaskStatus.class);
+    private final Map<TaskStatus, Set<Long>> byStatus = new EnumMap<>(TaskStatus.class);
+    // One entry per task rather than buckets, the skip list has no atomic compute to manage them
+    private final ConcurrentSkipListSet<DeadlineKey> byDeadline = new ConcurrentSkipListSet<>();
+    private final LongAdder deadlineCount = new LongAdder();
+    // saveAll holds the write side so index lookups never see half a batch, single saves skip it
+    private final ReadWriteLock batchLock = new ReentrantReadWriteLock();
+    private ApplicationEventPublisher eventPublisher;
+    // Unindexed queries over a large store are split across this pool when set
+    private ParallelScanner parallelScanner;
+    // Activity and comment histories are kept off heap when set
+    private HistoryArena historyArena;
 
     public InMemoryTaskRepository() {
+        this(0, 1);
 // Seed data
-        createSeedTask(101L, ReferenceType.ORDER, Task.CREATE_INVOICE, 1L,
-                TaskStatus.ASSIGNED, Priority.HIGH);
-        createSeedTask(101L, ReferenceType.ORDER, Task.ARRANGE_PICKUP, 1L,
-                TaskStatus.COMPLETED, Priority.HIGH);
-        createSeedTask(102L, ReferenceType.ORDER, Task.CREATE_INVOICE, 2L,
-                TaskStatus.ASSIGNED, Priority.MEDIUM);
-        createSeedTask(201L, ReferenceType.ENTITY,
-                Task.ASSIGN_CUSTOMER_TO_SALES_PERSON, 2L, TaskStatus.ASSIGNED,
-                Priority.LOW);
-        createSeedTask(201L, ReferenceType.ENTITY,
-                Task.ASSIGN_CUSTOMER_TO_SALES_PERSON, 3L, TaskStatus.ASSIGNED,
-                Priority.LOW); // Duplicate for Bug #1
-        createSeedTask(103L, ReferenceType.ORDER, Task.COLLECT_PAYMENT, 1L,
-                TaskStatus.CANCELLED, Priority.MEDIUM); // For Bug #2
-    }
-
-    private void createSeedTask(Long refId, ReferenceType refType, Task
+        seedTasks().forEach(this::save);
+    }
+
+    public InMemoryTaskRepository(long idOffset, long idStride) {
+        this.idOffset = idOffset;
+        this.idStride = idStride;
+        for (TaskStatus status : TaskStatus.values()) {
+            statusCounts.put(status, new LongAdder());
+            byStatus.put(status, ConcurrentHashMap.newKeySet());
+        }
+    }
+
+    static List<TaskManagement> seedTasks() {
+        return List.of(
+                seedTask(101L, ReferenceType.ORDER, Task.CREATE_INVOICE, 1L,
+                        TaskStatus.ASSIGNED, Priority.HIGH),
+                seedTask(101L, ReferenceType.ORDER, Task.ARRANGE_PICKUP, 1L,
+                        TaskStatus.COMPLETED, Priority.HIGH),
+                seedTask(102L, ReferenceType.ORDER, Task.CREATE_INVOICE, 2L,
+                        TaskStatus.ASSIGNED, Priority.MEDIUM),
+                seedTask(201L, ReferenceType.ENTITY,
+                        Task.ASSIGN_CUSTOMER_TO_SALES_PERSON, 2L, TaskStatus.ASSIGNED,
+                        Priority.LOW),
+                seedTask(201L, ReferenceType.ENTITY,
+                        Task.ASSIGN_CUSTOMER_TO_SALES_PERSON, 3L, TaskStatus.ASSIGNED,
+                        Priority.LOW), // Duplicate for Bug #1
+                seedTask(103L, ReferenceType.ORDER, Task.COLLECT_PAYMENT, 1L,
+                        TaskStatus.CANCELLED, Priority.MEDIUM)); // For Bug #2
+    }
+
+    private static TaskManagement seedTask(Long refId, ReferenceType refType, Task
             task, Long assigneeId, TaskStatus status, Priority priority) {
-        long newId = idCounter.incrementAndGet();
-        TaskManagement newTask = TaskManagement.builder()
-                .id(newId)
+        return TaskManagement.builder()
                 .referenceId(refId)
                 .referenceType(refType)
                 .task(task)
@@ -52,7 +99,86 @@ public class InMemoryTaskRepository implements TaskRepository {
                 .description("This is a seed task.")
                 .taskDeadlineTime(System.currentTimeMillis() + 86400000)// 1 day from now
                 .build();
-        taskStore.put(newId, newTask);
+    }
+
+    private void index(TaskManagement task) {
+        IndexedKeys keys = IndexedKeys.of(task);
+        // compute serialises concurrent saves of the same task
+        indexedKeys.compute(task.getId(), (id, previous) -> {
+            if (previous != null) {
+                if (!Objects.equals(previous.referenceId(), keys.referenceId())) {
+                    unlink(byReference, previous.referenceId(), id);
+                }
+                if (!Objects.equals(previous.assigneeId(), keys.assigneeId())) {
+                    unlink(byAssignee, previous.assigneeId(), id);
+                }
+                if (!Objects.equals(previous.deadline(), keys.deadline())) {
+                    unlinkDeadline(previous.deadline(), id);
+                }
+                if (previous.status() != null) {
+                    statusCounts.get(previous.status()).decrement();
+                    byStatus.get(previous.status()).remove(id);
+                }
+            }
+            link(byReference, keys.referenceId(), id);
+            link(byAssignee, keys.assigneeId(), id);
+            if (previous == null || !Objects.equals(previous.deadline(), keys.deadline())) {
+                linkDeadline(keys.deadline(), id);
+            }
+            if (keys.status() != null) {
+                statusCounts.get(keys.status()).increment();
+                byStatus.get(keys.status()).add(id);
+            }
+            return keys;
+        });
+    }
+
+    private static void link(Map<Long, Set<Long>> index, Long key, Long id) {
+        if (key == null) {
+            return;
+        }
+        index.compute(key, (k, ids) -> {
+            Set<Long> bucket = ids != null ? ids : ConcurrentHashMap.newKeySet();
+            bucket.add(id);
+            return bucket;
+        });
+    }
+
+    private static void unlink(Map<Long, Set<Long>> index, Long key, Long id) {
+        if (key == null) {
+            return;
+        }
+        index.computeIfPresent(key, (k, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private void linkDeadline(Long deadline, Long id) {
+        if (deadline != null) {
+            byDeadline.add(new DeadlineKey(deadline, id));
+            deadlineCount.increment();
+        }
+    }
+
+    private void unlinkDeadline(Long deadline, Long id) {
+        if (deadline != null) {
+            byDeadline.remove(new DeadlineKey(deadline, id));
+            deadlineCount.decrement();
+        }
+    }
+
+    public void setParallelScanner(ParallelScanner parallelScanner) {
+        this.parallelScanner = parallelScanner;
+    }
+
+    public void setHistoryArena(HistoryArena historyArena) {
+        this.historyArena = historyArena;
+    }
+
+    @Override
+    public void setApplicationEventPublisher(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -60,15 +186,117 @@ public class InMemoryTaskRepository implements TaskRepository {
         return Optional.ofNullable(taskStore.get(id));
     }
 
+    /**
+     * Callers mostly save the stored instance they changed in place. A different instance,
+     * e.g. a copy or a task from a peer, replaces the stored one only if it was taken at the
+     * stored version or later; an older copy throws {@link TaskVersionConflictException}.
+     */
     @Override
     public TaskManagement save(TaskManagement task) {
         if (task.getId() == null) {
-            task.setId(idCounter.incrementAndGet());
+            task.setId(idOffset + idCounter.incrementAndGet() * idStride);
+        }
+        TaskManagement[] replaced = {null};
+        taskStore.compute(task.getId(), (id, stored) -> {
+            checkVersion(task, stored);
+            task.setVersion(task.getVersion() + 1);
+            task.compact(historyArena);
+            replaced[0] = stored;
+            return task;
+        });
+        index(task);
+        if (eventPublisher != null) {
+            eventPublisher.publishEvent(new TaskSavedEvent(task));
+        }
+        if (replaced[0] != null && replaced[0] != task) {
+            release(replaced[0], task);
         }
-        taskStore.put(task.getId(), task);
         return task;
     }
 
+    @Override
+    public List<TaskManagement> saveAll(List<TaskManagement> tasks) {
+        List<TaskManagement> saved = new ArrayList<>(tasks.size());
+        batchLock.writeLock().lock();
+        try {
+            // a stale copy fails the batch before any of it is stored
+            for (TaskManagement task : tasks) {
+                if (task.getId() != null) {
+                    checkVersion(task, taskStore.get(task.getId()));
+                }
+            }
+            for (TaskManagement task : tasks) {
+                saved.add(save(task));
+            }
+        } finally {
+            batchLock.writeLock().unlock();
+        }
+        return saved;
+    }
+
+    private static void checkVersion(TaskManagement task, TaskManagement stored) {
+        if (stored != null && stored != task && task.getVersion() < stored.getVersion()) {
+            throw new TaskVersionConflictException("Task " + task.getId() + " was changed by someone else since version "
+                    + task.getVersion() + " was read");
+        }
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        TaskManagement removed = taskStore.remove(id);
+        if (removed == null) {
+            return;
+        }
+        indexedKeys.computeIfPresent(id, (key, keys) -> {
+            unindex(key, keys);
+            return null;
+        });
+        if (eventPublisher != null) {
+            eventPublisher.publishEvent(new TaskDeletedEvent(removed));
+        }
+        release(removed, null);
+    }
+
+    // Runs inside the index compute, so a save of the same task lands wholly before or after it
+    @Override
+    public boolean evict(Long id, long expectedVersion) {
+        boolean[] evicted = {false};
+        indexedKeys.computeIfPresent(id, (key, keys) -> {
+            TaskManagement task = taskStore.get(key);
+            // save bumps the version before it puts, so a save in flight is always caught here
+            if (task == null || task.getVersion() != expectedVersion) {
+                return keys;
+            }
+            taskStore.remove(key);
+            unindex(key, keys);
+            evicted[0] = true;
+            release(task, null);
+            return null;
+        });
+        return evicted[0];
+    }
+
+    // Off-heap entries of a task the store lets go of go back to the arena, unless the task
+    // replacing it still shares the list. Anyone still holding the old instance sees empty histories.
+    private static void release(TaskManagement dropped, TaskManagement replacement) {
+        if (replacement == null || dropped.getActivityHistory() != replacement.getActivityHistory()) {
+            OffHeapHistory.release(dropped.getActivityHistory());
+        }
+        if (replacement == null || dropped.getComments() != replacement.getComments()) {
+            OffHeapHistory.release(dropped.getComments());
+        }
+    }
+
+    private void unindex(Long id, IndexedKeys keys) {
+        unlink(byReference, keys.referenceId(), id);
+        unlink(byAssignee, keys.assigneeId(), id);
+        unlinkDeadline(keys.deadline(), id);
+        if (keys.status() != null) {
+            statusCounts.get(keys.status()).decrement();
+            byStatus.get(keys.status()).remove(id);
+        }
+    }
+
     @Override
     public List<TaskManagement> findAll() {
         return List.copyOf(taskStore.values());
@@ -77,17 +305,232 @@ public class InMemoryTaskRepository implements TaskRepository {
     @Override
     public List<TaskManagement> findByReferenceIdAndReferenceType(Long
                                                                           referenceId, ReferenceType referenceType) {
-        return taskStore.values().stream()
-                .filter(task -> task.getReferenceId().equals(referenceId)
-                        && task.getReferenceType().equals(referenceType))
-                .collect(Collectors.toList());
+        List<TaskManagement> tasks = new ArrayList<>();
+        if (referenceId == null) {
+            return tasks;
+        }
+        batchLock.readLock().lock();
+        try {
+            for (Long id : byReference.getOrDefault(referenceId, Set.of())) {
+                TaskManagement task = taskStore.get(id);
+                if (task != null && task.getReferenceId().equals(referenceId)
+                        && task.getReferenceType().equals(referenceType)) {
+                    tasks.add(task);
+                }
+            }
+        } finally {
+            batchLock.readLock().unlock();
+        }
+        return tasks;
     }
 
     @Override
     public List<TaskManagement> findByAssigneeIdIn(List<Long> assigneeIds) {
-        return taskStore.values().stream()
-                .filter(task -> assigneeIds.contains(task.getAssigneeId()))
-                .collect(Collectors.toList());
+        List<TaskManagement> tasks = new ArrayList<>();
+        batchLock.readLock().lock();
+        try {
+            for (Long assigneeId : new LinkedHashSet<>(assigneeIds)) {
+                if (assigneeId == null) {
+                    continue;
+                }
+                for (Long id : byAssignee.getOrDefault(assigneeId, Set.of())) {
+                    TaskManagement task = taskStore.get(id);
+                    if (task != null && assigneeId.equals(task.getAssigneeId())) {
+                        tasks.add(task);
+                    }
+                }
+            }
+        } finally {
+            batchLock.readLock().unlock();
+        }
+        return tasks;
+    }
+
+    @Override
+    public long count() {
+        return taskStore.size();
+    }
+
+    @Override
+    public long countByStatus(TaskStatus status) {
+        return statusCounts.get(status).sum();
+    }
+
+    /**
+     * Picks the access path with the fewest estimated rows and checks every predicate on
+     * the rows it yields. Reference, assignee and status estimates are exact bucket sizes;
+     * the deadline estimate assumes deadlines are spread evenly between the min and max.
+     * A limit stops an index path at the first full page; a full scan still reads every
+     * row but keeps only the page.
+     */
+    @Override
+    public QueryResult query(TaskQuery query) {
+        Map<String, Long> estimates = new LinkedHashMap<>();
+        estimates.put(QueryPlan.FULL_SCAN, count());
+        if (query.referenceId() != null) {
+            estimates.put(TaskQuery.Predicate.REFERENCE.name(),
+                    (long) byReference.getOrDefault(query.referenceId(), Set.of()).size());
+        }
+        if (query.restricts(TaskQuery.Predicate.ASSIGNEE)) {
+            long rows = 0;
+            for (Long assigneeId : query.assigneeIds()) {
+                rows += assigneeId == null ? 0 : byAssignee.getOrDefault(assigneeId, Set.of()).size();
+            }
+            estimates.put(TaskQuery.Predicate.ASSIGNEE.name(), rows);
+        }
+        if (query.restricts(TaskQuery.Predicate.STATUS)) {
+            long rows = 0;
+            for (TaskStatus status : query.statuses()) {
+                rows += status == null ? 0 : countByStatus(status);
+            }
+            estimates.put(TaskQuery.Predicate.STATUS.name(), rows);
+        }
+        if (query.restricts(TaskQuery.Predicate.DEADLINE)) {
+            estimates.put(TaskQuery.Predicate.DEADLINE.name(),
+                    estimateDeadlineRows(query.deadlineFrom(), query.deadlineTo()));
+        }
+
+        // Ties go to the path listed first, exact estimates are listed before the guessed one
+        String accessPath = QueryPlan.FULL_SCAN;
+        for (Map.Entry<String, Long> estimate : estimates.entrySet()) {
+            if (estimate.getValue() < estimates.get(accessPath)) {
+                accessPath = estimate.getKey();
+            }
+        }
+
+        if (accessPath.equals(QueryPlan.FULL_SCAN) && parallelScanner != null) {
+            ParallelScanner.ScanResult<TaskManagement> scan = parallelScanner.filter(taskStore.values(),
+                    query::matches, query::newPage);
+            return new QueryResult(scan.matched(), new QueryPlan(
+                    scan.parallel() ? QueryPlan.PARALLEL_SCAN : QueryPlan.FULL_SCAN, estimates,
+                    query.activePredicates(), query.limit(), scan.examined(), scan.matched().size()));
+        }
 
+        Iterable<Long> ids = candidates(accessPath, query);
+        // Index buckets are cheap to sort by id, after which the scan can stop at the first full page
+        boolean inIdOrder = query.limit() != null && !accessPath.equals(QueryPlan.FULL_SCAN);
+        if (inIdOrder) {
+            ids = afterCursor(ids, query.afterId());
+        }
+        PageCollector<TaskManagement> page = query.newPage();
+        long examined = 0;
+        for (Long id : ids) {
+            if (inIdOrder && page.isFull()) {
+                break;
+            }
+            TaskManagement task = taskStore.get(id);
+            if (task == null) {
+                continue;
+            }
+            examined++;
+            // the indexed predicate is checked again too, tasks are mutated in place before save
+            if (query.matches(task)) {
+                page.add(task);
+            }
+        }
+        List<TaskQuery.Predicate> residual = new ArrayList<>(query.activePredicates());
+        if (!accessPath.equals(QueryPlan.FULL_SCAN)) {
+            residual.remove(TaskQuery.Predicate.valueOf(accessPath));
+            if (accessPath.equals(TaskQuery.Predicate.REFERENCE.name()) && query.referenceType() != null) {
+                // the reference index is keyed on id only, the type still has to be checked per row
+                residual.add(0, TaskQuery.Predicate.REFERENCE);
+            }
+        }
+        List<TaskManagement> matched = page.toList();
+        return new QueryResult(matched, new QueryPlan(accessPath, estimates, residual, query.limit(), examined,
+                matched.size()));
+    }
+
+    private static List<Long> afterCursor(Iterable<Long> ids, Long afterId) {
+        List<Long> sorted = new ArrayList<>();
+        for (Long id : ids) {
+            if (afterId == null || id > afterId) {
+                sorted.add(id);
+            }
+        }
+        Collections.sort(sorted);
+        return sorted;
+    }
+
+    private Iterable<Long> candidates(String accessPath, TaskQuery query) {
+        if (accessPath.equals(QueryPlan.FULL_SCAN)) {
+            return taskStore.keySet();
+        }
+        return switch (TaskQuery.Predicate.valueOf(accessPath)) {
+            case REFERENCE -> byReference.getOrDefault(query.referenceId(), Set.of());
+            case ASSIGNEE -> union(query.assigneeIds(), byAssignee);
+            case STATUS -> {
+                List<Long> ids = new ArrayList<>();
+                query.statuses().forEach(status -> {
+                    if (status != null) {
+                        ids.addAll(byStatus.get(status));
+                    }
+                });
+                yield ids;
+            }
+            case DEADLINE -> {
+                long from = query.deadlineFrom() != null ? query.deadlineFrom() : Long.MIN_VALUE;
+                long to = query.deadlineTo() != null ? query.deadlineTo() : Long.MAX_VALUE;
+                List<Long> ids = new ArrayList<>();
+                if (from > to) {
+                    yield ids;
+                }
+                NavigableSet<DeadlineKey> range = byDeadline.subSet(
+                        new DeadlineKey(from, Long.MIN_VALUE), true, new DeadlineKey(to, Long.MAX_VALUE), true);
+                range.forEach(key -> ids.add(key.id()));
+                yield ids;
+            }
+            default -> throw new IllegalStateException("No index for " + accessPath);
+        };
+    }
+
+    private static List<Long> union(Set<Long> keys, Map<Long, Set<Long>> index) {
+        List<Long> ids = new ArrayList<>();
+        for (Long key : keys) {
+            if (key != null) {
+                ids.addAll(index.getOrDefault(key, Set.of()));
+            }
+        }
+        return ids;
+    }
+
+    private long estimateDeadlineRows(Long from, Long to) {
+        long indexed = deadlineCount.sum();
+        if (indexed == 0 || (from != null && to != null && from > to)) {
+            return 0;
+        }
+        long min;
+        long max;
+        try {
+            min = byDeadline.first().deadline();
+            max = byDeadline.last().deadline();
+        } catch (NoSuchElementException e) {
+            return 0;
+        }
+        long low = from == null ? min : Math.max(from, min);
+        long high = to == null ? max : Math.min(to, max);
+        if (low > high) {
+            return 0;
+        }
+        if (max == min) {
+            return indexed;
+        }
+        double fraction = ((double) high - low + 1) / ((double) max - min + 1);
+        return Math.max(1, Math.round(indexed * fraction));
+    }
+
+    private record DeadlineKey(long deadline, long id) implements Comparable<DeadlineKey> {
+        @Override
+        public int compareTo(DeadlineKey other) {
+            int byTime = Long.compare(deadline, other.deadline);
+            return byTime != 0 ? byTime : Long.compare(id, other.id);
+        }
+    }
+
+    private record IndexedKeys(Long referenceId, Long assigneeId, TaskStatus status, Long deadline) {
+        static IndexedKeys of(TaskManagement task) {
+            return new IndexedKeys(task.getReferenceId(), task.getAssigneeId(), task.getStatus(),
+                    task.getTaskDeadlineTime());
+        }
     }
 }
@@ -0,0 +1,477 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import com.railse.hiring.workforcemgmt.common.exception.TaskVersionConflictException;
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.Activity;
+import com.railse.hiring.workforcemgmt.model.Comment;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Keeps tasks in a relational database, an embedded H2 by default, using the schema in
+ * db/task-schema.sql. A saveAll goes out as JDBC batches in one transaction, each batch
+ * running one prepared statement for all of its rows; reads load the histories of every
+ * returned task with one more query.
+ * <p>
+ * Reads return fresh objects, so a change to a task is invisible to other callers until it
+ * is saved. Histories are treated as append only: entries past the stored count are
+ * inserted and a shorter list truncates, entries edited in place are not written back.
+ * <p>
+ * An update only lands on the version it was read at (or a newer one a replica carries over
+ * from its primary); a row that moved on since fails the whole batch with
+ * {@link TaskVersionConflictException}. The update also holds the row lock until commit, so
+ * the history counts read after it cannot be raced by another writer of the same task.
+ */
+public class JdbcTaskRepository implements TaskRepository, ApplicationEventPublisherAware {
+    private static final String COLUMNS = "id, reference_id, reference_type, task, description, status, "
+            + "assignee_id, task_deadline_time, priority, version";
+    private static final String SELECT_TASK = "SELECT " + COLUMNS + " FROM task";
+    private static final String INSERT_TASK = "INSERT INTO task (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_TASK = "UPDATE task SET reference_id = ?, reference_type = ?, task = ?, "
+            + "description = ?, status = ?, assignee_id = ?, task_deadline_time = ?, priority = ?, version = ? "
+            + "WHERE id = ? AND version <= ?";
+    private static final String SELECT_HISTORY = "SELECT task_id, kind, message, ts FROM task_history";
+    private static final String HISTORY_ORDER = " ORDER BY task_id, kind, seq";
+    private static final String INSERT_HISTORY = "INSERT INTO task_history (task_id, kind, seq, message, ts) "
+            + "VALUES (?, ?, ?, ?, ?)";
+    private static final String TRUNCATE_HISTORY = "DELETE FROM task_history WHERE task_id = ? AND kind = ? AND seq >= ?";
+    private static final String ACTIVITY = "A";
+    private static final String COMMENT = "C";
+    // Keeps IN lists well below the drivers' parameter limits
+    private static final int IN_LIST_SIZE = 1000;
+
+    private final JdbcTemplate jdbc;
+    private final NamedParameterJdbcTemplate named;
+    private final TransactionTemplate transactions;
+    private final int batchSize;
+    // ids handed out are idOffset + n * idStride, as in the in-memory store
+    private final long idOffset;
+    private final long idStride;
+    private final AtomicLong idCounter;
+    private ApplicationEventPublisher eventPublisher;
+
+    public JdbcTaskRepository(DataSource dataSource, int batchSize, long idOffset, long idStride) {
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.named = new NamedParameterJdbcTemplate(jdbc);
+        this.transactions = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.batchSize = Math.max(1, batchSize);
+        this.idOffset = idOffset;
+        this.idStride = idStride;
+        new ResourceDatabasePopulator(new ClassPathResource("db/task-schema.sql")).execute(dataSource);
+        // A database that outlives the process carries on after the highest id it holds
+        Long maxId = jdbc.queryForObject("SELECT MAX(id) FROM task", Long.class);
+        this.idCounter = new AtomicLong(maxId == null ? 0 : Math.max(0, (maxId - idOffset) / idStride));
+    }
+
+    // Seeds only an empty database, a file backed one keeps its tasks across restarts
+    public void seedIfEmpty() {
+        if (count() == 0) {
+            saveAll(InMemoryTaskRepository.seedTasks());
+        }
+    }
+
+    @Override
+    public void setApplicationEventPublisher(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public Optional<TaskManagement> findById(Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        List<TaskManagement> tasks = withHistory(jdbc.query(SELECT_TASK + " WHERE id = ?",
+                JdbcTaskRepository::mapTask, id), false);
+        return tasks.stream().findFirst();
+    }
+
+    @Override
+    public TaskManagement save(TaskManagement task) {
+        return saveAll(List.of(task)).get(0);
+    }
+
+    /**
+     * Updates go out first; rows an update missed, e.g. ids handed out by a cluster peer,
+     * are inserted with the new tasks, unless the row is there at a newer version. Versions
+     * are bumped before the write and put back if the transaction fails, ids handed out to a
+     * failed batch are simply skipped.
+     */
+    @Override
+    public List<TaskManagement> saveAll(List<TaskManagement> tasks) {
+        // The same object twice in one batch is written once
+        Set<TaskManagement> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<TaskManagement> inserts = new ArrayList<>();
+        List<TaskManagement> updates = new ArrayList<>();
+        for (TaskManagement task : tasks) {
+            if (!seen.add(task)) {
+                continue;
+            }
+            if (task.getId() == null) {
+                task.setId(idOffset + idCounter.incrementAndGet() * idStride);
+                inserts.add(task);
+            } else {
+                updates.add(task);
+            }
+            task.setVersion(task.getVersion() + 1);
+            task.compact();
+        }
+        if (seen.isEmpty()) {
+            return new ArrayList<>(tasks);
+        }
+        try {
+            transactions.executeWithoutResult(status -> write(inserts, updates));
+        } catch (RuntimeException e) {
+            seen.forEach(task -> task.setVersion(task.getVersion() - 1));
+            throw e;
+        }
+        if (eventPublisher != null) {
+            seen.forEach(task -> eventPublisher.publishEvent(new TaskSavedEvent(task)));
+        }
+        return new ArrayList<>(tasks);
+    }
+
+    private void write(List<TaskManagement> inserts, List<TaskManagement> updates) {
+        List<TaskManagement> written = new ArrayList<>(inserts);
+        List<TaskManagement> updated = new ArrayList<>();
+        if (!updates.isEmpty()) {
+            int[][] counts = jdbc.batchUpdate(UPDATE_TASK, updates, batchSize,
+                    (ps, task) -> bindTask(ps, task, true));
+            List<TaskManagement> missed = new ArrayList<>();
+            int i = 0;
+            for (int[] batch : counts) {
+                for (int count : batch) {
+                    TaskManagement task = updates.get(i++);
+                    // drivers may answer SUCCESS_NO_INFO, only a plain 0 means the row was not updated
+                    if (count == 0) {
+                        missed.add(task);
+                    } else {
+                        updated.add(task);
+                    }
+                }
+            }
+            Set<Long> existing = existingIds(missed);
+            for (TaskManagement task : missed) {
+                if (existing.contains(task.getId())) {
+                    throw new TaskVersionConflictException("Task " + task.getId() + " was changed by someone else"
+                            + " since version " + (task.getVersion() - 1) + " was read");
+                }
+                inserts.add(task);
+            }
+        }
+        if (!inserts.isEmpty()) {
+            jdbc.batchUpdate(INSERT_TASK, inserts, batchSize, (ps, task) -> bindTask(ps, task, false));
+        }
+        written.addAll(updates);
+
+        Map<Long, int[]> stored = historySizes(updated);
+        List<Object[]> appended = new ArrayList<>();
+        List<Object[]> truncated = new ArrayList<>();
+        for (TaskManagement task : written) {
+            int[] sizes = stored.getOrDefault(task.getId(), new int[2]);
+            historyRows(task.getId(), ACTIVITY, task.getActivityHistory(), sizes[0],
+                    Activity::getMessage, Activity::getTimestamp, appended, truncated);
+            historyRows(task.getId(), COMMENT, task.getComments(), sizes[1],
+                    Comment::getMessage, Comment::getTimestamp, appended, truncated);
+        }
+        if (!truncated.isEmpty()) {
+            jdbc.batchUpdate(TRUNCATE_HISTORY, truncated, batchSize, (ps, row) -> {
+                ps.setLong(1, (Long) row[0]);
+                ps.setString(2, (String) row[1]);
+                ps.setInt(3, (Integer) row[2]);
+            });
+        }
+        if (!appended.isEmpty()) {
+            jdbc.batchUpdate(INSERT_HISTORY, appended, batchSize, (ps, row) -> {
+                ps.setLong(1, (Long) row[0]);
+                ps.setString(2, (String) row[1]);
+                ps.setInt(3, (Integer) row[2]);
+                setString(ps, 4, (String) row[3]);
+                ps.setLong(5, (Long) row[4]);
+            });
+        }
+    }
+
+    private static <T> void historyRows(Long taskId, String kind, List<T> history, int stored,
+                                        Function<T, String> message, ToLongFunction<T> timestamp,
+                                        List<Object[]> appended, List<Object[]> truncated) {
+        List<T> entries = history != null ? history : List.of();
+        if (entries.size() < stored) {
+            truncated.add(new Object[]{taskId, kind, entries.size()});
+        }
+        for (int seq = stored; seq < entries.size(); seq++) {
+            T entry = entries.get(seq);
+            appended.add(new Object[]{taskId, kind, seq, message.apply(entry), timestamp.applyAsLong(entry)});
+        }
+    }
+
+    private Set<Long> existingIds(List<TaskManagement> tasks) {
+        Set<Long> existing = new HashSet<>();
+        for (List<Long> ids : chunks(tasks.stream().map(TaskManagement::getId).toList())) {
+            existing.addAll(named.queryForList("SELECT id FROM task WHERE id IN (:ids)", Map.of("ids", ids), Long.class));
+        }
+        return existing;
+    }
+
+    // Entries already stored per task, [activities, comments]. Read after the updates, whose row locks keep them exact
+
+    private Map<Long, int[]> historySizes(List<TaskManagement> tasks) {
+        Map<Long, int[]> sizes = new HashMap<>();
+        for (List<Long> ids : chunks(tasks.stream().map(TaskManagement::getId).toList())) {
+            named.query("SELECT task_id, kind, COUNT(*) FROM task_history WHERE task_id IN (:ids) GROUP BY task_id, kind",
+                    Map.of("ids", ids), (RowCallbackHandler) rs -> {
+                        int[] size = sizes.computeIfAbsent(rs.getLong(1), id -> new int[2]);
+                        size[ACTIVITY.equals(rs.getString(2)) ? 0 : 1] = rs.getInt(3);
+                    });
+        }
+        return sizes;
+    }
+
+    @Override
+    public List<TaskManagement> findAll() {
+        return withHistory(jdbc.query(SELECT_TASK, JdbcTaskRepository::mapTask), true);
+    }
+
+    @Override
+    public List<TaskManagement> findByReferenceIdAndReferenceType(Long referenceId, ReferenceType referenceType) {
+        if (referenceId == null || referenceType == null) {
+            return new ArrayList<>();
+        }
+        return withHistory(jdbc.query(SELECT_TASK + " WHERE reference_id = ? AND reference_type = ?",
+                JdbcTaskRepository::mapTask, referenceId, referenceType.name()), false);
+    }
+
+    @Override
+    public List<TaskManagement> findByAssigneeIdIn(List<Long> assigneeIds) {
+        List<TaskManagement> tasks = new ArrayList<>();
+        List<Long> distinct = new ArrayList<>(new LinkedHashSet<>(assigneeIds));
+        distinct.removeIf(Objects::isNull);
+        for (List<Long> ids : chunks(distinct)) {
+            tasks.addAll(named.query(SELECT_TASK + " WHERE assignee_id IN (:ids)",
+                    Map.of("ids", ids), JdbcTaskRepository::mapTask));
+        }
+        return withHistory(tasks, false);
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        Optional<TaskManagement> existing = findById(id);
+        if (existing.isEmpty()) {
+            return;
+        }
+        Boolean removed = transactions.execute(status -> {
+            jdbc.update("DELETE FROM task_history WHERE task_id = ?", id);
+            return jdbc.update("DELETE FROM task WHERE id = ?", id) > 0;
+        });
+        if (Boolean.TRUE.equals(removed) && eventPublisher != null) {
+            eventPublisher.publishEvent(new TaskDeletedEvent(existing.get()));
+        }
+    }
+
+    @Override
+    public long count() {
+        Long count = jdbc.queryForObject("SELECT COUNT(*) FROM task", Long.class);
+        return count != null ? count : 0;
+    }
+
+    @Override
+    public long countByStatus(TaskStatus status) {
+        Long count = jdbc.queryForObject("SELECT COUNT(*) FROM task WHERE status = ?", Long.class, status.name());
+        return count != null ? count : 0;
+    }
+
+    // Every predicate and the page goes into the SQL, the database picks the index
+    @Override
+    public QueryResult query(TaskQuery query) {
+        List<String> where = new ArrayList<>();
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        if (query.referenceId() != null) {
+            where.add("reference_id = :referenceId");
+            params.addValue("referenceId", query.referenceId());
+        }
+        if (query.referenceType() != null) {
+            where.add("reference_type = :referenceType");
+            params.addValue("referenceType", query.referenceType().name());
+        }
+        if (query.restricts(TaskQuery.Predicate.ASSIGNEE)) {
+            List<Long> ids = query.assigneeIds().stream().filter(Objects::nonNull).toList();
+            inList(where, params, "assignee_id", ids);
+        }
+        if (query.restricts(TaskQuery.Predicate.STATUS)) {
+            inList(where, params, "status", names(query.statuses()));
+        }
+        if (query.restricts(TaskQuery.Predicate.PRIORITY)) {
+            inList(where, params, "priority", names(query.priorities()));
+        }
+        if (query.restricts(TaskQuery.Predicate.TASK)) {
+            inList(where, params, "task", names(query.tasks()));
+        }
+        if (query.restricts(TaskQuery.Predicate.DEADLINE)) {
+            where.add("task_deadline_time IS NOT NULL");
+            if (query.deadlineFrom() != null) {
+                where.add("task_deadline_time >= :deadlineFrom");
+                params.addValue("deadlineFrom", query.deadlineFrom());
+            }
+            if (query.deadlineTo() != null) {
+                where.add("task_deadline_time <= :deadlineTo");
+                params.addValue("deadlineTo", query.deadlineTo());
+            }
+        }
+        if (query.afterId() != null) {
+            where.add("id > :afterId");
+            params.addValue("afterId", query.afterId());
+        }
+        String sql = where.isEmpty() ? SELECT_TASK : SELECT_TASK + " WHERE " + String.join(" AND ", where);
+        if (query.limit() != null) {
+            sql += " ORDER BY id LIMIT :limit";
+            params.addValue("limit", Math.max(0, query.limit()));
+        }
+        List<TaskManagement> matched = withHistory(named.query(sql, params, JdbcTaskRepository::mapTask),
+                where.isEmpty() && query.limit() == null);
+        return new QueryResult(matched, new QueryPlan(QueryPlan.DATABASE, Map.of(), List.of(), query.limit(),
+                matched.size(), matched.size()));
+    }
+
+    private static void inList(List<String> where, MapSqlParameterSource params, String column, List<?> values) {
+        if (values.isEmpty()) {
+            // only nulls were given, which no row matches
+            where.add("1 = 0");
+            return;
+        }
+        where.add(column + " IN (:" + column + ")");
+        params.addValue(column, values);
+    }
+
+    private static List<String> names(Collection<? extends Enum<?>> values) {
+        return values.stream().filter(Objects::nonNull).map(Enum::name).toList();
+    }
+
+    // Loads the histories of all the tasks at once, a whole table read skips the IN lists
+    private List<TaskManagement> withHistory(List<TaskManagement> tasks, boolean allTasks) {
+        if (tasks.isEmpty()) {
+            return tasks;
+        }
+        Map<Long, TaskManagement> byId = new HashMap<>();
+        tasks.forEach(task -> byId.put(task.getId(), task));
+        RowCallbackHandler addEntry = rs -> {
+            TaskManagement task = byId.get(rs.getLong(1));
+            if (task == null) {
+                return;
+            }
+            if (ACTIVITY.equals(rs.getString(2))) {
+                task.getActivityHistory().add(new Activity(rs.getString(3), rs.getLong(4)));
+            } else {
+                task.getComments().add(new Comment(rs.getString(3), rs.getLong(4)));
+            }
+        };
+        if (allTasks) {
+            jdbc.query(SELECT_HISTORY + HISTORY_ORDER, addEntry);
+        } else {
+            for (List<Long> ids : chunks(new ArrayList<>(byId.keySet()))) {
+                named.query(SELECT_HISTORY + " WHERE task_id IN (:ids)" + HISTORY_ORDER, Map.of("ids", ids), addEntry);
+            }
+        }
+        tasks.forEach(TaskManagement::compact);
+        return tasks;
+    }
+
+    private static TaskManagement mapTask(ResultSet rs, int rowNum) throws SQLException {
+        return TaskManagement.builder()
+                .id(rs.getLong("id"))
+                .referenceId(rs.getObject("reference_id", Long.class))
+                .referenceType(enumOf(ReferenceType.class, rs.getString("reference_type")))
+                .task(enumOf(Task.class, rs.getString("task")))
+                .description(rs.getString("description"))
+                .status(enumOf(TaskStatus.class, rs.getString("status")))
+                .assigneeId(rs.getObject("assignee_id", Long.class))
+                .taskDeadlineTime(rs.getObject("task_deadline_time", Long.class))
+                .priority(enumOf(Priority.class, rs.getString("priority")))
+                .version(rs.getLong("version"))
+                .build();
+    }
+
+    // UPDATE_TASK takes the same columns as INSERT_TASK with the id and the version read moved to the end
+    private static void bindTask(PreparedStatement ps, TaskManagement task, boolean idLast) throws SQLException {
+        int i = 1;
+        if (!idLast) {
+            ps.setLong(i++, task.getId());
+        }
+        setLong(ps, i++, task.getReferenceId());
+        setString(ps, i++, nameOf(task.getReferenceType()));
+        setString(ps, i++, nameOf(task.getTask()));
+        setString(ps, i++, task.getDescription());
+        setString(ps, i++, nameOf(task.getStatus()));
+        setLong(ps, i++, task.getAssigneeId());
+        setLong(ps, i++, task.getTaskDeadlineTime());
+        setString(ps, i++, nameOf(task.getPriority()));
+        ps.setLong(i++, task.getVersion());
+        if (idLast) {
+            ps.setLong(i++, task.getId());
+            ps.setLong(i, task.getVersion() - 1);
+        }
+    }
+
+    private static void setLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.BIGINT);
+        } else {
+            ps.setLong(index, value);
+        }
+    }
+
+    private static void setString(PreparedStatement ps, int index, String value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.VARCHAR);
+        } else {
+            ps.setString(index, value);
+        }
+    }
+
+    private static String nameOf(Enum<?> value) {
+        return value != null ? value.name() : null;
+    }
+
+    private static <E extends Enum<E>> E enumOf(Class<E> type, String name) {
+        return name != null ? Enum.valueOf(type, name) : null;
+    }
+
+    private static <T> List<List<T>> chunks(List<T> values) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int start = 0; start < values.size(); start += IN_LIST_SIZE) {
+            chunks.add(values.subList(start, Math.min(values.size(), start + IN_LIST_SIZE)));
+        }
+        return chunks;
+    }
+}
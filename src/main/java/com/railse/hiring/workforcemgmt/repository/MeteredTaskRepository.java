@@ -0,0 +1,121 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Times every repository operation. Meters are registered once up front so the
+ * hot path is a clock read and a histogram update, nothing is looked up per call.
+ */
+public class MeteredTaskRepository implements TaskRepository {
+    private final TaskRepository delegate;
+    private final Timer findByIdTimer;
+    private final Timer saveTimer;
+    private final Timer saveAllTimer;
+    private final Timer deleteTimer;
+    private final Timer findAllTimer;
+    private final Timer findByReferenceTimer;
+    private final Timer findByAssigneesTimer;
+    private final Timer queryTimer;
+    private final DistributionSummary findAllRows;
+    private final DistributionSummary findByReferenceRows;
+    private final DistributionSummary findByAssigneesRows;
+    private final DistributionSummary queryRows;
+
+    public MeteredTaskRepository(TaskRepository delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.findByIdTimer = timer(registry, "findById");
+        this.saveTimer = timer(registry, "save");
+        this.saveAllTimer = timer(registry, "saveAll");
+        this.deleteTimer = timer(registry, "deleteById");
+        this.findAllTimer = timer(registry, "findAll");
+        this.findByReferenceTimer = timer(registry, "findByReferenceIdAndReferenceType");
+        this.findByAssigneesTimer = timer(registry, "findByAssigneeIdIn");
+        this.queryTimer = timer(registry, "query");
+        this.findAllRows = rows(registry, "findAll");
+        this.findByReferenceRows = rows(registry, "findByReferenceIdAndReferenceType");
+        this.findByAssigneesRows = rows(registry, "findByAssigneeIdIn");
+        this.queryRows = rows(registry, "query");
+    }
+
+    private static Timer timer(MeterRegistry registry, String operation) {
+        return Timer.builder("task.repository")
+                .description("TaskRepository operation latency")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private static DistributionSummary rows(MeterRegistry registry, String operation) {
+        return DistributionSummary.builder("task.repository.rows")
+                .description("Rows returned by TaskRepository queries")
+                .tag("operation", operation)
+                .register(registry);
+    }
+
+    @Override
+    public Optional<TaskManagement> findById(Long id) {
+        return findByIdTimer.record(() -> delegate.findById(id));
+    }
+
+    @Override
+    public TaskManagement save(TaskManagement task) {
+        return saveTimer.record(() -> delegate.save(task));
+    }
+
+    @Override
+    public List<TaskManagement> saveAll(List<TaskManagement> tasks) {
+        return saveAllTimer.record(() -> delegate.saveAll(tasks));
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        deleteTimer.record(() -> delegate.deleteById(id));
+    }
+
+    @Override
+    public List<TaskManagement> findAll() {
+        List<TaskManagement> tasks = findAllTimer.record(delegate::findAll);
+        findAllRows.record(tasks.size());
+        return tasks;
+    }
+
+    @Override
+    public List<TaskManagement> findByReferenceIdAndReferenceType(Long referenceId, ReferenceType referenceType) {
+        List<TaskManagement> tasks = findByReferenceTimer.record(() ->
+                delegate.findByReferenceIdAndReferenceType(referenceId, referenceType));
+        findByReferenceRows.record(tasks.size());
+        return tasks;
+    }
+
+    @Override
+    public List<TaskManagement> findByAssigneeIdIn(List<Long> assigneeIds) {
+        List<TaskManagement> tasks = findByAssigneesTimer.record(() -> delegate.findByAssigneeIdIn(assigneeIds));
+        findByAssigneesRows.record(tasks.size());
+        return tasks;
+    }
+
+    @Override
+    public QueryResult query(TaskQuery query) {
+        QueryResult result = queryTimer.record(() -> delegate.query(query));
+        queryRows.record(result.tasks().size());
+        return result;
+    }
+
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+
+    @Override
+    public long countByStatus(TaskStatus status) {
+        return delegate.countByStatus(status);
+    }
+}
@@ -0,0 +1,70 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Gathers query matches. A bounded collector keeps only the first {@code limit} items in
+ * the given order, on a heap whose top is the last item kept, so a scan that sees every
+ * row still holds no more than one page.
+ */
+public final class PageCollector<T> {
+    private final int limit;
+    private final Comparator<? super T> order;
+    private final List<T> all;
+    private final PriorityQueue<T> kept;
+
+    private PageCollector(int limit, Comparator<? super T> order) {
+        this.limit = limit;
+        this.order = order;
+        this.all = order == null ? new ArrayList<>() : null;
+        this.kept = order == null ? null : new PriorityQueue<>(Math.max(1, limit), order.reversed());
+    }
+
+    public static <T> PageCollector<T> unbounded() {
+        return new PageCollector<>(Integer.MAX_VALUE, null);
+    }
+
+    public static <T> PageCollector<T> first(int limit, Comparator<? super T> order) {
+        return new PageCollector<>(Math.max(0, limit), order);
+    }
+
+    public void add(T item) {
+        if (kept == null) {
+            all.add(item);
+        } else if (kept.size() < limit) {
+            kept.add(item);
+        } else if (limit > 0 && order.compare(item, kept.peek()) < 0) {
+            kept.poll();
+            kept.add(item);
+        }
+    }
+
+    public void addAll(PageCollector<T> other) {
+        if (other.kept == null) {
+            other.all.forEach(this::add);
+        } else {
+            other.kept.forEach(this::add);
+        }
+    }
+
+    // Once full, only an item ordered before the last kept one can still get in
+    public boolean isFull() {
+        return kept != null && kept.size() >= limit;
+    }
+
+    public int size() {
+        return kept == null ? all.size() : kept.size();
+    }
+
+    public List<T> toList() {
+        if (kept == null) {
+            return all;
+        }
+        List<T> page = new ArrayList<>(kept);
+        page.sort(order);
+        return page;
+    }
+}
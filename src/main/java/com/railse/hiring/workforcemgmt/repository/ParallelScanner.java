@@ -0,0 +1,122 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Filters large collections on a dedicated fork-join pool. The source is split through its
+ * spliterator, so a ConcurrentHashMap view is chunked without copying it first. Small
+ * inputs stay on the calling thread, and the pool's fixed parallelism caps how many cores
+ * analytical scans can take away from request threads.
+ */
+public class ParallelScanner implements AutoCloseable {
+    private final ForkJoinPool pool;
+    private final long threshold;
+    private final long chunkSize;
+
+    public ParallelScanner(int parallelism, long threshold) {
+        this.pool = new ForkJoinPool(Math.max(1, parallelism), pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("task-scan-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+        this.threshold = threshold;
+        // a few chunks per worker so a slow chunk does not leave the others idle
+        this.chunkSize = Math.max(4096, threshold / (Math.max(1, parallelism) * 4L));
+    }
+
+    public boolean isParallel(long estimatedRows) {
+        return estimatedRows >= threshold;
+    }
+
+    public int parallelism() {
+        return pool.getParallelism();
+    }
+
+    public <T> ScanResult<T> filter(Collection<T> source, Predicate<? super T> predicate) {
+        return filter(source, predicate, PageCollector::unbounded);
+    }
+
+    // Each chunk collects into its own page, so a capped scan never holds more than a page per chunk
+    public <T> ScanResult<T> filter(Collection<T> source, Predicate<? super T> predicate,
+                                    Supplier<PageCollector<T>> newPage) {
+        if (!isParallel(source.size())) {
+            PageCollector<T> matched = newPage.get();
+            long examined = 0;
+            for (T item : source) {
+                examined++;
+                if (predicate.test(item)) {
+                    matched.add(item);
+                }
+            }
+            return new ScanResult<>(matched.toList(), examined, false);
+        }
+        Queue<PageCollector<T>> chunks = new ConcurrentLinkedQueue<>();
+        LongAdder examined = new LongAdder();
+        pool.invoke(new Chunk<>(source.spliterator(), predicate, newPage, chunks, examined));
+        PageCollector<T> matched = newPage.get();
+        chunks.forEach(matched::addAll);
+        return new ScanResult<>(matched.toList(), examined.sum(), true);
+    }
+
+    @Override
+    public void close() {
+        pool.shutdownNow();
+    }
+
+    public record ScanResult<T>(List<T> matched, long examined, boolean parallel) {
+    }
+
+    private final class Chunk<T> extends RecursiveAction {
+        private final Spliterator<T> spliterator;
+        private final Predicate<? super T> predicate;
+        private final Supplier<PageCollector<T>> newPage;
+        private final Queue<PageCollector<T>> chunks;
+        private final LongAdder examined;
+
+        private Chunk(Spliterator<T> spliterator, Predicate<? super T> predicate,
+                      Supplier<PageCollector<T>> newPage, Queue<PageCollector<T>> chunks, LongAdder examined) {
+            this.spliterator = spliterator;
+            this.predicate = predicate;
+            this.newPage = newPage;
+            this.chunks = chunks;
+            this.examined = examined;
+        }
+
+        @Override
+        protected void compute() {
+            Spliterator<T> rest = spliterator;
+            List<Chunk<T>> forked = new ArrayList<>();
+            Spliterator<T> split;
+            while (rest.estimateSize() > chunkSize && (split = rest.trySplit()) != null) {
+                Chunk<T> task = new Chunk<>(split, predicate, newPage, chunks, examined);
+                task.fork();
+                forked.add(task);
+            }
+            PageCollector<T> matched = newPage.get();
+            long[] seen = new long[1];
+            rest.forEachRemaining(item -> {
+                seen[0]++;
+                if (predicate.test(item)) {
+                    matched.add(item);
+                }
+            });
+            examined.add(seen[0]);
+            if (matched.size() > 0) {
+                chunks.add(matched);
+            }
+            forked.forEach(Chunk::join);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * What the planner did for one query: the access path it picked, the row estimate of
+ * every path it considered, the predicates left to check per row, the page size it was
+ * held to (null for none), and the actual row counts.
+ */
+public record QueryPlan(String accessPath,
+                        Map<String, Long> estimatedRows,
+                        List<TaskQuery.Predicate> residualFilters,
+                        Integer limit,
+                        long rowsExamined,
+                        long rowsReturned) {
+
+    public static final String FULL_SCAN = "FULL_SCAN";
+    // A full scan split across the scan pool
+    public static final String PARALLEL_SCAN = "PARALLEL_SCAN";
+    // Every predicate was handed to a database, which picked its own index
+    public static final String DATABASE = "DATABASE";
+
+    public static QueryPlan fullScan(TaskQuery query, long rowsExamined, long rowsReturned) {
+        return new QueryPlan(FULL_SCAN, Map.of(FULL_SCAN, rowsExamined), query.activePredicates(),
+                query.limit(), rowsExamined, rowsReturned);
+    }
+
+    /**
+     * Plans from stores that each answered part of the query, e.g. one per shard. Each part
+     * was capped on its own, returned is what is left once the parts are merged to one page.
+     */
+    public static QueryPlan combine(List<QueryPlan> plans, long rowsReturned) {
+        if (plans.size() == 1) {
+            return plans.get(0);
+        }
+        Map<String, Long> estimates = new LinkedHashMap<>();
+        Set<TaskQuery.Predicate> residual = EnumSet.noneOf(TaskQuery.Predicate.class);
+        long examined = 0;
+        String accessPath = plans.get(0).accessPath();
+        for (QueryPlan plan : plans) {
+            plan.estimatedRows().forEach((path, rows) -> estimates.merge(path, rows, Long::sum));
+            examined += plan.rowsExamined();
+            residual.addAll(plan.residualFilters());
+            if (!accessPath.equals(plan.accessPath())) {
+                accessPath = "MIXED";
+            }
+        }
+        return new QueryPlan(accessPath, estimates, List.copyOf(residual), plans.get(0).limit(), examined,
+                rowsReturned);
+    }
+}
@@ -0,0 +1,8 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+
+import java.util.List;
+
+public record QueryResult(List<TaskManagement> tasks, QueryPlan plan) {
+}
@@ -0,0 +1,238 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.HistoryArena;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Splits tasks across independent {@link InMemoryTaskRepository} shards by referenceId,
+ * so writers for different references never touch the same map, id counter or index.
+ * Each shard allocates ids from its own residue class, which lets findById go straight
+ * to the owning shard. Queries that cannot be routed are fanned out in parallel.
+ */
+public class ShardedTaskRepository implements TaskRepository, ApplicationEventPublisherAware, AutoCloseable {
+    private final InMemoryTaskRepository[] shards;
+    private final long idOffset;
+    private final long idStride;
+    private final ExecutorService fanOutPool;
+
+    public ShardedTaskRepository(int shardCount) {
+        this(shardCount, 0, 1);
+        InMemoryTaskRepository.seedTasks().forEach(this::save);
+    }
+
+    // Shard i hands out idOffset + i * idStride + n * idStride * shardCount
+    public ShardedTaskRepository(int shardCount, long idOffset, long idStride) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("shardCount must be at least 1");
+        }
+        this.idOffset = idOffset;
+        this.idStride = idStride;
+        this.shards = new InMemoryTaskRepository[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new InMemoryTaskRepository(idOffset + i * idStride, idStride * shardCount);
+        }
+        AtomicInteger threads = new AtomicInteger();
+        this.fanOutPool = Executors.newFixedThreadPool(
+                Math.min(shardCount, Runtime.getRuntime().availableProcessors()), runnable -> {
+                    Thread thread = new Thread(runnable, "task-shard-fanout-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    public int shardCount() {
+        return shards.length;
+    }
+
+    public int shardForReference(Long referenceId) {
+        if (referenceId == null) {
+            return 0;
+        }
+        // spread the hash so sequential reference ids do not land on neighbouring shards in lockstep
+        int hash = Long.hashCode(referenceId) * 0x9E3779B9;
+        return Math.floorMod(hash ^ (hash >>> 16), shards.length);
+    }
+
+    private int shardForId(Long id) {
+        return (int) Math.floorMod(Math.floorDiv(id - idOffset, idStride), (long) shards.length);
+    }
+
+    // Shards share one arena, it serialises appends itself
+    public void setHistoryArena(HistoryArena historyArena) {
+        for (InMemoryTaskRepository shard : shards) {
+            shard.setHistoryArena(historyArena);
+        }
+    }
+
+    @Override
+    public void setApplicationEventPublisher(ApplicationEventPublisher eventPublisher) {
+        for (InMemoryTaskRepository shard : shards) {
+            shard.setApplicationEventPublisher(eventPublisher);
+        }
+    }
+
+    @Override
+    public Optional<TaskManagement> findById(Long id) {
+        Optional<TaskManagement> owned = shards[shardForId(id)].findById(id);
+        if (owned.isPresent()) {
+            return owned;
+        }
+        // ids allocated elsewhere (e.g. replicated or rebalanced tasks) do not encode their shard
+        for (InMemoryTaskRepository shard : shards) {
+            Optional<TaskManagement> task = shard.findById(id);
+            if (task.isPresent()) {
+                return task;
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public TaskManagement save(TaskManagement task) {
+        return shards[shardForReference(task.getReferenceId())].save(task);
+    }
+
+    // Atomic per shard only, a batch spanning shards can be seen half applied
+    @Override
+    public List<TaskManagement> saveAll(List<TaskManagement> tasks) {
+        List<List<TaskManagement>> byShard = new ArrayList<>(shards.length);
+        for (int i = 0; i < shards.length; i++) {
+            byShard.add(new ArrayList<>());
+        }
+        for (TaskManagement task : tasks) {
+            byShard.get(shardForReference(task.getReferenceId())).add(task);
+        }
+        for (int i = 0; i < shards.length; i++) {
+            if (!byShard.get(i).isEmpty()) {
+                shards[i].saveAll(byShard.get(i));
+            }
+        }
+        // shards save in place, so the instances passed in are the saved ones
+        return new ArrayList<>(tasks);
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        InMemoryTaskRepository owner = shards[shardForId(id)];
+        if (owner.findById(id).isPresent()) {
+            owner.deleteById(id);
+            return;
+        }
+        for (InMemoryTaskRepository shard : shards) {
+            shard.deleteById(id);
+        }
+    }
+
+    @Override
+    public boolean evict(Long id, long expectedVersion) {
+        if (shards[shardForId(id)].evict(id, expectedVersion)) {
+            return true;
+        }
+        for (InMemoryTaskRepository shard : shards) {
+            if (shard.evict(id, expectedVersion)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public List<TaskManagement> findAll() {
+        return fanOut(InMemoryTaskRepository::findAll);
+    }
+
+    @Override
+    public List<TaskManagement> findByReferenceIdAndReferenceType(Long referenceId, ReferenceType referenceType) {
+        return shards[shardForReference(referenceId)].findByReferenceIdAndReferenceType(referenceId, referenceType);
+    }
+
+    @Override
+    public List<TaskManagement> findByAssigneeIdIn(List<Long> assigneeIds) {
+        return fanOut(shard -> shard.findByAssigneeIdIn(assigneeIds));
+    }
+
+    @Override
+    public long count() {
+        long count = 0;
+        for (InMemoryTaskRepository shard : shards) {
+            count += shard.count();
+        }
+        return count;
+    }
+
+    @Override
+    public long countByStatus(TaskStatus status) {
+        long count = 0;
+        for (InMemoryTaskRepository shard : shards) {
+            count += shard.countByStatus(status);
+        }
+        return count;
+    }
+
+    // A reference lives on one shard, anything else is asked of every shard
+    @Override
+    public QueryResult query(TaskQuery query) {
+        if (query.referenceId() != null) {
+            return shards[shardForReference(query.referenceId())].query(query);
+        }
+        List<QueryResult> parts = perShard(shard -> shard.query(query));
+        List<TaskManagement> tasks = new ArrayList<>();
+        List<QueryPlan> plans = new ArrayList<>(parts.size());
+        for (QueryResult part : parts) {
+            tasks.addAll(part.tasks());
+            plans.add(part.plan());
+        }
+        List<TaskManagement> page = query.page(tasks);
+        return new QueryResult(page, QueryPlan.combine(plans, page.size()));
+    }
+
+    private List<TaskManagement> fanOut(Function<InMemoryTaskRepository, List<TaskManagement>> query) {
+        List<List<TaskManagement>> results = perShard(query);
+        if (results.size() == 1) {
+            return results.get(0);
+        }
+        int size = 0;
+        for (List<TaskManagement> result : results) {
+            size += result.size();
+        }
+        List<TaskManagement> merged = new ArrayList<>(size);
+        results.forEach(merged::addAll);
+        return merged;
+    }
+
+    private <T> List<T> perShard(Function<InMemoryTaskRepository, T> query) {
+        if (shards.length == 1) {
+            return List.of(query.apply(shards[0]));
+        }
+        List<CompletableFuture<T>> parts = new ArrayList<>(shards.length);
+        // the calling thread takes shard 0 itself instead of idling while it waits
+        for (int i = 1; i < shards.length; i++) {
+            InMemoryTaskRepository shard = shards[i];
+            parts.add(CompletableFuture.supplyAsync(() -> query.apply(shard), fanOutPool));
+        }
+        List<T> results = new ArrayList<>(shards.length);
+        results.add(query.apply(shards[0]));
+        for (CompletableFuture<T> part : parts) {
+            results.add(part.join());
+        }
+        return results;
+    }
+
+    @Override
+    public void close() {
+        fanOutPool.shutdownNow();
+    }
+}
@@ -0,0 +1,101 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Base for derived views that fold every task into some aggregate. Each task counts
+ * towards the view through one contribution, and the last one is remembered per task id.
+ * A save or delete then only has to take the old contribution out and put the new one in,
+ * and nothing is rescanned. Subclasses say what a task contributes and how the
+ * aggregate changes; this class does the bookkeeping, the locking and the event wiring.
+ * <p>
+ * Everything runs under {@link #lock}. Subclasses take it too for their own reads.
+ *
+ * @param <C> what one task adds to the view, compared with equals to skip no-op saves
+ */
+@Slf4j
+public abstract class TaskContributionIndex<C> {
+    protected final Object lock = new Object();
+
+    private final TaskRepository localTaskStore;
+    private final Map<Long, C> contributions = new HashMap<>();
+
+    protected TaskContributionIndex(TaskRepository localTaskStore) {
+        this.localTaskStore = localTaskStore;
+    }
+
+    // Seeds, and anything saved before the event publisher was wired, never raised an event
+    @PostConstruct
+    public void rebuild() {
+        List<TaskManagement> tasks = localTaskStore.findAll();
+        synchronized (lock) {
+            tasks.forEach(this::apply);
+            afterChanges();
+        }
+        log.info("{} rebuilt from {} tasks, {} contribute", getClass().getSimpleName(), tasks.size(),
+                trackedCount());
+    }
+
+    @EventListener
+    public void onTaskSaved(TaskSavedEvent event) {
+        synchronized (lock) {
+            apply(event.task());
+            afterChanges();
+        }
+    }
+
+    @EventListener
+    public void onTaskDeleted(TaskDeletedEvent event) {
+        synchronized (lock) {
+            C previous = contributions.remove(event.task().getId());
+            if (previous != null) {
+                change(previous, null);
+                afterChanges();
+            }
+        }
+    }
+
+    // Tasks currently counted towards the view
+    public int trackedCount() {
+        synchronized (lock) {
+            return contributions.size();
+        }
+    }
+
+    /**
+     * What the task adds to the view in its current state, or null if it adds nothing.
+     * Called under the lock.
+     */
+    protected abstract C contributionOf(TaskManagement task);
+
+    /**
+     * Moves the aggregate from previous to next; either may be null, never both. Called
+     * under the lock, only when the two differ.
+     */
+    protected abstract void change(C previous, C next);
+
+    // Runs under the lock once a save, delete or the whole rebuild has been applied
+    protected void afterChanges() {
+    }
+
+    private void apply(TaskManagement task) {
+        if (task.getId() == null) {
+            return;
+        }
+        C next = contributionOf(task);
+        C previous = next == null
+                ? contributions.remove(task.getId())
+                : contributions.put(task.getId(), next);
+        if (!Objects.equals(previous, next)) {
+            change(previous, next);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+
+// Published after a task has left this store, e.g. because it moved to another node
+public record TaskDeletedEvent(TaskManagement task) {
+}
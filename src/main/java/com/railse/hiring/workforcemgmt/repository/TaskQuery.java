@@ -0,0 +1,108 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import lombok.Builder;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Conjunction of optional predicates over tasks. A null or empty field places no
+ * restriction; the deadline bounds are inclusive and either may be left open.
+ * <p>
+ * With a limit the result is the first {@code limit} matches in id order, and afterId
+ * (the last id of the previous page) continues from there. Stores apply both while they
+ * scan rather than trimming a full result.
+ */
+@Builder
+public record TaskQuery(Set<Long> assigneeIds,
+                        Long referenceId,
+                        ReferenceType referenceType,
+                        Set<TaskStatus> statuses,
+                        Set<Priority> priorities,
+                        Set<Task> tasks,
+                        Long deadlineFrom,
+                        Long deadlineTo,
+                        Integer limit,
+                        Long afterId) {
+
+    public static final Comparator<TaskManagement> BY_ID = Comparator.comparing(TaskManagement::getId);
+
+    public enum Predicate {
+        REFERENCE,
+        ASSIGNEE,
+        STATUS,
+        PRIORITY,
+        TASK,
+        DEADLINE,
+        // the page cursor, no store has an index on it
+        CURSOR
+    }
+
+    public boolean restricts(Predicate predicate) {
+        return switch (predicate) {
+            case REFERENCE -> referenceId != null || referenceType != null;
+            case ASSIGNEE -> assigneeIds != null && !assigneeIds.isEmpty();
+            case STATUS -> statuses != null && !statuses.isEmpty();
+            case PRIORITY -> priorities != null && !priorities.isEmpty();
+            case TASK -> tasks != null && !tasks.isEmpty();
+            case DEADLINE -> deadlineFrom != null || deadlineTo != null;
+            case CURSOR -> afterId != null;
+        };
+    }
+
+    public boolean test(Predicate predicate, TaskManagement task) {
+        return switch (predicate) {
+            case REFERENCE -> (referenceId == null || Objects.equals(referenceId, task.getReferenceId()))
+                    && (referenceType == null || referenceType == task.getReferenceType());
+            // null checks first, immutable sets throw on contains(null)
+            case ASSIGNEE -> task.getAssigneeId() != null && assigneeIds.contains(task.getAssigneeId());
+            case STATUS -> task.getStatus() != null && statuses.contains(task.getStatus());
+            case PRIORITY -> task.getPriority() != null && priorities.contains(task.getPriority());
+            case TASK -> task.getTask() != null && tasks.contains(task.getTask());
+            case DEADLINE -> task.getTaskDeadlineTime() != null
+                    && (deadlineFrom == null || task.getTaskDeadlineTime() >= deadlineFrom)
+                    && (deadlineTo == null || task.getTaskDeadlineTime() <= deadlineTo);
+            case CURSOR -> task.getId() != null && task.getId() > afterId;
+        };
+    }
+
+    public List<Predicate> activePredicates() {
+        List<Predicate> active = new ArrayList<>();
+        for (Predicate predicate : Predicate.values()) {
+            if (restricts(predicate)) {
+                active.add(predicate);
+            }
+        }
+        return active;
+    }
+
+    public boolean matches(TaskManagement task) {
+        for (Predicate predicate : Predicate.values()) {
+            if (restricts(predicate) && !test(predicate, task)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Collects matches for this query, keeping only the page when there is a limit
+    public PageCollector<TaskManagement> newPage() {
+        return limit == null ? PageCollector.unbounded() : PageCollector.first(limit, BY_ID);
+    }
+
+    // Trims matches that several stores returned, each already capped, down to one page
+    public List<TaskManagement> page(Collection<TaskManagement> matches) {
+        PageCollector<TaskManagement> page = newPage();
+        matches.forEach(page::add);
+        return page.toList();
+    }
+}
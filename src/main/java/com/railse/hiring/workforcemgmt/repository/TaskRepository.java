@@ -1,7 +1,9 @@
 package com.railse.hiring.workforcemgmt.repository;
 
 import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -10,9 +12,43 @@ public interface TaskRepository {
 
     TaskManagement save(TaskManagement task);
 
+    // Stores that can apply a batch atomically override this, readers then see all of it or none
+    default List<TaskManagement> saveAll(List<TaskManagement> tasks) {
+        List<TaskManagement> saved = new ArrayList<>(tasks.size());
+        for (TaskManagement task : tasks) {
+            saved.add(save(task));
+        }
+        return saved;
+    }
+
     List<TaskManagement> findAll();
 
     List<TaskManagement> findByReferenceIdAndReferenceType(Long referenceId, com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType referenceType);
 
     List<TaskManagement> findByAssigneeIdIn(List<Long> assigneeIds);
+
+    void deleteById(Long id);
+
+    /**
+     * Drops the task from this store without a TaskDeletedEvent, because it moved to
+     * another tier rather than going away. Only succeeds while the stored version is still
+     * expectedVersion; stores that cannot evict leave the task in place.
+     */
+    default boolean evict(Long id, long expectedVersion) {
+        return false;
+    }
+
+    // Used by the store gauges, implementations should answer without a scan
+    long count();
+
+    long countByStatus(TaskStatus status);
+
+    // Stores without indexes answer with a full scan, the indexed ones plan an access path
+    default QueryResult query(TaskQuery query) {
+        List<TaskManagement> all = findAll();
+        PageCollector<TaskManagement> page = query.newPage();
+        all.stream().filter(query::matches).forEach(page::add);
+        List<TaskManagement> matched = page.toList();
+        return new QueryResult(matched, QueryPlan.fullScan(query, all.size(), matched.size()));
+    }
 }
@@ -0,0 +1,7 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+
+// Published synchronously after every successful save so derived views can refresh
+public record TaskSavedEvent(TaskManagement task) {
+}
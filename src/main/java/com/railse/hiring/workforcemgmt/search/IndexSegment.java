@@ -0,0 +1,269 @@
+package com.railse.hiring.workforcemgmt.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * One stripe of the search index with its own term dictionary, postings, per-doc columns
+ * and lock. A changed task gets a fresh doc id at the end and its old doc is only marked
+ * dead, so postings grow at the tail and are never shifted. Once dead docs make up a
+ * quarter of the stripe it is rewritten without them in one pass and their slots reused.
+ */
+final class IndexSegment {
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final long NO_ASSIGNEE = Long.MIN_VALUE;
+    private static final int MIN_DEAD_TO_COMPACT = 256;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private final List<PostingList> postings = new ArrayList<>();
+    private final Map<Long, Integer> docIds = new HashMap<>();
+    private final BitSet dead = new BitSet();
+    // Indexed by doc id
+    private long[] taskIds = new long[256];
+    private long[] versions = new long[256];
+    private int[] docLengths = new int[256];
+    private byte[] statuses = new byte[256];
+    private byte[] priorities = new byte[256];
+    private long[] assignees = new long[256];
+    private int nextDoc;
+    private int liveDocs;
+    private int deadDocs;
+    private long totalLength;
+
+    boolean isCurrent(long taskId, long version) {
+        lock.readLock().lock();
+        try {
+            Integer doc = docIds.get(taskId);
+            return doc != null && versions[doc] >= version;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void put(long taskId, long version, Map<String, Integer> frequencies, int length,
+             byte status, byte priority, long assignee) {
+        lock.writeLock().lock();
+        try {
+            Integer existing = docIds.get(taskId);
+            if (existing != null) {
+                // a newer save got here first
+                if (versions[existing] >= version) {
+                    return;
+                }
+                kill(existing);
+            }
+            int doc = newDoc(taskId);
+            for (Map.Entry<String, Integer> term : frequencies.entrySet()) {
+                int termId = termIds.computeIfAbsent(term.getKey(), key -> {
+                    postings.add(new PostingList());
+                    return postings.size() - 1;
+                });
+                postings.get(termId).put(doc, term.getValue());
+            }
+            versions[doc] = version;
+            docLengths[doc] = length;
+            statuses[doc] = status;
+            priorities[doc] = priority;
+            assignees[doc] = assignee;
+            liveDocs++;
+            totalLength += length;
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(long taskId) {
+        lock.writeLock().lock();
+        try {
+            Integer doc = docIds.remove(taskId);
+            if (doc != null) {
+                kill(doc);
+                compactIfNeeded();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds this stripe's document frequency for each term into docFreq, and its live docs
+     * and total length into totals[0] and totals[1]. Dead docs still count toward document
+     * frequency until the next compaction, which only nudges idf.
+     */
+    void collectStats(String[] terms, long[] docFreq, long[] totals) {
+        lock.readLock().lock();
+        try {
+            for (int i = 0; i < terms.length; i++) {
+                Integer termId = termIds.get(terms[i]);
+                if (termId != null) {
+                    docFreq[i] += postings.get(termId).size();
+                }
+            }
+            totals[0] += liveDocs;
+            totals[1] += totalLength;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Offers this stripe's matches to top and returns how many there were
+    int search(String[] terms, double[] idf, double averageLength, boolean[] statusAllowed,
+               boolean[] priorityAllowed, Set<Long> assigneeIds, PriorityQueue<SearchHit> top, int limit) {
+        lock.readLock().lock();
+        try {
+            PostingList[] lists = new PostingList[terms.length];
+            Integer[] order = new Integer[terms.length];
+            for (int i = 0; i < terms.length; i++) {
+                Integer termId = termIds.get(terms[i]);
+                if (termId == null || postings.get(termId).size() == 0) {
+                    return 0;
+                }
+                lists[i] = postings.get(termId);
+                order[i] = i;
+            }
+            // Drive the intersection from the rarest term
+            Arrays.sort(order, Comparator.comparingInt(i -> lists[i].size()));
+            PostingList rarest = lists[order[0]];
+            int[] positions = new int[terms.length];
+            int hits = 0;
+            candidates:
+            for (int i = 0; i < rarest.size(); i++) {
+                int doc = rarest.doc(i);
+                positions[order[0]] = i;
+                for (int o = 1; o < order.length; o++) {
+                    int l = order[o];
+                    positions[l] = lists[l].advance(positions[l], doc);
+                    if (positions[l] == lists[l].size()) {
+                        break candidates;
+                    }
+                    if (lists[l].doc(positions[l]) != doc) {
+                        continue candidates;
+                    }
+                }
+                if (dead.get(doc) || !matches(doc, statusAllowed, priorityAllowed, assigneeIds)) {
+                    continue;
+                }
+                hits++;
+                double score = 0;
+                double norm = K1 * (1 - B + B * docLengths[doc] / averageLength);
+                for (int l = 0; l < lists.length; l++) {
+                    int freq = lists[l].freq(positions[l]);
+                    score += idf[l] * freq * (K1 + 1) / (freq + norm);
+                }
+                if (top.size() < limit) {
+                    top.add(new SearchHit(taskIds[doc], score));
+                } else if (limit > 0 && top.peek().score() < score) {
+                    top.poll();
+                    top.add(new SearchHit(taskIds[doc], score));
+                }
+            }
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int termCount() {
+        lock.readLock().lock();
+        try {
+            return termIds.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int deadDocs() {
+        lock.readLock().lock();
+        try {
+            return deadDocs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean matches(int doc, boolean[] statusAllowed, boolean[] priorityAllowed, Set<Long> assigneeIds) {
+        if (statusAllowed != null && (statuses[doc] < 0 || !statusAllowed[statuses[doc]])) {
+            return false;
+        }
+        if (priorityAllowed != null && (priorities[doc] < 0 || !priorityAllowed[priorities[doc]])) {
+            return false;
+        }
+        return assigneeIds == null || (assignees[doc] != NO_ASSIGNEE && assigneeIds.contains(assignees[doc]));
+    }
+
+    private void kill(int doc) {
+        dead.set(doc);
+        deadDocs++;
+        liveDocs--;
+        totalLength -= docLengths[doc];
+    }
+
+    private void compactIfNeeded() {
+        if (deadDocs < MIN_DEAD_TO_COMPACT || deadDocs * 4 < nextDoc) {
+            return;
+        }
+        int[] remap = new int[nextDoc];
+        int live = 0;
+        for (int doc = 0; doc < nextDoc; doc++) {
+            if (dead.get(doc)) {
+                remap[doc] = -1;
+                continue;
+            }
+            // live docs only move down, so the columns can be packed in place
+            remap[doc] = live;
+            taskIds[live] = taskIds[doc];
+            versions[live] = versions[doc];
+            docLengths[live] = docLengths[doc];
+            statuses[live] = statuses[doc];
+            priorities[live] = priorities[doc];
+            assignees[live] = assignees[doc];
+            live++;
+        }
+        // terms only dead docs used are dropped, the rest get new dense ids
+        List<PostingList> kept = new ArrayList<>();
+        termIds.entrySet().removeIf(term -> {
+            PostingList list = postings.get(term.getValue());
+            list.compact(remap);
+            if (list.size() == 0) {
+                return true;
+            }
+            term.setValue(kept.size());
+            kept.add(list);
+            return false;
+        });
+        postings.clear();
+        postings.addAll(kept);
+        docIds.replaceAll((taskId, doc) -> remap[doc]);
+        dead.clear();
+        nextDoc = live;
+        deadDocs = 0;
+    }
+
+    private int newDoc(long taskId) {
+        if (nextDoc == taskIds.length) {
+            int capacity = nextDoc * 2;
+            taskIds = Arrays.copyOf(taskIds, capacity);
+            versions = Arrays.copyOf(versions, capacity);
+            docLengths = Arrays.copyOf(docLengths, capacity);
+            statuses = Arrays.copyOf(statuses, capacity);
+            priorities = Arrays.copyOf(priorities, capacity);
+            assignees = Arrays.copyOf(assignees, capacity);
+        }
+        int doc = nextDoc++;
+        taskIds[doc] = taskId;
+        docIds.put(taskId, doc);
+        return doc;
+    }
+}
@@ -0,0 +1,91 @@
+package com.railse.hiring.workforcemgmt.search;
+
+import java.util.Arrays;
+
+/**
+ * Documents containing one term, as a sorted int array of doc ids with a parallel
+ * array of term frequencies. New documents get increasing ids so adding one is an
+ * append; dead documents stay listed until their segment compacts.
+ */
+final class PostingList {
+    private int[] docs = new int[4];
+    private int[] freqs = new int[4];
+    private int size;
+
+    void put(int doc, int freq) {
+        if (size == 0 || docs[size - 1] < doc) {
+            ensureCapacity();
+            docs[size] = doc;
+            freqs[size] = freq;
+            size++;
+            return;
+        }
+        int index = Arrays.binarySearch(docs, 0, size, doc);
+        if (index >= 0) {
+            freqs[index] = freq;
+            return;
+        }
+        int insertAt = -index - 1;
+        ensureCapacity();
+        System.arraycopy(docs, insertAt, docs, insertAt + 1, size - insertAt);
+        System.arraycopy(freqs, insertAt, freqs, insertAt + 1, size - insertAt);
+        docs[insertAt] = doc;
+        freqs[insertAt] = freq;
+        size++;
+    }
+
+    // Renumbers docs through remap in one pass, dropping those mapped to -1; remap must keep order
+    void compact(int[] remap) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            int doc = remap[docs[i]];
+            if (doc >= 0) {
+                docs[kept] = doc;
+                freqs[kept] = freqs[i];
+                kept++;
+            }
+        }
+        size = kept;
+        if (docs.length > 4 && size < docs.length / 4) {
+            docs = Arrays.copyOf(docs, Math.max(4, size * 2));
+            freqs = Arrays.copyOf(freqs, docs.length);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    int doc(int index) {
+        return docs[index];
+    }
+
+    int freq(int index) {
+        return freqs[index];
+    }
+
+    /**
+     * First position at or after {@code from} whose doc is >= target, or size() if none.
+     * Gallops forward before the binary search, so walking a long list in step with a
+     * short one costs about log of the gap per step instead of the gap.
+     */
+    int advance(int from, int target) {
+        int step = 1;
+        int low = from;
+        int high = from;
+        while (high < size && docs[high] < target) {
+            low = high + 1;
+            high += step;
+            step <<= 1;
+        }
+        int index = Arrays.binarySearch(docs, low, Math.min(high + 1, size), target);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    private void ensureCapacity() {
+        if (size == docs.length) {
+            docs = Arrays.copyOf(docs, size * 2);
+            freqs = Arrays.copyOf(freqs, size * 2);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.railse.hiring.workforcemgmt.search;
+
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+
+import java.util.Set;
+
+// Empty or null sets mean no restriction on that field
+public record SearchFilter(Set<TaskStatus> statuses, Set<Priority> priorities, Set<Long> assigneeIds) {
+
+    public static SearchFilter none() {
+        return new SearchFilter(null, null, null);
+    }
+}
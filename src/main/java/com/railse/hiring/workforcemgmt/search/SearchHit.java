@@ -0,0 +1,4 @@
+package com.railse.hiring.workforcemgmt.search;
+
+public record SearchHit(long taskId, double score) {
+}
@@ -0,0 +1,7 @@
+package com.railse.hiring.workforcemgmt.search;
+
+import java.util.List;
+
+// Best hits first; totalHits counts every match, not just the ones returned
+public record SearchResult(List<SearchHit> hits, int totalHits) {
+}
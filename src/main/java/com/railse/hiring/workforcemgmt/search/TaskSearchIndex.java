@@ -0,0 +1,170 @@
+package com.railse.hiring.workforcemgmt.search;
+
+import com.railse.hiring.workforcemgmt.model.Comment;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.TaskDeletedEvent;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskSavedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Inverted index over task descriptions and comment messages, kept up to date from
+ * repository events. Tasks are split by id over {@link IndexSegment stripes}, each with
+ * its own lock, so saves to different stripes never wait on each other and a search only
+ * holds one stripe at a time. Within a stripe each task gets a dense int doc id and its
+ * status, priority and assignee live in flat arrays so filters never touch the store.
+ * Matches need every query term and are ranked with BM25 over the whole index.
+ */
+@Slf4j
+@Component
+public class TaskSearchIndex {
+    private static final int STRIPES = 16;
+    private static final long NO_ASSIGNEE = Long.MIN_VALUE;
+
+    private final TaskRepository localTaskStore;
+    private final IndexSegment[] segments = new IndexSegment[STRIPES];
+
+    public TaskSearchIndex(@Qualifier("localTaskStore") TaskRepository localTaskStore, MeterRegistry meterRegistry) {
+        this.localTaskStore = localTaskStore;
+        for (int i = 0; i < STRIPES; i++) {
+            segments[i] = new IndexSegment();
+        }
+        Gauge.builder("task.search.terms", this, TaskSearchIndex::termCount)
+                .description("Term dictionary entries, summed over the index stripes")
+                .register(meterRegistry);
+        Gauge.builder("task.search.dead", this, TaskSearchIndex::deadDocs)
+                .description("Replaced or deleted docs waiting for their stripe to compact")
+                .register(meterRegistry);
+    }
+
+    // Seeds and anything saved before the event publisher was wired never raised an event
+    @PostConstruct
+    public void rebuild() {
+        long started = System.nanoTime();
+        List<TaskManagement> tasks = localTaskStore.findAll();
+        tasks.forEach(this::index);
+        log.info("Indexed {} tasks for search in {} ms", tasks.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @EventListener
+    public void onTaskSaved(TaskSavedEvent event) {
+        index(event.task());
+    }
+
+    @EventListener
+    public void onTaskDeleted(TaskDeletedEvent event) {
+        remove(event.task().getId());
+    }
+
+    // Every save bumps the version, so a version already indexed has nothing new to tokenize
+    public void index(TaskManagement task) {
+        IndexSegment segment = segmentOf(task.getId());
+        if (segment.isCurrent(task.getId(), task.getVersion())) {
+            return;
+        }
+        Map<String, Integer> frequencies = new HashMap<>();
+        int length = count(task.getDescription(), frequencies);
+        if (task.getComments() != null) {
+            for (Comment comment : task.getComments()) {
+                length += count(comment.getMessage(), frequencies);
+            }
+        }
+        segment.put(task.getId(), task.getVersion(), frequencies, length,
+                (byte) (task.getStatus() != null ? task.getStatus().ordinal() : -1),
+                (byte) (task.getPriority() != null ? task.getPriority().ordinal() : -1),
+                task.getAssigneeId() != null ? task.getAssigneeId() : NO_ASSIGNEE);
+    }
+
+    public void remove(Long taskId) {
+        segmentOf(taskId).remove(taskId);
+    }
+
+    public SearchResult search(String query, SearchFilter filter, int limit) {
+        String[] terms = new LinkedHashSet<>(Tokenizer.tokenize(query)).toArray(String[]::new);
+        if (terms.length == 0) {
+            return new SearchResult(List.of(), 0);
+        }
+        boolean[] statusAllowed = allowed(filter.statuses(), TaskStatus.values().length);
+        boolean[] priorityAllowed = allowed(filter.priorities(), Priority.values().length);
+        Set<Long> assigneeIds = filter.assigneeIds() == null || filter.assigneeIds().isEmpty()
+                ? null : filter.assigneeIds();
+
+        // idf and average length come from every stripe, so scores do not depend on where a task landed
+        long[] docFreq = new long[terms.length];
+        long[] totals = new long[2];
+        for (IndexSegment segment : segments) {
+            segment.collectStats(terms, docFreq, totals);
+        }
+        long liveDocs = totals[0];
+        double[] idf = new double[terms.length];
+        for (int i = 0; i < terms.length; i++) {
+            if (docFreq[i] == 0) {
+                return new SearchResult(List.of(), 0);
+            }
+            idf[i] = Math.log(1 + (Math.max(0, liveDocs - docFreq[i]) + 0.5) / (docFreq[i] + 0.5));
+        }
+        double averageLength = liveDocs == 0 ? 1 : Math.max(1.0, (double) totals[1] / liveDocs);
+
+        PriorityQueue<SearchHit> top = new PriorityQueue<>(Comparator.comparingDouble(SearchHit::score));
+        int totalHits = 0;
+        for (IndexSegment segment : segments) {
+            totalHits += segment.search(terms, idf, averageLength, statusAllowed, priorityAllowed, assigneeIds,
+                    top, limit);
+        }
+        List<SearchHit> hits = new ArrayList<>(top);
+        hits.sort(Comparator.comparingDouble(SearchHit::score).reversed());
+        return new SearchResult(hits, totalHits);
+    }
+
+    public int termCount() {
+        int terms = 0;
+        for (IndexSegment segment : segments) {
+            terms += segment.termCount();
+        }
+        return terms;
+    }
+
+    public int deadDocs() {
+        int dead = 0;
+        for (IndexSegment segment : segments) {
+            dead += segment.deadDocs();
+        }
+        return dead;
+    }
+
+    private IndexSegment segmentOf(Long taskId) {
+        return segments[Math.floorMod(Long.hashCode(taskId), STRIPES)];
+    }
+
+    private static <E extends Enum<E>> boolean[] allowed(Set<E> values, int size) {
+        if (values == null || values.isEmpty()) {
+            return null;
+        }
+        boolean[] allowed = new boolean[size];
+        values.forEach(value -> allowed[value.ordinal()] = true);
+        return allowed;
+    }
+
+    private static int count(String text, Map<String, Integer> frequencies) {
+        List<String> tokens = Tokenizer.tokenize(text);
+        tokens.forEach(token -> frequencies.merge(token, 1, Integer::sum));
+        return tokens.size();
+    }
+}
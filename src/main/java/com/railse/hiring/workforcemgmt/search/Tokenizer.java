@@ -0,0 +1,31 @@
+package com.railse.hiring.workforcemgmt.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// Lower-cased runs of letters and digits, single letters dropped
+final class Tokenizer {
+    private Tokenizer() {
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                if (i - start > 1 || Character.isDigit(text.charAt(start))) {
+                    tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                }
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,8 @@
+package com.railse.hiring.workforcemgmt.service;
+
+import com.railse.hiring.workforcemgmt.dto.ReferenceSummaryResponse;
+
+public interface ReferenceSummaryService {
+
+    ReferenceSummaryResponse getSummary(Long referenceId);
+}
@@ -15,11 +15,17 @@ public interface TaskManagementService {
 
     String assignByReferenceV2(AssignByReferenceRequest request);
 
+    // Moves every open task of one assignee to another person or spreads it over a pool
+    HandoverResponse handover(HandoverRequest request);
+
     List<TaskManagementDto> fetchTasksByDate(TaskFetchByDateRequest
                                                      request);
 
     TaskManagementDto findTaskById(Long id);
 
+    // Pre-serialized response bodies served from the per-version JSON cache
+    byte[] findTaskByIdAsJson(Long id);
+
     //Fixed bug 2
     List<TaskManagementDto> fetchTasksByDateV2(TaskFetchByDateRequest
                                                        request);
@@ -32,10 +38,14 @@ public interface TaskManagementService {
 
     List<TaskManagementDto> fetchTasksByDateV4(TaskFetchByDateRequest request);
 
+    byte[] fetchTasksByDateV4AsJson(TaskFetchByDateRequest request);
+
     TaskManagementDto updateTaskPriority(UpdateTaskPriorityRequest request);
 
     List<TaskManagementDto> getTasksByPriority(Priority priority);
 
+    byte[] getTasksByPriorityAsJson(Priority priority);
+
     TaskManagementDto addCommentToTask(AddCommentRequest request);
 
     TaskManagementDto getTaskDetails(Long taskId);
@@ -0,0 +1,9 @@
+package com.railse.hiring.workforcemgmt.service;
+
+import com.railse.hiring.workforcemgmt.dto.TaskQueryRequest;
+import com.railse.hiring.workforcemgmt.dto.TaskQueryResponse;
+
+public interface TaskQueryService {
+
+    TaskQueryResponse query(TaskQueryRequest request);
+}
@@ -0,0 +1,9 @@
+package com.railse.hiring.workforcemgmt.service;
+
+import com.railse.hiring.workforcemgmt.dto.TaskSearchRequest;
+import com.railse.hiring.workforcemgmt.dto.TaskSearchResponse;
+
+public interface TaskSearchService {
+
+    TaskSearchResponse search(TaskSearchRequest request);
+}
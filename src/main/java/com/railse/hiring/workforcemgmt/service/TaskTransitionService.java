@@ -0,0 +1,9 @@
+package com.railse.hiring.workforcemgmt.service;
+
+import com.railse.hiring.workforcemgmt.dto.TaskTransitionRequest;
+import com.railse.hiring.workforcemgmt.dto.TaskTransitionResponse;
+
+public interface TaskTransitionService {
+
+    TaskTransitionResponse transition(TaskTransitionRequest request);
+}
@@ -0,0 +1,30 @@
+package com.railse.hiring.workforcemgmt.service.impl;
+
+import com.railse.hiring.workforcemgmt.dto.ReferenceSummaryResponse;
+import com.railse.hiring.workforcemgmt.service.ReferenceSummaryService;
+import com.railse.hiring.workforcemgmt.summary.ReferenceSummary;
+import com.railse.hiring.workforcemgmt.summary.ReferenceSummaryIndex;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Timed(value = "task.service", histogram = true)
+public class ReferenceSummaryServiceImpl implements ReferenceSummaryService {
+    private final ReferenceSummaryIndex summaryIndex;
+
+    // A reference without tasks gets an empty summary rather than a 404, it may just not have any yet
+    @Override
+    public ReferenceSummaryResponse getSummary(Long referenceId) {
+        ReferenceSummary summary = summaryIndex.summaryOf(referenceId);
+        List<ReferenceSummaryResponse.TaskSummary> tasks = new ArrayList<>(summary.types().size());
+        summary.types().forEach((task, type) -> tasks.add(new ReferenceSummaryResponse.TaskSummary(
+                task, type.counts(), type.latestAssigneeId(), type.earliestOpenDeadline())));
+        return new ReferenceSummaryResponse(summary.referenceId(), summary.total(),
+                summary.earliestOpenDeadline(), tasks);
+    }
+}
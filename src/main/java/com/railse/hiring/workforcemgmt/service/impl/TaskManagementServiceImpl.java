@@ -1,6 +1,13 @@
 package com.railse.hiring.workforcemgmt.service.impl;
 
+import com.railse.hiring.workforcemgmt.assignment.AssignmentProperties;
+import com.railse.hiring.workforcemgmt.assignment.WorkloadTracker;
+import com.railse.hiring.workforcemgmt.cache.TaskJsonCache;
+import com.railse.hiring.workforcemgmt.common.concurrent.SingleFlight;
+import com.railse.hiring.workforcemgmt.common.concurrent.TaskLocks;
 import com.railse.hiring.workforcemgmt.common.exception.ResourceNotFoundException;
+import com.railse.hiring.workforcemgmt.common.timing.ServerTiming;
+import com.railse.hiring.workforcemgmt.dependency.TaskReadinessTracker;
 import com.railse.hiring.workforcemgmt.dto.*;
 import com.railse.hiring.workforcemgmt.mapper.ITaskManagementMapper;
 import com.railse.hiring.workforcemgmt.model.Activity;
@@ -11,22 +18,59 @@ import com.railse.hiring.workforcemgmt.model.enums.Task;
 import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
 import com.railse.hiring.workforcemgmt.repository.TaskRepository;
 import com.railse.hiring.workforcemgmt.service.TaskManagementService;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "task.service", histogram = true)
 public class TaskManagementServiceImpl implements TaskManagementService {
     private final TaskRepository taskRepository;
     private final ITaskManagementMapper taskMapper;
+    private final TaskJsonCache taskJsonCache;
+    private final WorkloadTracker workloadTracker;
+    private final AssignmentProperties assignmentProperties;
+    private final TaskReadinessTracker readinessTracker;
+    private final TaskLocks taskLocks;
+    private final Map<String, RowCounts> rowCounts;
+    // Dashboards fire the same v4 query from many browsers at once, run it once per burst
+    private final SingleFlight<DateQueryKey, List<TaskManagement>> dateV4Flights;
+    private final SingleFlight<DateQueryKey, byte[]> dateV4JsonFlights;
 
     public TaskManagementServiceImpl(TaskRepository taskRepository,
-                                     ITaskManagementMapper taskMapper) {
+                                     ITaskManagementMapper taskMapper,
+                                     TaskJsonCache taskJsonCache,
+                                     WorkloadTracker workloadTracker,
+                                     AssignmentProperties assignmentProperties,
+                                     TaskReadinessTracker readinessTracker,
+                                     TaskLocks taskLocks,
+                                     MeterRegistry meterRegistry) {
         this.taskRepository = taskRepository;
         this.taskMapper = taskMapper;
+        this.taskJsonCache = taskJsonCache;
+        this.workloadTracker = workloadTracker;
+        this.assignmentProperties = assignmentProperties;
+        this.readinessTracker = readinessTracker;
+        this.taskLocks = taskLocks;
+        this.rowCounts = Map.of(
+                "fetch-by-date-v1", RowCounts.register(meterRegistry, "fetch-by-date-v1"),
+                "fetch-by-date-v2", RowCounts.register(meterRegistry, "fetch-by-date-v2"),
+                "fetch-by-date-v3", RowCounts.register(meterRegistry, "fetch-by-date-v3"),
+                "fetch-by-date-v4", RowCounts.register(meterRegistry, "fetch-by-date-v4"),
+                "reference", RowCounts.register(meterRegistry, "reference"),
+                "priority", RowCounts.register(meterRegistry, "priority"));
+        this.dateV4Flights = new SingleFlight<>(meterRegistry, "fetch-by-date-v4");
+        this.dateV4JsonFlights = new SingleFlight<>(meterRegistry, "fetch-by-date-v4-json");
     }
 
     @Override
@@ -36,10 +80,20 @@ public class TaskManagementServiceImpl implements TaskManagementService {
         return taskMapper.modelToDto(task);
     }
 
+    @Override
+    public byte[] findTaskByIdAsJson(Long id) {
+        long started = ServerTiming.now();
+        TaskManagement task = taskRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id:" + id));
+        ServerTiming.record("lookup", started);
+        return serialize(task);
+    }
+
     @Override
     public List<TaskManagementDto> createTasks(TaskCreateRequest
                                                        createRequest) {
-        List<TaskManagement> createdTasks = new ArrayList<>();
+        List<TaskManagement> newTasks = new ArrayList<>();
+        List<String> assigneePools = new ArrayList<>();
         for (TaskCreateRequest.RequestItem item :
                 createRequest.getRequests()) {
             var newTask = TaskManagement.builder()
@@ -52,26 +106,39 @@ public class TaskManagementServiceImpl implements TaskManagementService {
                     .status(TaskStatus.ASSIGNED)
                     .description("New task created.")
                     .build();
-            createdTasks.add(taskRepository.save(newTask));
+            newTasks.add(newTask);
+            assigneePools.add(item.getAssigneePool());
         }
-        return taskMapper.modelListToDtoList(createdTasks);
+        return taskMapper.modelListToDtoList(saveAllAssigned(newTasks, assigneePools));
     }
 
     @Override
     public List<TaskManagementDto> updateTasks(UpdateTaskRequest
                                                        updateRequest) {
         List<TaskManagement> updatedTasks = new ArrayList<>();
-        for (UpdateTaskRequest.RequestItem item :
-                updateRequest.getRequests()) {
-            TaskManagement task = taskRepository.findById(item.getTaskid())
-                    .orElseThrow(() -> new ResourceNotFoundException("Task not found with id:" + item.getTaskid()));
-            if (item.getTaskstatus() != null) {
-                task.setStatus(item.getTaskstatus());
+        // A task named twice is loaded once, stores that read into fresh objects would otherwise lose the first change
+        Map<Long, TaskManagement> loaded = new LinkedHashMap<>();
+        List<Long> ids = updateRequest.getRequests().stream().map(UpdateTaskRequest.RequestItem::getTaskid).toList();
+        try (TaskLocks.Held ignored = taskLocks.lockAll(ids)) {
+            // Every id is found before any task is touched, a missing one fails the request with nothing changed
+            for (Long id : ids) {
+                if (!loaded.containsKey(id)) {
+                    loaded.put(id, taskRepository.findById(id)
+                            .orElseThrow(() -> new ResourceNotFoundException("Task not found with id:" + id)));
+                }
             }
-            if (item.getDescription() != null) {
-                task.setDescription(item.getDescription());
+            for (UpdateTaskRequest.RequestItem item :
+                    updateRequest.getRequests()) {
+                TaskManagement task = loaded.get(item.getTaskid());
+                if (item.getTaskstatus() != null) {
+                    task.setStatus(item.getTaskstatus());
+                }
+                if (item.getDescription() != null) {
+                    task.setDescription(item.getDescription());
+                }
+                updatedTasks.add(task);
             }
-            updatedTasks.add(taskRepository.save(task));
+            taskRepository.saveAll(new ArrayList<>(loaded.values()));
         }
         return taskMapper.modelListToDtoList(updatedTasks);
     }
@@ -117,20 +184,33 @@ public class TaskManagementServiceImpl implements TaskManagementService {
     public String assignByReferenceV2(AssignByReferenceRequest request) {
         List<Task> applicableTasks = Task.getTasksByReferenceType(request.getReferenceType());
 
+        List<Long> existingIds = taskRepository.findByReferenceIdAndReferenceType(request.getReferenceId(),
+                request.getReferenceType()).stream().map(TaskManagement::getId).toList();
+        try (TaskLocks.Held ignored = taskLocks.lockAll(existingIds)) {
+            reassignByReference(request, applicableTasks);
+        }
+        return "Tasks reassigned successfully for reference " + request.getReferenceId();
+    }
+
+    // Runs under the locks of the reference's tasks, read again so no change made before they were taken is lost
+    private void reassignByReference(AssignByReferenceRequest request, List<Task> applicableTasks) {
         List<TaskManagement> existingTasks =
                 taskRepository.findByReferenceIdAndReferenceType(request.getReferenceId(),
                         request.getReferenceType());
 
+        // Cancellations and replacements go to the store as one batch
+        List<TaskManagement> changed = new ArrayList<>();
+        List<String> assigneePools = new ArrayList<>();
+        List<TaskManagement> cancelled = new ArrayList<>();
         for (Task taskType : applicableTasks) {
             // Cancelling all existing tasks of this type that are not already completed/cancelled
             for (TaskManagement existing : existingTasks) {
                 if (existing.getTask() == taskType &&
                         existing.getStatus() != TaskStatus.COMPLETED &&
                         existing.getStatus() != TaskStatus.CANCELLED) {
-
-                    existing.setStatus(TaskStatus.CANCELLED);
-                    existing.setDescription("Cancelled due to reassignment");
-                    taskRepository.save(existing);
+                    cancelled.add(existing);
+                    changed.add(existing);
+                    assigneePools.add(null);
                 }
             }
 
@@ -146,10 +226,117 @@ public class TaskManagementServiceImpl implements TaskManagementService {
                     .taskDeadlineTime(System.currentTimeMillis() + 86400000) //1day
                     .build();
 
-            taskRepository.save(newTask);
+            changed.add(newTask);
+            assigneePools.add(request.getAssigneePool());
         }
+        saveAllAssigned(changed, assigneePools, () -> cancelled.forEach(existing -> {
+            existing.setStatus(TaskStatus.CANCELLED);
+            existing.setDescription("Cancelled due to reassignment");
+        }));
+    }
 
-        return "Tasks reassigned successfully for reference " + request.getReferenceId();
+    /**
+     * Finds the assignee's open tasks through the assignee index and moves them in batches.
+     * Each batch takes its tasks' locks, reads them again, changes copies and saves those
+     * with one saveAll, so an update or comment racing the handover is never lost, readers
+     * never see half a batch moved and a failed save leaves the stored tasks as they were.
+     */
+    @Override
+    public HandoverResponse handover(HandoverRequest request) {
+        Long from = request.fromAssigneeId();
+        if (from == null) {
+            throw new IllegalArgumentException("from_assignee_id is required");
+        }
+        if ((request.toAssigneeId() == null) == (request.assigneePool() == null)) {
+            throw new IllegalArgumentException("Give exactly one of to_assignee_id or assignee_pool");
+        }
+        if (from.equals(request.toAssigneeId())) {
+            throw new IllegalArgumentException("Cannot hand tasks over to the same assignee");
+        }
+
+        List<TaskManagement> open = taskRepository.findByAssigneeIdIn(List.of(from)).stream()
+                .filter(TaskManagementServiceImpl::isOpen)
+                .toList();
+        int batchSize = Math.max(1, assignmentProperties.getHandoverBatchSize());
+        Map<Long, Integer> movedTo = new TreeMap<>();
+        int moved = 0;
+        int batches = 0;
+        for (int start = 0; start < open.size(); start += batchSize) {
+            List<Long> batch = open.subList(start, Math.min(open.size(), start + batchSize)).stream()
+                    .map(TaskManagement::getId)
+                    .toList();
+            List<TaskManagement> handedOver = new ArrayList<>(batch.size());
+            List<Long> targets = new ArrayList<>(batch.size());
+            List<WorkloadTracker.Reservation> reservations = new ArrayList<>();
+            long now = System.currentTimeMillis();
+            try (TaskLocks.Held ignored = taskLocks.lockAll(batch)) {
+                for (Long id : batch) {
+                    TaskManagement task = taskRepository.findById(id).orElse(null);
+                    // deleted, finished or reassigned by someone else since the lookup
+                    if (task == null || !from.equals(task.getAssigneeId()) || !isOpen(task)) {
+                        continue;
+                    }
+                    Long to = request.toAssigneeId();
+                    if (to == null) {
+                        WorkloadTracker.Reservation reservation = workloadTracker.reserve(request.assigneePool(),
+                                task.getPriority(), task.getTaskDeadlineTime(), from);
+                        reservations.add(reservation);
+                        to = reservation.assigneeId();
+                    }
+                    handedOver.add(task.copy());
+                    targets.add(to);
+                }
+                // only once every target is known, a pool that cannot take them leaves the batch untouched
+                for (int i = 0; i < handedOver.size(); i++) {
+                    TaskManagement task = handedOver.get(i);
+                    Long to = targets.get(i);
+                    task.setAssigneeId(to);
+                    task.getActivityHistory().add(new Activity("Handed over from assignee " + from + " to " + to, now));
+                }
+                if (!handedOver.isEmpty()) {
+                    taskRepository.saveAll(handedOver);
+                    targets.forEach(to -> movedTo.merge(to, 1, Integer::sum));
+                    moved += handedOver.size();
+                    batches++;
+                }
+            } finally {
+                reservations.forEach(WorkloadTracker.Reservation::close);
+            }
+        }
+        return new HandoverResponse(moved, batches, movedTo);
+    }
+
+    private static boolean isOpen(TaskManagement task) {
+        return task.getStatus() == TaskStatus.ASSIGNED || task.getStatus() == TaskStatus.STARTED;
+    }
+
+    private List<TaskManagement> saveAllAssigned(List<TaskManagement> tasks, List<String> assigneePools) {
+        return saveAllAssigned(tasks, assigneePools, () -> {
+        });
+    }
+
+    // No explicit assignee but a pool: hand the task to the least loaded member. Reservations
+    // are held until the batch is stored, so the tasks of one batch spread across the pool.
+    // Only new tasks name a pool; changes to stored ones are applied once every pool has answered
+    private List<TaskManagement> saveAllAssigned(List<TaskManagement> tasks, List<String> assigneePools,
+                                                 Runnable changes) {
+        List<WorkloadTracker.Reservation> reservations = new ArrayList<>();
+        try {
+            for (int i = 0; i < tasks.size(); i++) {
+                TaskManagement task = tasks.get(i);
+                String assigneePool = assigneePools.get(i);
+                if (task.getAssigneeId() == null && assigneePool != null) {
+                    WorkloadTracker.Reservation reservation =
+                            workloadTracker.reserve(assigneePool, task.getPriority(), task.getTaskDeadlineTime());
+                    reservations.add(reservation);
+                    task.setAssigneeId(reservation.assigneeId());
+                }
+            }
+            changes.run();
+            return taskRepository.saveAll(tasks);
+        } finally {
+            reservations.forEach(WorkloadTracker.Reservation::close);
+        }
     }
 
     //Bug2 code
@@ -168,6 +355,7 @@ public class TaskManagementServiceImpl implements TaskManagementService {
                     return true;
                 })
                 .collect(Collectors.toList());
+        rowCounts.get("fetch-by-date-v1").record(tasks.size(), filteredTasks.size());
         return taskMapper.modelListToDtoList(filteredTasks);
     }
 
@@ -182,6 +370,7 @@ public class TaskManagementServiceImpl implements TaskManagementService {
                         && task.getTaskDeadlineTime() >= request.getStartDate()
                         && task.getTaskDeadlineTime() <= request.getEndDate())
                 .toList();//this is better to return as it is unmodifiable , we are just mapping and returning the list
+        rowCounts.get("fetch-by-date-v2").record(tasks.size(), filteredTasks.size());
         return taskMapper.modelListToDtoList(filteredTasks);
     }
 
@@ -192,6 +381,7 @@ public class TaskManagementServiceImpl implements TaskManagementService {
         List<TaskManagement> filtered = all.stream()
                 .filter(t -> t.getReferenceId().equals(referenceId))
                 .collect(Collectors.toList());
+        rowCounts.get("reference").record(all.size(), filtered.size());
         return taskMapper.modelListToDtoList(filtered);
     }
 
@@ -199,22 +389,47 @@ public class TaskManagementServiceImpl implements TaskManagementService {
     public List<TaskManagementDto> fetchTasksByDateV3(TaskFetchByDateRequest request) {
         List<TaskManagement> tasks = taskRepository.findByAssigneeIdIn(request.getAssigneeIds());
 
-        return tasks.stream()
+        List<TaskManagementDto> result = tasks.stream()
                 .filter(task -> task.getStatus() != TaskStatus.CANCELLED) //  fix  is here
                 .filter(task -> task.getTaskDeadlineTime() >= request.getStartDate()
                         && task.getTaskDeadlineTime() <= request.getEndDate())
                 .map(taskMapper::modelToDto)
                 .collect(Collectors.toList());
+        rowCounts.get("fetch-by-date-v3").record(tasks.size(), result.size());
+        return result;
     }
 
     @Override
     public List<TaskManagementDto> fetchTasksByDateV4(TaskFetchByDateRequest request) {
+        List<TaskManagement> tasks = findTasksByDateV4(request);
+        long started = ServerTiming.now();
+        List<TaskManagementDto> result = tasks.stream()
+                .map(taskMapper::modelToDto)
+                .collect(Collectors.toList());
+        ServerTiming.record("map", started);
+        return result;
+    }
+
+    @Override
+    public byte[] fetchTasksByDateV4AsJson(TaskFetchByDateRequest request) {
+        return dateV4JsonFlights.execute(DateQueryKey.of(request), () -> serialize(findTasksByDateV4(request)));
+    }
+
+    private List<TaskManagement> findTasksByDateV4(TaskFetchByDateRequest request) {
+        return dateV4Flights.execute(DateQueryKey.of(request), () -> scanTasksByDateV4(request));
+    }
+
+    private List<TaskManagement> scanTasksByDateV4(TaskFetchByDateRequest request) {
+        ServerTiming.detail(request);
+        long started = ServerTiming.now();
         List<TaskManagement> tasks = taskRepository.findByAssigneeIdIn(request.getAssigneeIds());
+        ServerTiming.record("scan", started);
 
         var start = request.getStartDate();
         var end = request.getEndDate();
 
-        return tasks.stream()
+        started = ServerTiming.now();
+        List<TaskManagement> result = tasks.stream()
                 .filter(task -> task.getStatus() != TaskStatus.CANCELLED)
                 // CASE 1: deadline is within requested date range
 
@@ -224,55 +439,121 @@ public class TaskManagementServiceImpl implements TaskManagementService {
                                 || (task.getTaskDeadlineTime() < start &&
                                 (task.getStatus() == TaskStatus.ASSIGNED || task.getStatus() == TaskStatus.STARTED))
                 )
-                .map(taskMapper::modelToDto)
-                .collect(Collectors.toList());
+                .toList();
+        if (Boolean.TRUE.equals(request.getReadyOnly())) {
+            result = readinessTracker.withoutBlocked(result);
+        }
+        ServerTiming.record("filter", started);
+        rowCounts.get("fetch-by-date-v4").record(tasks.size(), result.size());
+        return result;
+    }
+
+    // Mapping happens inside the cache on a miss, so map and serialize share one phase here
+    private byte[] serialize(TaskManagement task) {
+        long started = ServerTiming.now();
+        byte[] body = taskJsonCache.toResponse(task);
+        ServerTiming.record("serialize", started);
+        return body;
+    }
+
+    private byte[] serialize(List<TaskManagement> tasks) {
+        long started = ServerTiming.now();
+        byte[] body = taskJsonCache.toResponse(tasks);
+        ServerTiming.record("serialize", started);
+        return body;
     }
 
     @Override
     public TaskManagementDto updateTaskPriority(UpdateTaskPriorityRequest request) {
-        TaskManagement task = taskRepository.findById(request.taskId())
-                .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
-        task.setPriority(request.newPriority());
-        task.setDescription("Priority changed to " + request.newPriority());
-        task.getActivityHistory().add(new Activity("Priority changed to " + request.newPriority(), System.currentTimeMillis()));
-        taskRepository.save(task);
-        return taskMapper.modelToDto(task);
+        try (TaskLocks.Held ignored = taskLocks.lock(request.taskId())) {
+            TaskManagement task = taskRepository.findById(request.taskId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
+            task.setPriority(request.newPriority());
+            task.setDescription("Priority changed to " + request.newPriority());
+            task.getActivityHistory().add(new Activity("Priority changed to " + request.newPriority(), System.currentTimeMillis()));
+            taskRepository.save(task);
+            return taskMapper.modelToDto(task);
+        }
     }
 
     @Override
     public List<TaskManagementDto> getTasksByPriority(Priority priority) {
+        return findTasksByPriority(priority).stream()
+                .map(taskMapper::modelToDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public byte[] getTasksByPriorityAsJson(Priority priority) {
+        return serialize(findTasksByPriority(priority));
+    }
+
+    private List<TaskManagement> findTasksByPriority(Priority priority) {
+        long started = ServerTiming.now();
         List<TaskManagement> allTasks = taskRepository.findAll();
+        ServerTiming.record("scan", started);
 
-        return allTasks.stream()
+        started = ServerTiming.now();
+        List<TaskManagement> result = allTasks.stream()
                 .filter(task -> task.getPriority() == priority)
-                .map(taskMapper::modelToDto)
-                .collect(Collectors.toList());
+                .toList();
+        ServerTiming.record("filter", started);
+        rowCounts.get("priority").record(allTasks.size(), result.size());
+        return result;
     }
 
     @Override
     public TaskManagementDto addCommentToTask(AddCommentRequest request) {
-        TaskManagement task = taskRepository.findById(request.taskId())
-                .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
+        try (TaskLocks.Held ignored = taskLocks.lock(request.taskId())) {
+            TaskManagement task = taskRepository.findById(request.taskId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
 
-        long now = System.currentTimeMillis();
+            long now = System.currentTimeMillis();
 
-        task.getComments().add(new Comment(request.message(), now));
-        task.getActivityHistory().add(new Activity("User added a comment", now));
+            task.getComments().add(new Comment(request.message(), now));
+            task.getActivityHistory().add(new Activity("User added a comment", now));
 
-        taskRepository.save(task);
-        return taskMapper.modelToDto(task);
+            taskRepository.save(task);
+            return taskMapper.modelToDto(task);
+        }
     }
 
     @Override
     public TaskManagementDto getTaskDetails(Long taskId) {
         TaskManagement task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
-        // Sort both lists by timestamp
-        task.getActivityHistory().sort(Comparator.comparingLong(Activity::getTimestamp));
-        task.getComments().sort(Comparator.comparingLong(Comment::getTimestamp));
+        // Sort the copies in the DTO, the stored history is shared with other readers
+        TaskManagementDto dto = taskMapper.modelToDto(task);
+        if (dto.getActivityHistory() != null) {
+            dto.getActivityHistory().sort(Comparator.comparingLong(Activity::getTimestamp));
+        }
+        if (dto.getComments() != null) {
+            dto.getComments().sort(Comparator.comparingLong(Comment::getTimestamp));
+        }
+        return dto;
+    }
 
-        return taskMapper.modelToDto(task);
+    // Requests naming the same assignees in any order, or more than once, fetch the same tasks
+    private record DateQueryKey(List<Long> assigneeIds, Long startDate, Long endDate, boolean readyOnly) {
+        static DateQueryKey of(TaskFetchByDateRequest request) {
+            List<Long> assigneeIds = request.getAssigneeIds() == null ? null
+                    : request.getAssigneeIds().stream().filter(Objects::nonNull).distinct().sorted().toList();
+            return new DateQueryKey(assigneeIds, request.getStartDate(), request.getEndDate(),
+                    Boolean.TRUE.equals(request.getReadyOnly()));
+        }
     }
 
+    // Rows a filter query had to look at versus what it handed back
+    private record RowCounts(DistributionSummary scanned, DistributionSummary returned) {
+        static RowCounts register(MeterRegistry registry, String query) {
+            return new RowCounts(
+                    DistributionSummary.builder("task.query.rows.scanned").tag("query", query).register(registry),
+                    DistributionSummary.builder("task.query.rows.returned").tag("query", query).register(registry));
+        }
 
+        void record(int scannedRows, int returnedRows) {
+            scanned.record(scannedRows);
+            returned.record(returnedRows);
+        }
+    }
 }
@@ -0,0 +1,66 @@
+package com.railse.hiring.workforcemgmt.service.impl;
+
+import com.railse.hiring.workforcemgmt.common.timing.ServerTiming;
+import com.railse.hiring.workforcemgmt.dto.QueryPlanDto;
+import com.railse.hiring.workforcemgmt.dto.TaskManagementDto;
+import com.railse.hiring.workforcemgmt.dto.TaskQueryRequest;
+import com.railse.hiring.workforcemgmt.dto.TaskQueryResponse;
+import com.railse.hiring.workforcemgmt.mapper.ITaskManagementMapper;
+import com.railse.hiring.workforcemgmt.repository.QueryPlan;
+import com.railse.hiring.workforcemgmt.repository.QueryResult;
+import com.railse.hiring.workforcemgmt.repository.TaskQuery;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import com.railse.hiring.workforcemgmt.service.TaskQueryService;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Timed(value = "task.service", histogram = true)
+public class TaskQueryServiceImpl implements TaskQueryService {
+    private static final int DEFAULT_LIMIT = 100;
+    private static final int MAX_LIMIT = 1000;
+
+    private final TaskRepository taskRepository;
+    private final ITaskManagementMapper taskMapper;
+
+    @Override
+    public TaskQueryResponse query(TaskQueryRequest request) {
+        int limit = request.limit() == null ? DEFAULT_LIMIT : Math.max(1, Math.min(request.limit(), MAX_LIMIT));
+        TaskQuery query = TaskQuery.builder()
+                .assigneeIds(request.assigneeIds())
+                .referenceId(request.referenceId())
+                .referenceType(request.referenceType())
+                .statuses(request.statuses())
+                .priorities(request.priorities())
+                .tasks(request.tasks())
+                .deadlineFrom(request.deadlineFrom())
+                .deadlineTo(request.deadlineTo())
+                .limit(limit)
+                .afterId(request.cursor())
+                .build();
+
+        long started = ServerTiming.now();
+        QueryResult result = taskRepository.query(query);
+        ServerTiming.record("query", started);
+        ServerTiming.detail(result.plan());
+
+        started = ServerTiming.now();
+        List<TaskManagementDto> tasks = result.tasks().stream()
+                .map(taskMapper::modelToDto)
+                .toList();
+        ServerTiming.record("map", started);
+        // a short page is the last one
+        Long nextCursor = tasks.size() == limit ? result.tasks().get(limit - 1).getId() : null;
+        return new TaskQueryResponse(tasks, nextCursor, request.explain() ? toDto(result.plan()) : null);
+    }
+
+    private static QueryPlanDto toDto(QueryPlan plan) {
+        return new QueryPlanDto(plan.accessPath(), plan.estimatedRows(),
+                plan.residualFilters().stream().map(Enum::name).toList(), plan.limit(),
+                plan.rowsExamined(), plan.rowsReturned());
+    }
+}
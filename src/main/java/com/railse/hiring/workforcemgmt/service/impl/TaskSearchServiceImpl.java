@@ -0,0 +1,54 @@
+package com.railse.hiring.workforcemgmt.service.impl;
+
+import com.railse.hiring.workforcemgmt.common.timing.ServerTiming;
+import com.railse.hiring.workforcemgmt.dto.TaskSearchHitDto;
+import com.railse.hiring.workforcemgmt.dto.TaskSearchRequest;
+import com.railse.hiring.workforcemgmt.dto.TaskSearchResponse;
+import com.railse.hiring.workforcemgmt.mapper.ITaskManagementMapper;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import com.railse.hiring.workforcemgmt.search.SearchFilter;
+import com.railse.hiring.workforcemgmt.search.SearchHit;
+import com.railse.hiring.workforcemgmt.search.SearchResult;
+import com.railse.hiring.workforcemgmt.search.TaskSearchIndex;
+import com.railse.hiring.workforcemgmt.service.TaskSearchService;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Timed(value = "task.service", histogram = true)
+public class TaskSearchServiceImpl implements TaskSearchService {
+    private static final int DEFAULT_LIMIT = 20;
+    private static final int MAX_LIMIT = 500;
+
+    private final TaskSearchIndex searchIndex;
+    private final TaskRepository taskRepository;
+    private final ITaskManagementMapper taskMapper;
+
+    @Override
+    public TaskSearchResponse search(TaskSearchRequest request) {
+        if (request.query() == null || request.query().isBlank()) {
+            throw new IllegalArgumentException("query must not be blank");
+        }
+        int limit = request.limit() == null ? DEFAULT_LIMIT : Math.max(0, Math.min(request.limit(), MAX_LIMIT));
+
+        long started = ServerTiming.now();
+        SearchResult result = searchIndex.search(request.query(),
+                new SearchFilter(request.statuses(), request.priorities(), request.assigneeIds()), limit);
+        ServerTiming.record("search", started);
+
+        started = ServerTiming.now();
+        List<TaskSearchHitDto> hits = new ArrayList<>(result.hits().size());
+        for (SearchHit hit : result.hits()) {
+            // A task deleted since the search ran is just left out
+            taskRepository.findById(hit.taskId())
+                    .ifPresent(task -> hits.add(new TaskSearchHitDto(hit.score(), taskMapper.modelToDto(task))));
+        }
+        ServerTiming.record("map", started);
+        return new TaskSearchResponse(result.totalHits(), hits);
+    }
+}
@@ -0,0 +1,238 @@
+package com.railse.hiring.workforcemgmt.service.impl;
+
+import com.railse.hiring.workforcemgmt.common.concurrent.TaskLocks;
+import com.railse.hiring.workforcemgmt.common.exception.TaskVersionConflictException;
+import com.railse.hiring.workforcemgmt.config.TransitionProperties;
+import com.railse.hiring.workforcemgmt.dependency.TaskReadinessTracker;
+import com.railse.hiring.workforcemgmt.dto.TaskTransitionRequest;
+import com.railse.hiring.workforcemgmt.dto.TaskTransitionResponse;
+import com.railse.hiring.workforcemgmt.dto.TaskTransitionResponse.Outcome;
+import com.railse.hiring.workforcemgmt.dto.TaskTransitionResponse.Result;
+import com.railse.hiring.workforcemgmt.model.Activity;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import com.railse.hiring.workforcemgmt.service.TaskTransitionService;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Applies status changes in bulk under {@link TaskStatus#canTransitionTo}. Each item gets its
+ * own result, so a missing task or an illegal move is reported without touching the rest.
+ * <p>
+ * Large batches are split by lock stripe and the parts run side by side on a small pool.
+ * Each part takes its tasks' locks, checks and changes copies of them and stores the copies
+ * with one saveAll, so the stored tasks only change once that save succeeds. A task named
+ * twice lands in the same part, so its transitions apply in request order, e.g. STARTED then
+ * COMPLETED. A task changed by another process since it was read is reported as CONFLICT.
+ * <p>
+ * Readiness is judged against the stored tasks: starting a task in the same request that
+ * completes what it depends on reports BLOCKED, send the completions first.
+ */
+@Slf4j
+@Service
+@Timed(value = "task.service", histogram = true)
+public class TaskTransitionServiceImpl implements TaskTransitionService {
+    private final TaskRepository taskRepository;
+    private final TaskReadinessTracker readinessTracker;
+    private final TransitionProperties properties;
+    private final TaskLocks taskLocks;
+    private final Map<Outcome, Counter> outcomes = new EnumMap<>(Outcome.class);
+    private final ExecutorService pool;
+
+    public TaskTransitionServiceImpl(TaskRepository taskRepository,
+                                     TaskReadinessTracker readinessTracker,
+                                     TransitionProperties properties,
+                                     TaskLocks taskLocks,
+                                     MeterRegistry meterRegistry) {
+        this.taskRepository = taskRepository;
+        this.readinessTracker = readinessTracker;
+        this.properties = properties;
+        this.taskLocks = taskLocks;
+        for (Outcome outcome : Outcome.values()) {
+            outcomes.put(outcome, Counter.builder("task.transitions")
+                    .description("Bulk status transitions by outcome")
+                    .tag("outcome", outcome.name())
+                    .register(meterRegistry));
+        }
+        AtomicInteger threads = new AtomicInteger();
+        this.pool = Executors.newFixedThreadPool(Math.max(1, properties.getParallelism()), runnable -> {
+            Thread thread = new Thread(runnable, "task-transition-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void close() {
+        pool.shutdownNow();
+    }
+
+    @Override
+    public TaskTransitionResponse transition(TaskTransitionRequest request) {
+        List<TaskTransitionRequest.Item> items = request.transitions();
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("transitions must not be empty");
+        }
+        if (items.size() > properties.getMaxItems()) {
+            throw new IllegalArgumentException("At most " + properties.getMaxItems() + " transitions per request");
+        }
+
+        Result[] results = new Result[items.size()];
+        int parts = items.size() < properties.getParallelThreshold() ? 1 : Math.max(1, properties.getParallelism());
+        List<List<Integer>> partitions = new ArrayList<>(parts);
+        for (int p = 0; p < parts; p++) {
+            partitions.add(new ArrayList<>());
+        }
+        for (int i = 0; i < items.size(); i++) {
+            TaskTransitionRequest.Item item = items.get(i);
+            if (item == null || item.taskId() == null || item.status() == null) {
+                results[i] = new Result(item == null ? null : item.taskId(), Outcome.INVALID_TRANSITION,
+                        null, item == null ? null : item.status(), "task_id and status are required");
+            } else {
+                partitions.get(taskLocks.stripeOf(item.taskId()) % parts).add(i);
+            }
+        }
+
+        if (parts == 1) {
+            apply(items, partitions.get(0), results);
+        } else {
+            List<Future<?>> running = new ArrayList<>(parts);
+            for (List<Integer> partition : partitions) {
+                if (!partition.isEmpty()) {
+                    running.add(pool.submit(() -> apply(items, partition, results)));
+                }
+            }
+            await(running);
+        }
+        return summarise(results);
+    }
+
+    // Each part writes only its own slots of results, the futures publish them back to the caller
+    private void apply(List<TaskTransitionRequest.Item> items, List<Integer> partition, Result[] results) {
+        List<Long> ids = partition.stream().map(i -> items.get(i).taskId()).toList();
+        try (TaskLocks.Held ignored = taskLocks.lockAll(ids)) {
+            applyLocked(items, partition, results);
+        }
+    }
+
+    private void applyLocked(List<TaskTransitionRequest.Item> items, List<Integer> partition, Result[] results) {
+        // copies of the stored tasks, null marks a task that was looked up and not found
+        Map<Long, TaskManagement> loaded = new HashMap<>();
+        // the items applied to each changed task
+        Map<Long, List<Integer>> changed = new LinkedHashMap<>();
+        long now = System.currentTimeMillis();
+        for (int i : partition) {
+            TaskTransitionRequest.Item item = items.get(i);
+            Long id = item.taskId();
+            TaskStatus to = item.status();
+            TaskManagement task;
+            try {
+                if (loaded.containsKey(id)) {
+                    task = loaded.get(id);
+                } else {
+                    task = taskRepository.findById(id).map(TaskManagement::copy).orElse(null);
+                    loaded.put(id, task);
+                }
+            } catch (RuntimeException e) {
+                results[i] = new Result(id, Outcome.FAILED, null, to, e.getMessage());
+                continue;
+            }
+            if (task == null) {
+                results[i] = new Result(id, Outcome.NOT_FOUND, null, to, "Task not found with id:" + id);
+                continue;
+            }
+            TaskStatus from = task.getStatus();
+            if (from == to) {
+                results[i] = new Result(id, Outcome.UNCHANGED, from, to, null);
+            } else if (from == null || !from.canTransitionTo(to)) {
+                results[i] = new Result(id, Outcome.INVALID_TRANSITION, from, to,
+                        "Cannot move a task from " + from + " to " + to);
+            } else if (to == TaskStatus.STARTED && !readinessTracker.isReady(task)) {
+                results[i] = new Result(id, Outcome.BLOCKED, from, to,
+                        "Waiting on " + task.getTask().getDependencies() + " of reference " + task.getReferenceId());
+            } else {
+                task.setStatus(to);
+                task.getActivityHistory().add(new Activity("Status changed from " + from + " to " + to, now));
+                changed.computeIfAbsent(id, key -> new ArrayList<>()).add(i);
+                results[i] = new Result(id, Outcome.APPLIED, from, to, null);
+            }
+        }
+        if (changed.isEmpty()) {
+            return;
+        }
+        List<TaskManagement> copies = changed.keySet().stream().map(loaded::get).toList();
+        try {
+            taskRepository.saveAll(copies);
+        } catch (TaskVersionConflictException e) {
+            // a writer outside these locks got in first, store the tasks it did not touch one by one
+            for (TaskManagement copy : copies) {
+                try {
+                    taskRepository.save(copy);
+                } catch (TaskVersionConflictException conflict) {
+                    reject(results, changed.get(copy.getId()), Outcome.CONFLICT, conflict.getMessage());
+                } catch (RuntimeException failure) {
+                    log.warn("Saving transitioned task {} failed", copy.getId(), failure);
+                    reject(results, changed.get(copy.getId()), Outcome.FAILED, failure.getMessage());
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Saving {} transitioned tasks failed", copies.size(), e);
+            changed.values().forEach(applied -> reject(results, applied, Outcome.FAILED, e.getMessage()));
+        }
+    }
+
+    private static void reject(Result[] results, List<Integer> applied, Outcome outcome, String message) {
+        for (int i : applied) {
+            Result result = results[i];
+            results[i] = new Result(result.taskId(), outcome, result.from(), result.to(), message);
+        }
+    }
+
+    private static void await(List<Future<?>> running) {
+        try {
+            for (Future<?> future : running) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running.forEach(future -> future.cancel(true));
+            throw new IllegalStateException("Interrupted while applying transitions", e);
+        } catch (ExecutionException e) {
+            // apply() reports per item, anything escaping it is a bug
+            throw new IllegalStateException("Applying transitions failed", e.getCause());
+        }
+    }
+
+    private TaskTransitionResponse summarise(Result[] results) {
+        int applied = 0;
+        int unchanged = 0;
+        for (Result result : results) {
+            outcomes.get(result.outcome()).increment();
+            if (result.outcome() == Outcome.APPLIED) {
+                applied++;
+            } else if (result.outcome() == Outcome.UNCHANGED) {
+                unchanged++;
+            }
+        }
+        return new TaskTransitionResponse(applied, unchanged, results.length - applied - unchanged,
+                Arrays.asList(results));
+    }
+}
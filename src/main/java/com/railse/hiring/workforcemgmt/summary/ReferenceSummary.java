@@ -0,0 +1,20 @@
+package com.railse.hiring.workforcemgmt.summary;
+
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+
+import java.util.Map;
+
+/**
+ * Immutable view of one reference's tasks. Open means ASSIGNED or STARTED; the latest
+ * assignee is the one on the newest task of that type that is not cancelled.
+ */
+public record ReferenceSummary(Long referenceId, int total, Long earliestOpenDeadline, Map<Task, TypeSummary> types) {
+
+    public record TypeSummary(Map<TaskStatus, Integer> counts, Long latestAssigneeId, Long earliestOpenDeadline) {
+    }
+
+    public static ReferenceSummary empty(Long referenceId) {
+        return new ReferenceSummary(referenceId, 0, null, Map.of());
+    }
+}
@@ -0,0 +1,173 @@
+package com.railse.hiring.workforcemgmt.summary;
+
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.TaskContributionIndex;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-reference counts by task type and status, latest assignee per type and earliest open
+ * deadline. Each task contributes its type, status, assignee and deadline to its reference.
+ * Every change rebuilds the summary of the reference it touched and publishes it as an
+ * immutable snapshot, so reads are a single map lookup without the lock.
+ * <p>
+ * Only covers tasks in this node's store; in a cluster a reference's tasks all live on its
+ * owner, which is where the summary request has to go.
+ */
+@Component
+public class ReferenceSummaryIndex extends TaskContributionIndex<ReferenceSummaryIndex.Contribution> {
+    private final Map<Long, ReferenceState> states = new HashMap<>();
+    private final Map<Long, ReferenceSummary> snapshots = new ConcurrentHashMap<>();
+    // References changed since the last publish; a rebuild publishes each one once, not per task
+    private final Set<Long> touched = new HashSet<>();
+
+    public ReferenceSummaryIndex(@Qualifier("localTaskStore") TaskRepository localTaskStore,
+                                 MeterRegistry meterRegistry) {
+        super(localTaskStore);
+        Gauge.builder("task.summary.references", snapshots, Map::size)
+                .description("References with a maintained task summary")
+                .register(meterRegistry);
+    }
+
+    public ReferenceSummary summaryOf(Long referenceId) {
+        ReferenceSummary summary = snapshots.get(referenceId);
+        return summary != null ? summary : ReferenceSummary.empty(referenceId);
+    }
+
+    // Every task counts, finished and cancelled ones included, so only incomplete tasks are left out
+    @Override
+    protected Contribution contributionOf(TaskManagement task) {
+        if (task.getReferenceId() == null || task.getTask() == null || task.getStatus() == null) {
+            return null;
+        }
+        return new Contribution(task.getId(), task.getReferenceId(), task.getTask(), task.getStatus(),
+                task.getAssigneeId(), task.getTaskDeadlineTime());
+    }
+
+    // A task moving between references touches both
+    @Override
+    protected void change(Contribution previous, Contribution next) {
+        if (previous != null) {
+            states.get(previous.referenceId()).remove(previous);
+            touched.add(previous.referenceId());
+        }
+        if (next != null) {
+            states.computeIfAbsent(next.referenceId(), id -> new ReferenceState()).add(next);
+            touched.add(next.referenceId());
+        }
+    }
+
+    @Override
+    protected void afterChanges() {
+        touched.forEach(this::publish);
+        touched.clear();
+    }
+
+    private void publish(Long referenceId) {
+        ReferenceState state = states.get(referenceId);
+        if (state == null || state.total == 0) {
+            states.remove(referenceId);
+            snapshots.remove(referenceId);
+            return;
+        }
+        snapshots.put(referenceId, state.snapshot(referenceId));
+    }
+
+    private static boolean isOpen(TaskStatus status) {
+        return status == TaskStatus.ASSIGNED || status == TaskStatus.STARTED;
+    }
+
+    record Contribution(Long taskId, Long referenceId, Task task, TaskStatus status,
+                                Long assigneeId, Long deadline) {
+    }
+
+    private static final class ReferenceState {
+        private final Map<Task, TypeState> types = new EnumMap<>(Task.class);
+        private int total;
+
+        void add(Contribution contribution) {
+            types.computeIfAbsent(contribution.task(), task -> new TypeState()).add(contribution);
+            total++;
+        }
+
+        void remove(Contribution contribution) {
+            TypeState type = types.get(contribution.task());
+            type.remove(contribution);
+            if (type.total == 0) {
+                types.remove(contribution.task());
+            }
+            total--;
+        }
+
+        ReferenceSummary snapshot(Long referenceId) {
+            Map<Task, ReferenceSummary.TypeSummary> summaries = new EnumMap<>(Task.class);
+            Long earliest = null;
+            for (Map.Entry<Task, TypeState> entry : types.entrySet()) {
+                ReferenceSummary.TypeSummary summary = entry.getValue().snapshot();
+                summaries.put(entry.getKey(), summary);
+                Long deadline = summary.earliestOpenDeadline();
+                if (deadline != null && (earliest == null || deadline < earliest)) {
+                    earliest = deadline;
+                }
+            }
+            return new ReferenceSummary(referenceId, total, earliest, Collections.unmodifiableMap(summaries));
+        }
+    }
+
+    private static final class TypeState {
+        private final int[] counts = new int[TaskStatus.values().length];
+        // Tasks that are not cancelled by id; ids grow, so the last entry is the newest task
+        private final TreeMap<Long, Long> assigneeByTask = new TreeMap<>();
+        // Open deadlines with how many tasks share each
+        private final TreeMap<Long, Integer> openDeadlines = new TreeMap<>();
+        private int total;
+
+        void add(Contribution contribution) {
+            counts[contribution.status().ordinal()]++;
+            total++;
+            if (contribution.status() != TaskStatus.CANCELLED) {
+                assigneeByTask.put(contribution.taskId(), contribution.assigneeId());
+            }
+            if (isOpen(contribution.status()) && contribution.deadline() != null) {
+                openDeadlines.merge(contribution.deadline(), 1, Integer::sum);
+            }
+        }
+
+        void remove(Contribution contribution) {
+            counts[contribution.status().ordinal()]--;
+            total--;
+            if (contribution.status() != TaskStatus.CANCELLED) {
+                assigneeByTask.remove(contribution.taskId());
+            }
+            if (isOpen(contribution.status()) && contribution.deadline() != null) {
+                openDeadlines.computeIfPresent(contribution.deadline(), (deadline, n) -> n == 1 ? null : n - 1);
+            }
+        }
+
+        ReferenceSummary.TypeSummary snapshot() {
+            Map<TaskStatus, Integer> byStatus = new EnumMap<>(TaskStatus.class);
+            for (TaskStatus status : TaskStatus.values()) {
+                if (counts[status.ordinal()] > 0) {
+                    byStatus.put(status, counts[status.ordinal()]);
+                }
+            }
+            Long latestAssignee = assigneeByTask.isEmpty() ? null : assigneeByTask.lastEntry().getValue();
+            Long earliest = openDeadlines.isEmpty() ? null : openDeadlines.firstKey();
+            return new ReferenceSummary.TypeSummary(Collections.unmodifiableMap(byStatus), latestAssignee, earliest);
+        }
+    }
+}
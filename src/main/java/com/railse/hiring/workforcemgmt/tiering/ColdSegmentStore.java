@@ -0,0 +1,230 @@
+package com.railse.hiring.workforcemgmt.tiering;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Append-only segment files of gzipped JSON blocks, each block holding a batch of
+ * archived tasks as [int length][gzip bytes]. Only the per-task block location, reference
+ * and status stay on heap. Removing a task just forgets its location, the bytes stay in
+ * the segment as garbage.
+ */
+public class ColdSegmentStore implements AutoCloseable {
+    private static final String SUFFIX = ".cold";
+
+    private final Path directory;
+    private final long segmentMaxBytes;
+    private final ObjectMapper objectMapper;
+    private final List<FileChannel> segments = new CopyOnWriteArrayList<>();
+    private final Map<Long, Location> locations = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> byReference = new ConcurrentHashMap<>();
+    private final Map<TaskStatus, LongAdder> statusCounts = new EnumMap<>(TaskStatus.class);
+    private final LongAdder diskBytes = new LongAdder();
+
+    public ColdSegmentStore(Path directory, long segmentMaxBytes, ObjectMapper objectMapper) {
+        this.directory = directory;
+        this.segmentMaxBytes = segmentMaxBytes;
+        this.objectMapper = objectMapper;
+        for (TaskStatus status : TaskStatus.values()) {
+            statusCounts.put(status, new LongAdder());
+        }
+        try {
+            Files.createDirectories(directory);
+            // the hot tier starts over on every boot and hands out the same ids again
+            try (Stream<Path> old = Files.list(directory)) {
+                for (Path file : old.filter(path -> path.toString().endsWith(SUFFIX)).toList()) {
+                    Files.delete(file);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not prepare cold store in " + directory, e);
+        }
+    }
+
+    // Writers are the single archive sweep, so appends are simply serialised
+    public synchronized void append(List<TaskManagement> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        try {
+            byte[] block = gzip(objectMapper.writeValueAsBytes(tasks));
+            FileChannel segment = currentSegment(block.length + Integer.BYTES);
+            long offset = segment.size();
+            ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + block.length);
+            buffer.putInt(block.length).put(block).flip();
+            while (buffer.hasRemaining()) {
+                segment.write(buffer, offset + buffer.position());
+            }
+            diskBytes.add(buffer.limit());
+            int segmentNo = segments.size() - 1;
+            for (TaskManagement task : tasks) {
+                Location location = new Location(segmentNo, offset, task.getReferenceId(), task.getStatus());
+                Location previous = locations.put(task.getId(), location);
+                if (previous != null) {
+                    forget(task.getId(), previous);
+                }
+                if (task.getReferenceId() != null) {
+                    byReference.computeIfAbsent(task.getReferenceId(), key -> ConcurrentHashMap.newKeySet())
+                            .add(task.getId());
+                }
+                if (task.getStatus() != null) {
+                    statusCounts.get(task.getStatus()).increment();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not append to cold store", e);
+        }
+    }
+
+    public Optional<TaskManagement> get(Long id) {
+        Location location = locations.get(id);
+        if (location == null) {
+            return Optional.empty();
+        }
+        for (TaskManagement task : readBlock(location)) {
+            if (id.equals(task.getId())) {
+                return Optional.of(task);
+            }
+        }
+        return Optional.empty();
+    }
+
+    // Tasks archived together usually share blocks, each block is inflated once
+    public List<TaskManagement> findByReference(Long referenceId) {
+        Set<Long> ids = referenceId == null ? Set.of() : byReference.getOrDefault(referenceId, Set.of());
+        Map<Location, List<Long>> byBlock = new LinkedHashMap<>();
+        for (Long id : ids) {
+            Location location = locations.get(id);
+            if (location != null) {
+                byBlock.computeIfAbsent(location.block(), key -> new ArrayList<>()).add(id);
+            }
+        }
+        List<TaskManagement> tasks = new ArrayList<>();
+        for (Map.Entry<Location, List<Long>> block : byBlock.entrySet()) {
+            for (TaskManagement task : readBlock(block.getKey())) {
+                if (block.getValue().contains(task.getId())) {
+                    tasks.add(task);
+                }
+            }
+        }
+        return tasks;
+    }
+
+    public boolean contains(Long id) {
+        return locations.containsKey(id);
+    }
+
+    public void remove(Long id) {
+        Location location = locations.remove(id);
+        if (location != null) {
+            forget(id, location);
+        }
+    }
+
+    public long count() {
+        return locations.size();
+    }
+
+    public long countByStatus(TaskStatus status) {
+        return statusCounts.get(status).sum();
+    }
+
+    public long diskBytes() {
+        return diskBytes.sum();
+    }
+
+    private void forget(Long id, Location location) {
+        if (location.referenceId() != null) {
+            byReference.computeIfPresent(location.referenceId(), (key, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+        if (location.status() != null) {
+            statusCounts.get(location.status()).decrement();
+        }
+    }
+
+    private FileChannel currentSegment(int bytesNeeded) throws IOException {
+        if (!segments.isEmpty()) {
+            FileChannel last = segments.get(segments.size() - 1);
+            if (last.size() == 0 || last.size() + bytesNeeded <= segmentMaxBytes) {
+                return last;
+            }
+        }
+        Path file = directory.resolve(String.format("segment-%06d%s", segments.size(), SUFFIX));
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segments.add(channel);
+        return channel;
+    }
+
+    private List<TaskManagement> readBlock(Location location) {
+        try {
+            FileChannel segment = segments.get(location.segment());
+            ByteBuffer header = ByteBuffer.allocate(Integer.BYTES);
+            readFully(segment, header, location.offset());
+            ByteBuffer block = ByteBuffer.allocate(header.flip().getInt());
+            readFully(segment, block, location.offset() + Integer.BYTES);
+            try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(block.array()))) {
+                return List.of(objectMapper.readValue(in.readAllBytes(), TaskManagement[].class));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read cold block", e);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Truncated cold segment");
+            }
+        }
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (FileChannel segment : segments) {
+            segment.close();
+        }
+    }
+
+    private record Location(int segment, long offset, Long referenceId, TaskStatus status) {
+        // identifies the block alone, so tasks from the same block group together
+        Location block() {
+            return new Location(segment, offset, null, null);
+        }
+    }
+}
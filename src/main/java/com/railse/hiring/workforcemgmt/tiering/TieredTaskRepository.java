@@ -0,0 +1,223 @@
+package com.railse.hiring.workforcemgmt.tiering;
+
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.QueryResult;
+import com.railse.hiring.workforcemgmt.repository.TaskQuery;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps open and recently finished tasks in the hot store and moves tasks that have been
+ * COMPLETED or CANCELLED for longer than archiveAfterMs into a ColdSegmentStore.
+ * Lookups by id and by reference fall through to the cold tier; listings, assignee
+ * lookups and queries only see the hot tier, which is the point of archiving.
+ * Saving an archived task brings it back into the hot store.
+ */
+@Slf4j
+public class TieredTaskRepository implements TaskRepository, AutoCloseable {
+    private final TaskRepository hot;
+    private final ColdSegmentStore cold;
+    private final TieringProperties properties;
+    // When each hot task was first seen in a terminal status, so a sweep never scans the store
+    private final Map<Long, Long> terminalSince = new ConcurrentHashMap<>();
+    private final Counter archived;
+    private final ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "task-tiering");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public TieredTaskRepository(TaskRepository hot, ColdSegmentStore cold, TieringProperties properties,
+                                MeterRegistry meterRegistry) {
+        this.hot = hot;
+        this.cold = cold;
+        this.properties = properties;
+        // Seeds were saved before this wrapper existed, their clock starts now
+        hot.findAll().forEach(this::track);
+        this.archived = Counter.builder("task.tiering.archived")
+                .description("Tasks moved to the cold tier")
+                .register(meterRegistry);
+        Gauge.builder("task.tiering.cold.tasks", cold, ColdSegmentStore::count)
+                .description("Tasks held in the cold tier")
+                .register(meterRegistry);
+        Gauge.builder("task.tiering.cold.bytes", cold, ColdSegmentStore::diskBytes)
+                .description("Bytes written to cold segments, including superseded blocks")
+                .register(meterRegistry);
+    }
+
+    public void start() {
+        sweeper.scheduleWithFixedDelay(() -> {
+            try {
+                archiveDue();
+            } catch (RuntimeException e) {
+                log.warn("Archive sweep failed", e);
+            }
+        }, properties.getSweepIntervalMs(), properties.getSweepIntervalMs(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Archives every task that has been terminal long enough. A block is written first and
+     * the hot copy evicted afterwards, only if nobody saved it in between; otherwise the
+     * cold copy is forgotten again and the task is retried on a later sweep if still due.
+     */
+    public int archiveDue() {
+        long cutoff = System.currentTimeMillis() - properties.getArchiveAfterMs();
+        List<TaskManagement> batch = new ArrayList<>();
+        List<Long> versions = new ArrayList<>();
+        int moved = 0;
+        for (Map.Entry<Long, Long> entry : terminalSince.entrySet()) {
+            if (entry.getValue() > cutoff) {
+                continue;
+            }
+            Optional<TaskManagement> task = hot.findById(entry.getKey());
+            if (task.isEmpty() || !isTerminal(task.get())) {
+                terminalSince.remove(entry.getKey(), entry.getValue());
+                continue;
+            }
+            // read before the block is serialised, a save in between then fails the eviction
+            versions.add(task.get().getVersion());
+            batch.add(task.get());
+            if (batch.size() >= properties.getBlockSize()) {
+                moved += archive(batch, versions);
+            }
+        }
+        moved += archive(batch, versions);
+        if (moved > 0) {
+            log.info("Archived {} tasks to the cold tier", moved);
+        }
+        return moved;
+    }
+
+    private int archive(List<TaskManagement> batch, List<Long> versions) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        cold.append(batch);
+        int moved = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            Long id = batch.get(i).getId();
+            if (hot.evict(id, versions.get(i))) {
+                terminalSince.remove(id);
+                moved++;
+            } else {
+                cold.remove(id);
+            }
+        }
+        archived.increment(moved);
+        batch.clear();
+        versions.clear();
+        return moved;
+    }
+
+    private void track(TaskManagement task) {
+        if (isTerminal(task)) {
+            terminalSince.putIfAbsent(task.getId(), System.currentTimeMillis());
+        } else {
+            terminalSince.remove(task.getId());
+        }
+    }
+
+    private static boolean isTerminal(TaskManagement task) {
+        return task.getStatus() == TaskStatus.COMPLETED || task.getStatus() == TaskStatus.CANCELLED;
+    }
+
+    @Override
+    public Optional<TaskManagement> findById(Long id) {
+        Optional<TaskManagement> task = hot.findById(id);
+        return task.isPresent() ? task : cold.get(id);
+    }
+
+    @Override
+    public TaskManagement save(TaskManagement task) {
+        TaskManagement saved = hot.save(task);
+        // an archived task that is written again lives in the hot tier from now on
+        cold.remove(saved.getId());
+        track(saved);
+        return saved;
+    }
+
+    @Override
+    public List<TaskManagement> saveAll(List<TaskManagement> tasks) {
+        List<TaskManagement> saved = hot.saveAll(tasks);
+        for (TaskManagement task : saved) {
+            cold.remove(task.getId());
+            track(task);
+        }
+        return saved;
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        hot.deleteById(id);
+        cold.remove(id);
+        terminalSince.remove(id);
+    }
+
+    @Override
+    public List<TaskManagement> findAll() {
+        return hot.findAll();
+    }
+
+    @Override
+    public List<TaskManagement> findByReferenceIdAndReferenceType(Long referenceId, ReferenceType referenceType) {
+        List<TaskManagement> tasks = new ArrayList<>(hot.findByReferenceIdAndReferenceType(referenceId, referenceType));
+        Set<Long> seen = new HashSet<>();
+        tasks.forEach(task -> seen.add(task.getId()));
+        for (TaskManagement task : cold.findByReference(referenceId)) {
+            if (task.getReferenceType() == referenceType && seen.add(task.getId())) {
+                tasks.add(task);
+            }
+        }
+        return tasks;
+    }
+
+    @Override
+    public List<TaskManagement> findByAssigneeIdIn(List<Long> assigneeIds) {
+        return hot.findByAssigneeIdIn(assigneeIds);
+    }
+
+    @Override
+    public QueryResult query(TaskQuery query) {
+        return hot.query(query);
+    }
+
+    @Override
+    public boolean evict(Long id, long expectedVersion) {
+        return hot.evict(id, expectedVersion);
+    }
+
+    @Override
+    public long count() {
+        return hot.count() + cold.count();
+    }
+
+    @Override
+    public long countByStatus(TaskStatus status) {
+        return hot.countByStatus(status) + cold.countByStatus(status);
+    }
+
+    @Override
+    public void close() throws Exception {
+        sweeper.shutdownNow();
+        cold.close();
+        if (hot instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.railse.hiring.workforcemgmt.tiering;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "task-mgmt.tiering")
+public class TieringProperties {
+    private boolean enabled = false;
+    // Segment files live here, whatever is in it is discarded on startup
+    private String directory = "data/cold-tasks";
+    // How long a task has to sit in COMPLETED or CANCELLED before it is archived
+    private long archiveAfterMs = 7L * 24 * 60 * 60 * 1000;
+    private long sweepIntervalMs = 60_000;
+    // Tasks per compressed block, a cold lookup inflates one block
+    private int blockSize = 256;
+    private long segmentMaxBytes = 64L * 1024 * 1024;
+}
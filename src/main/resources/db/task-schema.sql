@@ -0,0 +1,29 @@
+CREATE TABLE IF NOT EXISTS task (
+    id                 BIGINT      NOT NULL PRIMARY KEY,
+    reference_id       BIGINT,
+    reference_type     VARCHAR(16),
+    task               VARCHAR(64),
+    description        VARCHAR,
+    status             VARCHAR(16),
+    assignee_id        BIGINT,
+    task_deadline_time BIGINT,
+    priority           VARCHAR(16),
+    version            BIGINT      NOT NULL
+);
+
+-- get by reference, assign-by-ref
+CREATE INDEX IF NOT EXISTS idx_task_reference ON task (reference_id, reference_type);
+-- fetch-by-date: assignee lookups with a deadline range on the same index
+CREATE INDEX IF NOT EXISTS idx_task_assignee_deadline ON task (assignee_id, task_deadline_time);
+CREATE INDEX IF NOT EXISTS idx_task_priority ON task (priority);
+CREATE INDEX IF NOT EXISTS idx_task_status ON task (status);
+
+-- Activities and comments, append only, seq is the position in the task's list
+CREATE TABLE IF NOT EXISTS task_history (
+    task_id BIGINT        NOT NULL,
+    kind    CHAR(1)       NOT NULL,
+    seq     INT           NOT NULL,
+    message VARCHAR,
+    ts      BIGINT        NOT NULL,
+    PRIMARY KEY (task_id, kind, seq)
+);
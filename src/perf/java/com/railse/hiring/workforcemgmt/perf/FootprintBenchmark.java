@@ -0,0 +1,154 @@
+package com.railse.hiring.workforcemgmt.perf;
+
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.Activity;
+import com.railse.hiring.workforcemgmt.model.Comment;
+import com.railse.hiring.workforcemgmt.model.HistoryArena;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongFunction;
+
+/**
+ * Measures retained heap per task in three shapes: as tasks used to be held (a fresh
+ * String and an object per history entry), compacted on heap (pooled text, packed
+ * history), and compacted with the history in a {@link HistoryArena}. Each shape is
+ * built, the heap is settled with repeated full GCs and the growth over the empty
+ * baseline is divided by the task count. With -Dfoot.maxRatio the run fails when the
+ * compacted shape keeps more than that fraction of the original.
+ */
+public class FootprintBenchmark {
+
+    record Settings(int tasks, int activities, int comments, double maxRatio, Path report) {
+
+        static Settings fromSystemProperties() {
+            String report = System.getProperty("foot.report");
+            String maxRatio = System.getProperty("foot.maxRatio");
+            return new Settings(
+                    Integer.getInteger("foot.tasks", 500_000),
+                    Integer.getInteger("foot.activities", 10),
+                    Integer.getInteger("foot.comments", 2),
+                    maxRatio != null ? Double.parseDouble(maxRatio) : 0,
+                    report != null ? Path.of(report) : null);
+        }
+    }
+
+    private final Settings settings;
+
+    FootprintBenchmark(Settings settings) {
+        this.settings = settings;
+    }
+
+    public static void main(String[] args) throws Exception {
+        FootprintBenchmark benchmark = new FootprintBenchmark(Settings.fromSystemProperties());
+        if (!benchmark.run()) {
+            System.exit(1);
+        }
+    }
+
+    boolean run() throws Exception {
+        System.out.printf("Measuring %,d tasks per shape%n", settings.tasks());
+        // warm up the pools and classes so the first shape is not charged for them
+        measure(id -> legacyTask(id).copy(), Math.min(10_000, settings.tasks()));
+        long legacy = measure(this::legacyTask, settings.tasks());
+        long compact = measure(id -> {
+            TaskManagement task = legacyTask(id);
+            task.compact();
+            return task;
+        }, settings.tasks());
+        HistoryArena arena = new HistoryArena(16 * 1024 * 1024);
+        long offHeap = measure(id -> {
+            TaskManagement task = legacyTask(id);
+            task.compact(arena);
+            return task;
+        }, settings.tasks());
+
+        double ratio = (double) compact / legacy;
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PrintStream print = new PrintStream(bytes, true);
+        print.printf("%n%,d tasks, %d activities + %d comments each%n", settings.tasks(), settings.activities(),
+                settings.comments());
+        print.printf("%-22s %14s%n", "shape", "heap bytes/task");
+        print.printf("%-22s %14d%n", "one object per entry", legacy);
+        print.printf("%-22s %14d%n", "compacted", compact);
+        print.printf("%-22s %14d  (+%d bytes/task off heap)%n", "compacted, off-heap", offHeap,
+                arena.allocatedBytes() / settings.tasks());
+        print.printf("compacted keeps %.0f%% of the original%n", ratio * 100);
+        boolean passed = settings.maxRatio() <= 0 || ratio <= settings.maxRatio();
+        if (!passed) {
+            print.printf("FAILED: expected at most %.0f%%%n", settings.maxRatio() * 100);
+        }
+        System.out.print(bytes);
+        if (settings.report() != null) {
+            Files.createDirectories(settings.report().toAbsolutePath().getParent());
+            Files.writeString(settings.report(), bytes.toString());
+            System.out.println("Report written to " + settings.report());
+        }
+        return passed;
+    }
+
+    private long measure(LongFunction<TaskManagement> shape, int count) throws InterruptedException {
+        long baseline = settledHeap();
+        List<TaskManagement> tasks = new ArrayList<>(count);
+        long listBytes = settledHeap() - baseline;
+        for (int i = 0; i < count; i++) {
+            tasks.add(shape.apply(i));
+        }
+        long used = settledHeap() - baseline - listBytes;
+        Reference.reachabilityFence(tasks);
+        return used / count;
+    }
+
+    // A single System.gc() can leave floating garbage behind, stop once two readings agree
+    private static long settledHeap() throws InterruptedException {
+        long previous = Long.MAX_VALUE;
+        for (int i = 0; i < 10; i++) {
+            System.gc();
+            Thread.sleep(50);
+            long used = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+            if (Math.abs(previous - used) < 64 * 1024) {
+                return used;
+            }
+            previous = used;
+        }
+        return previous;
+    }
+
+    // What a task looked like before compaction: fresh strings and one object per entry
+    private TaskManagement legacyTask(long id) {
+        List<Activity> activities = new ArrayList<>();
+        activities.add(new Activity(new String("New task created."), id));
+        for (int i = 1; i < settings.activities(); i++) {
+            activities.add(i % 2 == 0
+                    ? new Activity("Priority changed to " + Priority.values()[i % 3], id + i)
+                    : new Activity(new String("User added a comment"), id + i));
+        }
+        List<Comment> comments = new ArrayList<>();
+        for (int i = 0; i < settings.comments(); i++) {
+            comments.add(new Comment("Customer asked to reschedule, ref " + id + "-" + i, id + i));
+        }
+        return TaskManagement.builder()
+                .id(id)
+                .referenceId(id)
+                .referenceType(ReferenceType.ORDER)
+                .task(Task.CREATE_INVOICE)
+                .status(TaskStatus.ASSIGNED)
+                .assigneeId(id % 50)
+                .priority(Priority.MEDIUM)
+                .taskDeadlineTime(id)
+                .description(new String("New task created."))
+                .activityHistory(activities)
+                .comments(comments)
+                .build();
+    }
+}
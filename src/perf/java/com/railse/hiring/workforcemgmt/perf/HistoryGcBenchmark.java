@@ -0,0 +1,208 @@
+package com.railse.hiring.workforcemgmt.perf;
+
+import com.railse.hiring.workforcemgmt.common.concurrent.TaskLocks;
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.Activity;
+import com.railse.hiring.workforcemgmt.model.Comment;
+import com.railse.hiring.workforcemgmt.model.HistoryArena;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskRepository;
+import com.sun.management.GarbageCollectionNotificationInfo;
+import org.HdrHistogram.Histogram;
+
+import javax.management.NotificationEmitter;
+import javax.management.openmbean.CompositeData;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads the in-memory store with tasks that carry a realistic history, then keeps
+ * appending comments from several threads while recording every GC pause. Run it once
+ * with -Dgc.history=heap and once with -Dgc.history=off-heap on the same heap size and
+ * compare the two reports.
+ */
+public class HistoryGcBenchmark {
+    private static final String[] COMMENTS = {
+            "Customer asked to reschedule the pickup",
+            "Invoice sent, waiting for confirmation",
+            "Called the customer, no answer",
+            "Payment received in full"};
+
+    record Settings(long tasks, int activities, int comments, boolean offHeap, int segmentBytes,
+                    int churnSeconds, int threads, long seed, Path report) {
+
+        static Settings fromSystemProperties() {
+            String report = System.getProperty("gc.report");
+            return new Settings(
+                    Long.getLong("gc.tasks", 10_000_000L),
+                    Integer.getInteger("gc.activities", 8),
+                    Integer.getInteger("gc.comments", 2),
+                    "off-heap".equalsIgnoreCase(System.getProperty("gc.history", "heap")),
+                    Integer.getInteger("gc.segmentBytes", 64 * 1024 * 1024),
+                    Integer.getInteger("gc.churn", 60),
+                    Integer.getInteger("gc.threads", 4),
+                    Long.getLong("gc.seed", 42L),
+                    report != null ? Path.of(report) : null);
+        }
+    }
+
+    private final Settings settings;
+    // Pause times in microseconds; a notification handler is single threaded per collector
+    private volatile Histogram pauses = new Histogram(TimeUnit.MINUTES.toMicros(10), 3);
+
+    HistoryGcBenchmark(Settings settings) {
+        this.settings = settings;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new HistoryGcBenchmark(Settings.fromSystemProperties()).run();
+    }
+
+    void run() throws Exception {
+        listenForPauses();
+        InMemoryTaskRepository repository = new InMemoryTaskRepository(0, 1);
+        HistoryArena arena = settings.offHeap() ? new HistoryArena(settings.segmentBytes()) : null;
+        repository.setHistoryArena(arena);
+
+        System.out.printf("Loading %,d tasks, history %s%n", settings.tasks(), settings.offHeap() ? "off heap" : "on heap");
+        long started = System.nanoTime();
+        SplittableRandom random = new SplittableRandom(settings.seed());
+        for (long i = 0; i < settings.tasks(); i++) {
+            repository.save(task(i, random));
+        }
+        double loadSeconds = (System.nanoTime() - started) / 1e9;
+        Histogram loadPauses = swapPauses();
+
+        System.out.printf("Appending comments on %d threads for %ds%n", settings.threads(), settings.churnSeconds());
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(settings.churnSeconds());
+        TaskLocks locks = new TaskLocks();
+        List<Thread> workers = new ArrayList<>();
+        long[] appended = new long[settings.threads()];
+        for (int t = 0; t < settings.threads(); t++) {
+            int worker = t;
+            SplittableRandom workerRandom = random.split();
+            Thread thread = new Thread(() -> {
+                while (System.nanoTime() < deadline) {
+                    long id = 1 + workerRandom.nextLong(settings.tasks());
+                    // same shape as addCommentToTask: read, append and save under the task's lock
+                    try (TaskLocks.Held ignored = locks.lock(id)) {
+                        repository.findById(id).ifPresent(task -> {
+                            long now = System.currentTimeMillis();
+                            task.getComments().add(new Comment(COMMENTS[workerRandom.nextInt(COMMENTS.length)], now));
+                            task.getActivityHistory().add(new Activity("User added a comment", now));
+                            repository.save(task);
+                        });
+                    }
+                    appended[worker]++;
+                }
+            }, "gc-churn-" + t);
+            workers.add(thread);
+            thread.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        Histogram churnPauses = swapPauses();
+        long totalAppended = 0;
+        for (long count : appended) {
+            totalAppended += count;
+        }
+
+        System.gc();
+        long heapUsed = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        String report = report(loadSeconds, loadPauses, totalAppended, churnPauses, heapUsed, arena);
+        System.out.print(report);
+        if (settings.report() != null) {
+            Files.createDirectories(settings.report().toAbsolutePath().getParent());
+            Files.writeString(settings.report(), report);
+            System.out.println("Report written to " + settings.report());
+        }
+    }
+
+    private TaskManagement task(long i, SplittableRandom random) {
+        long createdAt = System.currentTimeMillis() - random.nextLong(30L * 86_400_000L);
+        TaskManagement task = TaskManagement.builder()
+                .referenceId(1_000_000 + i / 3)
+                .referenceType(ReferenceType.ORDER)
+                .task(Task.CREATE_INVOICE)
+                .status(TaskStatus.ASSIGNED)
+                .assigneeId(1 + random.nextLong(500))
+                .priority(Priority.values()[random.nextInt(3)])
+                .taskDeadlineTime(createdAt + 86_400_000L)
+                .description("New task created.")
+                .build();
+        task.getActivityHistory().add(new Activity("New task created.", createdAt));
+        for (int a = 1; a < settings.activities(); a++) {
+            task.getActivityHistory().add(new Activity("Priority changed to " + Priority.values()[a % 3], createdAt + a));
+        }
+        for (int c = 0; c < settings.comments(); c++) {
+            task.getComments().add(new Comment(COMMENTS[random.nextInt(COMMENTS.length)], createdAt + c));
+        }
+        return task;
+    }
+
+    private void listenForPauses() {
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            ((NotificationEmitter) collector).addNotificationListener((notification, handback) -> {
+                if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+                    return;
+                }
+                GarbageCollectionNotificationInfo info =
+                        GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+                // concurrent cycles report their whole run time, only stop-the-world work is a pause
+                if (info.getGcName().contains("Concurrent") || info.getGcName().contains("Cycles")) {
+                    return;
+                }
+                synchronized (this) {
+                    pauses.recordValue(Math.max(1, TimeUnit.MILLISECONDS.toMicros(info.getGcInfo().getDuration())));
+                }
+            }, null, null);
+        }
+    }
+
+    private synchronized Histogram swapPauses() {
+        Histogram finished = pauses;
+        pauses = new Histogram(TimeUnit.MINUTES.toMicros(10), 3);
+        return finished;
+    }
+
+    private String report(double loadSeconds, Histogram loadPauses, long appended, Histogram churnPauses,
+                          long heapUsed, HistoryArena arena) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PrintStream print = new PrintStream(bytes, true);
+        print.printf("%nhistory %s, %,d tasks, %d activities + %d comments each, heap max %,d MB%n",
+                settings.offHeap() ? "off-heap" : "heap", settings.tasks(), settings.activities(), settings.comments(),
+                Runtime.getRuntime().maxMemory() >> 20);
+        print.printf("%-8s %10s %8s %10s %10s %10s %10s%n", "phase", "seconds", "pauses", "total ms", "p50 ms",
+                "p99 ms", "max ms");
+        row(print, "load", loadSeconds, loadPauses);
+        row(print, "churn", settings.churnSeconds(), churnPauses);
+        print.printf("comments appended during churn: %,d%n", appended);
+        print.printf("heap used after full GC: %,d MB%n", heapUsed >> 20);
+        if (arena != null) {
+            print.printf("arena: %,d MB live, %,d MB reserved off heap%n",
+                    arena.allocatedBytes() >> 20, arena.reservedBytes() >> 20);
+        }
+        return bytes.toString();
+    }
+
+    private static void row(PrintStream print, String phase, double seconds, Histogram pauses) {
+        long count = pauses.getTotalCount();
+        print.printf("%-8s %10.1f %8d %10.1f %10.2f %10.2f %10.2f%n", phase, seconds, count,
+                count == 0 ? 0 : pauses.getMean() * count / 1000.0,
+                pauses.getValueAtPercentile(50) / 1000.0,
+                pauses.getValueAtPercentile(99) / 1000.0,
+                pauses.getMaxValue() / 1000.0);
+    }
+}
@@ -0,0 +1,293 @@
+package com.railse.hiring.workforcemgmt.perf;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load driver for a running instance. Requests are scheduled at fixed
+ * intended start times and latency is measured from that intended time rather than
+ * from when the request actually went out, so a stalled server shows up in the
+ * percentiles instead of silently lowering the offered rate (coordinated omission).
+ *
+ * Before the warmup the harness creates its own tasks and only touches those, so it never
+ * guesses ids the server's shard or cluster strides would never hand out. Every request
+ * carries the X-Client-Id of one of a fixed set of virtual users.
+ *
+ * Settings are system properties, see {@link Settings}; the loadTest Gradle task
+ * forwards any -Pload.* project property.
+ */
+public class LoadTestHarness {
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final long DAY = 86_400_000L;
+    private static final int CREATE_BATCH = 50;
+
+    enum Operation {
+        CREATE, UPDATE, ASSIGN_BY_REF, FETCH_BY_DATE, COMMENT, DETAILS
+    }
+
+    record Settings(String baseUrl, int rate, int durationSeconds, int warmupSeconds, int assignees,
+                    int users, int tasks, long seed, Map<Operation, Integer> mix, Path report) {
+
+        static Settings fromSystemProperties() {
+            Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+            String spec = System.getProperty("load.mix",
+                    "create=10,update=10,assign_by_ref=5,fetch_by_date=45,comment=10,details=20");
+            for (String part : spec.split(",")) {
+                String[] weight = part.trim().split("=");
+                mix.put(Operation.valueOf(weight[0].trim().toUpperCase()), Integer.parseInt(weight[1].trim()));
+            }
+            String report = System.getProperty("load.report");
+            return new Settings(
+                    System.getProperty("load.baseUrl", "http://localhost:8080"),
+                    Integer.getInteger("load.rate", 200),
+                    Integer.getInteger("load.duration", 30),
+                    Integer.getInteger("load.warmup", 5),
+                    Integer.getInteger("load.assignees", 50),
+                    Integer.getInteger("load.users", 20),
+                    Integer.getInteger("load.tasks", 200),
+                    Long.getLong("load.seed", 42L),
+                    mix,
+                    report != null ? Path.of(report) : null);
+        }
+    }
+
+    private final Settings settings;
+    private final HttpClient client;
+    private final Operation[] schedule;
+    private final Map<Operation, Recorder> corrected = new EnumMap<>(Operation.class);
+    private final Recorder correctedAll = new Recorder(3);
+    private final Recorder serviceTimeAll = new Recorder(3);
+    private final Map<Operation, AtomicLong> errors = new EnumMap<>(Operation.class);
+    // ids and references learned from create responses, starting with the setup phase
+    private final List<Long> taskIds = new CopyOnWriteArrayList<>();
+    private final List<Long> referenceIds = new CopyOnWriteArrayList<>();
+    private final AtomicLong nextReference = new AtomicLong(5_000_000L);
+
+    LoadTestHarness(Settings settings) {
+        this.settings = settings;
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors())))
+                .build();
+        List<Operation> weighted = new ArrayList<>();
+        settings.mix().forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                weighted.add(operation);
+            }
+            corrected.put(operation, new Recorder(3));
+            errors.put(operation, new AtomicLong());
+        });
+        this.schedule = weighted.toArray(new Operation[0]);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Settings settings = Settings.fromSystemProperties();
+        new LoadTestHarness(settings).run();
+    }
+
+    void run() throws Exception {
+        System.out.printf("Driving %s at %d req/s for %ds (+%ds warmup), mix %s%n", settings.baseUrl(),
+                settings.rate(), settings.durationSeconds(), settings.warmupSeconds(), settings.mix());
+        createTasks(new SplittableRandom(settings.seed() - 2));
+        drive(settings.warmupSeconds(), new SplittableRandom(settings.seed() - 1));
+        resetRecorders();
+
+        long started = System.nanoTime();
+        drive(settings.durationSeconds(), new SplittableRandom(settings.seed()));
+        double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+
+        String report = report(elapsedSeconds);
+        System.out.print(report);
+        if (settings.report() != null) {
+            Files.createDirectories(settings.report().toAbsolutePath().getParent());
+            Files.writeString(settings.report(), report);
+            System.out.println("Report written to " + settings.report());
+        }
+        System.exit(0);
+    }
+
+    // Synchronous, so the timed phases start with every id known
+    private void createTasks(SplittableRandom random) throws IOException, InterruptedException {
+        for (int created = 0; created < settings.tasks(); created += CREATE_BATCH) {
+            HttpRequest request = create(Math.min(CREATE_BATCH, settings.tasks() - created), random, "load-setup");
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() >= 400) {
+                throw new IllegalStateException("Creating load test tasks failed with " + response.statusCode()
+                        + ": " + response.body());
+            }
+            learnCreatedTasks(response.body());
+        }
+        if (taskIds.isEmpty()) {
+            throw new IllegalStateException("No tasks to drive, set load.tasks above zero");
+        }
+        System.out.printf("Created %d tasks across %d references%n", taskIds.size(), referenceIds.size());
+    }
+
+    private void drive(int seconds, SplittableRandom random) {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / Math.max(1, settings.rate());
+        long total = (long) settings.rate() * seconds;
+        long start = System.nanoTime();
+        ConcurrentLinkedQueue<CompletableFuture<?>> inFlight = new ConcurrentLinkedQueue<>();
+        for (long i = 0; i < total; i++) {
+            long intended = start + i * intervalNanos;
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Operation operation = schedule[random.nextInt(schedule.length)];
+            inFlight.add(send(operation, random.split(), intended));
+            inFlight.removeIf(CompletableFuture::isDone);
+        }
+        CompletableFuture.allOf(inFlight.toArray(new CompletableFuture<?>[0]))
+                .completeOnTimeout(null, 30, TimeUnit.SECONDS)
+                .join();
+    }
+
+    private CompletableFuture<?> send(Operation operation, SplittableRandom random, long intendedNanos) {
+        HttpRequest request = request(operation, random, "load-user-" + random.nextInt(Math.max(1, settings.users())));
+        long sentNanos = System.nanoTime();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .handle((response, failure) -> {
+                    long now = System.nanoTime();
+                    corrected.get(operation).recordValue(now - intendedNanos);
+                    correctedAll.recordValue(now - intendedNanos);
+                    serviceTimeAll.recordValue(now - sentNanos);
+                    if (failure != null || response.statusCode() >= 400) {
+                        errors.get(operation).incrementAndGet();
+                    } else if (operation == Operation.CREATE) {
+                        learnCreatedTasks(response.body());
+                    }
+                    return null;
+                });
+    }
+
+    private HttpRequest request(Operation operation, SplittableRandom random, String user) {
+        long now = System.currentTimeMillis();
+        return switch (operation) {
+            case CREATE -> create(1, random, user);
+            case UPDATE -> json("PUT", "/task-mgmt/update", user, """
+                    {"requests":[{"taskid":%d,"taskstatus":"STARTED","description":"Started by load test"}]}"""
+                    .formatted(anyTask(random)));
+            case ASSIGN_BY_REF -> post("/task-mgmt/assign-by-ref/v2", user, """
+                    {"reference_id":%d,"reference_type":"ORDER","assignee_id":%d}"""
+                    .formatted(referenceIds.get(random.nextInt(referenceIds.size())), assignee(random)));
+            case FETCH_BY_DATE -> post("/task-mgmt/fetch-by-date/v4", user, """
+                    {"start_date":%d,"end_date":%d,"assignee_ids":[%d,%d,%d]}"""
+                    .formatted(now - DAY, now + 7 * DAY, assignee(random), assignee(random), assignee(random)));
+            case COMMENT -> post("/task-mgmt/comment", user, """
+                    {"task_id":%d,"message":"Load test comment"}""".formatted(anyTask(random)));
+            case DETAILS -> HttpRequest.newBuilder(URI.create(settings.baseUrl()
+                            + "/task-mgmt/" + anyTask(random) + "/details"))
+                    .timeout(Duration.ofSeconds(30))
+                    .header("X-Client-Id", user)
+                    .GET()
+                    .build();
+        };
+    }
+
+    private HttpRequest create(int count, SplittableRandom random, String user) {
+        long now = System.currentTimeMillis();
+        StringJoiner requests = new StringJoiner(",");
+        for (int i = 0; i < count; i++) {
+            requests.add("""
+                    {"reference_id":%d,"reference_type":"ORDER","task":"CREATE_INVOICE",\
+                    "assignee_id":%d,"priority":"MEDIUM","task_deadline_time":%d}"""
+                    .formatted(nextReference.incrementAndGet(), assignee(random), now + random.nextLong(7 * DAY)));
+        }
+        return post("/task-mgmt/create", user, "{\"requests\":[" + requests + "]}");
+    }
+
+    private HttpRequest post(String path, String user, String body) {
+        return json("POST", path, user, body);
+    }
+
+    private HttpRequest json(String method, String path, String user, String body) {
+        return HttpRequest.newBuilder(URI.create(settings.baseUrl() + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .header("X-Client-Id", user)
+                .method(method, HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private long assignee(SplittableRandom random) {
+        return 1 + random.nextInt(settings.assignees());
+    }
+
+    private long anyTask(SplittableRandom random) {
+        return taskIds.get(random.nextInt(taskIds.size()));
+    }
+
+    private void learnCreatedTasks(String body) {
+        try {
+            for (JsonNode task : JSON.readTree(body).path("data")) {
+                taskIds.add(task.path("id").asLong());
+                referenceIds.add(task.path("reference_id").asLong());
+            }
+        } catch (IOException ignored) {
+            // a body we cannot parse is already counted as a success, nothing to learn from it
+        }
+    }
+
+    private void resetRecorders() {
+        corrected.values().forEach(Recorder::reset);
+        correctedAll.reset();
+        serviceTimeAll.reset();
+        errors.values().forEach(counter -> counter.set(0));
+    }
+
+    private String report(double elapsedSeconds) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PrintStream print = new PrintStream(out);
+        print.printf("%n%-15s %9s %8s %10s %10s %10s %10s %10s %10s%n", "operation", "requests", "errors",
+                "req/s", "p50 ms", "p90 ms", "p99 ms", "p999 ms", "max ms");
+        for (Map.Entry<Operation, Recorder> entry : corrected.entrySet()) {
+            row(print, entry.getKey().name().toLowerCase(), entry.getValue().getIntervalHistogram(),
+                    errors.get(entry.getKey()).get(), elapsedSeconds);
+        }
+        long totalErrors = errors.values().stream().mapToLong(AtomicLong::get).sum();
+        row(print, "all", correctedAll.getIntervalHistogram(), totalErrors, elapsedSeconds);
+        row(print, "all (service)", serviceTimeAll.getIntervalHistogram(), totalErrors, elapsedSeconds);
+        print.println("Latencies are measured from the intended send time; 'all (service)' is the uncorrected view.");
+        print.flush();
+        return out.toString();
+    }
+
+    private static void row(PrintStream print, String name, Histogram histogram, long errors, double seconds) {
+        print.printf("%-15s %9d %8d %10.1f %10.2f %10.2f %10.2f %10.2f %10.2f%n", name,
+                histogram.getTotalCount(), errors, histogram.getTotalCount() / seconds,
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
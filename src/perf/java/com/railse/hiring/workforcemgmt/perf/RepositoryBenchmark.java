@@ -0,0 +1,179 @@
+package com.railse.hiring.workforcemgmt.perf;
+
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.Activity;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskRepository;
+import com.railse.hiring.workforcemgmt.repository.JdbcTaskRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.HdrHistogram.Histogram;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Runs the same write and read mix against each store in turn: bulk creates through
+ * saveAll, the same number of creates one save at a time, bulk status updates of an
+ * assignee's tasks, and single lookups by id, reference and assignee. Every store starts
+ * empty and sees the same random sequence.
+ */
+public class RepositoryBenchmark {
+
+    record Settings(List<String> stores, int tasks, int batchSize, int lookups, int assignees,
+                    String jdbcUrl, int poolSize, long seed, Path report) {
+
+        static Settings fromSystemProperties() {
+            String report = System.getProperty("repo.report");
+            return new Settings(
+                    List.of(System.getProperty("repo.stores", "memory,jdbc").split(",")),
+                    Integer.getInteger("repo.tasks", 200_000),
+                    Integer.getInteger("repo.batch", 500),
+                    Integer.getInteger("repo.lookups", 50_000),
+                    Integer.getInteger("repo.assignees", 1_000),
+                    System.getProperty("repo.jdbcUrl", "jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1"),
+                    Integer.getInteger("repo.pool", Math.max(4, Runtime.getRuntime().availableProcessors() * 2)),
+                    Long.getLong("repo.seed", 42L),
+                    report != null ? Path.of(report) : null);
+        }
+    }
+
+    // One line of the report, latencies in microseconds per call; assigneeUpdate counts assignees as rows
+    record Phase(String store, String name, long rows, double seconds, Histogram latency) {
+    }
+
+    private final Settings settings;
+
+    RepositoryBenchmark(Settings settings) {
+        this.settings = settings;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new RepositoryBenchmark(Settings.fromSystemProperties()).run();
+    }
+
+    void run() throws Exception {
+        List<Phase> phases = new ArrayList<>();
+        for (String store : settings.stores()) {
+            System.out.printf("Benchmarking the %s store with %,d tasks%n", store.trim(), settings.tasks());
+            switch (store.trim()) {
+                case "memory" -> phases.addAll(measure("memory", new InMemoryTaskRepository(0, 1)));
+                case "jdbc" -> {
+                    try (HikariDataSource dataSource = dataSource()) {
+                        phases.addAll(measure("jdbc", new JdbcTaskRepository(dataSource, settings.batchSize(), 0, 1)));
+                    }
+                }
+                default -> throw new IllegalArgumentException("Unknown store " + store + ", use memory or jdbc");
+            }
+        }
+        String report = report(phases);
+        System.out.print(report);
+        if (settings.report() != null) {
+            Files.createDirectories(settings.report().toAbsolutePath().getParent());
+            Files.writeString(settings.report(), report);
+            System.out.println("Report written to " + settings.report());
+        }
+    }
+
+    // Same pool settings as the application's task-store pool
+    private HikariDataSource dataSource() {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("benchmark");
+        config.setJdbcUrl(settings.jdbcUrl());
+        config.setUsername("sa");
+        config.setPassword("");
+        config.setMaximumPoolSize(settings.poolSize());
+        config.setMinimumIdle(settings.poolSize());
+        return new HikariDataSource(config);
+    }
+
+    private List<Phase> measure(String store, TaskRepository repository) {
+        SplittableRandom random = new SplittableRandom(settings.seed());
+        List<Phase> phases = new ArrayList<>();
+        int batchSize = settings.batchSize();
+        int half = settings.tasks() / 2;
+
+        phases.add(timed(store, "saveAll", half, batchSize, done -> {
+            List<TaskManagement> batch = new ArrayList<>(batchSize);
+            for (int i = 0; i < batchSize && done + i < half; i++) {
+                batch.add(task(done + i, random));
+            }
+            repository.saveAll(batch);
+        }));
+        phases.add(timed(store, "save", settings.tasks() - half, 1, done -> repository.save(task(half + done, random))));
+        phases.add(timed(store, "assigneeUpdate", settings.assignees(), 1, done -> {
+            List<TaskManagement> tasks = repository.findByAssigneeIdIn(List.of(1L + done));
+            long now = System.currentTimeMillis();
+            tasks.forEach(task -> {
+                task.setStatus(TaskStatus.STARTED);
+                task.getActivityHistory().add(new Activity("Status changed to STARTED", now));
+            });
+            repository.saveAll(tasks);
+        }));
+        phases.add(timed(store, "findById", settings.lookups(), 1,
+                done -> repository.findById(1L + random.nextLong(settings.tasks()))));
+        phases.add(timed(store, "byRef", settings.lookups(), 1,
+                done -> repository.findByReferenceIdAndReferenceType(
+                        1_000_000L + random.nextLong(settings.tasks() / 3), ReferenceType.ORDER)));
+        phases.add(timed(store, "byAssignee", settings.lookups(), 1,
+                done -> repository.findByAssigneeIdIn(List.of(1L + random.nextLong(settings.assignees())))));
+        return phases;
+    }
+
+    // Calls step until rows are done, step is handed the number done so far and does stride of them
+    private static Phase timed(String store, String name, long rows, int stride, Consumer<Long> step) {
+        Histogram latency = new Histogram(TimeUnit.MINUTES.toMicros(1), 3);
+        long started = System.nanoTime();
+        for (long done = 0; done < rows; done += stride) {
+            long callStarted = System.nanoTime();
+            step.accept(done);
+            latency.recordValue(Math.min(latency.getHighestTrackableValue(),
+                    Math.max(1, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - callStarted))));
+        }
+        return new Phase(store, name, rows, (System.nanoTime() - started) / 1e9, latency);
+    }
+
+    private TaskManagement task(long i, SplittableRandom random) {
+        long createdAt = System.currentTimeMillis() - random.nextLong(30L * 86_400_000L);
+        TaskManagement task = TaskManagement.builder()
+                .referenceId(1_000_000 + i / 3)
+                .referenceType(ReferenceType.ORDER)
+                .task(Task.CREATE_INVOICE)
+                .status(TaskStatus.ASSIGNED)
+                .assigneeId(1 + random.nextLong(settings.assignees()))
+                .priority(Priority.values()[random.nextInt(3)])
+                .taskDeadlineTime(createdAt + 86_400_000L)
+                .description("New task created.")
+                .build();
+        task.getActivityHistory().add(new Activity("New task created.", createdAt));
+        return task;
+    }
+
+    private String report(List<Phase> phases) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PrintStream print = new PrintStream(bytes, true);
+        print.printf("%n%,d tasks, saveAll batches of %d, %,d lookups per read phase%n",
+                settings.tasks(), settings.batchSize(), settings.lookups());
+        print.printf("%-7s %-15s %10s %12s %10s %10s %10s%n", "store", "phase", "seconds", "rows/s",
+                "p50 us", "p99 us", "max us");
+        for (Phase phase : phases) {
+            print.printf("%-7s %-15s %10.2f %12.0f %10d %10d %10d%n", phase.store(), phase.name(), phase.seconds(),
+                    phase.rows() / Math.max(phase.seconds(), 1e-9),
+                    phase.latency().getValueAtPercentile(50),
+                    phase.latency().getValueAtPercentile(99),
+                    phase.latency().getMaxValue());
+        }
+        return bytes.toString();
+    }
+}
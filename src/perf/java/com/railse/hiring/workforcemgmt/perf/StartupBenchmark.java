@@ -0,0 +1,153 @@
+package com.railse.hiring.workforcemgmt.perf;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts the application in a child process several times and measures the wall time from
+ * launching the JVM to the first successful GET /task-mgmt/1, which is what an autoscaler
+ * waits for. Mode jar runs the boot jar as it is; mode fast runs the AOT classes from the
+ * plain jar layout with the CDS archive built by the cdsArchive task.
+ */
+public class StartupBenchmark {
+    private static final String MAIN_CLASS = "com.railse.hiring.workforcemgmt.Application";
+
+    record Settings(String mode, int runs, long timeoutMs, String java, Path jar, Path fastStartupDir,
+                    String profiles, String release, Path report) {
+
+        static Settings fromSystemProperties() {
+            String report = System.getProperty("startup.report");
+            return new Settings(
+                    System.getProperty("startup.mode", "jar"),
+                    Math.max(1, Integer.getInteger("startup.runs", 5)),
+                    Long.getLong("startup.timeoutMs", 120_000L),
+                    System.getProperty("startup.java", "java"),
+                    Path.of(System.getProperty("startup.jar", "build/libs/workforce-mgmt-0.0.1-SNAPSHOT.jar")),
+                    Path.of(System.getProperty("startup.dir", "build/fast-startup")),
+                    System.getProperty("startup.profiles", "fast-startup"),
+                    System.getProperty("startup.release", "dev"),
+                    report != null ? Path.of(report) : null);
+        }
+    }
+
+    private final Settings settings;
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+
+    StartupBenchmark(Settings settings) {
+        this.settings = settings;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new StartupBenchmark(Settings.fromSystemProperties()).run();
+    }
+
+    void run() throws Exception {
+        List<Long> millis = new ArrayList<>();
+        for (int run = 1; run <= settings.runs(); run++) {
+            long elapsed = timeToFirstRequest();
+            System.out.printf("run %d: first request succeeded after %d ms%n", run, elapsed);
+            millis.add(elapsed);
+        }
+        String report = report(millis);
+        System.out.print(report);
+        if (settings.report() != null) {
+            Files.createDirectories(settings.report().toAbsolutePath().getParent());
+            Files.writeString(settings.report(), report);
+            System.out.println("Report written to " + settings.report());
+        }
+    }
+
+    private long timeToFirstRequest() throws IOException, InterruptedException {
+        int port = freePort();
+        HttpRequest probe = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/task-mgmt/1"))
+                .timeout(Duration.ofSeconds(5))
+                .GET()
+                .build();
+        long started = System.nanoTime();
+        Process process = new ProcessBuilder(command(port))
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            long deadline = started + TimeUnit.MILLISECONDS.toNanos(settings.timeoutMs());
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Application exited with " + process.exitValue() + " before serving");
+                }
+                try {
+                    if (client.send(probe, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+                    }
+                } catch (IOException notListeningYet) {
+                    // connection refused until the port opens
+                }
+                Thread.sleep(5);
+            }
+            throw new IllegalStateException("No successful request within " + settings.timeoutMs() + " ms");
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private List<String> command(int port) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(settings.java());
+        if (settings.mode().equals("fast")) {
+            Path archive = settings.fastStartupDir().resolve("app.jsa");
+            if (Files.exists(archive)) {
+                command.add("-XX:SharedArchiveFile=" + archive);
+            } else {
+                System.out.println("No CDS archive at " + archive + ", measuring AOT alone");
+            }
+            command.add("-Dspring.aot.enabled=true");
+            command.add("-cp");
+            command.add(Files.readString(settings.fastStartupDir().resolve("classpath.txt")).trim());
+            command.add(MAIN_CLASS);
+            command.add("--spring.profiles.active=" + settings.profiles());
+        } else {
+            command.add("-jar");
+            command.add(settings.jar().toString());
+        }
+        command.add("--server.port=" + port);
+        return command;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private String report(List<Long> millis) {
+        List<Long> sorted = new ArrayList<>(millis);
+        Collections.sort(sorted);
+        long total = 0;
+        for (long value : sorted) {
+            total += value;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PrintStream print = new PrintStream(bytes, true);
+        print.printf("%nrelease %s, mode %s, %d runs, time to first successful request%n",
+                settings.release(), settings.mode(), sorted.size());
+        print.printf("%10s %10s %10s %10s%n", "min ms", "median ms", "mean ms", "max ms");
+        print.printf("%10d %10d %10d %10d%n", sorted.get(0), sorted.get(sorted.size() / 2),
+                total / sorted.size(), sorted.get(sorted.size() - 1));
+        return bytes.toString();
+    }
+}
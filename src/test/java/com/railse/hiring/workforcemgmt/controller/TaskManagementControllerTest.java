@@ -1,7 +1,11 @@
 package com.railse.hiring.workforcemgmt.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.railse.hiring.workforcemgmt.common.admission.AdmissionFilter;
+import com.railse.hiring.workforcemgmt.common.idempotency.IdempotencyFilter;
+import com.railse.hiring.workforcemgmt.common.internal.InternalAuthFilter;
 import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.common.timing.ServerTimingFilter;
 import com.railse.hiring.workforcemgmt.dto.*;
 import com.railse.hiring.workforcemgmt.model.enums.Priority;
 import com.railse.hiring.workforcemgmt.model.enums.Task;
@@ -12,6 +16,8 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -22,7 +28,10 @@ import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-@WebMvcTest(TaskManagementController.class)
+// The servlet filters need beans the MVC slice does not create, they have their own tests
+@WebMvcTest(value = TaskManagementController.class, excludeFilters = @ComponentScan.Filter(
+        type = FilterType.ASSIGNABLE_TYPE, classes = {ServerTimingFilter.class, AdmissionFilter.class, IdempotencyFilter.class,
+                InternalAuthFilter.class}))
 class TaskManagementControllerTest {
 
     @Autowired
@@ -43,7 +52,7 @@ class TaskManagementControllerTest {
 
     @Test
     void shouldReturnTaskById() throws Exception {
-        when(taskManagementService.findTaskById(1L)).thenReturn(sampleDto);
+        when(taskManagementService.findTaskByIdAsJson(1L)).thenReturn("{\"data\":{}}".getBytes());
 
         mockMvc.perform(get("/task-mgmt/1"))
                 .andExpect(status().isOk())
@@ -74,15 +83,15 @@ class TaskManagementControllerTest {
     @Test
     void shouldUpdateTasks() throws Exception {
         UpdateTaskRequest.RequestItem item = new UpdateTaskRequest.RequestItem();
-        item.setTaskId(1L);
-        item.setTaskStatus(TaskStatus.STARTED);
+        item.setTaskid(1L);
+        item.setTaskstatus(TaskStatus.STARTED);
         item.setDescription("Started");
 
         UpdateTaskRequest request = new UpdateTaskRequest();
         request.setRequests(List.of(item));
         when(taskManagementService.updateTasks(any())).thenReturn(List.of(sampleDto));
 
-        mockMvc.perform(post("/task-mgmt/update")
+        mockMvc.perform(put("/task-mgmt/update")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isOk())
@@ -107,7 +116,7 @@ class TaskManagementControllerTest {
 
     @Test
     void shouldFetchByPriority() throws Exception {
-        when(taskManagementService.getTasksByPriority(Priority.HIGH)).thenReturn(List.of(sampleDto));
+        when(taskManagementService.getTasksByPriorityAsJson(Priority.HIGH)).thenReturn("{\"data\":[{}]}".getBytes());
 
         mockMvc.perform(get("/task-mgmt/priority/HIGH"))
                 .andExpect(status().isOk())
@@ -141,7 +150,7 @@ class TaskManagementControllerTest {
     @Test
     void shouldFetchByDateV4() throws Exception {
         TaskFetchByDateRequest req = new TaskFetchByDateRequest(0L, System.currentTimeMillis(), List.of(1L));
-        when(taskManagementService.fetchTasksByDateV4(any())).thenReturn(List.of(new TaskManagementDto()));
+        when(taskManagementService.fetchTasksByDateV4AsJson(any())).thenReturn("{\"data\":[{}]}".getBytes());
 
         mockMvc.perform(post("/task-mgmt/fetch-by-date/v4")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -155,7 +164,7 @@ class TaskManagementControllerTest {
         UpdateTaskPriorityRequest req = new UpdateTaskPriorityRequest(1L, Priority.HIGH);
         when(taskManagementService.updateTaskPriority(any())).thenReturn(new TaskManagementDto());
 
-        mockMvc.perform(post("/task-mgmt/priority/update")
+        mockMvc.perform(patch("/task-mgmt/priority/update")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(req)))
                 .andExpect(status().isOk())
@@ -164,7 +173,7 @@ class TaskManagementControllerTest {
 
     @Test
     void shouldGetByPriority() throws Exception {
-        when(taskManagementService.getTasksByPriority(Priority.HIGH)).thenReturn(List.of(new TaskManagementDto()));
+        when(taskManagementService.getTasksByPriorityAsJson(Priority.HIGH)).thenReturn("{\"data\":[{}]}".getBytes());
 
         mockMvc.perform(get("/task-mgmt/priority/HIGH"))
                 .andExpect(status().isOk())
@@ -1,20 +1,35 @@
 package com.railse.hiring.workforcemgmt.service.impl;
 
+import com.railse.hiring.workforcemgmt.assignment.AssignmentProperties;
+import com.railse.hiring.workforcemgmt.assignment.WorkloadTracker;
+import com.railse.hiring.workforcemgmt.cache.TaskJsonCache;
+import com.railse.hiring.workforcemgmt.common.concurrent.TaskLocks;
+import com.railse.hiring.workforcemgmt.common.exception.ResourceNotFoundException;
 import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.dependency.TaskReadinessTracker;
 import com.railse.hiring.workforcemgmt.dto.*;
 import com.railse.hiring.workforcemgmt.mapper.ITaskManagementMapper;
 import com.railse.hiring.workforcemgmt.model.TaskManagement;
 import com.railse.hiring.workforcemgmt.model.enums.Priority;
 import com.railse.hiring.workforcemgmt.model.enums.Task;
 import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskRepository;
 import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskSavedEvent;
 import com.railse.hiring.workforcemgmt.service.impl.TaskManagementServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -23,13 +38,25 @@ class TaskManagementServiceImplTest {
 
     private TaskRepository taskRepository;
     private ITaskManagementMapper taskMapper;
+    private TaskJsonCache taskJsonCache;
+    private SimpleMeterRegistry meterRegistry;
+    private AssignmentProperties assignmentProperties;
+    private WorkloadTracker workloadTracker;
+    private TaskReadinessTracker readinessTracker;
     private TaskManagementServiceImpl service;
 
     @BeforeEach
     void setUp() {
         taskRepository = mock(TaskRepository.class);
         taskMapper = mock(ITaskManagementMapper.class);
-        service = new TaskManagementServiceImpl(taskRepository, taskMapper);
+        taskJsonCache = mock(TaskJsonCache.class);
+        meterRegistry = new SimpleMeterRegistry();
+        assignmentProperties = new AssignmentProperties();
+        assignmentProperties.setPools(Map.of("dock", List.of(7L, 8L)));
+        workloadTracker = new WorkloadTracker(mock(TaskRepository.class), assignmentProperties, meterRegistry);
+        readinessTracker = new TaskReadinessTracker(mock(TaskRepository.class), meterRegistry);
+        service = new TaskManagementServiceImpl(taskRepository, taskMapper, taskJsonCache, workloadTracker,
+                assignmentProperties, readinessTracker, new TaskLocks(), meterRegistry);
     }
 
     @Test
@@ -43,6 +70,18 @@ class TaskManagementServiceImplTest {
         assertNotNull(result);
     }
 
+    @Test
+    void findTaskByIdAsJson() {
+        TaskManagement task = new TaskManagement();
+        task.setId(1L);
+        byte[] body = "{\"data\":{}}".getBytes();
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(taskJsonCache.toResponse(task)).thenReturn(body);
+
+        assertSame(body, service.findTaskByIdAsJson(1L));
+        verifyNoInteractions(taskMapper);
+    }
+
     @Test
     void createTasks() {
         TaskCreateRequest.RequestItem item = new TaskCreateRequest.RequestItem();
@@ -57,19 +96,66 @@ class TaskManagementServiceImplTest {
         req.setRequests(List.of(item));
 
         TaskManagement saved = new TaskManagement();
-        when(taskRepository.save(any())).thenReturn(saved);
+        when(taskRepository.saveAll(any())).thenReturn(List.of(saved));
         when(taskMapper.modelListToDtoList(any())).thenReturn(List.of(new TaskManagementDto()));
 
         List<TaskManagementDto> result = service.createTasks(req);
         assertEquals(1, result.size());
+        verify(taskRepository, never()).save(any());
+    }
+
+    @Test
+    void createTasksAutoAssignsFromPool() {
+        TaskCreateRequest.RequestItem item = new TaskCreateRequest.RequestItem();
+        item.setReferenceId(1L);
+        item.setReferenceType(ReferenceType.ORDER);
+        item.setTask(Task.CREATE_INVOICE);
+        item.setAssigneePool("dock");
+        item.setPriority(Priority.HIGH);
+
+        TaskCreateRequest req = new TaskCreateRequest();
+        req.setRequests(List.of(item));
+        when(taskRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        service.createTasks(req);
+
+        verify(taskRepository).saveAll(argThat(batch -> batch.size() == 1
+                && Long.valueOf(7L).equals(batch.get(0).getAssigneeId())));
+        // The reservation is released once the save has gone through
+        assertEquals(0.0, workloadTracker.loadOf(7L));
+    }
+
+    @Test
+    void createTasksSpreadsOneBatchAcrossPool() {
+        List<TaskCreateRequest.RequestItem> items = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            TaskCreateRequest.RequestItem item = new TaskCreateRequest.RequestItem();
+            item.setReferenceId(1L);
+            item.setReferenceType(ReferenceType.ORDER);
+            item.setTask(Task.CREATE_INVOICE);
+            item.setAssigneePool("dock");
+            item.setPriority(Priority.HIGH);
+            items.add(item);
+        }
+        TaskCreateRequest req = new TaskCreateRequest();
+        req.setRequests(items);
+        when(taskRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        service.createTasks(req);
+
+        // Both go out in one batch, the first reservation is still held when the second is taken
+        verify(taskRepository).saveAll(argThat(batch -> batch.size() == 2
+                && Long.valueOf(7L).equals(batch.get(0).getAssigneeId())
+                && Long.valueOf(8L).equals(batch.get(1).getAssigneeId())));
+        assertEquals(0.0, workloadTracker.loadOf(8L));
     }
 
     @Test
     void updateTasks() {
         UpdateTaskRequest.RequestItem item = new UpdateTaskRequest.RequestItem();
         item.setDescription("Updated description");
-        item.setTaskStatus(TaskStatus.COMPLETED);
-        item.setTaskId(1L);
+        item.setTaskstatus(TaskStatus.COMPLETED);
+        item.setTaskid(1L);
 
         UpdateTaskRequest req = new UpdateTaskRequest();
         req.setRequests(List.of(item));
@@ -78,12 +164,35 @@ class TaskManagementServiceImplTest {
         task.setId(1L);
 
         when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
-        when(taskRepository.save(task)).thenReturn(task);
+        when(taskRepository.saveAll(List.of(task))).thenReturn(List.of(task));
         when(taskMapper.modelListToDtoList(any())).thenReturn(List.of(new TaskManagementDto()));
 
         List<TaskManagementDto> result = service.updateTasks(req);
         assertEquals(1, result.size());
         assertEquals(TaskStatus.COMPLETED, task.getStatus());
+        verify(taskRepository).saveAll(List.of(task));
+    }
+
+    @Test
+    void updateTasksChangesNothingWhenAnIdIsMissing() {
+        UpdateTaskRequest.RequestItem known = new UpdateTaskRequest.RequestItem();
+        known.setTaskid(1L);
+        known.setTaskstatus(TaskStatus.COMPLETED);
+        UpdateTaskRequest.RequestItem missing = new UpdateTaskRequest.RequestItem();
+        missing.setTaskid(2L);
+        missing.setTaskstatus(TaskStatus.COMPLETED);
+        UpdateTaskRequest req = new UpdateTaskRequest();
+        req.setRequests(List.of(known, missing));
+
+        TaskManagement task = new TaskManagement();
+        task.setId(1L);
+        task.setStatus(TaskStatus.ASSIGNED);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(taskRepository.findById(2L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> service.updateTasks(req));
+        assertEquals(TaskStatus.ASSIGNED, task.getStatus());
+        verify(taskRepository, never()).saveAll(any());
     }
 
     @Test
@@ -120,10 +229,125 @@ class TaskManagementServiceImplTest {
 
         when(taskRepository.findByReferenceIdAndReferenceType(201L, ReferenceType.ENTITY))
                 .thenReturn(List.of(existing));
-        when(taskRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+        when(taskRepository.saveAll(any())).thenAnswer(inv -> inv.getArgument(0));
 
         String result = service.assignByReferenceV2(req);
         assertTrue(result.contains("Tasks reassigned successfully"));
+        assertEquals(TaskStatus.CANCELLED, existing.getStatus());
+        // The cancellation and its replacement are stored together
+        verify(taskRepository).saveAll(argThat(batch -> batch.size() == 2 && batch.contains(existing)));
+    }
+
+    @Test
+    void assignByReferenceV2CancelsNothingWhenThePoolIsUnknown() {
+        AssignByReferenceRequest req = new AssignByReferenceRequest();
+        req.setReferenceId(201L);
+        req.setReferenceType(ReferenceType.ENTITY);
+        req.setAssigneePool("nowhere");
+
+        TaskManagement existing = new TaskManagement();
+        existing.setTask(Task.ASSIGN_CUSTOMER_TO_SALES_PERSON);
+        existing.setStatus(TaskStatus.ASSIGNED);
+        when(taskRepository.findByReferenceIdAndReferenceType(201L, ReferenceType.ENTITY))
+                .thenReturn(List.of(existing));
+
+        assertThrows(IllegalArgumentException.class, () -> service.assignByReferenceV2(req));
+        assertEquals(TaskStatus.ASSIGNED, existing.getStatus());
+        verify(taskRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void handoverMovesOpenTasksInBatches() {
+        assignmentProperties.setHandoverBatchSize(2);
+        List<TaskManagement> tasks = new ArrayList<>();
+        for (TaskStatus status : List.of(TaskStatus.ASSIGNED, TaskStatus.STARTED, TaskStatus.COMPLETED, TaskStatus.ASSIGNED)) {
+            TaskManagement task = new TaskManagement();
+            task.setId((long) tasks.size() + 1);
+            task.setAssigneeId(5L);
+            task.setStatus(status);
+            tasks.add(task);
+        }
+        when(taskRepository.findByAssigneeIdIn(List.of(5L))).thenReturn(tasks);
+        tasks.forEach(task -> when(taskRepository.findById(task.getId())).thenReturn(Optional.of(task)));
+
+        HandoverResponse result = service.handover(new HandoverRequest(5L, 9L, null));
+
+        assertEquals(3, result.moved());
+        assertEquals(2, result.batches());
+        assertEquals(Map.of(9L, 3), result.movedTo());
+        verify(taskRepository, times(2)).saveAll(argThat(batch -> batch.stream().allMatch(task ->
+                task.getAssigneeId() == 9L && task.getActivityHistory().size() == 1)));
+        assertEquals(5L, tasks.get(2).getAssigneeId());
+    }
+
+    @Test
+    void handoverLeavesStoredTasksAloneWhenTheSaveFails() {
+        TaskManagement task = new TaskManagement();
+        task.setId(1L);
+        task.setAssigneeId(5L);
+        task.setStatus(TaskStatus.ASSIGNED);
+        when(taskRepository.findByAssigneeIdIn(List.of(5L))).thenReturn(List.of(task));
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(taskRepository.saveAll(any())).thenThrow(new IllegalStateException("store unavailable"));
+
+        assertThrows(IllegalStateException.class, () -> service.handover(new HandoverRequest(5L, 9L, null)));
+        assertEquals(5L, task.getAssigneeId());
+        assertTrue(task.getActivityHistory().isEmpty());
+    }
+
+    @Test
+    void handoverKeepsConcurrentComments() throws Exception {
+        InMemoryTaskRepository store = new InMemoryTaskRepository(0, 1);
+        assignmentProperties.setHandoverBatchSize(7);
+        TaskManagementServiceImpl concurrent = new TaskManagementServiceImpl(store, taskMapper, taskJsonCache,
+                workloadTracker, assignmentProperties, readinessTracker, new TaskLocks(), meterRegistry);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            ids.add(store.save(TaskManagement.builder()
+                    .referenceId((long) i)
+                    .referenceType(ReferenceType.ORDER)
+                    .task(Task.CREATE_INVOICE)
+                    .assigneeId(5L)
+                    .status(TaskStatus.ASSIGNED)
+                    .priority(Priority.MEDIUM)
+                    .build()).getId());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            Future<HandoverResponse> handover = executor.submit(() -> {
+                start.await();
+                return concurrent.handover(new HandoverRequest(5L, 9L, null));
+            });
+            Future<?> comments = executor.submit(() -> {
+                start.await();
+                for (Long id : ids) {
+                    concurrent.addCommentToTask(new AddCommentRequest(id, "note"));
+                }
+                return null;
+            });
+            start.countDown();
+
+            assertEquals(500, handover.get(10, TimeUnit.SECONDS).moved());
+            comments.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (Long id : ids) {
+            TaskManagement task = store.findById(id).orElseThrow();
+            assertEquals(9L, task.getAssigneeId());
+            assertEquals(1, task.getComments().size());
+            assertEquals(2, task.getActivityHistory().size());
+            assertEquals(3, task.getVersion());
+        }
+    }
+
+    @Test
+    void handoverRejectsAmbiguousTarget() {
+        assertThrows(IllegalArgumentException.class, () -> service.handover(new HandoverRequest(5L, 9L, "dock")));
+        assertThrows(IllegalArgumentException.class, () -> service.handover(new HandoverRequest(5L, null, null)));
     }
 
     @Test
@@ -199,6 +423,25 @@ class TaskManagementServiceImplTest {
         assertEquals(2, result.size());
     }
 
+    @Test
+    void fetchTasksByDateV4ReadyOnly() {
+        long now = System.currentTimeMillis();
+        TaskManagement invoice = TaskManagement.builder().id(1L).referenceId(101L).referenceType(ReferenceType.ORDER)
+                .task(Task.CREATE_INVOICE).status(TaskStatus.ASSIGNED).taskDeadlineTime(now).build();
+        TaskManagement pickup = TaskManagement.builder().id(2L).referenceId(101L).referenceType(ReferenceType.ORDER)
+                .task(Task.ARRANGE_PICKUP).status(TaskStatus.ASSIGNED).taskDeadlineTime(now).build();
+        readinessTracker.onTaskSaved(new TaskSavedEvent(invoice));
+        readinessTracker.onTaskSaved(new TaskSavedEvent(pickup));
+
+        when(taskRepository.findByAssigneeIdIn(any())).thenReturn(List.of(invoice, pickup));
+        when(taskMapper.modelToDto(any())).thenReturn(new TaskManagementDto());
+
+        TaskFetchByDateRequest req = new TaskFetchByDateRequest(now - 1000, now + 1000, List.of(1L), true);
+        assertEquals(1, service.fetchTasksByDateV4(req).size());
+        verify(taskMapper).modelToDto(invoice);
+        verify(taskMapper, never()).modelToDto(pickup);
+    }
+
     @Test
     void updateTaskPriority() {
         TaskManagement task = new TaskManagement();
@@ -224,6 +467,23 @@ class TaskManagementServiceImplTest {
         assertEquals(1, result.size());
     }
 
+    @Test
+    void recordsRowsScannedAndReturned() {
+        TaskManagement high = new TaskManagement();
+        high.setPriority(Priority.HIGH);
+        TaskManagement low = new TaskManagement();
+        low.setPriority(Priority.LOW);
+
+        when(taskRepository.findAll()).thenReturn(List.of(high, low));
+
+        service.getTasksByPriority(Priority.HIGH);
+
+        assertEquals(2.0, meterRegistry.get("task.query.rows.scanned").tag("query", "priority")
+                .summary().totalAmount());
+        assertEquals(1.0, meterRegistry.get("task.query.rows.returned").tag("query", "priority")
+                .summary().totalAmount());
+    }
+
     @Test
     void addCommentToTask() {
         TaskManagement t = new TaskManagement();
@@ -0,0 +1,179 @@
+package com.railse.hiring.workforcemgmt.unit.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.railse.hiring.workforcemgmt.common.admission.AdaptiveConcurrencyLimiter;
+import com.railse.hiring.workforcemgmt.common.admission.AdmissionFilter;
+import com.railse.hiring.workforcemgmt.common.admission.AdmissionProperties;
+import com.railse.hiring.workforcemgmt.common.admission.ClientResolver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AdmissionFilter Unit Tests")
+class AdmissionFilterTest {
+
+    private AdmissionProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicInteger calls;
+    private FilterChain chain;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AdmissionProperties();
+        properties.setBucketCapacity(40);
+        properties.setRefillPerSecond(0.001);
+        AdmissionProperties.EndpointCost v1 = new AdmissionProperties.EndpointCost();
+        v1.setMethod("POST");
+        v1.setPath("/task-mgmt/fetch-by-date/v1");
+        v1.setCost(20);
+        properties.setCosts(List.of(v1));
+        properties.setClients(List.of("noisy", "quiet"));
+        meterRegistry = new SimpleMeterRegistry();
+        calls = new AtomicInteger();
+        chain = (req, res) -> calls.incrementAndGet();
+    }
+
+    @Test
+    @DisplayName("Should reject a client once its bucket is empty, without calling the controller")
+    void shouldRejectClientOverBudget() throws Exception {
+        // Given
+        AdmissionFilter filter = filter();
+
+        // When two expensive calls drain the bucket
+        MockHttpServletResponse first = send(filter, "noisy", "/task-mgmt/fetch-by-date/v1");
+        MockHttpServletResponse second = send(filter, "noisy", "/task-mgmt/fetch-by-date/v1");
+        MockHttpServletResponse third = send(filter, "noisy", "/task-mgmt/1");
+        MockHttpServletResponse other = send(filter, "quiet", "/task-mgmt/1");
+
+        // Then
+        assertEquals(200, first.getStatus());
+        assertEquals(200, second.getStatus());
+        assertEquals(429, third.getStatus());
+        assertNotNull(third.getHeader("Retry-After"));
+        assertTrue(third.getContentAsString().contains("\"code\":429"));
+        assertEquals(200, other.getStatus());
+        assertEquals(3, calls.get());
+        assertEquals(1.0, meterRegistry.get("task.admission.rejected")
+                .tag("client", "noisy").tag("reason", "rate").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should key clients that are not allow-listed by remote address and tag them as other")
+    void shouldNotTrustUnlistedClientIds() throws Exception {
+        // Given
+        properties.setBucketCapacity(20);
+        AdmissionFilter filter = filter();
+
+        // When a caller rotates made-up ids from one address
+        MockHttpServletResponse first = send(filter, "made-up-1", "/task-mgmt/fetch-by-date/v1");
+        MockHttpServletResponse second = send(filter, "made-up-2", "/task-mgmt/fetch-by-date/v1");
+
+        // Then
+        assertEquals(200, first.getStatus());
+        assertEquals(429, second.getStatus());
+        assertEquals(1.0, meterRegistry.get("task.admission.rejected")
+                .tag("client", ClientResolver.OTHER).tag("reason", "rate").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should honour wildcard allow-list entries and tag by the entry")
+    void shouldTagByAllowListEntry() throws Exception {
+        // Given
+        properties.setBucketCapacity(20);
+        properties.setClients(List.of("load-user-*"));
+        AdmissionFilter filter = filter();
+
+        // When
+        MockHttpServletResponse first = send(filter, "load-user-1", "/task-mgmt/fetch-by-date/v1");
+        MockHttpServletResponse second = send(filter, "load-user-2", "/task-mgmt/fetch-by-date/v1");
+        MockHttpServletResponse third = send(filter, "load-user-2", "/task-mgmt/fetch-by-date/v1");
+
+        // Then
+        assertEquals(200, first.getStatus());
+        assertEquals(200, second.getStatus());
+        assertEquals(429, third.getStatus());
+        assertEquals(1.0, meterRegistry.get("task.admission.rejected")
+                .tag("client", "load-user-*").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should keep no more than maxClients buckets however many clients show up")
+    void shouldBoundTrackedClients() throws Exception {
+        // Given
+        properties.setMaxClients(2);
+        properties.setClients(List.of("load-user-*"));
+        AdmissionFilter filter = filter();
+
+        // When
+        for (int i = 0; i < 50; i++) {
+            assertEquals(200, send(filter, "load-user-" + i, "/task-mgmt/1").getStatus());
+        }
+
+        // Then
+        assertTrue(meterRegistry.get("task.admission.clients").gauge().value() <= 2);
+    }
+
+    @Test
+    @DisplayName("Should leave requests outside the task API alone")
+    void shouldIgnoreOtherPaths() throws Exception {
+        properties.setBucketCapacity(0);
+        AdmissionFilter filter = filter();
+
+        assertEquals(200, send(filter, "noisy", "/actuator/health").getStatus());
+    }
+
+    @Test
+    @DisplayName("Should shrink the concurrency limit when latency climbs and grow it back")
+    void shouldAdaptConcurrencyLimit() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 4, 100, 1.5);
+        saturate(limiter, TimeUnit.MILLISECONDS.toNanos(5), 200);
+        int healthy = limiter.limit();
+
+        // When latency jumps tenfold
+        saturate(limiter, TimeUnit.MILLISECONDS.toNanos(50), 50);
+
+        // Then
+        assertTrue(limiter.limit() < healthy, "limit " + limiter.limit() + " vs " + healthy);
+        assertTrue(limiter.limit() >= 4);
+
+        // When latency recovers
+        int overloaded = limiter.limit();
+        saturate(limiter, TimeUnit.MILLISECONDS.toNanos(5), 200);
+
+        // Then
+        assertTrue(limiter.limit() > overloaded);
+    }
+
+    // Keeps the limiter full so every sample counts
+    private static void saturate(AdaptiveConcurrencyLimiter limiter, long latencyNanos, int samples) {
+        for (int i = 0; i < samples; i++) {
+            while (limiter.tryAcquire()) {
+                // fill up to the limit
+            }
+            limiter.release(latencyNanos);
+        }
+    }
+
+    private AdmissionFilter filter() {
+        return new AdmissionFilter(properties, new ClientResolver(properties), new ObjectMapper(), meterRegistry);
+    }
+
+    private MockHttpServletResponse send(AdmissionFilter filter, String client, String path) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(path.contains("fetch") ? "POST" : "GET", path);
+        request.addHeader("X-Client-Id", client);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
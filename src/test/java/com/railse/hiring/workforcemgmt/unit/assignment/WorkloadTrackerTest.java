@@ -0,0 +1,176 @@
+package com.railse.hiring.workforcemgmt.unit.assignment;
+
+import com.railse.hiring.workforcemgmt.assignment.AssignmentProperties;
+import com.railse.hiring.workforcemgmt.assignment.WorkloadTracker;
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskDeletedEvent;
+import com.railse.hiring.workforcemgmt.repository.TaskSavedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("WorkloadTracker Unit Tests")
+class WorkloadTrackerTest {
+
+    private static final long FAR_DEADLINE = Long.MAX_VALUE;
+
+    private InMemoryTaskRepository repository;
+    private WorkloadTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        AssignmentProperties properties = new AssignmentProperties();
+        properties.setPools(Map.of("dock", List.of(1L, 2L, 3L)));
+        repository = new InMemoryTaskRepository(0, 1);
+        tracker = new WorkloadTracker(repository, properties, new SimpleMeterRegistry());
+        repository.setApplicationEventPublisher(event -> {
+            if (event instanceof TaskSavedEvent saved) {
+                tracker.onTaskSaved(saved);
+            } else if (event instanceof TaskDeletedEvent deleted) {
+                tracker.onTaskDeleted(deleted);
+            }
+        });
+    }
+
+    @Test
+    @DisplayName("Should pick the member with the lowest weighted open workload")
+    void shouldPickLeastLoaded() {
+        // Given
+        repository.save(task(1L, Priority.HIGH, FAR_DEADLINE));
+        repository.save(task(2L, Priority.LOW, FAR_DEADLINE));
+        repository.save(task(2L, Priority.LOW, FAR_DEADLINE));
+        repository.save(task(3L, Priority.MEDIUM, FAR_DEADLINE));
+        repository.save(task(3L, Priority.LOW, FAR_DEADLINE));
+
+        // When
+        try (WorkloadTracker.Reservation reservation = tracker.reserve("dock", Priority.LOW, FAR_DEADLINE)) {
+            // Then
+            assertEquals(2L, reservation.assigneeId());
+        }
+    }
+
+    @Test
+    @DisplayName("Should weigh tasks close to their deadline more heavily")
+    void shouldWeighUrgentTasks() {
+        // Given
+        repository.save(task(1L, Priority.MEDIUM, System.currentTimeMillis() + 60_000));
+        repository.save(task(2L, Priority.MEDIUM, FAR_DEADLINE));
+        repository.save(task(3L, Priority.MEDIUM, FAR_DEADLINE));
+
+        // Then
+        assertEquals(4.0, tracker.loadOf(1L));
+        assertEquals(2.0, tracker.loadOf(2L));
+    }
+
+    @Test
+    @DisplayName("Should release load when a task is completed, cancelled or reassigned")
+    void shouldFollowTaskLifecycle() {
+        // Given
+        TaskManagement first = repository.save(task(1L, Priority.HIGH, FAR_DEADLINE));
+        TaskManagement second = repository.save(task(1L, Priority.HIGH, FAR_DEADLINE));
+        TaskManagement third = repository.save(task(2L, Priority.HIGH, FAR_DEADLINE));
+
+        // When
+        first.setStatus(TaskStatus.COMPLETED);
+        repository.save(first);
+        second.setStatus(TaskStatus.CANCELLED);
+        repository.save(second);
+        third.setAssigneeId(3L);
+        repository.save(third);
+
+        // Then
+        assertEquals(0.0, tracker.loadOf(1L));
+        assertEquals(0.0, tracker.loadOf(2L));
+        assertEquals(4.0, tracker.loadOf(3L));
+    }
+
+    @Test
+    @DisplayName("Should count existing open tasks on rebuild")
+    void shouldBootstrapFromStore() {
+        // Given
+        InMemoryTaskRepository seeded = new InMemoryTaskRepository(0, 1);
+        seeded.save(task(1L, Priority.LOW, FAR_DEADLINE));
+        TaskManagement done = task(1L, Priority.HIGH, FAR_DEADLINE);
+        done.setStatus(TaskStatus.COMPLETED);
+        seeded.save(done);
+        AssignmentProperties properties = new AssignmentProperties();
+        properties.setPools(Map.of("dock", List.of(1L)));
+        WorkloadTracker seededTracker = new WorkloadTracker(seeded, properties, new SimpleMeterRegistry());
+
+        // When
+        seededTracker.rebuild();
+
+        // Then
+        assertEquals(1.0, seededTracker.loadOf(1L));
+    }
+
+    @Test
+    @DisplayName("Should spread concurrent reservations evenly across the pool")
+    void shouldSpreadConcurrentReservations() throws Exception {
+        // Given
+        int threads = 6;
+        int perThread = 50;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<Long>>> futures = new ArrayList<>();
+
+        // When
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                List<Long> picked = new ArrayList<>();
+                for (int i = 0; i < perThread; i++) {
+                    // Held open so every pick sees the previous ones
+                    picked.add(tracker.reserve("dock", Priority.MEDIUM, FAR_DEADLINE).assigneeId());
+                }
+                return picked;
+            }));
+        }
+        start.countDown();
+        long[] counts = new long[4];
+        for (Future<List<Long>> future : futures) {
+            future.get(10, TimeUnit.SECONDS).forEach(id -> counts[id.intValue()]++);
+        }
+        executor.shutdown();
+
+        // Then
+        assertEquals(100, counts[1]);
+        assertEquals(100, counts[2]);
+        assertEquals(100, counts[3]);
+    }
+
+    @Test
+    @DisplayName("Should reject unknown pools")
+    void shouldRejectUnknownPool() {
+        assertThrows(IllegalArgumentException.class, () -> tracker.reserve("yard", Priority.LOW, FAR_DEADLINE));
+    }
+
+    private TaskManagement task(Long assigneeId, Priority priority, long deadline) {
+        return TaskManagement.builder()
+                .referenceId(100L)
+                .referenceType(ReferenceType.ORDER)
+                .task(Task.CREATE_INVOICE)
+                .status(TaskStatus.ASSIGNED)
+                .assigneeId(assigneeId)
+                .priority(priority)
+                .taskDeadlineTime(deadline)
+                .build();
+    }
+}
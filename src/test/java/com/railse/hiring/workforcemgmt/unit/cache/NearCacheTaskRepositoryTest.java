@@ -0,0 +1,159 @@
+package com.railse.hiring.workforcemgmt.unit.cache;
+
+import com.railse.hiring.workforcemgmt.cache.NearCacheProperties;
+import com.railse.hiring.workforcemgmt.cache.NearCacheTaskRepository;
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.Comment;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("NearCacheTaskRepository Unit Tests")
+class NearCacheTaskRepositoryTest {
+
+    private TaskRepository store;
+    private SimpleMeterRegistry meterRegistry;
+    private NearCacheTaskRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        store = mock(TaskRepository.class);
+        when(store.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(store.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        meterRegistry = new SimpleMeterRegistry();
+        NearCacheProperties properties = new NearCacheProperties();
+        properties.setMaximumSize(100);
+        repository = new NearCacheTaskRepository(store, properties, meterRegistry);
+    }
+
+    private static TaskManagement task(long id, long version, TaskStatus status) {
+        return TaskManagement.builder()
+                .id(id)
+                .referenceId(101L)
+                .referenceType(ReferenceType.ORDER)
+                .task(Task.CREATE_INVOICE)
+                .status(status)
+                .priority(Priority.HIGH)
+                .version(version)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should read a task from the store once and then from the cache")
+    void shouldServeRepeatedReadsFromCache() {
+        // Given
+        when(store.findById(1L)).thenReturn(Optional.of(task(1L, 1, TaskStatus.ASSIGNED)));
+
+        // When
+        repository.findById(1L);
+        Optional<TaskManagement> second = repository.findById(1L);
+
+        // Then
+        assertTrue(second.isPresent());
+        verify(store, times(1)).findById(1L);
+        assertEquals(0.5, meterRegistry.get("task.near_cache.hit_ratio").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should not cache a task the store does not have")
+    void shouldNotCacheMisses() {
+        // Given
+        when(store.findById(9L)).thenReturn(Optional.empty());
+
+        // When
+        repository.findById(9L);
+        repository.findById(9L);
+
+        // Then
+        verify(store, times(2)).findById(9L);
+        assertEquals(0, repository.size());
+    }
+
+    @Test
+    @DisplayName("Should hand out copies so unsaved changes stay private")
+    void shouldHandOutCopies() {
+        // Given
+        when(store.findById(1L)).thenReturn(Optional.of(task(1L, 1, TaskStatus.ASSIGNED)));
+        TaskManagement first = repository.findById(1L).orElseThrow();
+
+        // When
+        first.setStatus(TaskStatus.COMPLETED);
+        first.getComments().add(new Comment("not saved", 1));
+
+        // Then
+        TaskManagement second = repository.findById(1L).orElseThrow();
+        assertEquals(TaskStatus.ASSIGNED, second.getStatus());
+        assertTrue(second.getComments().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should write saved tasks through to the cache")
+    void shouldWriteThroughOnSave() {
+        // Given
+        TaskManagement task = task(1L, 2, TaskStatus.STARTED);
+
+        // When
+        repository.saveAll(List.of(task, task));
+        task.setStatus(TaskStatus.COMPLETED);
+
+        // Then
+        TaskManagement cached = repository.findById(1L).orElseThrow();
+        assertEquals(TaskStatus.STARTED, cached.getStatus());
+        verify(store, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Should keep the newer version when saves finish out of order")
+    void shouldKeepNewerVersion() {
+        // Given
+        repository.save(task(1L, 3, TaskStatus.COMPLETED));
+
+        // When
+        repository.save(task(1L, 2, TaskStatus.STARTED));
+
+        // Then
+        assertEquals(TaskStatus.COMPLETED, repository.findById(1L).orElseThrow().getStatus());
+    }
+
+    @Test
+    @DisplayName("Should drop the entry when two saves of the same version race")
+    void shouldDropEntryOnVersionTie() {
+        // Given
+        repository.save(task(1L, 2, TaskStatus.STARTED));
+        when(store.findById(1L)).thenReturn(Optional.of(task(1L, 2, TaskStatus.COMPLETED)));
+
+        // When
+        repository.save(task(1L, 2, TaskStatus.COMPLETED));
+
+        // Then
+        assertEquals(TaskStatus.COMPLETED, repository.findById(1L).orElseThrow().getStatus());
+        verify(store).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Should invalidate the entry when the task is deleted")
+    void shouldInvalidateOnDelete() {
+        // Given
+        repository.save(task(1L, 1, TaskStatus.ASSIGNED));
+
+        // When
+        repository.deleteById(1L);
+
+        // Then
+        when(store.findById(1L)).thenReturn(Optional.empty());
+        assertTrue(repository.findById(1L).isEmpty());
+        verify(store).deleteById(1L);
+    }
+}
@@ -0,0 +1,121 @@
+package com.railse.hiring.workforcemgmt.unit.cache;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.railse.hiring.workforcemgmt.cache.JsonCacheProperties;
+import com.railse.hiring.workforcemgmt.cache.TaskJsonCache;
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.mapper.ITaskManagementMapper;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.TaskSavedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("TaskJsonCache Unit Tests")
+class TaskJsonCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ITaskManagementMapper taskMapper;
+    private JsonCacheProperties properties;
+    private TaskJsonCache cache;
+
+    @BeforeEach
+    void setUp() {
+        taskMapper = spy(ITaskManagementMapper.INSTANCE);
+        properties = new JsonCacheProperties();
+        cache = new TaskJsonCache(objectMapper, taskMapper, properties);
+    }
+
+    @Test
+    @DisplayName("Should serialize a task once per version")
+    void shouldSerializeOncePerVersion() throws Exception {
+        TaskManagement task = task(1L, "first");
+
+        JsonNode first = objectMapper.readTree(cache.toResponse(task));
+        JsonNode second = objectMapper.readTree(cache.toResponse(task));
+
+        assertEquals(first, second);
+        assertEquals("first", second.at("/data/description").asText());
+        assertEquals(200, second.at("/status/code").asInt());
+        verify(taskMapper, times(1)).modelToDto(task);
+    }
+
+    @Test
+    @DisplayName("Should re-serialize after the version moves on")
+    void shouldRefreshOnNewVersion() throws Exception {
+        TaskManagement task = task(1L, "first");
+        cache.toResponse(task);
+
+        task.setDescription("second");
+        task.setVersion(task.getVersion() + 1);
+
+        JsonNode body = objectMapper.readTree(cache.toResponse(task));
+        assertEquals("second", body.at("/data/description").asText());
+    }
+
+    @Test
+    @DisplayName("Should drop the entry when the task is saved")
+    void shouldInvalidateOnSave() {
+        TaskManagement task = task(1L, "first");
+        cache.toResponse(task);
+        assertEquals(1, cache.size());
+
+        cache.onTaskSaved(new TaskSavedEvent(task));
+
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.cachedBytes());
+    }
+
+    @Test
+    @DisplayName("Should evict least recently used entries beyond the byte budget")
+    void shouldEvictBeyondBudget() {
+        cache.toResponse(task(1L, "first"));
+        long oneEntry = cache.cachedBytes();
+        properties.setMaxBytes(oneEntry * 2 + oneEntry / 2);
+
+        cache.toResponse(task(2L, "first"));
+        cache.toResponse(task(3L, "first"));
+
+        assertEquals(2, cache.size());
+        assertTrue(cache.cachedBytes() <= properties.getMaxBytes());
+    }
+
+    @Test
+    @DisplayName("Should splice list bodies and round trip compressed entries")
+    void shouldSpliceListWithCompression() throws Exception {
+        properties.setCompress(true);
+        List<TaskManagement> tasks = List.of(task(1L, "first"), task(2L, "second"));
+
+        JsonNode cold = objectMapper.readTree(cache.toResponse(tasks));
+        JsonNode warm = objectMapper.readTree(cache.toResponse(tasks));
+
+        assertEquals(cold, warm);
+        assertEquals(2, warm.get("data").size());
+        assertEquals("second", warm.at("/data/1/description").asText());
+        assertTrue(warm.get("pagination").isNull());
+    }
+
+    private static TaskManagement task(Long id, String description) {
+        return TaskManagement.builder()
+                .id(id)
+                .referenceId(101L)
+                .referenceType(ReferenceType.ORDER)
+                .task(Task.CREATE_INVOICE)
+                .description(description)
+                .status(TaskStatus.ASSIGNED)
+                .assigneeId(1L)
+                .priority(Priority.HIGH)
+                .taskDeadlineTime(1_700_000_000_000L)
+                .version(1)
+                .build();
+    }
+}
@@ -0,0 +1,65 @@
+package com.railse.hiring.workforcemgmt.unit.cluster;
+
+import com.railse.hiring.workforcemgmt.cluster.ConsistentHashRing;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ConsistentHashRing Unit Tests")
+class ConsistentHashRingTest {
+
+    private static final int KEYS = 100_000;
+
+    @Test
+    @DisplayName("Should spread keys roughly evenly across nodes")
+    void shouldSpreadKeysEvenly() {
+        // Given
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("node-1", "node-2", "node-3"), 128);
+
+        // When
+        Map<String, Integer> owned = new HashMap<>();
+        for (long key = 0; key < KEYS; key++) {
+            owned.merge(ring.ownerOf(key), 1, Integer::sum);
+        }
+
+        // Then
+        assertEquals(3, owned.size());
+        owned.values().forEach(count -> assertTrue(Math.abs(count - KEYS / 3) < KEYS / 10,
+                "unbalanced share " + count));
+    }
+
+    @Test
+    @DisplayName("Should only move keys to the new node when a node joins")
+    void shouldOnlyMoveKeysToNewNode() {
+        // Given
+        ConsistentHashRing before = new ConsistentHashRing(List.of("node-1", "node-2", "node-3"), 128);
+        ConsistentHashRing after = new ConsistentHashRing(List.of("node-1", "node-2", "node-3", "node-4"), 128);
+
+        // When
+        int moved = 0;
+        for (long key = 0; key < KEYS; key++) {
+            String oldOwner = before.ownerOf(key);
+            String newOwner = after.ownerOf(key);
+            if (!oldOwner.equals(newOwner)) {
+                assertEquals("node-4", newOwner);
+                moved++;
+            }
+        }
+
+        // Then about a quarter of the keys move, never between existing nodes
+        assertTrue(moved > KEYS / 6 && moved < KEYS / 3, "moved " + moved);
+    }
+
+    @Test
+    @DisplayName("Should reject lookups on an empty ring")
+    void shouldRejectEmptyRing() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of(), 128);
+
+        assertThrows(IllegalStateException.class, () -> ring.ownerOf(1L));
+    }
+}
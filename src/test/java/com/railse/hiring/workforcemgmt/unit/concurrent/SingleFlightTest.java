@@ -0,0 +1,94 @@
+package com.railse.hiring.workforcemgmt.unit.concurrent;
+
+import com.railse.hiring.workforcemgmt.common.concurrent.SingleFlight;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SingleFlight Unit Tests")
+class SingleFlightTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final SingleFlight<String, Integer> flights = new SingleFlight<>(registry, "test");
+
+    @Test
+    @DisplayName("Should run overlapping calls with the same key once")
+    void shouldCoalesceOverlappingCalls() throws Exception {
+        // Given a slow computation
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            results.add(executor.submit(() -> flights.execute("same", () -> {
+                started.countDown();
+                await(release);
+                return runs.incrementAndGet();
+            })));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            // When seven more callers ask for the same key while it runs
+            for (int i = 0; i < 7; i++) {
+                results.add(executor.submit(() -> flights.execute("same", runs::incrementAndGet)));
+            }
+            awaitCoalesced(7);
+            release.countDown();
+
+            // Then
+            for (Future<Integer> result : results) {
+                assertEquals(1, result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, runs.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should run again once the previous call has finished")
+    void shouldNotCacheResults() {
+        AtomicInteger runs = new AtomicInteger();
+
+        assertEquals(1, flights.execute("key", runs::incrementAndGet));
+        assertEquals(2, flights.execute("key", runs::incrementAndGet));
+        assertEquals(3, flights.execute("other", runs::incrementAndGet));
+    }
+
+    @Test
+    @DisplayName("Should hand the leader's failure to its followers and then forget it")
+    void shouldPropagateFailure() {
+        assertThrows(IllegalStateException.class, () -> flights.execute("key", () -> {
+            throw new IllegalStateException("boom");
+        }));
+
+        assertEquals(7, flights.execute("key", () -> 7));
+    }
+
+    private void awaitCoalesced(int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (registry.get("task.singleflight.calls").tag("result", "coalesced").counter().count() < expected) {
+            assertTrue(System.currentTimeMillis() < deadline, "callers never joined the flight");
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
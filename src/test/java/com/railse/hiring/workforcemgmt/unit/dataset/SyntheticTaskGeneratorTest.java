@@ -0,0 +1,105 @@
+package com.railse.hiring.workforcemgmt.unit.dataset;
+
+import com.railse.hiring.workforcemgmt.dataset.SyntheticDataProperties;
+import com.railse.hiring.workforcemgmt.dataset.SyntheticTaskGenerator;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SyntheticTaskGenerator Unit Tests")
+class SyntheticTaskGeneratorTest {
+
+    private SyntheticDataProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SyntheticDataProperties();
+        properties.setTaskCount(20_000);
+        properties.setAssigneeCount(200);
+        properties.setChunkSize(1_000);
+        properties.setAnchorTime(1_700_000_000_000L);
+    }
+
+    @Test
+    @DisplayName("Should produce the same chunk for the same seed")
+    void shouldBeDeterministicBySeed() {
+        List<TaskManagement> first = new SyntheticTaskGenerator(properties).generateChunk(3);
+        List<TaskManagement> second = new SyntheticTaskGenerator(properties).generateChunk(3);
+        properties.setSeed(7L);
+        List<TaskManagement> reseeded = new SyntheticTaskGenerator(properties).generateChunk(3);
+
+        assertEquals(1_000, first.size());
+        assertEquals(first, second);
+        assertNotEquals(first, reseeded);
+    }
+
+    @Test
+    @DisplayName("Should skew work towards a few assignees and repeat some references")
+    void shouldShapeTheDistribution() {
+        SyntheticTaskGenerator generator = new SyntheticTaskGenerator(properties);
+        List<TaskManagement> tasks = generator.generateChunk(0);
+
+        Map<Long, Long> perAssignee = tasks.stream()
+                .collect(Collectors.groupingBy(TaskManagement::getAssigneeId, Collectors.counting()));
+        long top = perAssignee.getOrDefault(1L, 0L);
+        long tail = perAssignee.getOrDefault(200L, 0L);
+        assertTrue(top > tail * 5, "assignee 1 should carry far more work than assignee 200");
+
+        boolean duplicateReference = tasks.stream()
+                .filter(task -> task.getTask() == Task.ASSIGN_CUSTOMER_TO_SALES_PERSON)
+                .collect(Collectors.groupingBy(TaskManagement::getReferenceId, Collectors.counting()))
+                .values().stream().anyMatch(count -> count > 1);
+        assertTrue(duplicateReference);
+    }
+
+    @Test
+    @DisplayName("Should give the same tasks the same ids on every load")
+    void shouldAssignSameIdsEveryLoad() {
+        InMemoryTaskRepository first = new InMemoryTaskRepository(0, 1);
+        InMemoryTaskRepository second = new InMemoryTaskRepository(0, 1);
+
+        new SyntheticTaskGenerator(properties).populate(first, 4);
+        new SyntheticTaskGenerator(properties).populate(second, 1);
+
+        for (long id : new long[]{1L, 7_777L, 20_000L}) {
+            TaskManagement a = first.findById(id).orElseThrow();
+            TaskManagement b = second.findById(id).orElseThrow();
+            assertEquals(a.getReferenceId(), b.getReferenceId());
+            assertEquals(a.getTaskDeadlineTime(), b.getTaskDeadlineTime());
+            assertEquals(a.getComments(), b.getComments());
+        }
+    }
+
+    @Test
+    @DisplayName("Should use a fixed anchor unless one is configured")
+    void shouldUseFixedAnchorByDefault() {
+        List<TaskManagement> first = new SyntheticTaskGenerator(new SyntheticDataProperties()).generateChunk(0);
+        List<TaskManagement> second = new SyntheticTaskGenerator(new SyntheticDataProperties()).generateChunk(0);
+
+        assertEquals(first, second);
+    }
+
+    @Test
+    @DisplayName("Should populate a repository in parallel")
+    void shouldPopulateRepositoryInParallel() {
+        InMemoryTaskRepository repository = new InMemoryTaskRepository();
+
+        long written = new SyntheticTaskGenerator(properties).populate(repository, 4);
+
+        assertEquals(20_000, written);
+        assertEquals(6 + 20_000, repository.count());
+        Map<Long, TaskManagement> byId = repository.findAll().stream()
+                .collect(Collectors.toMap(TaskManagement::getId, Function.identity()));
+        assertEquals(6 + 20_000, byId.size());
+    }
+}
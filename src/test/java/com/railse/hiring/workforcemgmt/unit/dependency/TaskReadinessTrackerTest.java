@@ -0,0 +1,142 @@
+package com.railse.hiring.workforcemgmt.unit.dependency;
+
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.dependency.TaskReadinessTracker;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.TaskDeletedEvent;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskSavedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("TaskReadinessTracker Unit Tests")
+class TaskReadinessTrackerTest {
+
+    private TaskReadinessTracker tracker;
+    private TaskManagement invoice;
+    private TaskManagement payment;
+    private TaskManagement pickup;
+
+    @BeforeEach
+    void setUp() {
+        invoice = task(1L, 101L, Task.CREATE_INVOICE, TaskStatus.ASSIGNED);
+        payment = task(2L, 101L, Task.COLLECT_PAYMENT, TaskStatus.STARTED);
+        pickup = task(3L, 101L, Task.ARRANGE_PICKUP, TaskStatus.ASSIGNED);
+        TaskRepository store = mock(TaskRepository.class);
+        when(store.findAll()).thenReturn(List.of(invoice, payment, pickup));
+        tracker = new TaskReadinessTracker(store, new SimpleMeterRegistry());
+        tracker.rebuild();
+    }
+
+    private static TaskManagement task(Long id, Long referenceId, Task task, TaskStatus status) {
+        return TaskManagement.builder()
+                .id(id)
+                .referenceId(referenceId)
+                .referenceType(ReferenceType.ORDER)
+                .task(task)
+                .status(status)
+                .build();
+    }
+
+    private void save(TaskManagement task, TaskStatus status) {
+        task.setStatus(status);
+        tracker.onTaskSaved(new TaskSavedEvent(task));
+    }
+
+    @Test
+    @DisplayName("Should declare pickup as depending on invoice and payment")
+    void shouldDeclarePickupDependencies() {
+        assertEquals(Set.of(Task.CREATE_INVOICE, Task.COLLECT_PAYMENT), Task.ARRANGE_PICKUP.getDependencies());
+        assertEquals(Set.of(Task.ARRANGE_PICKUP), Task.CREATE_INVOICE.getDependents());
+        assertTrue(Task.ASSIGN_CUSTOMER_TO_SALES_PERSON.getDependencies().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should block a task until every task it depends on is finished")
+    void shouldBlockUntilDependenciesFinish() {
+        // Given
+        assertFalse(tracker.isReady(pickup));
+        assertTrue(tracker.isReady(invoice));
+
+        // When
+        save(invoice, TaskStatus.COMPLETED);
+
+        // Then
+        assertFalse(tracker.isReady(pickup));
+        save(payment, TaskStatus.CANCELLED);
+        assertTrue(tracker.isReady(pickup));
+        assertEquals(0, tracker.blockedCount());
+    }
+
+    @Test
+    @DisplayName("Should block again when a finished dependency is reopened")
+    void shouldBlockAgainOnReopen() {
+        // Given
+        save(invoice, TaskStatus.COMPLETED);
+        save(payment, TaskStatus.COMPLETED);
+
+        // When
+        save(invoice, TaskStatus.ASSIGNED);
+
+        // Then
+        assertFalse(tracker.isReady(pickup));
+        assertEquals(1, tracker.blockedCount());
+    }
+
+    @Test
+    @DisplayName("Should keep dependencies within one reference")
+    void shouldKeepDependenciesPerReference() {
+        // Given
+        TaskManagement otherPickup = task(4L, 102L, Task.ARRANGE_PICKUP, TaskStatus.ASSIGNED);
+
+        // When
+        tracker.onTaskSaved(new TaskSavedEvent(otherPickup));
+
+        // Then
+        assertTrue(tracker.isReady(otherPickup));
+        assertEquals(List.of(invoice, payment, otherPickup),
+                tracker.withoutBlocked(List.of(invoice, payment, pickup, otherPickup)));
+    }
+
+    @Test
+    @DisplayName("Should unblock once the last open dependency is deleted")
+    void shouldUnblockOnDelete() {
+        // Given
+        save(invoice, TaskStatus.COMPLETED);
+
+        // When
+        tracker.onTaskDeleted(new TaskDeletedEvent(payment));
+
+        // Then
+        assertTrue(tracker.isReady(pickup));
+    }
+
+    @Test
+    @DisplayName("Should count every blocked task after a mass completion")
+    void shouldCountBlockedTasksAcrossManyReferences() {
+        // Given
+        for (long ref = 1_000; ref < 1_100; ref++) {
+            tracker.onTaskSaved(new TaskSavedEvent(task(ref * 10, ref, Task.CREATE_INVOICE, TaskStatus.ASSIGNED)));
+            tracker.onTaskSaved(new TaskSavedEvent(task(ref * 10 + 1, ref, Task.ARRANGE_PICKUP, TaskStatus.ASSIGNED)));
+        }
+        assertEquals(101, tracker.blockedCount());
+
+        // When
+        for (long ref = 1_000; ref < 1_100; ref++) {
+            tracker.onTaskSaved(new TaskSavedEvent(task(ref * 10, ref, Task.CREATE_INVOICE, TaskStatus.COMPLETED)));
+        }
+
+        // Then
+        assertEquals(1, tracker.blockedCount());
+    }
+}
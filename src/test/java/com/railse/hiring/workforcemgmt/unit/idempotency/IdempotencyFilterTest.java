@@ -0,0 +1,260 @@
+package com.railse.hiring.workforcemgmt.unit.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.railse.hiring.workforcemgmt.common.admission.AdmissionProperties;
+import com.railse.hiring.workforcemgmt.common.admission.ClientResolver;
+import com.railse.hiring.workforcemgmt.common.idempotency.IdempotencyFilter;
+import com.railse.hiring.workforcemgmt.common.idempotency.IdempotencyProperties;
+import com.railse.hiring.workforcemgmt.common.idempotency.IdempotencyStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("IdempotencyFilter Unit Tests")
+class IdempotencyFilterTest {
+
+    private IdempotencyFilter filter;
+    private AtomicInteger executions;
+
+    @BeforeEach
+    void setUp() {
+        filter = new IdempotencyFilter(new IdempotencyProperties(), new ClientResolver(new AdmissionProperties()),
+                new ObjectMapper(), new SimpleMeterRegistry());
+        executions = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Should run a keyed request once and replay its response")
+    void shouldReplayStoredResponse() throws Exception {
+        // Given
+        FilterChain chain = (req, res) -> {
+            String body = new String(req.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            res.setContentType("application/json");
+            res.getOutputStream().write(("{\"run\":" + executions.incrementAndGet() + ",\"echo\":" + body + "}").getBytes());
+        };
+
+        // When
+        MockHttpServletResponse first = send("key-1", "{\"a\":1}", chain);
+        MockHttpServletResponse retry = send("key-1", "{\"a\":1}", chain);
+
+        // Then
+        assertEquals(1, executions.get());
+        assertEquals("{\"run\":1,\"echo\":{\"a\":1}}", first.getContentAsString());
+        assertEquals(first.getContentAsString(), retry.getContentAsString());
+        assertEquals("true", retry.getHeader("Idempotent-Replayed"));
+    }
+
+    @Test
+    @DisplayName("Should reject a key reused with a different body")
+    void shouldRejectKeyReuse() throws Exception {
+        FilterChain chain = (req, res) -> executions.incrementAndGet();
+
+        send("key-2", "{\"a\":1}", chain);
+        MockHttpServletResponse reused = send("key-2", "{\"a\":2}", chain);
+
+        assertEquals(409, reused.getStatus());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    @DisplayName("Should not store server errors so the client can retry")
+    void shouldNotStoreServerErrors() throws Exception {
+        FilterChain failing = (req, res) -> {
+            executions.incrementAndGet();
+            ((HttpServletResponse) res).setStatus(500);
+        };
+
+        send("key-3", "{}", failing);
+        send("key-3", "{}", failing);
+
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    @DisplayName("Should rerun a conflict but replay a not found")
+    void shouldOnlyStoreDeterministicOutcomes() throws Exception {
+        // Given
+        FilterChain conflict = (req, res) -> {
+            executions.incrementAndGet();
+            ((HttpServletResponse) res).setStatus(409);
+        };
+        FilterChain notFound = (req, res) -> {
+            executions.incrementAndGet();
+            ((HttpServletResponse) res).setStatus(404);
+        };
+
+        // When
+        send("key-409", "{}", conflict);
+        MockHttpServletResponse retried = send("key-409", "{}", notFound);
+        MockHttpServletResponse replayed = send("key-409", "{}", conflict);
+
+        // Then
+        assertEquals(2, executions.get());
+        assertEquals(404, retried.getStatus());
+        assertEquals(404, replayed.getStatus());
+        assertEquals("true", replayed.getHeader("Idempotent-Replayed"));
+    }
+
+    @Test
+    @DisplayName("Should hand the stored body to a non-blocking reader")
+    void shouldSupportReadListener() throws Exception {
+        // Given
+        StringBuilder read = new StringBuilder();
+        AtomicInteger completed = new AtomicInteger();
+        FilterChain chain = (req, res) -> {
+            ServletInputStream in = req.getInputStream();
+            in.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    while (in.isReady() && !in.isFinished()) {
+                        read.append((char) in.read());
+                    }
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    completed.incrementAndGet();
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    fail(t);
+                }
+            });
+        };
+
+        // When
+        send("key-async", "{\"a\":1}", chain);
+
+        // Then
+        assertEquals("{\"a\":1}", read.toString());
+        assertEquals(1, completed.get());
+    }
+
+    @Test
+    @DisplayName("Should make a concurrent duplicate wait for the first execution")
+    void shouldCoalesceConcurrentDuplicates() throws Exception {
+        // Given a slow first request
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain chain = (req, res) -> {
+            executions.incrementAndGet();
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            res.getOutputStream().write("done".getBytes());
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<MockHttpServletResponse> first = executor.submit(() -> send("key-4", "{}", chain));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            // When a duplicate arrives while it is running
+            Future<MockHttpServletResponse> duplicate = executor.submit(() -> send("key-4", "{}", chain));
+            Thread.sleep(50);
+            release.countDown();
+
+            // Then
+            assertEquals("done", first.get(5, TimeUnit.SECONDS).getContentAsString());
+            assertEquals("done", duplicate.get(5, TimeUnit.SECONDS).getContentAsString());
+            assertEquals(1, executions.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should not share a key between clients")
+    void shouldScopeKeysToClient() throws Exception {
+        // Given
+        FilterChain chain = (req, res) -> res.getOutputStream().write(("run " + executions.incrementAndGet()).getBytes());
+
+        // When two callers happen to pick the same key
+        MockHttpServletResponse first = send("10.0.0.1", "key-5", "{}", chain);
+        MockHttpServletResponse second = send("10.0.0.2", "key-5", "{}", chain);
+
+        // Then
+        assertEquals(2, executions.get());
+        assertEquals("run 2", second.getContentAsString());
+        assertNull(second.getHeader("Idempotent-Replayed"));
+    }
+
+    @Test
+    @DisplayName("Should keep running entries and refuse new keys when only those are left")
+    void shouldNotEvictRunningEntries() {
+        // Given
+        IdempotencyStore store = new IdempotencyStore(10, 1);
+        IdempotencyStore.Claim running = store.claim("a", "fp", 0);
+
+        // When
+        IdempotencyStore.Claim retry = store.claim("a", "fp", 100);
+        IdempotencyStore.Claim other = store.claim("b", "fp", 100);
+
+        // Then
+        assertFalse(retry.owner());
+        assertSame(running.entry(), retry.entry());
+        assertNull(other);
+        store.complete(running.entry(), new IdempotencyStore.StoredResponse(200, null, new byte[0]));
+        assertTrue(store.claim("b", "fp", 100).owner());
+    }
+
+    @Test
+    @DisplayName("Should answer 503 when the store is full of running requests")
+    void shouldRejectWhenFullOfRunningRequests() throws Exception {
+        // Given
+        IdempotencyProperties properties = new IdempotencyProperties();
+        properties.setMaxEntries(1);
+        filter = new IdempotencyFilter(properties, new ClientResolver(new AdmissionProperties()),
+                new ObjectMapper(), new SimpleMeterRegistry());
+        AtomicInteger status = new AtomicInteger();
+
+        // When a second key arrives while the first is still running
+        send("key-6", "{}", (req, res) -> {
+            try {
+                status.set(send("key-7", "{}", (r, s) -> executions.incrementAndGet()).getStatus());
+            } catch (Exception e) {
+                throw new ServletException(e);
+            }
+        });
+
+        // Then
+        assertEquals(503, status.get());
+        assertEquals(0, executions.get());
+    }
+
+    private MockHttpServletResponse send(String key, String body, FilterChain chain) throws Exception {
+        return send("127.0.0.1", key, body, chain);
+    }
+
+    private MockHttpServletResponse send(String address, String key, String body, FilterChain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/task-mgmt/create");
+        request.setRemoteAddr(address);
+        request.addHeader(IdempotencyFilter.HEADER, key);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
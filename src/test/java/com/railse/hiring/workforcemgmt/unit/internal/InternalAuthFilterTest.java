@@ -0,0 +1,114 @@
+package com.railse.hiring.workforcemgmt.unit.internal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.railse.hiring.workforcemgmt.common.internal.InternalAuthFilter;
+import com.railse.hiring.workforcemgmt.common.internal.InternalAuthProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("InternalAuthFilter Unit Tests")
+class InternalAuthFilterTest {
+
+    private InternalAuthProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicInteger calls;
+    private FilterChain chain;
+
+    @BeforeEach
+    void setUp() {
+        properties = new InternalAuthProperties();
+        properties.setSecret("s3cret");
+        meterRegistry = new SimpleMeterRegistry();
+        calls = new AtomicInteger();
+        chain = (req, res) -> calls.incrementAndGet();
+    }
+
+    @Test
+    @DisplayName("Should let cluster calls through only with the shared secret")
+    void shouldRequireSecretOnClusterEndpoints() throws Exception {
+        // Given
+        InternalAuthFilter filter = filter();
+
+        // When
+        MockHttpServletResponse missing = send(filter, "/internal/cluster/tasks/all", null);
+        MockHttpServletResponse wrong = send(filter, "/internal/cluster/tasks/all", "guess");
+        MockHttpServletResponse right = send(filter, "/internal/cluster/tasks/all", "s3cret");
+
+        // Then
+        assertEquals(403, missing.getStatus());
+        assertTrue(missing.getContentAsString().contains("\"code\":403"));
+        assertEquals(403, wrong.getStatus());
+        assertEquals(200, right.getStatus());
+        assertEquals(1, calls.get());
+        assertEquals(2.0, meterRegistry.get("task.internal.rejected").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should guard writes forwarded by replicas the same way")
+    void shouldRequireSecretOnReplicationEndpoints() throws Exception {
+        // Given
+        InternalAuthFilter filter = filter();
+
+        // When
+        MockHttpServletResponse missing = send(filter, "/internal/replication/tasks/batch", null);
+        MockHttpServletResponse right = send(filter, "/internal/replication/tasks/batch", "s3cret");
+
+        // Then
+        assertEquals(403, missing.getStatus());
+        assertEquals(200, right.getStatus());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    @DisplayName("Should refuse every cluster call while no secret is configured")
+    void shouldRefuseWithoutConfiguredSecret() throws Exception {
+        // Given
+        properties.setSecret("");
+        InternalAuthFilter filter = filter();
+
+        // When
+        MockHttpServletResponse response = send(filter, "/internal/cluster/membership", "");
+
+        // Then
+        assertEquals(403, response.getStatus());
+        assertEquals(0, calls.get());
+        assertThrows(IllegalStateException.class, () -> properties.requireSecret("task-mgmt.cluster"));
+    }
+
+    @Test
+    @DisplayName("Should leave the public API alone")
+    void shouldIgnorePublicEndpoints() throws Exception {
+        // Given
+        InternalAuthFilter filter = filter();
+
+        // When
+        MockHttpServletResponse response = send(filter, "/task-mgmt/1", null);
+
+        // Then
+        assertEquals(200, response.getStatus());
+        assertEquals(1, calls.get());
+    }
+
+    private InternalAuthFilter filter() {
+        return new InternalAuthFilter(properties, new ObjectMapper(), meterRegistry);
+    }
+
+    private MockHttpServletResponse send(InternalAuthFilter filter, String uri, String secret) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        if (secret != null) {
+            request.addHeader(InternalAuthFilter.HEADER, secret);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
@@ -0,0 +1,188 @@
+package com.railse.hiring.workforcemgmt.unit.model;
+
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.Activity;
+import com.railse.hiring.workforcemgmt.model.Comment;
+import com.railse.hiring.workforcemgmt.model.HistoryArena;
+import com.railse.hiring.workforcemgmt.model.OffHeapHistory;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("OffHeapHistory Unit Tests")
+class OffHeapHistoryTest {
+
+    private HistoryArena arena;
+
+    @BeforeEach
+    void setUp() {
+        // small segments so the tests cross segment boundaries
+        arena = new HistoryArena(128);
+    }
+
+    @Test
+    @DisplayName("Should read back appended entries in order across segments")
+    void shouldRoundTripEntries() {
+        // Given
+        List<Comment> expected = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            expected.add(new Comment("Comment number " + i + " with ünïcödé", i));
+        }
+        expected.add(new Comment(null, 99));
+
+        // When
+        List<Comment> history = OffHeapHistory.commentsOf(arena, expected);
+
+        // Then
+        assertEquals(expected, history);
+        assertEquals(21, history.size());
+        assertEquals(expected.get(7), history.get(7));
+        assertTrue(arena.reservedBytes() > 128);
+    }
+
+    @Test
+    @DisplayName("Should support inserts, removals and sorting by rewriting the chain")
+    void shouldRewriteOnReorder() {
+        // Given
+        List<Activity> history = OffHeapHistory.activitiesOf(arena, new ArrayList<>());
+        history.add(new Activity("User added a comment", 30));
+        history.add(new Activity("New task created.", 10));
+
+        // When
+        history.add(1, new Activity("Priority changed to HIGH", 20));
+        history.sort(Comparator.comparingLong(Activity::getTimestamp));
+        Activity removed = history.remove(2);
+
+        // Then
+        assertEquals(30, removed.getTimestamp());
+        assertEquals(List.of(new Activity("New task created.", 10), new Activity("Priority changed to HIGH", 20)),
+                history);
+        assertThrows(UnsupportedOperationException.class, () -> history.iterator().remove());
+    }
+
+    @Test
+    @DisplayName("Should move histories off heap on save and keep them there")
+    void shouldMoveHistoryOnSave() {
+        // Given
+        InMemoryTaskRepository repository = new InMemoryTaskRepository(0, 1);
+        repository.setHistoryArena(arena);
+        TaskManagement task = TaskManagement.builder()
+                .referenceId(101L)
+                .referenceType(ReferenceType.ORDER)
+                .task(Task.CREATE_INVOICE)
+                .status(TaskStatus.ASSIGNED)
+                .build();
+        task.getActivityHistory().add(new Activity("New task created.", 1));
+
+        // When
+        repository.save(task);
+        List<Activity> stored = task.getActivityHistory();
+        task.getActivityHistory().add(new Activity("User added a comment", 2));
+        repository.save(task);
+
+        // Then
+        assertInstanceOf(OffHeapHistory.class, stored);
+        assertSame(stored, task.getActivityHistory());
+        assertEquals(2, repository.findById(task.getId()).orElseThrow().getActivityHistory().size());
+    }
+
+    @Test
+    @DisplayName("Should give readers a consistent history while another thread appends and rewrites")
+    void shouldReadConsistentlyDuringWrites() {
+        // Given
+        List<Activity> history = OffHeapHistory.activitiesOf(arena, new ArrayList<>());
+        AtomicBoolean done = new AtomicBoolean();
+        CompletableFuture<Void> reader = CompletableFuture.runAsync(() -> {
+            while (!done.get()) {
+                List<Activity> snapshot = new ArrayList<>(history);
+                for (int i = 0; i < snapshot.size(); i++) {
+                    // entries are always a prefix of 0, 1, 2, ...
+                    assertEquals(i, snapshot.get(i).getTimestamp());
+                }
+                int size = history.size();
+                if (size > 0) {
+                    assertTrue(history.get(size - 1).getTimestamp() >= size - 1);
+                }
+            }
+        });
+
+        // When
+        for (int i = 0; i < 2_000; i++) {
+            history.add(new Activity("Entry " + i, i));
+            if (i % 100 == 99) {
+                history.sort(Comparator.comparingLong(Activity::getTimestamp));
+            }
+        }
+        done.set(true);
+
+        // Then
+        reader.join();
+        assertEquals(2_000, history.size());
+        assertEquals(new Activity("Entry 1234", 1234), history.get(1234));
+    }
+
+    @Test
+    @DisplayName("Should hand segments back once rewrites leave them empty")
+    void shouldReclaimRewrittenEntries() {
+        // Given
+        List<Comment> history = OffHeapHistory.commentsOf(arena, new ArrayList<>());
+        for (int i = 0; i < 20; i++) {
+            history.add(new Comment("Comment " + i, i));
+        }
+        long live = arena.allocatedBytes();
+
+        // When
+        for (int round = 0; round < 50; round++) {
+            history.remove(0);
+            history.add(new Comment("Comment " + (20 + round), 20 + round));
+        }
+
+        // Then
+        assertEquals(20, history.size());
+        assertEquals(new Comment("Comment 69", 69), history.get(19));
+        assertTrue(arena.allocatedBytes() <= live + 20);
+        // one segment of live entries at most twice over, not 50 rewrites worth
+        assertTrue(arena.reservedBytes() <= 4 * live + 2 * 128);
+    }
+
+    @Test
+    @DisplayName("Should release a task's entries when the store deletes or replaces it")
+    void shouldReleaseOnDeleteAndReplace() {
+        // Given
+        InMemoryTaskRepository repository = new InMemoryTaskRepository(0, 1);
+        repository.setHistoryArena(arena);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            TaskManagement task = TaskManagement.builder().referenceId((long) i).status(TaskStatus.ASSIGNED).build();
+            task.getActivityHistory().add(new Activity("New task created.", i));
+            task.getComments().add(new Comment("Comment on task " + i, i));
+            ids.add(repository.save(task).getId());
+        }
+        assertTrue(arena.reservedBytes() > 10 * 128);
+
+        // When
+        // a copy from elsewhere, e.g. a replica applying its primary's write
+        TaskManagement replacement = TaskManagement.builder().id(ids.get(0)).version(1).status(TaskStatus.STARTED).build();
+        replacement.getActivityHistory().add(new Activity("Replicated", 1));
+        repository.save(replacement);
+        ids.subList(1, ids.size()).forEach(repository::deleteById);
+
+        // Then
+        assertEquals(List.of(new Activity("Replicated", 1)),
+                repository.findById(ids.get(0)).orElseThrow().getActivityHistory());
+        assertTrue(arena.allocatedBytes() < 128);
+        assertTrue(arena.reservedBytes() <= 128);
+    }
+}
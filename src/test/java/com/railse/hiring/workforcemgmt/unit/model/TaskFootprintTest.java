@@ -0,0 +1,122 @@
+package com.railse.hiring.workforcemgmt.unit.model;
+
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.Activity;
+import com.railse.hiring.workforcemgmt.model.Comment;
+import com.railse.hiring.workforcemgmt.model.PackedHistory;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Compact task representation Unit Tests")
+class TaskFootprintTest {
+
+    private static final int TASKS = 20_000;
+    private static final int ACTIVITIES = 10;
+    private static final int COMMENTS = 2;
+
+    @Test
+    @DisplayName("Should behave like a list of activities")
+    void shouldBehaveLikeList() {
+        // Given
+        List<Activity> history = PackedHistory.activities();
+        history.add(new Activity("User added a comment", 30));
+        history.add(new Activity("New task created.", 10));
+        history.add(1, new Activity("Priority changed to HIGH", 20));
+
+        // When
+        history.sort(Comparator.comparingLong(Activity::getTimestamp));
+        history.remove(2);
+
+        // Then
+        assertEquals(List.of(new Activity("New task created.", 10), new Activity("Priority changed to HIGH", 20)),
+                history);
+    }
+
+    @Test
+    @DisplayName("Should share one copy of repeated activity messages and descriptions")
+    void shouldDeduplicateRepeatedText() {
+        // Given
+        TaskManagement first = legacyTask(1);
+        TaskManagement second = legacyTask(2);
+
+        // When
+        first.compact();
+        second.compact();
+
+        // Then
+        assertSame(first.getDescription(), second.getDescription());
+        assertSame(first.getActivityHistory().get(0).getMessage(), second.getActivityHistory().get(0).getMessage());
+        assertEquals(legacyTask(1).getActivityHistory(), first.getActivityHistory());
+        assertEquals(legacyTask(1).getComments(), first.getComments());
+    }
+
+    @Test
+    @DisplayName("Should keep one object per distinct text instead of one per history entry")
+    void shouldShareTextAcrossTasks() {
+        // Given
+        List<TaskManagement> tasks = compactTasks();
+        Set<String> texts = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        // When
+        for (TaskManagement task : tasks) {
+            texts.add(task.getDescription());
+            task.getActivityHistory().forEach(activity -> texts.add(activity.getMessage()));
+        }
+
+        // Then "New task created.", "User added a comment" and three priority texts
+        assertEquals(5, texts.size());
+        assertTrue(tasks.stream().allMatch(task -> task.getActivityHistory() instanceof PackedHistory
+                && task.getComments() instanceof PackedHistory));
+    }
+
+    private static List<TaskManagement> compactTasks() {
+        List<TaskManagement> tasks = new ArrayList<>(TASKS);
+        for (int i = 0; i < TASKS; i++) {
+            TaskManagement task = legacyTask(i);
+            task.compact();
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    // What a task looked like before: fresh strings and one object per entry
+    private static TaskManagement legacyTask(long id) {
+        List<Activity> activities = new ArrayList<>();
+        activities.add(new Activity(new String("New task created."), id));
+        for (int i = 1; i < ACTIVITIES; i++) {
+            activities.add(i % 2 == 0
+                    ? new Activity("Priority changed to " + Priority.values()[i % 3], id + i)
+                    : new Activity(new String("User added a comment"), id + i));
+        }
+        List<Comment> comments = new ArrayList<>();
+        for (int i = 0; i < COMMENTS; i++) {
+            comments.add(new Comment("Customer asked to reschedule, ref " + id + "-" + i, id + i));
+        }
+        return TaskManagement.builder()
+                .id(id)
+                .referenceId(id)
+                .referenceType(ReferenceType.ORDER)
+                .task(Task.CREATE_INVOICE)
+                .status(TaskStatus.ASSIGNED)
+                .assigneeId(id % 50)
+                .priority(Priority.MEDIUM)
+                .taskDeadlineTime(id)
+                .description(new String("New task created."))
+                .activityHistory(activities)
+                .comments(comments)
+                .build();
+    }
+}
@@ -0,0 +1,139 @@
+package com.railse.hiring.workforcemgmt.unit.replication;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.replication.MutationLogServer;
+import com.railse.hiring.workforcemgmt.replication.ReplicaSync;
+import com.railse.hiring.workforcemgmt.replication.ReplicationProperties;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskDeletedEvent;
+import com.railse.hiring.workforcemgmt.repository.TaskSavedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Mutation log replication Unit Tests")
+class MutationLogReplicationTest {
+
+    private InMemoryTaskRepository primaryStore;
+    private InMemoryTaskRepository replicaStore;
+    private MutationLogServer server;
+    private ReplicaSync replica;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        ReplicationProperties primaryProperties = new ReplicationProperties();
+        primaryProperties.setPort(0);
+        primaryProperties.setHeartbeatIntervalMs(50);
+
+        primaryStore = new InMemoryTaskRepository();
+        server = new MutationLogServer(primaryStore, objectMapper, primaryProperties, new SimpleMeterRegistry());
+        primaryStore.setApplicationEventPublisher(event -> {
+            if (event instanceof TaskSavedEvent saved) {
+                server.onTaskSaved(saved);
+            } else if (event instanceof TaskDeletedEvent deleted) {
+                server.onTaskDeleted(deleted);
+            }
+        });
+        server.start();
+
+        ReplicationProperties replicaProperties = new ReplicationProperties();
+        replicaProperties.setPort(server.localPort());
+        replicaProperties.setHeartbeatIntervalMs(50);
+        replicaProperties.setReconnectDelayMs(50);
+        replicaStore = new InMemoryTaskRepository(0, 1);
+        replica = new ReplicaSync(replicaStore, objectMapper, replicaProperties, new SimpleMeterRegistry());
+        replica.start();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        replica.stop();
+        server.stop();
+    }
+
+    @Test
+    @DisplayName("Should copy the primary's snapshot and then follow its saves and deletes")
+    void shouldFollowPrimary() throws Exception {
+        // Given the seed tasks have been shipped
+        awaitTrue(() -> replicaStore.count() == 6);
+
+        // When
+        TaskManagement created = primaryStore.save(TaskManagement.builder()
+                .referenceId(900L)
+                .referenceType(ReferenceType.ORDER)
+                .task(Task.CREATE_INVOICE)
+                .assigneeId(9L)
+                .status(TaskStatus.ASSIGNED)
+                .priority(Priority.HIGH)
+                .build());
+        created.setStatus(TaskStatus.STARTED);
+        primaryStore.save(created);
+        primaryStore.deleteById(1L);
+
+        // Then
+        awaitTrue(() -> replicaStore.findById(1L).isEmpty());
+        TaskManagement replicated = replicaStore.findById(created.getId()).orElseThrow();
+        assertEquals(TaskStatus.STARTED, replicated.getStatus());
+        assertEquals(created.getVersion(), replicated.getVersion());
+        assertEquals(1, replicaStore.findByAssigneeIdIn(List.of(9L)).size());
+        assertTrue(replica.lagMillis() >= 0);
+    }
+
+    @Test
+    @DisplayName("Should keep tailing after a mutation fails to apply")
+    void shouldSurviveApplyFailure() throws Exception {
+        // Given a listener on the replica that throws once
+        awaitTrue(() -> replicaStore.count() == 6);
+        AtomicBoolean failed = new AtomicBoolean();
+        replicaStore.setApplicationEventPublisher(event -> {
+            if (event instanceof TaskSavedEvent saved && saved.task().getReferenceId() == 901L
+                    && failed.compareAndSet(false, true)) {
+                throw new IllegalStateException("listener failed");
+            }
+        });
+
+        // When
+        primaryStore.save(task(901L));
+        TaskManagement later = primaryStore.save(task(902L));
+
+        // Then
+        awaitTrue(() -> replicaStore.findById(later.getId()).isPresent());
+        assertTrue(failed.get());
+        assertEquals(2, replicaStore.findByReferenceIdAndReferenceType(901L, ReferenceType.ORDER).size()
+                + replicaStore.findByReferenceIdAndReferenceType(902L, ReferenceType.ORDER).size());
+        awaitTrue(replica::isConnected);
+    }
+
+    private static TaskManagement task(Long referenceId) {
+        return TaskManagement.builder()
+                .referenceId(referenceId)
+                .referenceType(ReferenceType.ORDER)
+                .task(Task.CREATE_INVOICE)
+                .assigneeId(9L)
+                .status(TaskStatus.ASSIGNED)
+                .priority(Priority.HIGH)
+                .build();
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "timed out waiting for replica");
+            Thread.sleep(10);
+        }
+    }
+}
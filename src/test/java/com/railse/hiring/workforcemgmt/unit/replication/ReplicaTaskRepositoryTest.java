@@ -0,0 +1,101 @@
+package com.railse.hiring.workforcemgmt.unit.replication;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.railse.hiring.workforcemgmt.common.internal.InternalAuthFilter;
+import com.railse.hiring.workforcemgmt.common.internal.InternalAuthProperties;
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.replication.ReplicaSync;
+import com.railse.hiring.workforcemgmt.replication.ReplicaTaskRepository;
+import com.railse.hiring.workforcemgmt.replication.ReplicationProperties;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.web.client.MockServerRestTemplateCustomizer;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+@DisplayName("ReplicaTaskRepository Unit Tests")
+class ReplicaTaskRepositoryTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private InMemoryTaskRepository replicaStore;
+    private InternalAuthProperties internalAuth;
+    private MockServerRestTemplateCustomizer primary;
+
+    @BeforeEach
+    void setUp() {
+        replicaStore = new InMemoryTaskRepository(0, 1);
+        internalAuth = new InternalAuthProperties();
+        internalAuth.setSecret("s3cret");
+        primary = new MockServerRestTemplateCustomizer();
+    }
+
+    @Test
+    @DisplayName("Should forward a batch to the primary in one authenticated call and apply the result")
+    void shouldForwardSaveAll() throws Exception {
+        // Given
+        ReplicaTaskRepository repository = repository();
+        List<TaskManagement> batch = new ArrayList<>(List.of(task(null, 901L), task(null, 902L)));
+        List<TaskManagement> stored = List.of(task(501L, 901L), task(502L, 902L));
+        MockRestServiceServer server = primary.getServer();
+        server.expect(requestTo("http://primary/internal/replication/tasks/batch"))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(header(InternalAuthFilter.HEADER, "s3cret"))
+                .andRespond(withSuccess(objectMapper.writeValueAsString(stored), MediaType.APPLICATION_JSON));
+
+        // When
+        List<TaskManagement> saved = repository.saveAll(batch);
+
+        // Then
+        server.verify();
+        assertEquals(List.of(501L, 502L), saved.stream().map(TaskManagement::getId).toList());
+        assertEquals(501L, batch.get(0).getId());
+        assertTrue(replicaStore.findById(502L).isPresent());
+    }
+
+    @Test
+    @DisplayName("Should refuse to start without the shared secret")
+    void shouldRequireSecret() {
+        // Given
+        internalAuth.setSecret(null);
+
+        // When / Then
+        assertThrows(IllegalStateException.class, this::repository);
+    }
+
+    private ReplicaTaskRepository repository() {
+        ReplicationProperties properties = new ReplicationProperties();
+        properties.setPrimaryUrl("http://primary");
+        ReplicaSync sync = new ReplicaSync(replicaStore, objectMapper, properties, new SimpleMeterRegistry());
+        return new ReplicaTaskRepository(replicaStore, sync, new RestTemplateBuilder(primary), properties,
+                internalAuth);
+    }
+
+    private static TaskManagement task(Long id, Long referenceId) {
+        return TaskManagement.builder()
+                .id(id)
+                .referenceId(referenceId)
+                .referenceType(ReferenceType.ORDER)
+                .task(Task.CREATE_INVOICE)
+                .assigneeId(9L)
+                .status(TaskStatus.ASSIGNED)
+                .priority(Priority.HIGH)
+                .version(1)
+                .build();
+    }
+}
@@ -6,12 +6,16 @@ import com.railse.hiring.workforcemgmt.model.enums.Priority;
 import com.railse.hiring.workforcemgmt.model.enums.Task;
 import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
 import com.railse.hiring.workforcemgmt.repository.InMemoryTaskRepository;
+import com.railse.hiring.workforcemgmt.repository.QueryPlan;
+import com.railse.hiring.workforcemgmt.repository.QueryResult;
+import com.railse.hiring.workforcemgmt.repository.TaskQuery;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -238,6 +242,146 @@ class InMemoryTaskRepositoryTest {
         assertTrue(tasksByAssignee.isEmpty());
     }
 
+    @Test
+    @DisplayName("Should keep status counts in step with saves")
+    void shouldKeepStatusCountsInStepWithSaves() {
+        // Seed data: 4 ASSIGNED, 1 COMPLETED, 1 CANCELLED
+        assertEquals(6, repository.count());
+        assertEquals(4, repository.countByStatus(TaskStatus.ASSIGNED));
+        assertEquals(1, repository.countByStatus(TaskStatus.COMPLETED));
+
+        // When
+        TaskManagement task = repository.findById(1L).orElseThrow();
+        task.setStatus(TaskStatus.STARTED);
+        repository.save(task);
+
+        // Then
+        assertEquals(3, repository.countByStatus(TaskStatus.ASSIGNED));
+        assertEquals(1, repository.countByStatus(TaskStatus.STARTED));
+        assertEquals(6, repository.count());
+    }
+
+    @Test
+    @DisplayName("Should plan queries on the most selective index")
+    void shouldPlanQueriesOnMostSelectiveIndex() {
+        // Given seed data: assignee 1 has 3 tasks, reference 201 has 2, 4 are ASSIGNED
+        TaskQuery query = TaskQuery.builder()
+                .assigneeIds(Set.of(2L))
+                .referenceId(201L)
+                .statuses(Set.of(TaskStatus.ASSIGNED))
+                .priorities(Set.of(Priority.LOW))
+                .build();
+
+        // When
+        QueryResult result = repository.query(query);
+
+        // Then
+        assertEquals(1, result.tasks().size());
+        assertEquals(2L, result.tasks().get(0).getAssigneeId());
+        assertEquals("REFERENCE", result.plan().accessPath());
+        assertEquals(2L, result.plan().estimatedRows().get("REFERENCE"));
+        assertEquals(2L, result.plan().estimatedRows().get("ASSIGNEE"));
+        assertEquals(4L, result.plan().estimatedRows().get("STATUS"));
+        assertEquals(List.of(TaskQuery.Predicate.ASSIGNEE, TaskQuery.Predicate.STATUS, TaskQuery.Predicate.PRIORITY),
+                result.plan().residualFilters());
+        assertEquals(2, result.plan().rowsExamined());
+    }
+
+    @Test
+    @DisplayName("Should answer deadline ranges from the deadline index")
+    void shouldAnswerDeadlineRangesFromIndex() {
+        // Given
+        TaskManagement task = repository.findById(1L).orElseThrow();
+        task.setTaskDeadlineTime(1_000L);
+        repository.save(task);
+
+        // When
+        QueryResult result = repository.query(TaskQuery.builder().deadlineFrom(0L).deadlineTo(5_000L).build());
+
+        // Then
+        assertEquals("DEADLINE", result.plan().accessPath());
+        assertEquals(List.of(task), result.tasks());
+        assertEquals(1, result.plan().rowsExamined());
+
+        // When the deadline moves out of the range
+        task.setTaskDeadlineTime(10_000L);
+        repository.save(task);
+
+        // Then
+        assertTrue(repository.query(TaskQuery.builder().deadlineFrom(0L).deadlineTo(5_000L).build()).tasks().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should fall back to a full scan for unindexed filters")
+    void shouldFallBackToFullScan() {
+        // When
+        QueryResult result = repository.query(TaskQuery.builder().tasks(Set.of(Task.COLLECT_PAYMENT)).build());
+
+        // Then
+        assertEquals(QueryPlan.FULL_SCAN, result.plan().accessPath());
+        assertEquals(6, result.plan().rowsExamined());
+        assertEquals(1, result.tasks().size());
+    }
+
+    @Test
+    @DisplayName("Should stop an index path at the first full page and continue from the cursor")
+    void shouldPageIndexPathsInIdOrder() {
+        // Given seed data: assignee 1 has tasks 1, 2 and 6
+        TaskQuery firstPage = TaskQuery.builder().assigneeIds(Set.of(1L)).limit(2).build();
+
+        // When
+        QueryResult first = repository.query(firstPage);
+        QueryResult second = repository.query(TaskQuery.builder().assigneeIds(Set.of(1L)).limit(2).afterId(2L).build());
+
+        // Then
+        assertEquals(List.of(1L, 2L), first.tasks().stream().map(TaskManagement::getId).toList());
+        assertEquals("ASSIGNEE", first.plan().accessPath());
+        assertEquals(2, first.plan().limit());
+        assertEquals(2, first.plan().rowsExamined());
+        assertEquals(List.of(6L), second.tasks().stream().map(TaskManagement::getId).toList());
+        assertEquals(1, second.plan().rowsExamined());
+    }
+
+    @Test
+    @DisplayName("Should keep only the lowest ids of a capped full scan")
+    void shouldCapFullScans() {
+        // When
+        QueryResult result = repository.query(TaskQuery.builder().limit(3).afterId(1L).build());
+
+        // Then
+        assertEquals(QueryPlan.FULL_SCAN, result.plan().accessPath());
+        assertEquals(List.of(2L, 3L, 4L), result.tasks().stream().map(TaskManagement::getId).toList());
+        assertEquals(List.of(TaskQuery.Predicate.CURSOR), result.plan().residualFilters());
+        assertEquals(3, result.plan().rowsReturned());
+    }
+
+    @Test
+    @DisplayName("Should swap in a batch of replacement tasks and reindex them")
+    void shouldSaveAllReplacements() {
+        // Given - seed tasks 1, 2 and 6 belong to assignee 1, task 6 is cancelled
+        List<TaskManagement> replacements = repository.findByAssigneeIdIn(List.of(1L)).stream()
+                .map(task -> TaskManagement.builder()
+                        .id(task.getId())
+                        .referenceId(task.getReferenceId())
+                        .referenceType(task.getReferenceType())
+                        .task(task.getTask())
+                        .status(task.getStatus())
+                        .assigneeId(4L)
+                        .version(task.getVersion())
+                        .build())
+                .toList();
+
+        // When
+        repository.saveAll(replacements);
+
+        // Then
+        assertTrue(repository.findByAssigneeIdIn(List.of(1L)).isEmpty());
+        assertEquals(3, repository.findByAssigneeIdIn(List.of(4L)).size());
+        assertSame(replacements.get(0), repository.findById(replacements.get(0).getId()).orElseThrow());
+        assertEquals(6, repository.count());
+        assertEquals(4, repository.countByStatus(TaskStatus.ASSIGNED));
+    }
+
     @Test
     @DisplayName("Should verify seed data contains expected bug scenarios")
     void shouldVerifySeedDataContainsExpectedBugScenarios() {
@@ -0,0 +1,286 @@
+package com.railse.hiring.workforcemgmt.unit.repository;
+
+import com.railse.hiring.workforcemgmt.common.exception.TaskVersionConflictException;
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.Activity;
+import com.railse.hiring.workforcemgmt.model.Comment;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.JdbcTaskRepository;
+import com.railse.hiring.workforcemgmt.repository.QueryPlan;
+import com.railse.hiring.workforcemgmt.repository.QueryResult;
+import com.railse.hiring.workforcemgmt.repository.TaskQuery;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JdbcTaskRepository Unit Tests")
+class JdbcTaskRepositoryTest {
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTaskRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        // A fresh named database per test, kept open between connections until the shutdown below
+        dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        repository = new JdbcTaskRepository(dataSource, 2, 0, 1);
+    }
+
+    // On a plain connection: JdbcTemplate asks the statement for warnings after SHUTDOWN has closed it
+    @AfterEach
+    void tearDown() throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("SHUTDOWN");
+        }
+    }
+
+    private static TaskManagement task(Long referenceId, Long assigneeId, TaskStatus status, Priority priority) {
+        return TaskManagement.builder()
+                .referenceId(referenceId)
+                .referenceType(ReferenceType.ORDER)
+                .task(Task.CREATE_INVOICE)
+                .description("Stored task")
+                .assigneeId(assigneeId)
+                .status(status)
+                .priority(priority)
+                .taskDeadlineTime(1_000L * referenceId)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should seed an empty database once")
+    void shouldSeedEmptyDatabaseOnce() {
+        // When
+        repository.seedIfEmpty();
+        repository.seedIfEmpty();
+
+        // Then
+        assertEquals(6, repository.count());
+        TaskManagement first = repository.findById(1L).orElseThrow();
+        assertEquals(101L, first.getReferenceId());
+        assertEquals(Task.CREATE_INVOICE, first.getTask());
+        assertEquals("This is a seed task.", first.getDescription());
+        assertEquals(1, repository.countByStatus(TaskStatus.CANCELLED));
+    }
+
+    @Test
+    @DisplayName("Should store a batch larger than the JDBC batch size with its history")
+    void shouldStoreBatchWithHistory() {
+        // Given
+        List<TaskManagement> tasks = new ArrayList<>();
+        for (long i = 1; i <= 5; i++) {
+            TaskManagement task = task(i, 10L, TaskStatus.ASSIGNED, Priority.HIGH);
+            task.getActivityHistory().add(new Activity("Created " + i, i));
+            tasks.add(task);
+        }
+
+        // When
+        List<TaskManagement> saved = repository.saveAll(tasks);
+
+        // Then
+        assertEquals(5, saved.size());
+        assertEquals(5, repository.count());
+        TaskManagement loaded = repository.findById(saved.get(3).getId()).orElseThrow();
+        assertEquals(1L, loaded.getVersion());
+        assertEquals(4L, loaded.getReferenceId());
+        assertEquals(4000L, loaded.getTaskDeadlineTime());
+        assertEquals(List.of(new Activity("Created 4", 4)), List.copyOf(loaded.getActivityHistory()));
+        assertTrue(loaded.getComments().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should append only new history entries on update")
+    void shouldAppendNewHistoryOnUpdate() {
+        // Given
+        TaskManagement task = task(1L, 10L, TaskStatus.ASSIGNED, Priority.LOW);
+        task.getComments().add(new Comment("first", 1));
+        repository.save(task);
+
+        // When
+        TaskManagement loaded = repository.findById(task.getId()).orElseThrow();
+        loaded.setStatus(TaskStatus.STARTED);
+        loaded.getComments().add(new Comment("second", 2));
+        repository.save(loaded);
+
+        // Then
+        TaskManagement reloaded = repository.findById(task.getId()).orElseThrow();
+        assertEquals(TaskStatus.STARTED, reloaded.getStatus());
+        assertEquals(2L, reloaded.getVersion());
+        assertEquals(List.of(new Comment("first", 1), new Comment("second", 2)), List.copyOf(reloaded.getComments()));
+        assertEquals(1, repository.countByStatus(TaskStatus.STARTED));
+        assertEquals(0, repository.countByStatus(TaskStatus.ASSIGNED));
+    }
+
+    @Test
+    @DisplayName("Should insert a task whose id was handed out elsewhere")
+    void shouldInsertTaskWithForeignId() {
+        // Given
+        TaskManagement task = task(1L, 10L, TaskStatus.ASSIGNED, Priority.LOW);
+        task.setId(42L);
+
+        // When
+        repository.save(task);
+
+        // Then
+        assertTrue(repository.findById(42L).isPresent());
+        // A store opened on the same database carries on after it
+        JdbcTaskRepository reopened = new JdbcTaskRepository(dataSource, 2, 0, 1);
+        assertEquals(43L, reopened.save(task(2L, 10L, TaskStatus.ASSIGNED, Priority.LOW)).getId());
+    }
+
+    @Test
+    @DisplayName("Should find tasks by reference and by assignee")
+    void shouldFindByReferenceAndAssignee() {
+        // Given
+        repository.saveAll(List.of(
+                task(1L, 10L, TaskStatus.ASSIGNED, Priority.LOW),
+                task(1L, 11L, TaskStatus.ASSIGNED, Priority.LOW),
+                task(2L, 12L, TaskStatus.ASSIGNED, Priority.LOW)));
+
+        // Then
+        assertEquals(2, repository.findByReferenceIdAndReferenceType(1L, ReferenceType.ORDER).size());
+        assertTrue(repository.findByReferenceIdAndReferenceType(1L, ReferenceType.ENTITY).isEmpty());
+        assertEquals(2, repository.findByAssigneeIdIn(List.of(10L, 12L, 10L)).size());
+        assertTrue(repository.findByAssigneeIdIn(List.of()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should push every query predicate down to the database")
+    void shouldPushQueryPredicatesDown() {
+        // Given
+        repository.saveAll(List.of(
+                task(1L, 10L, TaskStatus.ASSIGNED, Priority.HIGH),
+                task(2L, 10L, TaskStatus.ASSIGNED, Priority.LOW),
+                task(3L, 10L, TaskStatus.COMPLETED, Priority.HIGH),
+                task(4L, 11L, TaskStatus.ASSIGNED, Priority.HIGH)));
+
+        // When
+        QueryResult result = repository.query(TaskQuery.builder()
+                .assigneeIds(Set.of(10L))
+                .statuses(Set.of(TaskStatus.ASSIGNED))
+                .priorities(Set.of(Priority.HIGH))
+                .deadlineTo(2_000L)
+                .build());
+
+        // Then
+        assertEquals(1, result.tasks().size());
+        assertEquals(1L, result.tasks().get(0).getReferenceId());
+        assertEquals(QueryPlan.DATABASE, result.plan().accessPath());
+        assertTrue(result.plan().residualFilters().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should push the page size and cursor down to the database")
+    void shouldPushPageDown() {
+        // Given
+        List<TaskManagement> saved = repository.saveAll(List.of(
+                task(1L, 10L, TaskStatus.ASSIGNED, Priority.HIGH),
+                task(2L, 10L, TaskStatus.ASSIGNED, Priority.LOW),
+                task(3L, 10L, TaskStatus.ASSIGNED, Priority.HIGH)));
+        Long firstId = saved.get(0).getId();
+
+        // When
+        QueryResult result = repository.query(TaskQuery.builder()
+                .statuses(Set.of(TaskStatus.ASSIGNED))
+                .limit(1)
+                .afterId(firstId)
+                .build());
+
+        // Then
+        assertEquals(1, result.tasks().size());
+        assertEquals(2L, result.tasks().get(0).getReferenceId());
+        assertEquals(1, result.plan().limit());
+    }
+
+    @Test
+    @DisplayName("Should delete a task together with its history")
+    void shouldDeleteTaskAndHistory() {
+        // Given
+        TaskManagement task = task(1L, 10L, TaskStatus.ASSIGNED, Priority.LOW);
+        task.getActivityHistory().add(new Activity("Created", 1));
+        repository.save(task);
+
+        // When
+        repository.deleteById(task.getId());
+
+        // Then
+        assertTrue(repository.findById(task.getId()).isEmpty());
+        assertEquals(0, repository.count());
+        assertEquals(0, new JdbcTemplate(dataSource).queryForObject("SELECT COUNT(*) FROM task_history", Integer.class));
+    }
+
+    @Test
+    @DisplayName("Should refuse an update made from a stale read and leave the stored task alone")
+    void shouldRejectStaleUpdate() {
+        // Given
+        TaskManagement task = repository.save(task(1L, 10L, TaskStatus.ASSIGNED, Priority.LOW));
+        TaskManagement first = repository.findById(task.getId()).orElseThrow();
+        TaskManagement second = repository.findById(task.getId()).orElseThrow();
+        first.getComments().add(new Comment("first writer", 1));
+        repository.save(first);
+
+        // When
+        second.setStatus(TaskStatus.CANCELLED);
+        assertThrows(TaskVersionConflictException.class, () -> repository.save(second));
+
+        // Then
+        assertEquals(1L, second.getVersion());
+        TaskManagement stored = repository.findById(task.getId()).orElseThrow();
+        assertEquals(TaskStatus.ASSIGNED, stored.getStatus());
+        assertEquals(2L, stored.getVersion());
+        assertEquals(List.of(new Comment("first writer", 1)), List.copyOf(stored.getComments()));
+    }
+
+    @Test
+    @DisplayName("Should keep every comment when writers append to one task at once")
+    void shouldAppendConcurrentComments() {
+        // Given
+        Long id = repository.save(task(1L, 10L, TaskStatus.ASSIGNED, Priority.LOW)).getId();
+        int writers = 4;
+        int comments = 10;
+
+        // When
+        List<CompletableFuture<Void>> running = new ArrayList<>();
+        for (int w = 0; w < writers; w++) {
+            int writer = w;
+            running.add(CompletableFuture.runAsync(() -> {
+                for (int c = 0; c < comments; c++) {
+                    while (true) {
+                        TaskManagement loaded = repository.findById(id).orElseThrow();
+                        loaded.getComments().add(new Comment("writer " + writer + " comment " + c, c));
+                        try {
+                            repository.save(loaded);
+                            break;
+                        } catch (TaskVersionConflictException e) {
+                            // read again and retry
+                        }
+                    }
+                }
+            }));
+        }
+        running.forEach(CompletableFuture::join);
+
+        // Then
+        TaskManagement stored = repository.findById(id).orElseThrow();
+        assertEquals(writers * comments, stored.getComments().size());
+        assertEquals(1L + writers * comments, stored.getVersion());
+    }
+}
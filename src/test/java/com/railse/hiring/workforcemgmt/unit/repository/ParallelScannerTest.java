@@ -0,0 +1,81 @@
+package com.railse.hiring.workforcemgmt.unit.repository;
+
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskRepository;
+import com.railse.hiring.workforcemgmt.repository.ParallelScanner;
+import com.railse.hiring.workforcemgmt.repository.QueryPlan;
+import com.railse.hiring.workforcemgmt.repository.QueryResult;
+import com.railse.hiring.workforcemgmt.repository.TaskQuery;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ParallelScanner Unit Tests")
+class ParallelScannerTest {
+
+    private ParallelScanner scanner;
+
+    @AfterEach
+    void tearDown() {
+        scanner.close();
+    }
+
+    @Test
+    @DisplayName("Should find the same rows as a sequential scan")
+    void shouldMatchSequentialScan() {
+        // Given
+        scanner = new ParallelScanner(4, 1_000);
+        Map<Integer, Integer> store = new ConcurrentHashMap<>();
+        for (int i = 0; i < 200_000; i++) {
+            store.put(i, i);
+        }
+
+        // When
+        ParallelScanner.ScanResult<Integer> result = scanner.filter(store.values(), value -> value % 7 == 0);
+
+        // Then
+        assertTrue(result.parallel());
+        assertEquals(200_000, result.examined());
+        Set<Integer> expected = new HashSet<>();
+        store.values().stream().filter(value -> value % 7 == 0).forEach(expected::add);
+        assertEquals(expected.size(), result.matched().size());
+        assertEquals(expected, new HashSet<>(result.matched()));
+    }
+
+    @Test
+    @DisplayName("Should keep small inputs on the calling thread")
+    void shouldScanSmallInputsSequentially() {
+        scanner = new ParallelScanner(4, 1_000);
+
+        ParallelScanner.ScanResult<Integer> result = scanner.filter(Set.of(1, 2, 3), value -> value > 1);
+
+        assertFalse(result.parallel());
+        assertEquals(2, result.matched().size());
+    }
+
+    @Test
+    @DisplayName("Should use the parallel scan for unindexed repository queries")
+    void shouldUseParallelScanForUnindexedQueries() {
+        // Given
+        scanner = new ParallelScanner(2, 1);
+        InMemoryTaskRepository repository = new InMemoryTaskRepository();
+        repository.setParallelScanner(scanner);
+
+        // When
+        QueryResult result = repository.query(TaskQuery.builder().tasks(Set.of(Task.CREATE_INVOICE)).build());
+
+        // Then
+        assertEquals(QueryPlan.PARALLEL_SCAN, result.plan().accessPath());
+        assertEquals(6, result.plan().rowsExamined());
+        assertEquals(2, result.tasks().size());
+        assertTrue(result.tasks().stream().map(TaskManagement::getTask).allMatch(Task.CREATE_INVOICE::equals));
+    }
+}
@@ -0,0 +1,100 @@
+package com.railse.hiring.workforcemgmt.unit.repository;
+
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.ShardedTaskRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ShardedTaskRepository Unit Tests")
+class ShardedTaskRepositoryTest {
+
+    private ShardedTaskRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new ShardedTaskRepository(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.close();
+    }
+
+    @Test
+    @DisplayName("Should load the same seed data as the single store")
+    void shouldLoadSeedData() {
+        assertEquals(6, repository.count());
+        assertEquals(2, repository.findByReferenceIdAndReferenceType(201L, ReferenceType.ENTITY).size());
+        assertEquals(5, repository.findByAssigneeIdIn(List.of(1L, 2L)).size());
+        assertEquals(4, repository.countByStatus(TaskStatus.ASSIGNED));
+    }
+
+    @Test
+    @DisplayName("Should find saved tasks by id and by reference")
+    void shouldRouteSavedTasks() {
+        TaskManagement saved = repository.save(task(5000L, 42L));
+
+        assertNotNull(saved.getId());
+        assertSame(saved, repository.findById(saved.getId()).orElseThrow());
+        assertEquals(List.of(saved), repository.findByReferenceIdAndReferenceType(5000L, ReferenceType.ORDER));
+        assertTrue(repository.findById(-1L).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should merge assignee results across shards")
+    void shouldMergeAcrossShards() {
+        for (long reference = 0; reference < 200; reference++) {
+            repository.save(task(10_000L + reference, 77L));
+        }
+
+        List<TaskManagement> tasks = repository.findByAssigneeIdIn(List.of(77L));
+
+        assertEquals(200, tasks.size());
+        assertEquals(206, repository.findAll().size());
+    }
+
+    @Test
+    @DisplayName("Should hand out unique ids under concurrent writers")
+    void shouldAllocateUniqueIdsConcurrently() throws InterruptedException {
+        ExecutorService writers = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 4_000; i++) {
+            long reference = 20_000L + i;
+            writers.submit(() -> repository.save(task(reference, reference % 10)));
+        }
+        writers.shutdown();
+        assertTrue(writers.awaitTermination(30, TimeUnit.SECONDS));
+
+        Set<Long> ids = new HashSet<>();
+        repository.findAll().forEach(task -> ids.add(task.getId()));
+        assertEquals(4_006, ids.size());
+        ids.forEach(id -> assertTrue(repository.findById(id).isPresent()));
+    }
+
+    private static TaskManagement task(Long referenceId, Long assigneeId) {
+        return TaskManagement.builder()
+                .referenceId(referenceId)
+                .referenceType(ReferenceType.ORDER)
+                .task(Task.CREATE_INVOICE)
+                .description("Sharded task")
+                .assigneeId(assigneeId)
+                .status(TaskStatus.ASSIGNED)
+                .priority(Priority.MEDIUM)
+                .taskDeadlineTime(System.currentTimeMillis() + 86400000)
+                .build();
+    }
+}
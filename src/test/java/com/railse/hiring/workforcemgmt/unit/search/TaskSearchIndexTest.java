@@ -0,0 +1,172 @@
+package com.railse.hiring.workforcemgmt.unit.search;
+
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.Comment;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskDeletedEvent;
+import com.railse.hiring.workforcemgmt.repository.TaskSavedEvent;
+import com.railse.hiring.workforcemgmt.search.SearchFilter;
+import com.railse.hiring.workforcemgmt.search.SearchHit;
+import com.railse.hiring.workforcemgmt.search.SearchResult;
+import com.railse.hiring.workforcemgmt.search.TaskSearchIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TaskSearchIndex Unit Tests")
+class TaskSearchIndexTest {
+
+    private InMemoryTaskRepository repository;
+    private TaskSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryTaskRepository(0, 1);
+        index = new TaskSearchIndex(repository, new SimpleMeterRegistry());
+        repository.setApplicationEventPublisher(event -> {
+            if (event instanceof TaskSavedEvent saved) {
+                index.onTaskSaved(saved);
+            } else if (event instanceof TaskDeletedEvent deleted) {
+                index.onTaskDeleted(deleted);
+            }
+        });
+    }
+
+    @Test
+    @DisplayName("Should pick up seed tasks on rebuild")
+    void shouldIndexExistingTasks() {
+        // Given
+        InMemoryTaskRepository seeded = new InMemoryTaskRepository();
+        TaskSearchIndex seededIndex = new TaskSearchIndex(seeded, new SimpleMeterRegistry());
+
+        // When
+        seededIndex.rebuild();
+
+        // Then
+        assertEquals(6, seededIndex.search("seed task", SearchFilter.none(), 10).totalHits());
+    }
+
+    @Test
+    @DisplayName("Should require every query term and rank by relevance")
+    void shouldMatchAllTermsAndRank() {
+        // Given
+        TaskManagement damaged = repository.save(task("Pallet damaged at dock, damaged goods", 1L, Priority.HIGH));
+        TaskManagement mentioned = repository.save(task("Goods arrived at dock, one box damaged", 2L, Priority.LOW));
+        repository.save(task("Goods arrived on time", 3L, Priority.LOW));
+
+        // When
+        SearchResult result = index.search("DAMAGED goods", SearchFilter.none(), 10);
+
+        // Then
+        assertEquals(2, result.totalHits());
+        assertEquals(damaged.getId(), result.hits().get(0).taskId());
+        assertEquals(mentioned.getId(), result.hits().get(1).taskId());
+    }
+
+    @Test
+    @DisplayName("Should search comments and follow updates and deletes")
+    void shouldFollowUpdates() {
+        // Given
+        TaskManagement task = repository.save(task("Collect payment", 1L, Priority.MEDIUM));
+        assertEquals(0, index.search("refund", SearchFilter.none(), 10).totalHits());
+
+        // When a comment is added
+        task.getComments().add(new Comment("Customer asked for a refund", 1L));
+        repository.save(task);
+
+        // Then
+        assertEquals(task.getId(), index.search("refund", SearchFilter.none(), 10).hits().get(0).taskId());
+
+        // When the description changes and the task is deleted
+        task.setDescription("Issue invoice");
+        repository.save(task);
+        assertEquals(0, index.search("payment", SearchFilter.none(), 10).totalHits());
+        repository.deleteById(task.getId());
+
+        // Then
+        assertEquals(0, index.search("refund", SearchFilter.none(), 10).totalHits());
+    }
+
+    @Test
+    @DisplayName("Should apply status, priority and assignee filters")
+    void shouldApplyFilters() {
+        // Given
+        TaskManagement high = repository.save(task("Arrange pickup", 1L, Priority.HIGH));
+        TaskManagement low = repository.save(task("Arrange pickup", 2L, Priority.LOW));
+        low.setStatus(TaskStatus.COMPLETED);
+        repository.save(low);
+
+        // When / Then
+        assertEquals(Set.of(high.getId()), ids(index.search("pickup",
+                new SearchFilter(null, Set.of(Priority.HIGH), null), 10)));
+        assertEquals(Set.of(low.getId()), ids(index.search("pickup",
+                new SearchFilter(Set.of(TaskStatus.COMPLETED), null, null), 10)));
+        assertEquals(Set.of(high.getId()), ids(index.search("pickup",
+                new SearchFilter(null, null, Set.of(1L)), 10)));
+        assertEquals(2, index.search("pickup", SearchFilter.none(), 1).totalHits());
+        assertEquals(1, index.search("pickup", SearchFilter.none(), 1).hits().size());
+    }
+
+    @Test
+    @DisplayName("Should skip a task whose version is already indexed")
+    void shouldSkipUnchangedVersion() {
+        // Given
+        TaskManagement task = repository.save(task("Collect payment", 1L, Priority.MEDIUM));
+
+        // When the same version comes round again, e.g. from a rebuild
+        task.setDescription("Issue invoice");
+        index.index(task);
+
+        // Then
+        assertEquals(1, index.search("payment", SearchFilter.none(), 10).totalHits());
+        assertEquals(0, index.search("invoice", SearchFilter.none(), 10).totalHits());
+    }
+
+    @Test
+    @DisplayName("Should compact replaced and deleted docs in batches")
+    void shouldCompactDeadDocs() {
+        // Given
+        TaskManagement kept = repository.save(task("Arrange pickup", 1L, Priority.HIGH));
+        TaskManagement churned = repository.save(task("Collect payment", 2L, Priority.LOW));
+
+        // When one task is saved over and over, and another comes and goes
+        for (int i = 0; i < 5000; i++) {
+            churned.setDescription("Collect payment attempt " + i);
+            repository.save(churned);
+        }
+        TaskManagement gone = repository.save(task("Arrange pickup", 3L, Priority.LOW));
+        repository.deleteById(gone.getId());
+
+        // Then dead docs never pile up past a batch and the live ones are still found
+        assertTrue(index.deadDocs() < 1024, "dead docs: " + index.deadDocs());
+        assertEquals(Set.of(kept.getId()), ids(index.search("pickup", SearchFilter.none(), 10)));
+        assertEquals(Set.of(churned.getId()), ids(index.search("payment attempt 4999", SearchFilter.none(), 10)));
+        assertEquals(0, index.search("attempt 17", SearchFilter.none(), 10).totalHits());
+    }
+
+    private static Set<Long> ids(SearchResult result) {
+        return result.hits().stream().map(SearchHit::taskId).collect(Collectors.toSet());
+    }
+
+    private static TaskManagement task(String description, Long assigneeId, Priority priority) {
+        return TaskManagement.builder()
+                .referenceId(100L)
+                .referenceType(ReferenceType.ORDER)
+                .task(Task.CREATE_INVOICE)
+                .description(description)
+                .assigneeId(assigneeId)
+                .status(TaskStatus.ASSIGNED)
+                .priority(priority)
+                .build();
+    }
+}
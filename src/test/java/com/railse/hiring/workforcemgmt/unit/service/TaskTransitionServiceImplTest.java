@@ -0,0 +1,285 @@
+package com.railse.hiring.workforcemgmt.unit.service;
+
+import com.railse.hiring.workforcemgmt.common.concurrent.TaskLocks;
+import com.railse.hiring.workforcemgmt.common.exception.TaskVersionConflictException;
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.config.TransitionProperties;
+import com.railse.hiring.workforcemgmt.dependency.TaskReadinessTracker;
+import com.railse.hiring.workforcemgmt.dto.TaskTransitionRequest;
+import com.railse.hiring.workforcemgmt.dto.TaskTransitionRequest.Item;
+import com.railse.hiring.workforcemgmt.dto.TaskTransitionResponse;
+import com.railse.hiring.workforcemgmt.dto.TaskTransitionResponse.Outcome;
+import com.railse.hiring.workforcemgmt.model.Activity;
+import com.railse.hiring.workforcemgmt.model.Comment;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskSavedEvent;
+import com.railse.hiring.workforcemgmt.service.impl.TaskTransitionServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("TaskTransitionServiceImpl Unit Tests")
+class TaskTransitionServiceImplTest {
+
+    private InMemoryTaskRepository repository;
+    private TaskReadinessTracker readinessTracker;
+    private TransitionProperties properties;
+    private TaskTransitionServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryTaskRepository(0, 1);
+        readinessTracker = new TaskReadinessTracker(mock(TaskRepository.class), new SimpleMeterRegistry());
+        repository.setApplicationEventPublisher(event -> {
+            if (event instanceof TaskSavedEvent saved) {
+                readinessTracker.onTaskSaved(saved);
+            }
+        });
+        properties = new TransitionProperties();
+        properties.setParallelThreshold(4);
+        properties.setParallelism(3);
+        service = new TaskTransitionServiceImpl(repository, readinessTracker, properties, new TaskLocks(),
+                new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.close();
+    }
+
+    private TaskManagement saved(Long referenceId, Task task, TaskStatus status) {
+        return repository.save(TaskManagement.builder()
+                .referenceId(referenceId)
+                .referenceType(ReferenceType.ORDER)
+                .task(task)
+                .status(status)
+                .priority(Priority.MEDIUM)
+                .build());
+    }
+
+    private static TaskTransitionRequest request(Item... items) {
+        return new TaskTransitionRequest(List.of(items));
+    }
+
+    @Test
+    @DisplayName("Should only allow moves along the status state machine")
+    void shouldFollowStateMachine() {
+        assertTrue(TaskStatus.ASSIGNED.canTransitionTo(TaskStatus.STARTED));
+        assertTrue(TaskStatus.STARTED.canTransitionTo(TaskStatus.COMPLETED));
+        assertTrue(TaskStatus.ASSIGNED.canTransitionTo(TaskStatus.CANCELLED));
+        assertFalse(TaskStatus.ASSIGNED.canTransitionTo(TaskStatus.COMPLETED));
+        assertFalse(TaskStatus.CANCELLED.canTransitionTo(TaskStatus.ASSIGNED));
+        assertFalse(TaskStatus.COMPLETED.canTransitionTo(TaskStatus.STARTED));
+    }
+
+    @Test
+    @DisplayName("Should report each item on its own without aborting the batch")
+    void shouldReportEachItem() {
+        // Given
+        TaskManagement open = saved(101L, Task.CREATE_INVOICE, TaskStatus.ASSIGNED);
+        TaskManagement cancelled = saved(102L, Task.CREATE_INVOICE, TaskStatus.CANCELLED);
+        TaskManagement started = saved(103L, Task.CREATE_INVOICE, TaskStatus.STARTED);
+
+        // When
+        TaskTransitionResponse response = service.transition(request(
+                new Item(open.getId(), TaskStatus.STARTED),
+                new Item(cancelled.getId(), TaskStatus.ASSIGNED),
+                new Item(999L, TaskStatus.STARTED),
+                new Item(started.getId(), TaskStatus.STARTED)));
+
+        // Then
+        assertEquals(List.of(Outcome.APPLIED, Outcome.INVALID_TRANSITION, Outcome.NOT_FOUND, Outcome.UNCHANGED),
+                response.results().stream().map(TaskTransitionResponse.Result::outcome).toList());
+        assertEquals(1, response.applied());
+        assertEquals(1, response.unchanged());
+        assertEquals(2, response.rejected());
+        TaskManagement stored = repository.findById(open.getId()).orElseThrow();
+        assertEquals(TaskStatus.STARTED, stored.getStatus());
+        assertEquals("Status changed from ASSIGNED to STARTED",
+                new ArrayList<>(stored.getActivityHistory()).get(0).getMessage());
+        assertEquals(TaskStatus.CANCELLED, repository.findById(cancelled.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    @DisplayName("Should apply repeated transitions of one task in request order")
+    void shouldApplyRepeatedTransitionsInOrder() {
+        // Given
+        TaskManagement task = saved(101L, Task.CREATE_INVOICE, TaskStatus.ASSIGNED);
+
+        // When
+        TaskTransitionResponse response = service.transition(request(
+                new Item(task.getId(), TaskStatus.STARTED),
+                new Item(task.getId(), TaskStatus.COMPLETED)));
+
+        // Then
+        assertEquals(2, response.applied());
+        TaskManagement stored = repository.findById(task.getId()).orElseThrow();
+        assertEquals(TaskStatus.COMPLETED, stored.getStatus());
+        assertEquals(2, stored.getActivityHistory().size());
+    }
+
+    @Test
+    @DisplayName("Should refuse to start a task whose dependencies are still open")
+    void shouldRefuseToStartBlockedTask() {
+        // Given
+        saved(101L, Task.CREATE_INVOICE, TaskStatus.ASSIGNED);
+        TaskManagement pickup = saved(101L, Task.ARRANGE_PICKUP, TaskStatus.ASSIGNED);
+
+        // When
+        TaskTransitionResponse response = service.transition(request(new Item(pickup.getId(), TaskStatus.STARTED)));
+
+        // Then
+        assertEquals(Outcome.BLOCKED, response.results().get(0).outcome());
+        assertEquals(TaskStatus.ASSIGNED, repository.findById(pickup.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    @DisplayName("Should apply a large batch across partitions")
+    void shouldApplyLargeBatchAcrossPartitions() {
+        // Given
+        List<Item> items = new ArrayList<>();
+        for (long ref = 0; ref < 200; ref++) {
+            items.add(new Item(saved(ref, Task.CREATE_INVOICE, TaskStatus.ASSIGNED).getId(), TaskStatus.CANCELLED));
+        }
+
+        // When
+        TaskTransitionResponse response = service.transition(new TaskTransitionRequest(items));
+
+        // Then
+        assertEquals(200, response.applied());
+        for (int i = 0; i < items.size(); i++) {
+            assertEquals(items.get(i).taskId(), response.results().get(i).taskId());
+        }
+        assertEquals(200, repository.countByStatus(TaskStatus.CANCELLED));
+    }
+
+    @Test
+    @DisplayName("Should mark a partition's items failed and leave the stored task alone when the save fails")
+    void shouldMarkItemsFailedWhenSaveFails() {
+        // Given
+        TaskRepository store = mock(TaskRepository.class);
+        TaskManagement task = TaskManagement.builder().id(1L).status(TaskStatus.ASSIGNED).build();
+        when(store.findById(1L)).thenReturn(Optional.of(task));
+        when(store.saveAll(any())).thenThrow(new IllegalStateException("store unavailable"));
+        TaskTransitionServiceImpl failing = new TaskTransitionServiceImpl(store, readinessTracker, properties,
+                new TaskLocks(), new SimpleMeterRegistry());
+
+        // When
+        TaskTransitionResponse response = failing.transition(request(new Item(1L, TaskStatus.STARTED)));
+        failing.close();
+
+        // Then
+        assertEquals(Outcome.FAILED, response.results().get(0).outcome());
+        assertEquals("store unavailable", response.results().get(0).message());
+        assertEquals(1, response.rejected());
+        assertEquals(TaskStatus.ASSIGNED, task.getStatus());
+        assertTrue(task.getActivityHistory().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should report a task changed elsewhere as a conflict and still apply the rest")
+    void shouldReportConflictPerTask() {
+        // Given
+        TaskRepository store = mock(TaskRepository.class);
+        TaskManagement stale = TaskManagement.builder().id(1L).status(TaskStatus.ASSIGNED).build();
+        TaskManagement fresh = TaskManagement.builder().id(2L).status(TaskStatus.ASSIGNED).build();
+        when(store.findById(1L)).thenReturn(Optional.of(stale));
+        when(store.findById(2L)).thenReturn(Optional.of(fresh));
+        when(store.saveAll(any())).thenThrow(new TaskVersionConflictException("Task 1 was changed"));
+        when(store.save(argThat(task -> task != null && task.getId() == 1L)))
+                .thenThrow(new TaskVersionConflictException("Task 1 was changed"));
+        TaskTransitionServiceImpl racing = new TaskTransitionServiceImpl(store, readinessTracker, properties,
+                new TaskLocks(), new SimpleMeterRegistry());
+
+        // When
+        TaskTransitionResponse response = racing.transition(request(
+                new Item(1L, TaskStatus.STARTED), new Item(2L, TaskStatus.STARTED)));
+        racing.close();
+
+        // Then
+        assertEquals(List.of(Outcome.CONFLICT, Outcome.APPLIED),
+                response.results().stream().map(TaskTransitionResponse.Result::outcome).toList());
+        verify(store).save(argThat(task -> task != null && task.getId() == 2L
+                && task.getStatus() == TaskStatus.STARTED));
+    }
+
+    @Test
+    @DisplayName("Should refuse to store a copy taken before the task last changed")
+    void shouldRefuseStaleCopy() {
+        // Given
+        TaskManagement task = saved(101L, Task.CREATE_INVOICE, TaskStatus.ASSIGNED);
+        TaskManagement copy = task.copy();
+        task.getComments().add(new Comment("Concurrent comment", 1));
+        repository.save(task);
+
+        // When
+        copy.setStatus(TaskStatus.CANCELLED);
+
+        // Then
+        assertThrows(TaskVersionConflictException.class, () -> repository.save(copy));
+        TaskManagement stored = repository.findById(task.getId()).orElseThrow();
+        assertSame(task, stored);
+        assertEquals(TaskStatus.ASSIGNED, stored.getStatus());
+        assertEquals(1, stored.getComments().size());
+    }
+
+    @Test
+    @DisplayName("Should keep a comment added while a large batch is being applied")
+    void shouldKeepConcurrentComments() {
+        // Given
+        TaskLocks locks = new TaskLocks();
+        TaskTransitionServiceImpl locked = new TaskTransitionServiceImpl(repository, readinessTracker, properties,
+                locks, new SimpleMeterRegistry());
+        List<Item> items = new ArrayList<>();
+        for (long ref = 0; ref < 500; ref++) {
+            items.add(new Item(saved(ref, Task.CREATE_INVOICE, TaskStatus.ASSIGNED).getId(), TaskStatus.STARTED));
+        }
+
+        // When
+        CompletableFuture<TaskTransitionResponse> running = CompletableFuture.supplyAsync(
+                () -> locked.transition(new TaskTransitionRequest(items)));
+        for (Item item : items) {
+            // the same discipline the comment endpoint follows
+            try (TaskLocks.Held ignored = locks.lock(item.taskId())) {
+                TaskManagement task = repository.findById(item.taskId()).orElseThrow();
+                task.getComments().add(new Comment("Commented during the batch", 1));
+                repository.save(task);
+            }
+        }
+        TaskTransitionResponse response = running.join();
+        locked.close();
+
+        // Then
+        assertEquals(500, response.applied());
+        for (Item item : items) {
+            TaskManagement stored = repository.findById(item.taskId()).orElseThrow();
+            assertEquals(TaskStatus.STARTED, stored.getStatus());
+            assertEquals(1, stored.getComments().size());
+            assertEquals(1, stored.getActivityHistory().size());
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject an empty or oversized request")
+    void shouldRejectEmptyOrOversizedRequest() {
+        properties.setMaxItems(1);
+        assertThrows(IllegalArgumentException.class, () -> service.transition(new TaskTransitionRequest(List.of())));
+        assertThrows(IllegalArgumentException.class, () -> service.transition(request(
+                new Item(1L, TaskStatus.STARTED), new Item(2L, TaskStatus.STARTED))));
+    }
+}
@@ -0,0 +1,137 @@
+package com.railse.hiring.workforcemgmt.unit.summary;
+
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.TaskDeletedEvent;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskSavedEvent;
+import com.railse.hiring.workforcemgmt.summary.ReferenceSummary;
+import com.railse.hiring.workforcemgmt.summary.ReferenceSummaryIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("ReferenceSummaryIndex Unit Tests")
+class ReferenceSummaryIndexTest {
+
+    private TaskRepository store;
+    private ReferenceSummaryIndex index;
+
+    @BeforeEach
+    void setUp() {
+        store = mock(TaskRepository.class);
+        when(store.findAll()).thenReturn(List.of(
+                task(1L, 101L, Task.CREATE_INVOICE, TaskStatus.ASSIGNED, 1L, 5_000L),
+                task(2L, 101L, Task.ARRANGE_PICKUP, TaskStatus.COMPLETED, 2L, 1_000L),
+                task(3L, 102L, Task.CREATE_INVOICE, TaskStatus.STARTED, 3L, 2_000L)));
+        index = new ReferenceSummaryIndex(store, new SimpleMeterRegistry());
+        index.rebuild();
+    }
+
+    private static TaskManagement task(Long id, Long referenceId, Task task, TaskStatus status,
+                                       Long assigneeId, Long deadline) {
+        return TaskManagement.builder()
+                .id(id)
+                .referenceId(referenceId)
+                .referenceType(ReferenceType.ORDER)
+                .task(task)
+                .status(status)
+                .assigneeId(assigneeId)
+                .taskDeadlineTime(deadline)
+                .priority(Priority.MEDIUM)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should summarise the store's tasks on rebuild")
+    void shouldSummariseOnRebuild() {
+        // When
+        ReferenceSummary summary = index.summaryOf(101L);
+
+        // Then
+        assertEquals(2, summary.total());
+        assertEquals(5_000L, summary.earliestOpenDeadline());
+        ReferenceSummary.TypeSummary pickup = summary.types().get(Task.ARRANGE_PICKUP);
+        assertEquals(Map.of(TaskStatus.COMPLETED, 1), pickup.counts());
+        assertEquals(2L, pickup.latestAssigneeId());
+        assertNull(pickup.earliestOpenDeadline());
+    }
+
+    @Test
+    @DisplayName("Should move a task's counts when its status changes")
+    void shouldMoveCountsOnStatusChange() {
+        // When
+        index.onTaskSaved(new TaskSavedEvent(task(1L, 101L, Task.CREATE_INVOICE, TaskStatus.COMPLETED, 1L, 5_000L)));
+
+        // Then
+        ReferenceSummary summary = index.summaryOf(101L);
+        assertEquals(2, summary.total());
+        assertNull(summary.earliestOpenDeadline());
+        assertEquals(Map.of(TaskStatus.COMPLETED, 1), summary.types().get(Task.CREATE_INVOICE).counts());
+    }
+
+    @Test
+    @DisplayName("Should report the assignee of the newest task that is not cancelled")
+    void shouldReportLatestAssignee() {
+        // Given
+        index.onTaskSaved(new TaskSavedEvent(task(1L, 101L, Task.CREATE_INVOICE, TaskStatus.CANCELLED, 1L, 5_000L)));
+
+        // When
+        index.onTaskSaved(new TaskSavedEvent(task(7L, 101L, Task.CREATE_INVOICE, TaskStatus.ASSIGNED, 9L, 4_000L)));
+
+        // Then
+        ReferenceSummary.TypeSummary invoice = index.summaryOf(101L).types().get(Task.CREATE_INVOICE);
+        assertEquals(9L, invoice.latestAssigneeId());
+        assertEquals(Map.of(TaskStatus.CANCELLED, 1, TaskStatus.ASSIGNED, 1), invoice.counts());
+        assertEquals(4_000L, invoice.earliestOpenDeadline());
+    }
+
+    @Test
+    @DisplayName("Should keep the earliest deadline while another open task shares it")
+    void shouldKeepSharedDeadline() {
+        // Given
+        index.onTaskSaved(new TaskSavedEvent(task(8L, 102L, Task.COLLECT_PAYMENT, TaskStatus.ASSIGNED, 4L, 2_000L)));
+
+        // When
+        index.onTaskSaved(new TaskSavedEvent(task(3L, 102L, Task.CREATE_INVOICE, TaskStatus.COMPLETED, 3L, 2_000L)));
+
+        // Then
+        assertEquals(2_000L, index.summaryOf(102L).earliestOpenDeadline());
+    }
+
+    @Test
+    @DisplayName("Should drop a reference once its last task is deleted")
+    void shouldDropEmptyReference() {
+        // When
+        index.onTaskDeleted(new TaskDeletedEvent(task(3L, 102L, Task.CREATE_INVOICE, TaskStatus.STARTED, 3L, 2_000L)));
+
+        // Then
+        ReferenceSummary summary = index.summaryOf(102L);
+        assertEquals(0, summary.total());
+        assertTrue(summary.types().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should move a task between references when its reference changes")
+    void shouldMoveTaskBetweenReferences() {
+        // When
+        index.onTaskSaved(new TaskSavedEvent(task(3L, 101L, Task.CREATE_INVOICE, TaskStatus.STARTED, 3L, 2_000L)));
+
+        // Then
+        assertEquals(0, index.summaryOf(102L).total());
+        ReferenceSummary summary = index.summaryOf(101L);
+        assertEquals(3, summary.total());
+        assertEquals(2_000L, summary.earliestOpenDeadline());
+        assertEquals(3L, summary.types().get(Task.CREATE_INVOICE).latestAssigneeId());
+    }
+}
@@ -0,0 +1,140 @@
+package com.railse.hiring.workforcemgmt.unit.tiering;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.Comment;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskRepository;
+import com.railse.hiring.workforcemgmt.tiering.ColdSegmentStore;
+import com.railse.hiring.workforcemgmt.tiering.TieredTaskRepository;
+import com.railse.hiring.workforcemgmt.tiering.TieringProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TieredTaskRepository Unit Tests")
+class TieredTaskRepositoryTest {
+
+    @TempDir
+    Path directory;
+
+    private InMemoryTaskRepository hot;
+    private TieredTaskRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        TieringProperties properties = new TieringProperties();
+        // everything terminal is due straight away
+        properties.setArchiveAfterMs(0);
+        properties.setBlockSize(2);
+        hot = new InMemoryTaskRepository(0, 1);
+        ColdSegmentStore cold = new ColdSegmentStore(directory, 1024, new ObjectMapper());
+        repository = new TieredTaskRepository(hot, cold, properties, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        repository.close();
+    }
+
+    @Test
+    @DisplayName("Should move terminal tasks out of the hot store")
+    void shouldArchiveTerminalTasks() {
+        // Given
+        TaskManagement open = repository.save(task(101L, TaskStatus.ASSIGNED));
+        for (TaskStatus status : List.of(TaskStatus.COMPLETED, TaskStatus.CANCELLED, TaskStatus.COMPLETED)) {
+            repository.save(task(101L, status));
+        }
+
+        // When
+        int archived = repository.archiveDue();
+
+        // Then
+        assertEquals(3, archived);
+        assertEquals(List.of(open), repository.findAll());
+        assertEquals(1, hot.count());
+        assertEquals(4, repository.count());
+        assertEquals(2, repository.countByStatus(TaskStatus.COMPLETED));
+        assertEquals(0, hot.countByStatus(TaskStatus.COMPLETED));
+    }
+
+    @Test
+    @DisplayName("Should still serve archived tasks by id and reference")
+    void shouldServeLookupsFromColdTier() {
+        // Given
+        TaskManagement done = task(101L, TaskStatus.COMPLETED);
+        done.getComments().add(new Comment("Delivered", 42L));
+        Long doneId = repository.save(done).getId();
+        repository.save(task(101L, TaskStatus.ASSIGNED));
+        repository.save(task(202L, TaskStatus.CANCELLED));
+        repository.archiveDue();
+
+        // When
+        TaskManagement archived = repository.findById(doneId).orElseThrow();
+        List<TaskManagement> byReference = repository.findByReferenceIdAndReferenceType(101L, ReferenceType.ORDER);
+
+        // Then
+        assertEquals(TaskStatus.COMPLETED, archived.getStatus());
+        assertEquals("Delivered", archived.getComments().get(0).getMessage());
+        assertEquals(2, byReference.size());
+        assertTrue(repository.findByReferenceIdAndReferenceType(101L, ReferenceType.ENTITY).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should bring an archived task back to the hot store when it is saved again")
+    void shouldRehydrateOnSave() {
+        // Given
+        Long id = repository.save(task(101L, TaskStatus.CANCELLED)).getId();
+        repository.archiveDue();
+        TaskManagement archived = repository.findById(id).orElseThrow();
+
+        // When
+        archived.setStatus(TaskStatus.ASSIGNED);
+        repository.save(archived);
+
+        // Then
+        assertTrue(hot.findById(id).isPresent());
+        assertEquals(1, repository.count());
+        assertEquals(1, repository.findByReferenceIdAndReferenceType(101L, ReferenceType.ORDER).size());
+        assertEquals(0, repository.archiveDue());
+    }
+
+    @Test
+    @DisplayName("Should leave a task in the hot store when it changes while being archived")
+    void shouldNotEvictChangedTask() {
+        // Given
+        TaskManagement task = repository.save(task(101L, TaskStatus.COMPLETED));
+        long staleVersion = task.getVersion();
+        repository.save(task);
+
+        // When
+        boolean evicted = hot.evict(task.getId(), staleVersion);
+
+        // Then
+        assertFalse(evicted);
+        assertTrue(hot.findById(task.getId()).isPresent());
+    }
+
+    private static TaskManagement task(Long referenceId, TaskStatus status) {
+        return TaskManagement.builder()
+                .referenceId(referenceId)
+                .referenceType(ReferenceType.ORDER)
+                .task(Task.CREATE_INVOICE)
+                .status(status)
+                .assigneeId(1L)
+                .priority(Priority.LOW)
+                .taskDeadlineTime(1_000L)
+                .build();
+    }
+}
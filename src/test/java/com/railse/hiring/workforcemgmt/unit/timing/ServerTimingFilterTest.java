@@ -0,0 +1,69 @@
+package com.railse.hiring.workforcemgmt.unit.timing;
+
+import com.railse.hiring.workforcemgmt.common.timing.ServerTiming;
+import com.railse.hiring.workforcemgmt.common.timing.ServerTimingFilter;
+import com.railse.hiring.workforcemgmt.common.timing.ServerTimingProperties;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ServerTimingFilter Unit Tests")
+class ServerTimingFilterTest {
+
+    private ServerTimingProperties properties;
+    private ServerTimingFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ServerTimingProperties();
+        filter = new ServerTimingFilter(properties);
+    }
+
+    @Test
+    @DisplayName("Should emit recorded phases and the total before the body is written")
+    void shouldEmitPhasesBeforeBody() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/task-mgmt/fetch-by-date/v4");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> {
+            long started = ServerTiming.now();
+            ServerTiming.record("scan", started);
+            ServerTiming.record("filter", started);
+            res.getOutputStream().write("{}".getBytes());
+        };
+
+        filter.doFilter(request, response, chain);
+
+        String header = response.getHeader("Server-Timing");
+        assertNotNull(header);
+        assertTrue(header.startsWith("scan;dur="));
+        assertTrue(header.contains(", filter;dur="));
+        assertTrue(header.contains(", total;dur="));
+    }
+
+    @Test
+    @DisplayName("Should skip the header below the threshold and outside the task API")
+    void shouldSkipHeaderWhenNotApplicable() throws Exception {
+        properties.setHeaderThresholdMs(60_000);
+        FilterChain chain = (req, res) -> res.getOutputStream().write("{}".getBytes());
+
+        MockHttpServletResponse fast = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/task-mgmt/1"), fast, chain);
+        MockHttpServletResponse actuator = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/actuator/health"), actuator, chain);
+
+        assertNull(fast.getHeader("Server-Timing"));
+        assertNull(actuator.getHeader("Server-Timing"));
+    }
+
+    @Test
+    @DisplayName("Should be a no-op outside of a timed request")
+    void shouldBeNoOpOutsideRequest() {
+        assertEquals(0L, ServerTiming.now());
+        assertDoesNotThrow(() -> ServerTiming.record("scan", 0L));
+    }
+}